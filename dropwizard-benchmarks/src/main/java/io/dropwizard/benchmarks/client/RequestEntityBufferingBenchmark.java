@@ -0,0 +1,75 @@
+package io.dropwizard.benchmarks.client;
+
+import com.google.common.io.ByteStreams;
+import io.dropwizard.client.SegmentedBuffer;
+import io.dropwizard.util.Size;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares buffering a request entity in a growing {@link ByteArrayOutputStream}, as the buffered
+ * Jersey request entity used to, with buffering it in a pooled {@link SegmentedBuffer}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class RequestEntityBufferingBenchmark {
+
+    @Param({"1KiB", "64KiB", "1MiB", "10MiB"})
+    private String entitySize;
+
+    private byte[] chunk;
+    private int chunks;
+    private OutputStream socket;
+
+    @Setup
+    public void setUp() {
+        // entities are serialized in chunks, like Jackson's or a Writer's buffer
+        final int size = (int) Size.parse(entitySize).toBytes();
+        chunk = new byte[Math.min(size, 8000)];
+        chunks = size / chunk.length;
+        socket = ByteStreams.nullOutputStream();
+    }
+
+    @Benchmark
+    public long byteArrayOutputStream() throws IOException {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream(512);
+        for (int i = 0; i < chunks; i++) {
+            stream.write(chunk, 0, chunk.length);
+        }
+        final byte[] buffer = stream.toByteArray();
+        socket.write(buffer);
+        return buffer.length;
+    }
+
+    @Benchmark
+    public long segmentedBuffer() throws IOException {
+        final SegmentedBuffer buffer = new SegmentedBuffer();
+        try {
+            for (int i = 0; i < chunks; i++) {
+                buffer.write(chunk, 0, chunk.length);
+            }
+            buffer.writeTo(socket);
+            return buffer.size();
+        } finally {
+            buffer.release();
+            buffer.close();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(RequestEntityBufferingBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,90 @@
+package io.dropwizard.benchmarks.util;
+
+import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
+import io.dropwizard.util.ContentCodecs;
+import io.dropwizard.util.Size;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares compressing and decompressing entities with the JDK's gzip streams, which allocate a
+ * native zlib stream each, with the gzip codec, whose deflaters and inflaters are pooled.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ContentCodecBenchmark {
+
+    @Param({"1KiB", "16KiB", "256KiB"})
+    private String entitySize;
+
+    private byte[] entity;
+    private byte[] compressed;
+
+    @Setup
+    public void setUp() throws IOException {
+        final String json = "{\"id\":12345,\"name\":\"Jane Doe\",\"email\":\"jane@example.com\",\"active\":true},";
+        final int size = (int) Size.parse(entitySize).toBytes();
+        entity = Strings.repeat(json, size / json.length() + 1).substring(0, size).getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(entity);
+        }
+        compressed = output.toByteArray();
+    }
+
+    @Benchmark
+    public int compressWithJdk() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(entity.length);
+        try (OutputStream gzip = new GZIPOutputStream(output, 8192)) {
+            gzip.write(entity);
+        }
+        return output.size();
+    }
+
+    @Benchmark
+    public int compressWithPool() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(entity.length);
+        try (OutputStream gzip = ContentCodecs.GZIP.encode(output, ContentCodecs.DEFAULT_LEVEL, 8192)) {
+            gzip.write(entity);
+        }
+        return output.size();
+    }
+
+    @Benchmark
+    public long decompressWithJdk() throws IOException {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed), 8192)) {
+            return ByteStreams.copy(gzip, ByteStreams.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    public long decompressWithPool() throws IOException {
+        try (InputStream gzip = ContentCodecs.GZIP.decode(new ByteArrayInputStream(compressed), 8192)) {
+            return ByteStreams.copy(gzip, ByteStreams.nullOutputStream());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ContentCodecBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .threads(4)
+                .build())
+                .run();
+    }
+}
@@ -5,6 +5,7 @@ import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.MoreExecutors;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpHeaders;
 import org.apache.http.StatusLine;
 import org.apache.http.client.config.RequestConfig;
@@ -27,7 +28,6 @@ import javax.ws.rs.ProcessingException;
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.Response;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -86,7 +86,7 @@ public class DropwizardApacheConnector implements Connector {
     public ClientResponse apply(ClientRequest jerseyRequest) {
         try {
             final HttpUriRequest apacheRequest = buildApacheRequest(jerseyRequest);
-            final CloseableHttpResponse apacheResponse = client.execute(apacheRequest);
+            final CloseableHttpResponse apacheResponse = execute(apacheRequest);
 
             final StatusLine statusLine = apacheResponse.getStatusLine();
             final Response.StatusType status = Statuses.from(statusLine.getStatusCode(),
@@ -112,6 +112,20 @@ public class DropwizardApacheConnector implements Connector {
         }
     }
 
+    private CloseableHttpResponse execute(HttpUriRequest apacheRequest) throws IOException {
+        try {
+            return client.execute(apacheRequest);
+        } finally {
+            // the request entity has been sent, retries and redirects included
+            if (apacheRequest instanceof HttpEntityEnclosingRequest) {
+                final HttpEntity entity = ((HttpEntityEnclosingRequest) apacheRequest).getEntity();
+                if (entity instanceof BufferedJerseyRequestHttpEntity) {
+                    ((BufferedJerseyRequestHttpEntity) entity).release();
+                }
+            }
+        }
+    }
+
     /**
      * Build a new Apache's {@link org.apache.http.client.methods.HttpUriRequest}
      * from Jersey's {@link org.glassfish.jersey.client.ClientRequest}
@@ -299,31 +313,34 @@ public class DropwizardApacheConnector implements Connector {
      * a Jersey request as a content source.
      * <p>
      * In contrast to {@link io.dropwizard.client.DropwizardApacheConnector.JerseyRequestHttpEntity}
-     * its contents are buffered on initialization.
+     * its contents are buffered on initialization, in a {@link SegmentedBuffer} which is released
+     * once the request has been sent.
      * </p>
      */
     private static class BufferedJerseyRequestHttpEntity extends AbstractHttpEntity {
 
-        private static final int BUFFER_INITIAL_SIZE = 512;
-        private byte[] buffer;
+        private final SegmentedBuffer buffer = new SegmentedBuffer();
 
         private BufferedJerseyRequestHttpEntity(ClientRequest clientRequest) {
-            final ByteArrayOutputStream stream = new ByteArrayOutputStream(BUFFER_INITIAL_SIZE);
             clientRequest.setStreamProvider(new OutboundMessageContext.StreamProvider() {
                 @Override
                 public OutputStream getOutputStream(int contentLength) throws IOException {
-                    return stream;
+                    return buffer;
                 }
             });
             try {
                 clientRequest.writeEntity();
             } catch (IOException e) {
+                buffer.release();
                 throw new ProcessingException(LocalizationMessages.ERROR_BUFFERING_ENTITY(), e);
             }
-            buffer = stream.toByteArray();
             setChunked(false);
         }
 
+        private void release() {
+            buffer.release();
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -337,7 +354,7 @@ public class DropwizardApacheConnector implements Connector {
          */
         @Override
         public long getContentLength() {
-            return buffer.length;
+            return buffer.size();
         }
 
         /**
@@ -358,7 +375,7 @@ public class DropwizardApacheConnector implements Connector {
          */
         @Override
         public void writeTo(OutputStream outstream) throws IOException {
-            outstream.write(buffer);
+            buffer.writeTo(outstream);
             outstream.flush();
         }
 
@@ -6,9 +6,29 @@ import com.codahale.metrics.httpclient.HttpClientMetricNameStrategy;
 import com.codahale.metrics.httpclient.InstrumentedHttpClientConnectionManager;
 import com.codahale.metrics.httpclient.InstrumentedHttpRequestExecutor;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dropwizard.client.balancing.LoadBalancer;
+import io.dropwizard.client.balancing.LoadBalancerConfiguration;
+import io.dropwizard.client.balancing.LoadBalancingExec;
+import io.dropwizard.client.breaker.CircuitBreakerConfiguration;
+import io.dropwizard.client.breaker.CircuitBreakerExec;
+import io.dropwizard.client.breaker.CircuitBreakerOpenException;
+import io.dropwizard.client.breaker.CircuitBreakerHealthCheck;
+import io.dropwizard.client.breaker.CircuitBreakers;
+import io.dropwizard.client.cache.HttpCacheConfiguration;
+import io.dropwizard.client.cache.InstrumentedCachingExec;
+import io.dropwizard.client.dns.CachingDnsResolver;
+import io.dropwizard.client.hedging.BudgetedRetryHandler;
+import io.dropwizard.client.hedging.HedgingConfiguration;
+import io.dropwizard.client.hedging.HedgingExec;
+import io.dropwizard.client.hedging.RetryBudget;
+import io.dropwizard.client.hedging.RetryBudgetConfiguration;
+import io.dropwizard.client.hedging.RetryBudgetExec;
 import io.dropwizard.client.proxy.AuthConfiguration;
 import io.dropwizard.client.proxy.NonProxyListProxyRoutePlanner;
 import io.dropwizard.client.proxy.ProxyConfiguration;
+import io.dropwizard.client.warmup.ConnectionWarmUp;
+import io.dropwizard.client.warmup.ConnectionWarmUpConfiguration;
 import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.setup.Environment;
 import io.dropwizard.util.Duration;
@@ -36,10 +56,18 @@ import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
 import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.impl.execchain.ClientExecChain;
 import org.apache.http.protocol.HttpContext;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * A convenience class for building {@link HttpClient} instances.
@@ -204,7 +232,116 @@ public class HttpClientBuilder {
      */
     ConfiguredCloseableHttpClient buildWithDefaultRequestConfiguration(String name) {
         final InstrumentedHttpClientConnectionManager manager = createConnectionManager(registry, name);
-        return createClient(org.apache.http.impl.client.HttpClientBuilder.create(), manager, name);
+        // open the connections before the server starts accepting requests; proxied routes aren't known up front
+        if (environment != null && configuration.getWarmUp() != null
+                && configuration.getProxyConfiguration() == null) {
+            environment.lifecycle().manage(createConnectionWarmUp(manager, name));
+        }
+        final RetryBudget retryBudget = createRetryBudget(name);
+        return createClient(createBuilder(name, retryBudget), manager, name, retryBudget);
+    }
+
+    /**
+     * Create a {@link ConnectionWarmUp} for the routes in the {@link ConnectionWarmUpConfiguration}
+     * or, if none are configured, the endpoints of the load balancer.
+     *
+     * @param manager the client's connection manager
+     * @param name    the name of the client
+     * @return a {@link ConnectionWarmUp} instance
+     */
+    protected ConnectionWarmUp createConnectionWarmUp(InstrumentedHttpClientConnectionManager manager, String name) {
+        final ConnectionWarmUpConfiguration warmUp = configuration.getWarmUp();
+        final List<String> routes = warmUp.getRoutes().isEmpty() && configuration.getLoadBalancer() != null
+                ? configuration.getLoadBalancer().getEndpoints()
+                : warmUp.getRoutes();
+        return new ConnectionWarmUp(name, manager, routes, warmUp,
+                                    (int) configuration.getConnectionTimeout().toMilliseconds());
+    }
+
+    /**
+     * Create the {@link RetryBudget} shared by the client's retries and hedged requests, if either
+     * a retry budget or hedging is configured.
+     *
+     * @param name the name of the client
+     * @return a {@link RetryBudget}, or {@code null}
+     */
+    protected RetryBudget createRetryBudget(String name) {
+        if (configuration.getRetryBudget() != null) {
+            return new RetryBudget(configuration.getRetryBudget(), metricRegistry, name);
+        }
+        if (configuration.getHedging() != null) {
+            return new RetryBudget(new RetryBudgetConfiguration(), metricRegistry, name);
+        }
+        return null;
+    }
+
+    /**
+     * Create the underlying {@link org.apache.http.impl.client.HttpClientBuilder}, decorating its
+     * request execution chain with the features enabled in the {@link HttpClientConfiguration}.
+     *
+     * @param name        the name of the client
+     * @param retryBudget the client's retry budget, or {@code null}
+     * @return a {@link org.apache.http.impl.client.HttpClientBuilder} instance
+     */
+    protected org.apache.http.impl.client.HttpClientBuilder createBuilder(final String name,
+                                                                          final RetryBudget retryBudget) {
+        final LoadBalancerConfiguration loadBalancerConfiguration = configuration.getLoadBalancer();
+        final HedgingConfiguration hedgingConfiguration = configuration.getHedging();
+        final CircuitBreakerConfiguration circuitBreakerConfiguration = configuration.getCircuitBreaker();
+        final HttpCacheConfiguration cacheConfiguration = configuration.getCache();
+        final CachingHttpClientBuilder builder = new CachingHttpClientBuilder() {
+            @Override
+            protected ClientExecChain decorateMainExec(ClientExecChain mainExec) {
+                if (cacheConfiguration == null) {
+                    return mainExec;
+                }
+                return new InstrumentedCachingExec(super.decorateMainExec(mainExec), metricRegistry, name);
+            }
+
+            @Override
+            protected ClientExecChain decorateProtocolExec(ClientExecChain protocolExec) {
+                ClientExecChain execChain = protocolExec;
+                if (circuitBreakerConfiguration != null) {
+                    final CircuitBreakers breakers =
+                            new CircuitBreakers(circuitBreakerConfiguration, metricRegistry, name);
+                    if (environment != null) {
+                        environment.healthChecks().register(name + "-circuit-breakers",
+                                new CircuitBreakerHealthCheck(breakers));
+                    }
+                    execChain = new CircuitBreakerExec(execChain, breakers);
+                }
+                if (loadBalancerConfiguration != null) {
+                    execChain = new LoadBalancingExec(execChain,
+                            new LoadBalancer(loadBalancerConfiguration, metricRegistry, name));
+                }
+                if (hedgingConfiguration != null) {
+                    final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                            .setDaemon(true)
+                            .setNameFormat(name + "-hedging-%d")
+                            .build();
+                    final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+                    scheduler.setRemoveOnCancelPolicy(true);
+                    final ExecutorService executor = Executors.newCachedThreadPool(threadFactory);
+                    addCloseable(new Closeable() {
+                        @Override
+                        public void close() {
+                            scheduler.shutdownNow();
+                            executor.shutdownNow();
+                        }
+                    });
+                    execChain = new HedgingExec(execChain, hedgingConfiguration, retryBudget, metricRegistry, name,
+                            scheduler, executor);
+                }
+                if (retryBudget != null) {
+                    execChain = new RetryBudgetExec(execChain, retryBudget);
+                }
+                return execChain;
+            }
+        };
+        if (cacheConfiguration != null) {
+            builder.setCacheConfig(cacheConfiguration.build());
+        }
+        return builder;
     }
 
     /**
@@ -221,6 +358,24 @@ public class HttpClientBuilder {
             final org.apache.http.impl.client.HttpClientBuilder builder,
             final InstrumentedHttpClientConnectionManager manager,
             final String name) {
+        return createClient(builder, manager, name, null);
+    }
+
+    /**
+     * Map the parameters in {@link HttpClientConfiguration} to configuration on a
+     * {@link org.apache.http.impl.client.HttpClientBuilder} instance
+     *
+     * @param builder
+     * @param manager
+     * @param name
+     * @param retryBudget the budget retries are paid for from, or {@code null}
+     * @return the configured {@link CloseableHttpClient}
+     */
+    protected ConfiguredCloseableHttpClient createClient(
+            final org.apache.http.impl.client.HttpClientBuilder builder,
+            final InstrumentedHttpClientConnectionManager manager,
+            final String name,
+            final RetryBudget retryBudget) {
         final String cookiePolicy = configuration.isCookiesEnabled() ? CookieSpecs.DEFAULT : CookieSpecs.IGNORE_COOKIES;
         final Integer timeout = (int) configuration.getTimeout().toMilliseconds();
         final Integer connectionTimeout = (int) configuration.getConnectionTimeout().toMilliseconds();
@@ -231,8 +386,9 @@ public class HttpClientBuilder {
                 : new DefaultConnectionReuseStrategy();
         final HttpRequestRetryHandler retryHandler = configuration.getRetries() == 0
                 ? NO_RETRIES
-                : (httpRequestRetryHandler == null ? new DefaultHttpRequestRetryHandler(configuration.getRetries(),
-                false) : httpRequestRetryHandler);
+                : budgeted(notRetryingOpenCircuits(httpRequestRetryHandler == null ?
+                new DefaultHttpRequestRetryHandler(configuration.getRetries(), false) : httpRequestRetryHandler,
+                configuration.getCircuitBreaker()), retryBudget);
 
         final RequestConfig requestConfig
                 = RequestConfig.custom().setCookieSpec(cookiePolicy)
@@ -292,6 +448,26 @@ public class HttpClientBuilder {
         return new ConfiguredCloseableHttpClient(builder.build(), requestConfig);
     }
 
+    // a request rejected by an open circuit breaker was never sent, which retry handlers take as
+    // safe to retry, but retrying it would only be rejected again
+    private static HttpRequestRetryHandler notRetryingOpenCircuits(final HttpRequestRetryHandler retryHandler,
+                                                                   CircuitBreakerConfiguration circuitBreaker) {
+        if (circuitBreaker == null) {
+            return retryHandler;
+        }
+        return new HttpRequestRetryHandler() {
+            @Override
+            public boolean retryRequest(IOException exception, int executionCount, HttpContext context) {
+                return !(exception instanceof CircuitBreakerOpenException) &&
+                        retryHandler.retryRequest(exception, executionCount, context);
+            }
+        };
+    }
+
+    private static HttpRequestRetryHandler budgeted(HttpRequestRetryHandler retryHandler, RetryBudget retryBudget) {
+        return retryBudget == null ? retryHandler : new BudgetedRetryHandler(retryHandler, retryBudget);
+    }
+
     /**
      * Create a user agent string using the configured user agent if defined, otherwise
      * using a combination of the environment name and this client name
@@ -321,7 +497,9 @@ public class HttpClientBuilder {
                 metricRegistry,
                 registry,
                 null, null,
-                resolver,
+                configuration.getDnsCache() == null
+                        ? resolver
+                        : new CachingDnsResolver(resolver, configuration.getDnsCache()),
                 ttl.getQuantity(),
                 ttl.getUnit(),
                 name);
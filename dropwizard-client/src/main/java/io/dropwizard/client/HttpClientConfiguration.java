@@ -2,7 +2,14 @@ package io.dropwizard.client;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.Optional;
+import io.dropwizard.client.balancing.LoadBalancerConfiguration;
+import io.dropwizard.client.breaker.CircuitBreakerConfiguration;
+import io.dropwizard.client.cache.HttpCacheConfiguration;
+import io.dropwizard.client.dns.DnsCacheConfiguration;
+import io.dropwizard.client.hedging.HedgingConfiguration;
+import io.dropwizard.client.hedging.RetryBudgetConfiguration;
 import io.dropwizard.client.proxy.ProxyConfiguration;
+import io.dropwizard.client.warmup.ConnectionWarmUpConfiguration;
 import io.dropwizard.util.Duration;
 
 import javax.annotation.Nullable;
@@ -53,6 +60,34 @@ public class HttpClientConfiguration {
     @Nullable
     private ProxyConfiguration proxyConfiguration;
 
+    @Valid
+    @Nullable
+    private LoadBalancerConfiguration loadBalancer;
+
+    @Valid
+    @Nullable
+    private HedgingConfiguration hedging;
+
+    @Valid
+    @Nullable
+    private RetryBudgetConfiguration retryBudget;
+
+    @Valid
+    @Nullable
+    private CircuitBreakerConfiguration circuitBreaker;
+
+    @Valid
+    @Nullable
+    private HttpCacheConfiguration cache;
+
+    @Valid
+    @Nullable
+    private DnsCacheConfiguration dnsCache;
+
+    @Valid
+    @Nullable
+    private ConnectionWarmUpConfiguration warmUp;
+
     @JsonProperty
     public Duration getKeepAlive() {
         return keepAlive;
@@ -162,4 +197,74 @@ public class HttpClientConfiguration {
     public void setProxyConfiguration(ProxyConfiguration proxyConfiguration) {
         this.proxyConfiguration = proxyConfiguration;
     }
+
+    @JsonProperty
+    public LoadBalancerConfiguration getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    @JsonProperty
+    public void setLoadBalancer(LoadBalancerConfiguration loadBalancer) {
+        this.loadBalancer = loadBalancer;
+    }
+
+    @JsonProperty
+    public HedgingConfiguration getHedging() {
+        return hedging;
+    }
+
+    @JsonProperty
+    public void setHedging(HedgingConfiguration hedging) {
+        this.hedging = hedging;
+    }
+
+    @JsonProperty
+    public RetryBudgetConfiguration getRetryBudget() {
+        return retryBudget;
+    }
+
+    @JsonProperty
+    public void setRetryBudget(RetryBudgetConfiguration retryBudget) {
+        this.retryBudget = retryBudget;
+    }
+
+    @JsonProperty
+    public CircuitBreakerConfiguration getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @JsonProperty
+    public void setCircuitBreaker(CircuitBreakerConfiguration circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @JsonProperty
+    public HttpCacheConfiguration getCache() {
+        return cache;
+    }
+
+    @JsonProperty
+    public void setCache(HttpCacheConfiguration cache) {
+        this.cache = cache;
+    }
+
+    @JsonProperty
+    public DnsCacheConfiguration getDnsCache() {
+        return dnsCache;
+    }
+
+    @JsonProperty
+    public void setDnsCache(DnsCacheConfiguration dnsCache) {
+        this.dnsCache = dnsCache;
+    }
+
+    @JsonProperty
+    public ConnectionWarmUpConfiguration getWarmUp() {
+        return warmUp;
+    }
+
+    @JsonProperty
+    public void setWarmUp(ConnectionWarmUpConfiguration warmUp) {
+        this.warmUp = warmUp;
+    }
 }
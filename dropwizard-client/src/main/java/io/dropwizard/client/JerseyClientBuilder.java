@@ -11,6 +11,7 @@ import io.dropwizard.jersey.gzip.GZipDecoder;
 import io.dropwizard.jersey.jackson.JacksonMessageBodyProvider;
 import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.util.ContentCodecs;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.HttpRequestRetryHandler;
 import org.apache.http.config.Registry;
@@ -329,7 +330,10 @@ public class JerseyClientBuilder {
         }
         if (configuration.isGzipEnabled()) {
             client.register(new GZipDecoder());
-            client.register(new ConfiguredGZipEncoder(configuration.isGzipEnabledForRequests()));
+            client.register(new ConfiguredGZipEncoder(configuration.isGzipEnabledForRequests(),
+                    ContentCodecs.forEncoding(configuration.getRequestEncoding()).get(),
+                    configuration.getCompressionLevel(),
+                    configuration.getMinimumRequestEntitySize().toBytes()));
         }
 
         return client;
@@ -2,10 +2,15 @@ package io.dropwizard.client;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.Optional;
+import io.dropwizard.util.ContentCodec;
+import io.dropwizard.util.ContentCodecs;
+import io.dropwizard.util.Size;
 import io.dropwizard.validation.ValidationMethod;
 
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
 
 /**
  * The configuration class used by {@link JerseyClientBuilder}. Extends
@@ -33,6 +38,15 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
 
     private boolean chunkedEncodingEnabled = true;
 
+    @NotNull
+    private String requestEncoding = "gzip";
+
+    @Min(ContentCodecs.DEFAULT_LEVEL)
+    private int compressionLevel = ContentCodecs.DEFAULT_LEVEL;
+
+    @NotNull
+    private Size minimumRequestEntitySize = Size.bytes(256);
+
     @JsonProperty
     public int getMinThreads() {
         return minThreads;
@@ -73,6 +87,36 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
         this.gzipEnabledForRequests = enabled;
     }
 
+    @JsonProperty
+    public String getRequestEncoding() {
+        return requestEncoding;
+    }
+
+    @JsonProperty
+    public void setRequestEncoding(String requestEncoding) {
+        this.requestEncoding = requestEncoding;
+    }
+
+    @JsonProperty
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    @JsonProperty
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    @JsonProperty
+    public Size getMinimumRequestEntitySize() {
+        return minimumRequestEntitySize;
+    }
+
+    @JsonProperty
+    public void setMinimumRequestEntitySize(Size minimumRequestEntitySize) {
+        this.minimumRequestEntitySize = minimumRequestEntitySize;
+    }
+
     @JsonProperty
     public boolean isChunkedEncodingEnabled() {
         return chunkedEncodingEnabled;
@@ -104,4 +148,11 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
     public boolean isCompressionConfigurationValid() {
         return !gzipEnabledForRequests || gzipEnabled;
     }
+
+    @JsonIgnore
+    @ValidationMethod(message = ".requestEncoding must name a content coding which can encode entities")
+    public boolean isRequestEncodingSupported() {
+        final Optional<ContentCodec> codec = ContentCodecs.forEncoding(requestEncoding);
+        return codec.isPresent() && codec.get().canEncode();
+    }
 }
@@ -0,0 +1,120 @@
+package io.dropwizard.client;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link OutputStream} which buffers its content in fixed-size segments borrowed from a shared
+ * pool, so that buffering a request entity never grows or copies an array, and the buffered
+ * content is written out segment by segment.
+ * <p/>
+ * Once the content is no longer needed, {@link #release()} returns the segments to the pool.
+ */
+public final class SegmentedBuffer extends OutputStream {
+    static final int SEGMENT_SIZE = 8192;
+
+    // keeps up to 8 MiB of segments around for reuse
+    private static final int MAX_POOLED_SEGMENTS = 1024;
+    private static final Queue<byte[]> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private final List<byte[]> segments = new ArrayList<>();
+    private byte[] current;
+    private int position = SEGMENT_SIZE;
+    private long size;
+    private boolean released;
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureNotReleased();
+        if (position == SEGMENT_SIZE) {
+            nextSegment();
+        }
+        current[position++] = (byte) b;
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureNotReleased();
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (position == SEGMENT_SIZE) {
+                nextSegment();
+            }
+            final int n = Math.min(remaining, SEGMENT_SIZE - position);
+            System.arraycopy(b, offset, current, position, n);
+            position += n;
+            offset += n;
+            remaining -= n;
+        }
+        size += len;
+    }
+
+    /**
+     * Returns the number of bytes in the buffer.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Writes the content of the buffer to the given stream.
+     *
+     * @param output the stream
+     * @throws IOException if the content can't be written
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        ensureNotReleased();
+        final int last = segments.size() - 1;
+        for (int i = 0; i < last; i++) {
+            output.write(segments.get(i), 0, SEGMENT_SIZE);
+        }
+        if (last >= 0) {
+            output.write(segments.get(last), 0, position);
+        }
+    }
+
+    /**
+     * Returns the buffer's segments to the pool. The buffer can't be used afterwards.
+     */
+    public void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        for (byte[] segment : segments) {
+            if (POOLED.incrementAndGet() <= MAX_POOLED_SEGMENTS) {
+                POOL.offer(segment);
+            } else {
+                POOLED.decrementAndGet();
+            }
+        }
+        segments.clear();
+        current = null;
+    }
+
+    private void nextSegment() {
+        byte[] segment = POOL.poll();
+        if (segment == null) {
+            segment = new byte[SEGMENT_SIZE];
+        } else {
+            POOLED.decrementAndGet();
+        }
+        segments.add(segment);
+        current = segment;
+        position = 0;
+    }
+
+    private void ensureNotReleased() throws IOException {
+        if (released) {
+            throw new IOException("Buffer released");
+        }
+    }
+}
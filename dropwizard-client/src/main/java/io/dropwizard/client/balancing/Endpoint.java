@@ -0,0 +1,103 @@
+package io.dropwizard.client.balancing;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.apache.http.HttpHost;
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.UnsupportedSchemeException;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * One of the endpoints a {@link LoadBalancer} balances across, with its load, health and metrics.
+ */
+public class Endpoint {
+    private final HttpHost host;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final Timer requests;
+    private final Meter errors;
+    private final Meter ejections;
+    private volatile boolean ejected;
+    private volatile long ejectedUntil;
+
+    Endpoint(HttpHost host, MetricRegistry metricRegistry, String clientName) {
+        this.host = withPort(host);
+        final String prefix = name(HttpClient.class, clientName, "endpoints", host.toHostString());
+        this.requests = metricRegistry.timer(name(prefix, "requests"));
+        this.errors = metricRegistry.meter(name(prefix, "errors"));
+        this.ejections = metricRegistry.meter(name(prefix, "ejections"));
+        metricRegistry.register(name(prefix, "in-flight"), new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return inFlight.get();
+            }
+        });
+    }
+
+    // connections are pooled by route, so the port must be resolved as it is for the routes of the
+    // client's other requests, and those opened by its connection warm-up
+    private static HttpHost withPort(HttpHost host) {
+        try {
+            return new HttpHost(host.getHostName(), DefaultSchemePortResolver.INSTANCE.resolve(host),
+                                host.getSchemeName());
+        } catch (UnsupportedSchemeException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    public HttpHost getHost() {
+        return host;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns {@code true} if the endpoint is currently ejected.
+     *
+     * @param now the current time, in nanoseconds
+     * @return whether the endpoint is ejected
+     */
+    public boolean isEjected(long now) {
+        return ejected && now - ejectedUntil < 0;
+    }
+
+    Timer.Context start() {
+        inFlight.incrementAndGet();
+        return requests.time();
+    }
+
+    void succeeded(Timer.Context context) {
+        context.stop();
+        inFlight.decrementAndGet();
+        consecutiveFailures.set(0);
+    }
+
+    void released() {
+        inFlight.decrementAndGet();
+    }
+
+    void failed(Timer.Context context, int maxFailures, long ejectionPeriodNanos, long now) {
+        context.stop();
+        inFlight.decrementAndGet();
+        errors.mark();
+        if (consecutiveFailures.incrementAndGet() >= maxFailures) {
+            consecutiveFailures.set(0);
+            ejectedUntil = now + ejectionPeriodNanos;
+            ejected = true;
+            ejections.mark();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return host.toURI();
+    }
+}
@@ -0,0 +1,137 @@
+package io.dropwizard.client.balancing;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.ImmutableList;
+import org.apache.http.HttpHost;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selects the endpoint for each request and keeps track of each endpoint's load and health.
+ * <p/>
+ * Endpoints which fail {@code maxFailures} times in a row are ejected for the ejection period. If
+ * every endpoint is ejected, requests are balanced across all of them.
+ */
+public class LoadBalancer {
+    private final List<Endpoint> endpoints;
+    private final SelectionStrategy strategy;
+    private final int maxFailures;
+    private final long ejectionPeriodNanos;
+    private final Clock clock;
+
+    public LoadBalancer(LoadBalancerConfiguration configuration, MetricRegistry metricRegistry, String clientName) {
+        this(configuration, metricRegistry, clientName, Clock.defaultClock());
+    }
+
+    LoadBalancer(LoadBalancerConfiguration configuration, MetricRegistry metricRegistry, String clientName,
+                 Clock clock) {
+        final ImmutableList.Builder<Endpoint> builder = ImmutableList.builder();
+        for (String endpoint : configuration.getEndpoints()) {
+            builder.add(new Endpoint(HttpHost.create(endpoint), metricRegistry, clientName));
+        }
+        this.endpoints = builder.build();
+        this.strategy = configuration.getStrategy();
+        this.maxFailures = configuration.getMaxFailures();
+        this.ejectionPeriodNanos = configuration.getEjectionPeriod().toNanoseconds();
+        this.clock = clock;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Selects the endpoint for the next request.
+     *
+     * @return an endpoint
+     */
+    public Endpoint select() {
+        final long now = clock.getTick();
+        final List<Endpoint> candidates = available(now);
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        switch (strategy) {
+            case LEAST_IN_FLIGHT:
+                return leastInFlight(candidates);
+            case POWER_OF_TWO_CHOICES:
+            default:
+                return powerOfTwoChoices(candidates);
+        }
+    }
+
+    /**
+     * Records the start of a request to the given endpoint.
+     */
+    public Timer.Context start(Endpoint endpoint) {
+        return endpoint.start();
+    }
+
+    /**
+     * Records the successful completion of a request to the given endpoint.
+     */
+    public void succeeded(Endpoint endpoint, Timer.Context context) {
+        endpoint.succeeded(context);
+    }
+
+    /**
+     * Records the failure of a request to the given endpoint, ejecting it if it failed too often.
+     */
+    public void failed(Endpoint endpoint, Timer.Context context) {
+        endpoint.failed(context, maxFailures, ejectionPeriodNanos, clock.getTick());
+    }
+
+    /**
+     * Records the end of an aborted request to the given endpoint, which is neither a success nor a
+     * failure.
+     */
+    public void released(Endpoint endpoint) {
+        endpoint.released();
+    }
+
+    private List<Endpoint> available(long now) {
+        ImmutableList.Builder<Endpoint> available = null;
+        for (int i = 0; i < endpoints.size(); i++) {
+            final Endpoint endpoint = endpoints.get(i);
+            if (endpoint.isEjected(now)) {
+                if (available == null) {
+                    available = ImmutableList.builder();
+                    available.addAll(endpoints.subList(0, i));
+                }
+            } else if (available != null) {
+                available.add(endpoint);
+            }
+        }
+        if (available == null) {
+            return endpoints;
+        }
+        final List<Endpoint> healthy = available.build();
+        return healthy.isEmpty() ? endpoints : healthy;
+    }
+
+    private static Endpoint leastInFlight(List<Endpoint> candidates) {
+        // start at a random endpoint so that ties don't all go to the first one
+        final int offset = ThreadLocalRandom.current().nextInt(candidates.size());
+        Endpoint best = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            final Endpoint candidate = candidates.get((offset + i) % candidates.size());
+            if (best == null || candidate.getInFlight() < best.getInFlight()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private static Endpoint powerOfTwoChoices(List<Endpoint> candidates) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int first = random.nextInt(candidates.size());
+        final int second = (first + 1 + random.nextInt(candidates.size() - 1)) % candidates.size();
+        final Endpoint a = candidates.get(first);
+        final Endpoint b = candidates.get(second);
+        return b.getInFlight() < a.getInFlight() ? b : a;
+    }
+}
@@ -0,0 +1,105 @@
+package io.dropwizard.client.balancing;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import org.hibernate.validator.constraints.NotEmpty;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * Configuration of client-side load balancing across the replicas of a downstream service.
+ * <p/>
+ * Every request the client sends is routed to one of the endpoints, whatever the host of the
+ * request URI; that host is still sent in the {@code Host} header.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code endpoints}</td>
+ *         <td>REQUIRED</td>
+ *         <td>The endpoints to balance across, e.g. {@code http://10.0.0.1:8080}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code strategy}</td>
+ *         <td>{@code POWER_OF_TWO_CHOICES}</td>
+ *         <td>
+ *             How an endpoint is selected: {@code POWER_OF_TWO_CHOICES} picks the less loaded of
+ *             two random endpoints, {@code LEAST_IN_FLIGHT} the endpoint with the fewest requests
+ *             in flight.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxFailures}</td>
+ *         <td>3</td>
+ *         <td>
+ *             The number of consecutive failures (I/O errors or 5xx responses) after which an
+ *             endpoint is ejected.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code ejectionPeriod}</td>
+ *         <td>30 seconds</td>
+ *         <td>How long an ejected endpoint receives no requests.</td>
+ *     </tr>
+ * </table>
+ */
+public class LoadBalancerConfiguration {
+    @NotEmpty
+    private List<String> endpoints;
+
+    @NotNull
+    private SelectionStrategy strategy = SelectionStrategy.POWER_OF_TWO_CHOICES;
+
+    @Min(1)
+    private int maxFailures = 3;
+
+    @NotNull
+    private Duration ejectionPeriod = Duration.seconds(30);
+
+    @JsonProperty
+    public List<String> getEndpoints() {
+        return endpoints;
+    }
+
+    @JsonProperty
+    public void setEndpoints(List<String> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    @JsonProperty
+    public SelectionStrategy getStrategy() {
+        return strategy;
+    }
+
+    @JsonProperty
+    public void setStrategy(SelectionStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    @JsonProperty
+    public int getMaxFailures() {
+        return maxFailures;
+    }
+
+    @JsonProperty
+    public void setMaxFailures(int maxFailures) {
+        this.maxFailures = maxFailures;
+    }
+
+    @JsonProperty
+    public Duration getEjectionPeriod() {
+        return ejectionPeriod;
+    }
+
+    @JsonProperty
+    public void setEjectionPeriod(Duration ejectionPeriod) {
+        this.ejectionPeriod = ejectionPeriod;
+    }
+}
@@ -0,0 +1,64 @@
+package io.dropwizard.client.balancing;
+
+import com.codahale.metrics.Timer;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.execchain.ClientExecChain;
+import org.apache.http.impl.execchain.RequestAbortedException;
+
+import java.io.IOException;
+
+/**
+ * A {@link ClientExecChain} which sends each request to the endpoint selected by a
+ * {@link LoadBalancer} and reports the outcome back to it. Aborted requests are neither successes
+ * nor failures.
+ */
+public class LoadBalancingExec implements ClientExecChain {
+    private final ClientExecChain next;
+    private final LoadBalancer loadBalancer;
+
+    public LoadBalancingExec(ClientExecChain next, LoadBalancer loadBalancer) {
+        this.next = next;
+        this.loadBalancer = loadBalancer;
+    }
+
+    @Override
+    public CloseableHttpResponse execute(HttpRoute route,
+                                         HttpRequestWrapper request,
+                                         HttpClientContext context,
+                                         HttpExecutionAware execAware) throws IOException, HttpException {
+        final Endpoint endpoint = loadBalancer.select();
+        final Timer.Context timer = loadBalancer.start(endpoint);
+        try {
+            final CloseableHttpResponse response = next.execute(reroute(route, endpoint.getHost()),
+                                                                 request, context, execAware);
+            if (response.getStatusLine().getStatusCode() >= 500) {
+                loadBalancer.failed(endpoint, timer);
+            } else {
+                loadBalancer.succeeded(endpoint, timer);
+            }
+            return response;
+        } catch (IOException | HttpException | RuntimeException e) {
+            // e.g. the losing attempt of a hedged request, which says nothing about the endpoint
+            if (e instanceof RequestAbortedException || (execAware != null && execAware.isAborted())) {
+                loadBalancer.released(endpoint);
+            } else {
+                loadBalancer.failed(endpoint, timer);
+            }
+            throw e;
+        }
+    }
+
+    private static HttpRoute reroute(HttpRoute route, HttpHost endpoint) {
+        final boolean secure = "https".equalsIgnoreCase(endpoint.getSchemeName());
+        if (route.getProxyHost() == null) {
+            return new HttpRoute(endpoint, route.getLocalAddress(), secure);
+        }
+        return new HttpRoute(endpoint, route.getLocalAddress(), route.getProxyHost(), secure);
+    }
+}
@@ -0,0 +1,16 @@
+package io.dropwizard.client.balancing;
+
+/**
+ * How a {@link LoadBalancer} selects the endpoint for a request.
+ */
+public enum SelectionStrategy {
+    /**
+     * Picks two endpoints at random and uses the one with fewer requests in flight.
+     */
+    POWER_OF_TWO_CHOICES,
+
+    /**
+     * Uses the endpoint with the fewest requests in flight.
+     */
+    LEAST_IN_FLIGHT
+}
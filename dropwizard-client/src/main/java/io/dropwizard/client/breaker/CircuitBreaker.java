@@ -0,0 +1,149 @@
+package io.dropwizard.client.breaker;
+
+import com.codahale.metrics.Meter;
+
+/**
+ * The circuit breaker of a single host, which records the outcome of the most recent requests in a
+ * sliding window.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final double slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final Meter opened;
+    private final Meter rejected;
+
+    private final byte[] window;
+    private int position;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probes;
+    private int successfulProbes;
+
+    CircuitBreaker(CircuitBreakerConfiguration configuration, Meter opened, Meter rejected) {
+        this.window = new byte[configuration.getWindowSize()];
+        this.minimumCalls = configuration.getMinimumCalls();
+        this.failureRateThreshold = configuration.getFailureRateThreshold();
+        this.slowCallNanos = configuration.getSlowCallDuration().toNanoseconds();
+        this.slowCallRateThreshold = configuration.getSlowCallRateThreshold();
+        this.openNanos = configuration.getOpenDuration().toNanoseconds();
+        this.halfOpenCalls = configuration.getHalfOpenCalls();
+        this.opened = opened;
+        this.rejected = rejected;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Asks the breaker whether a request may be sent.
+     *
+     * @param now the current time, in nanoseconds
+     * @return {@code true} if the request may be sent, in which case its outcome must be recorded,
+     *         or the permission {@link #release() released}
+     */
+    public synchronized boolean tryAcquire(long now) {
+        if (state == State.OPEN && now - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            probes = 0;
+            successfulProbes = 0;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && probes < halfOpenCalls) {
+            probes++;
+            return true;
+        }
+        rejected.mark();
+        return false;
+    }
+
+    /**
+     * Records the outcome of a request.
+     *
+     * @param failed        whether the request failed
+     * @param durationNanos how long the request took, in nanoseconds
+     * @param now           the current time, in nanoseconds
+     */
+    public synchronized void record(boolean failed, long durationNanos, long now) {
+        final boolean slow = durationNanos >= slowCallNanos;
+        switch (state) {
+            case HALF_OPEN:
+                if (failed || slow) {
+                    open(now);
+                } else if (++successfulProbes >= halfOpenCalls) {
+                    close();
+                }
+                break;
+            case CLOSED:
+                add((byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0)));
+                if (calls >= minimumCalls
+                        && (failures * 100.0 >= failureRateThreshold * calls
+                        || slowCalls * 100.0 >= slowCallRateThreshold * calls)) {
+                    open(now);
+                }
+                break;
+            default:
+                // the request was sent before the breaker opened
+                break;
+        }
+    }
+
+    /**
+     * Gives back the permission to send a request whose outcome won't be recorded, as it was aborted.
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && probes > 0) {
+            probes--;
+        }
+    }
+
+    private void add(byte outcome) {
+        if (calls == window.length) {
+            final byte evicted = window[position];
+            failures -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            calls++;
+        }
+        window[position] = outcome;
+        position = (position + 1) % window.length;
+        failures += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openedAt = now;
+        opened.mark();
+        reset();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        reset();
+    }
+
+    private void reset() {
+        position = 0;
+        calls = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
@@ -0,0 +1,164 @@
+package io.dropwizard.client.breaker;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of the circuit breakers which stop a client from sending requests to a host which
+ * keeps failing or responding slowly.
+ * <p/>
+ * Each host has its own circuit breaker, which records the outcome of the last {@code windowSize}
+ * requests. Once the failure rate or the slow call rate reaches its threshold, the breaker opens
+ * and requests to the host are rejected straight away. After {@code openDuration}, the breaker lets
+ * {@code halfOpenCalls} probe requests through: if they all succeed it closes again, otherwise it
+ * re-opens.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code windowSize}</td>
+ *         <td>100</td>
+ *         <td>The number of most recent requests whose outcome is recorded.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code minimumCalls}</td>
+ *         <td>20</td>
+ *         <td>The number of requests recorded before the breaker may open.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code failureRateThreshold}</td>
+ *         <td>50</td>
+ *         <td>
+ *             The percentage of failed requests (I/O errors or 5xx responses) at which the breaker
+ *             opens.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code slowCallDuration}</td>
+ *         <td>5 seconds</td>
+ *         <td>The response time from which a request counts as slow.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code slowCallRateThreshold}</td>
+ *         <td>100</td>
+ *         <td>The percentage of slow requests at which the breaker opens.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code openDuration}</td>
+ *         <td>30 seconds</td>
+ *         <td>How long the breaker stays open before it lets probe requests through.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code halfOpenCalls}</td>
+ *         <td>5</td>
+ *         <td>The number of probe requests which must succeed for the breaker to close.</td>
+ *     </tr>
+ * </table>
+ */
+public class CircuitBreakerConfiguration {
+    @Min(1)
+    private int windowSize = 100;
+
+    @Min(1)
+    private int minimumCalls = 20;
+
+    @DecimalMin("0.0")
+    @DecimalMax("100.0")
+    private double failureRateThreshold = 50;
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration slowCallDuration = Duration.seconds(5);
+
+    @DecimalMin("0.0")
+    @DecimalMax("100.0")
+    private double slowCallRateThreshold = 100;
+
+    @NotNull
+    private Duration openDuration = Duration.seconds(30);
+
+    @Min(1)
+    private int halfOpenCalls = 5;
+
+    @JsonProperty
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    @JsonProperty
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    @JsonProperty
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    @JsonProperty
+    public void setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+    }
+
+    @JsonProperty
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    @JsonProperty
+    public void setFailureRateThreshold(double failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    @JsonProperty
+    public Duration getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    @JsonProperty
+    public void setSlowCallDuration(Duration slowCallDuration) {
+        this.slowCallDuration = slowCallDuration;
+    }
+
+    @JsonProperty
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    @JsonProperty
+    public void setSlowCallRateThreshold(double slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    @JsonProperty
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    @JsonProperty
+    public void setOpenDuration(Duration openDuration) {
+        this.openDuration = openDuration;
+    }
+
+    @JsonProperty
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    @JsonProperty
+    public void setHalfOpenCalls(int halfOpenCalls) {
+        this.halfOpenCalls = halfOpenCalls;
+    }
+}
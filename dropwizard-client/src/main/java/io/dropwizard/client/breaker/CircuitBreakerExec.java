@@ -0,0 +1,57 @@
+package io.dropwizard.client.breaker;
+
+import com.codahale.metrics.Clock;
+import org.apache.http.HttpException;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.execchain.ClientExecChain;
+import org.apache.http.impl.execchain.RequestAbortedException;
+
+import java.io.IOException;
+
+/**
+ * A {@link ClientExecChain} which rejects requests to hosts whose {@link CircuitBreaker} is open,
+ * and records the outcome of every other request which isn't aborted.
+ */
+public class CircuitBreakerExec implements ClientExecChain {
+    private final ClientExecChain next;
+    private final CircuitBreakers breakers;
+    private final Clock clock;
+
+    public CircuitBreakerExec(ClientExecChain next, CircuitBreakers breakers) {
+        this.next = next;
+        this.breakers = breakers;
+        this.clock = breakers.getClock();
+    }
+
+    @Override
+    public CloseableHttpResponse execute(HttpRoute route,
+                                         HttpRequestWrapper request,
+                                         HttpClientContext context,
+                                         HttpExecutionAware execAware) throws IOException, HttpException {
+        final String host = route.getTargetHost().toHostString();
+        final CircuitBreaker breaker = breakers.get(host);
+        final long start = clock.getTick();
+        if (!breaker.tryAcquire(start)) {
+            throw new CircuitBreakerOpenException(host);
+        }
+        try {
+            final CloseableHttpResponse response = next.execute(route, request, context, execAware);
+            final long end = clock.getTick();
+            breaker.record(response.getStatusLine().getStatusCode() >= 500, end - start, end);
+            return response;
+        } catch (IOException | HttpException | RuntimeException e) {
+            // e.g. the losing attempt of a hedged request, which says nothing about the host
+            if (e instanceof RequestAbortedException || (execAware != null && execAware.isAborted())) {
+                breaker.release();
+            } else {
+                final long end = clock.getTick();
+                breaker.record(true, end - start, end);
+            }
+            throw e;
+        }
+    }
+}
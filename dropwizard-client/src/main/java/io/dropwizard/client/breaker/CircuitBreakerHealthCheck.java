@@ -0,0 +1,26 @@
+package io.dropwizard.client.breaker;
+
+import com.codahale.metrics.health.HealthCheck;
+import com.google.common.base.Joiner;
+
+import java.util.SortedSet;
+
+/**
+ * A health check which is unhealthy while any of a client's circuit breakers is open or half-open.
+ */
+public class CircuitBreakerHealthCheck extends HealthCheck {
+    private final CircuitBreakers breakers;
+
+    public CircuitBreakerHealthCheck(CircuitBreakers breakers) {
+        this.breakers = breakers;
+    }
+
+    @Override
+    protected Result check() throws Exception {
+        final SortedSet<String> hosts = breakers.getTrippedHosts();
+        if (hosts.isEmpty()) {
+            return Result.healthy();
+        }
+        return Result.unhealthy("Circuit breakers open for " + Joiner.on(", ").join(hosts));
+    }
+}
@@ -0,0 +1,21 @@
+package io.dropwizard.client.breaker;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of sending a request to a host whose circuit breaker is open.
+ */
+public class CircuitBreakerOpenException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final String host;
+
+    public CircuitBreakerOpenException(String host) {
+        super("Circuit breaker for " + host + " is open");
+        this.host = host;
+    }
+
+    public String getHost() {
+        return host;
+    }
+}
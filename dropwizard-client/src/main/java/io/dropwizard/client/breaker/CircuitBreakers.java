@@ -0,0 +1,86 @@
+package io.dropwizard.client.breaker;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableSortedSet;
+import org.apache.http.client.HttpClient;
+
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * The {@link CircuitBreaker}s of a client, one per host.
+ */
+public class CircuitBreakers {
+    private final CircuitBreakerConfiguration configuration;
+    private final MetricRegistry metricRegistry;
+    private final String clientName;
+    private final Clock clock;
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+
+    public CircuitBreakers(CircuitBreakerConfiguration configuration, MetricRegistry metricRegistry, String clientName) {
+        this(configuration, metricRegistry, clientName, Clock.defaultClock());
+    }
+
+    CircuitBreakers(CircuitBreakerConfiguration configuration, MetricRegistry metricRegistry, String clientName,
+                    Clock clock) {
+        this.configuration = configuration;
+        this.metricRegistry = metricRegistry;
+        this.clientName = clientName;
+        this.clock = clock;
+    }
+
+    Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Returns the circuit breaker of the given host, creating it if need be.
+     *
+     * @param host the host, e.g. {@code example.com:8080}
+     * @return the host's circuit breaker
+     */
+    public CircuitBreaker get(String host) {
+        final CircuitBreaker breaker = breakers.get(host);
+        if (breaker != null) {
+            return breaker;
+        }
+        synchronized (lock) {
+            final CircuitBreaker existing = breakers.get(host);
+            if (existing != null) {
+                return existing;
+            }
+            final String prefix = name(HttpClient.class, clientName, "circuit-breakers", host);
+            final CircuitBreaker created = new CircuitBreaker(configuration,
+                                                              metricRegistry.meter(name(prefix, "opened")),
+                                                              metricRegistry.meter(name(prefix, "rejected")));
+            metricRegistry.register(name(prefix, "state"), new Gauge<String>() {
+                @Override
+                public String getValue() {
+                    return created.getState().toString();
+                }
+            });
+            breakers.put(host, created);
+            return created;
+        }
+    }
+
+    /**
+     * Returns the hosts whose circuit breaker is not closed.
+     */
+    public SortedSet<String> getTrippedHosts() {
+        final ImmutableSortedSet.Builder<String> hosts = ImmutableSortedSet.naturalOrder();
+        for (Map.Entry<String, CircuitBreaker> entry : breakers.entrySet()) {
+            if (entry.getValue().getState() != CircuitBreaker.State.CLOSED) {
+                hosts.add(entry.getKey());
+            }
+        }
+        return hosts.build();
+    }
+}
@@ -0,0 +1,109 @@
+package io.dropwizard.client.cache;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Size;
+import org.apache.http.impl.client.cache.CacheConfig;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration of a client's in-memory HTTP cache, which stores responses as allowed by their
+ * {@code Cache-Control} and {@code Expires} headers and revalidates stale ones with conditional
+ * requests, using their {@code ETag} and {@code Last-Modified} headers.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxEntries}</td>
+ *         <td>1000</td>
+ *         <td>The maximum number of responses in the cache.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxObjectSize}</td>
+ *         <td>8 KiB</td>
+ *         <td>The maximum size of a response body which is cached.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code shared}</td>
+ *         <td>true</td>
+ *         <td>
+ *             Whether the cache behaves as a shared cache, which doesn't store {@code private}
+ *             responses or responses to requests with credentials.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code heuristicCachingEnabled}</td>
+ *         <td>false</td>
+ *         <td>
+ *             Whether responses without explicit freshness information may be cached for a
+ *             tenth of the time since they were last modified.
+ *         </td>
+ *     </tr>
+ * </table>
+ */
+public class HttpCacheConfiguration {
+    @Min(1)
+    private int maxEntries = 1000;
+
+    @NotNull
+    private Size maxObjectSize = Size.kilobytes(8);
+
+    private boolean shared = true;
+
+    private boolean heuristicCachingEnabled = false;
+
+    @JsonProperty
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    @JsonProperty
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @JsonProperty
+    public Size getMaxObjectSize() {
+        return maxObjectSize;
+    }
+
+    @JsonProperty
+    public void setMaxObjectSize(Size maxObjectSize) {
+        this.maxObjectSize = maxObjectSize;
+    }
+
+    @JsonProperty
+    public boolean isShared() {
+        return shared;
+    }
+
+    @JsonProperty
+    public void setShared(boolean shared) {
+        this.shared = shared;
+    }
+
+    @JsonProperty
+    public boolean isHeuristicCachingEnabled() {
+        return heuristicCachingEnabled;
+    }
+
+    @JsonProperty
+    public void setHeuristicCachingEnabled(boolean heuristicCachingEnabled) {
+        this.heuristicCachingEnabled = heuristicCachingEnabled;
+    }
+
+    public CacheConfig build() {
+        return CacheConfig.custom()
+                          .setMaxCacheEntries(maxEntries)
+                          .setMaxObjectSize(maxObjectSize.toBytes())
+                          .setSharedCache(shared)
+                          .setHeuristicCachingEnabled(heuristicCachingEnabled)
+                          .build();
+    }
+}
@@ -0,0 +1,56 @@
+package io.dropwizard.client.cache;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.apache.http.HttpException;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.cache.CacheResponseStatus;
+import org.apache.http.client.cache.HttpCacheContext;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.execchain.ClientExecChain;
+
+import java.io.IOException;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A {@link ClientExecChain} which records how each response was served by the HTTP cache below it.
+ */
+public class InstrumentedCachingExec implements ClientExecChain {
+    private final ClientExecChain cachingExec;
+    private final Meter hits;
+    private final Meter misses;
+    private final Meter validated;
+    private final Meter moduleResponses;
+
+    public InstrumentedCachingExec(ClientExecChain cachingExec, MetricRegistry metricRegistry, String clientName) {
+        this.cachingExec = cachingExec;
+        this.hits = metricRegistry.meter(name(HttpClient.class, clientName, "cache", "hits"));
+        this.misses = metricRegistry.meter(name(HttpClient.class, clientName, "cache", "misses"));
+        this.validated = metricRegistry.meter(name(HttpClient.class, clientName, "cache", "validated"));
+        this.moduleResponses = metricRegistry.meter(name(HttpClient.class, clientName, "cache", "module-responses"));
+    }
+
+    @Override
+    public CloseableHttpResponse execute(HttpRoute route,
+                                         HttpRequestWrapper request,
+                                         HttpClientContext context,
+                                         HttpExecutionAware execAware) throws IOException, HttpException {
+        final CloseableHttpResponse response = cachingExec.execute(route, request, context, execAware);
+        final Object status = context.getAttribute(HttpCacheContext.CACHE_RESPONSE_STATUS);
+        if (status == CacheResponseStatus.CACHE_HIT) {
+            hits.mark();
+        } else if (status == CacheResponseStatus.CACHE_MISS) {
+            misses.mark();
+        } else if (status == CacheResponseStatus.VALIDATED) {
+            validated.mark();
+        } else if (status == CacheResponseStatus.CACHE_MODULE_RESPONSE) {
+            moduleResponses.mark();
+        }
+        return response;
+    }
+}
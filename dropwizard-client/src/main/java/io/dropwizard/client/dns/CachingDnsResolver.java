@@ -0,0 +1,64 @@
+package io.dropwizard.client.dns;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.http.conn.DnsResolver;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link DnsResolver} which caches the addresses resolved by another resolver.
+ * <p/>
+ * Addresses older than the refresh interval are resolved again in the background, while the
+ * cached addresses are still used; addresses are dropped once their TTL expires. Hosts which can't
+ * be resolved aren't cached.
+ */
+public class CachingDnsResolver implements DnsResolver {
+    private static final Executor REFRESHER = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("dns-refresh-%d").build());
+
+    private final LoadingCache<String, InetAddress[]> addresses;
+
+    public CachingDnsResolver(DnsResolver resolver, DnsCacheConfiguration configuration) {
+        this(resolver, configuration, Ticker.systemTicker(), REFRESHER);
+    }
+
+    CachingDnsResolver(final DnsResolver resolver, DnsCacheConfiguration configuration, Ticker ticker,
+                       Executor refresher) {
+        this.addresses = CacheBuilder.newBuilder()
+                                     .maximumSize(configuration.getMaxEntries())
+                                     .expireAfterWrite(configuration.getTtl().toNanoseconds(), TimeUnit.NANOSECONDS)
+                                     .refreshAfterWrite(configuration.getRefreshInterval().toNanoseconds(),
+                                                        TimeUnit.NANOSECONDS)
+                                     .ticker(ticker)
+                                     .build(CacheLoader.asyncReloading(new CacheLoader<String, InetAddress[]>() {
+                                         @Override
+                                         public InetAddress[] load(String host) throws UnknownHostException {
+                                             return resolver.resolve(host);
+                                         }
+                                     }, refresher));
+    }
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        try {
+            return addresses.get(host).clone();
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof UnknownHostException) {
+                throw (UnknownHostException) e.getCause();
+            }
+            final UnknownHostException unknownHost = new UnknownHostException(host);
+            unknownHost.initCause(e.getCause());
+            throw unknownHost;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.dropwizard.client.dns;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of a client's DNS cache.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code ttl}</td>
+ *         <td>5 minutes</td>
+ *         <td>How long a resolved address may be used.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code refreshInterval}</td>
+ *         <td>30 seconds</td>
+ *         <td>
+ *             How old a resolved address may be before it is resolved again in the background.
+ *             If the host can't be resolved, the previous address is used until its TTL expires.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxEntries}</td>
+ *         <td>1000</td>
+ *         <td>The maximum number of hosts in the cache.</td>
+ *     </tr>
+ * </table>
+ */
+public class DnsCacheConfiguration {
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.SECONDS)
+    private Duration ttl = Duration.minutes(5);
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.SECONDS)
+    private Duration refreshInterval = Duration.seconds(30);
+
+    @Min(1)
+    private int maxEntries = 1000;
+
+    @JsonProperty
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    @JsonProperty
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    @JsonProperty
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    @JsonProperty
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    @JsonProperty
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    @JsonProperty
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+}
@@ -0,0 +1,24 @@
+package io.dropwizard.client.hedging;
+
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+
+/**
+ * A {@link HttpRequestRetryHandler} which only retries requests its {@link RetryBudget} can pay for.
+ */
+public class BudgetedRetryHandler implements HttpRequestRetryHandler {
+    private final HttpRequestRetryHandler underlying;
+    private final RetryBudget budget;
+
+    public BudgetedRetryHandler(HttpRequestRetryHandler underlying, RetryBudget budget) {
+        this.underlying = underlying;
+        this.budget = budget;
+    }
+
+    @Override
+    public boolean retryRequest(IOException exception, int executionCount, HttpContext context) {
+        return underlying.retryRequest(exception, executionCount, context) && budget.tryWithdraw();
+    }
+}
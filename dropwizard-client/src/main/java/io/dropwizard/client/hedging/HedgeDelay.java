@@ -0,0 +1,47 @@
+package io.dropwizard.client.hedging;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks how long a client waits before hedging a request: the configured percentile of its recent
+ * response times, recomputed at most once a second.
+ */
+class HedgeDelay {
+    static final long NEVER = -1;
+
+    // hedge only once there are enough response times for the percentile to be meaningful
+    private static final long MIN_SAMPLES = 100;
+    private static final long REFRESH_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final Timer latency;
+    private final double quantile;
+    private final long minDelay;
+    private final Clock clock;
+    private volatile long delay = NEVER;
+    private volatile long nextRefresh;
+
+    HedgeDelay(Timer latency, double percentile, long minDelayNanos, Clock clock) {
+        this.latency = latency;
+        this.quantile = percentile / 100;
+        this.minDelay = minDelayNanos;
+        this.clock = clock;
+        this.nextRefresh = clock.getTick();
+    }
+
+    /**
+     * Returns the time to wait before a request is hedged, in nanoseconds, or {@link #NEVER}.
+     */
+    long getNanos() {
+        final long now = clock.getTick();
+        if (now - nextRefresh >= 0) {
+            nextRefresh = now + REFRESH_INTERVAL;
+            if (latency.getCount() >= MIN_SAMPLES) {
+                delay = Math.max(minDelay, (long) latency.getSnapshot().getValue(quantile));
+            }
+        }
+        return delay;
+    }
+}
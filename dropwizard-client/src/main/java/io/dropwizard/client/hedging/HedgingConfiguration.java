@@ -0,0 +1,87 @@
+package io.dropwizard.client.hedging;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableSet;
+import io.dropwizard.util.Duration;
+import org.hibernate.validator.constraints.NotEmpty;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+import java.util.Set;
+
+/**
+ * Configuration of hedged requests: if a request has not been answered after the client's usual
+ * latency, a second, identical request is sent and whichever answers first is used.
+ * <p/>
+ * Only requests without an entity whose method is listed in {@code methods} are hedged, and every
+ * hedge is paid for from the client's {@link RetryBudgetConfiguration retry budget}.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code percentile}</td>
+ *         <td>95</td>
+ *         <td>
+ *             The percentile of the client's recent response times after which a request is
+ *             hedged.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code minDelay}</td>
+ *         <td>10 milliseconds</td>
+ *         <td>The minimum time to wait before a request is hedged.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code methods}</td>
+ *         <td>{@code GET}, {@code HEAD}, {@code OPTIONS}</td>
+ *         <td>The idempotent request methods which may be hedged.</td>
+ *     </tr>
+ * </table>
+ */
+public class HedgingConfiguration {
+    @DecimalMin("0.0")
+    @DecimalMax("100.0")
+    private double percentile = 95;
+
+    @NotNull
+    private Duration minDelay = Duration.milliseconds(10);
+
+    @NotEmpty
+    private Set<String> methods = ImmutableSet.of("GET", "HEAD", "OPTIONS");
+
+    @JsonProperty
+    public double getPercentile() {
+        return percentile;
+    }
+
+    @JsonProperty
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    @JsonProperty
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    @JsonProperty
+    public void setMinDelay(Duration minDelay) {
+        this.minDelay = minDelay;
+    }
+
+    @JsonProperty
+    public Set<String> getMethods() {
+        return methods;
+    }
+
+    @JsonProperty
+    public void setMethods(Set<String> methods) {
+        this.methods = methods;
+    }
+}
@@ -0,0 +1,265 @@
+package io.dropwizard.client.hedging;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.ImmutableSet;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpException;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.concurrent.Cancellable;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.execchain.ClientExecChain;
+import org.apache.http.protocol.BasicHttpContext;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A {@link ClientExecChain} which hedges slow requests: if a request has not been answered within
+ * the configured percentile of the client's response times, an identical request is sent, the
+ * first response is used and the other request is aborted.
+ * <p/>
+ * The original request is sent on the calling thread; hedges are sent on the given executor, and
+ * only if the {@link RetryBudget} allows it.
+ */
+public class HedgingExec implements ClientExecChain {
+    private final ClientExecChain next;
+    private final Set<String> methods;
+    private final RetryBudget budget;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService executor;
+    private final Timer latency;
+    private final Meter hedges;
+    private final Meter wins;
+    private final HedgeDelay delay;
+
+    public HedgingExec(ClientExecChain next,
+                       HedgingConfiguration configuration,
+                       RetryBudget budget,
+                       MetricRegistry metricRegistry,
+                       String clientName,
+                       ScheduledExecutorService scheduler,
+                       ExecutorService executor) {
+        this(next, configuration, budget, metricRegistry, clientName, scheduler, executor, Clock.defaultClock());
+    }
+
+    HedgingExec(ClientExecChain next,
+                HedgingConfiguration configuration,
+                RetryBudget budget,
+                MetricRegistry metricRegistry,
+                String clientName,
+                ScheduledExecutorService scheduler,
+                ExecutorService executor,
+                Clock clock) {
+        this.next = next;
+        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        for (String method : configuration.getMethods()) {
+            builder.add(method.toUpperCase(Locale.ENGLISH));
+        }
+        this.methods = builder.build();
+        this.budget = budget;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.latency = metricRegistry.timer(name(HttpClient.class, clientName, "hedging", "latency"));
+        this.hedges = metricRegistry.meter(name(HttpClient.class, clientName, "hedging", "hedges"));
+        this.wins = metricRegistry.meter(name(HttpClient.class, clientName, "hedging", "wins"));
+        this.delay = new HedgeDelay(latency, configuration.getPercentile(),
+                                    configuration.getMinDelay().toNanoseconds(), clock);
+    }
+
+    @Override
+    public CloseableHttpResponse execute(HttpRoute route,
+                                         HttpRequestWrapper request,
+                                         HttpClientContext context,
+                                         HttpExecutionAware execAware) throws IOException, HttpException {
+        if (request instanceof HttpEntityEnclosingRequest
+                || !methods.contains(request.getRequestLine().getMethod())) {
+            return next.execute(route, request, context, execAware);
+        }
+        final long delayNanos = delay.getNanos();
+        if (delayNanos == HedgeDelay.NEVER) {
+            return attempt(route, request, context, execAware);
+        }
+        return new Exchange(route, request, context, execAware).execute(delayNanos);
+    }
+
+    private CloseableHttpResponse attempt(HttpRoute route,
+                                          HttpRequestWrapper request,
+                                          HttpClientContext context,
+                                          HttpExecutionAware execAware) throws IOException, HttpException {
+        final Timer.Context timer = latency.time();
+        final CloseableHttpResponse response = next.execute(route, request, context, execAware);
+        timer.stop();
+        return response;
+    }
+
+    /**
+     * One execution of a request, which may be aborted by the other.
+     */
+    private static class Attempt implements HttpExecutionAware {
+        private final HttpExecutionAware caller;
+        private volatile boolean aborted;
+        private volatile Cancellable cancellable;
+
+        private Attempt(HttpExecutionAware caller) {
+            this.caller = caller;
+        }
+
+        @Override
+        public boolean isAborted() {
+            return aborted || (caller != null && caller.isAborted());
+        }
+
+        @Override
+        public void setCancellable(Cancellable cancellable) {
+            this.cancellable = cancellable;
+            if (aborted) {
+                cancellable.cancel();
+            }
+        }
+
+        private void abort() {
+            aborted = true;
+            final Cancellable current = cancellable;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+
+    /**
+     * A request, sent on the calling thread, and its hedge.
+     */
+    private class Exchange implements Runnable {
+        private final HttpRoute route;
+        private final HttpRequestWrapper request;
+        private final HttpClientContext context;
+        private final HttpExecutionAware execAware;
+        private final Attempt primary;
+        private final Attempt hedge;
+        private final AtomicReference<Attempt> winner = new AtomicReference<>();
+        private final CountDownLatch hedged = new CountDownLatch(1);
+        private volatile CloseableHttpResponse hedgeResponse;
+        private Future<?> scheduled;
+
+        private Exchange(HttpRoute route,
+                         HttpRequestWrapper request,
+                         HttpClientContext context,
+                         HttpExecutionAware execAware) {
+            this.route = route;
+            this.request = request;
+            this.context = context;
+            this.execAware = execAware;
+            this.primary = new Attempt(execAware);
+            this.hedge = new Attempt(execAware);
+        }
+
+        private CloseableHttpResponse execute(long delayNanos) throws IOException, HttpException {
+            if (execAware != null) {
+                execAware.setCancellable(new Cancellable() {
+                    @Override
+                    public boolean cancel() {
+                        primary.abort();
+                        hedge.abort();
+                        return true;
+                    }
+                });
+            }
+            try {
+                scheduled = scheduler.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        launchHedge();
+                    }
+                }, delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                return attempt(route, request, context, primary);
+            }
+
+            final CloseableHttpResponse response;
+            try {
+                response = attempt(route, request, context, primary);
+            } catch (IOException | HttpException | RuntimeException e) {
+                final CloseableHttpResponse hedged = awaitHedge();
+                if (hedged != null) {
+                    return hedged;
+                }
+                throw e;
+            }
+
+            if (winner.compareAndSet(null, primary)) {
+                scheduled.cancel(false);
+                hedge.abort();
+                return response;
+            }
+            // the hedge was answered first
+            response.close();
+            return awaitHedge();
+        }
+
+        private void launchHedge() {
+            if (winner.get() != null || primary.isAborted() || !budget.tryWithdraw()) {
+                hedged.countDown();
+                return;
+            }
+            try {
+                executor.execute(this);
+                hedges.mark();
+            } catch (RejectedExecutionException e) {
+                hedged.countDown();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                final HttpRequestWrapper copy = HttpRequestWrapper.wrap(request.getOriginal(), request.getTarget());
+                final HttpClientContext hedgeContext = HttpClientContext.adapt(new BasicHttpContext(context));
+                final CloseableHttpResponse response = attempt(route, copy, hedgeContext, hedge);
+                if (winner.compareAndSet(null, hedge)) {
+                    hedgeResponse = response;
+                    wins.mark();
+                    primary.abort();
+                } else {
+                    response.close();
+                }
+            } catch (IOException | HttpException | RuntimeException ignored) {
+                // the original request's outcome stands
+            } finally {
+                hedged.countDown();
+            }
+        }
+
+        private CloseableHttpResponse awaitHedge() throws InterruptedIOException {
+            if (scheduled.cancel(false) || (execAware != null && execAware.isAborted())) {
+                hedge.abort();
+                return null;
+            }
+            try {
+                hedged.await();
+            } catch (InterruptedException e) {
+                hedge.abort();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a hedged request");
+            }
+            return hedgeResponse;
+        }
+    }
+}
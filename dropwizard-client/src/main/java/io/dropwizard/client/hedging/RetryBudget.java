@@ -0,0 +1,77 @@
+package io.dropwizard.client.hedging;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.apache.http.client.HttpClient;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A token bucket shared by a client's retries and hedged requests. Every request deposits
+ * {@code ratio} tokens, up to {@code burst} tokens (but at least one), and every retry or hedge
+ * withdraws one.
+ */
+public class RetryBudget {
+    private static final long TOKEN = 1000;
+
+    private final long deposit;
+    private final long maxBalance;
+    private final AtomicLong balance;
+    private final Meter exhausted;
+
+    public RetryBudget(RetryBudgetConfiguration configuration, MetricRegistry metricRegistry, String clientName) {
+        this.deposit = Math.round(configuration.getRatio() * TOKEN);
+        this.maxBalance = Math.max(configuration.getBurst(), 1) * TOKEN;
+        this.balance = new AtomicLong(configuration.getBurst() * TOKEN);
+        this.exhausted = metricRegistry.meter(name(HttpClient.class, clientName, "retry-budget", "exhausted"));
+        metricRegistry.register(name(HttpClient.class, clientName, "retry-budget", "balance"), new Gauge<Double>() {
+            @Override
+            public Double getValue() {
+                return getBalance();
+            }
+        });
+    }
+
+    /**
+     * Returns the number of retries or hedges the client may currently send.
+     */
+    public double getBalance() {
+        return balance.get() / (double) TOKEN;
+    }
+
+    /**
+     * Records that a request has been sent.
+     */
+    public void deposit() {
+        while (true) {
+            final long current = balance.get();
+            if (current >= maxBalance) {
+                return;
+            }
+            if (balance.compareAndSet(current, Math.min(maxBalance, current + deposit))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Withdraws a token for a retry or a hedge, if the budget allows it.
+     *
+     * @return {@code true} if the retry or hedge may be sent
+     */
+    public boolean tryWithdraw() {
+        while (true) {
+            final long current = balance.get();
+            if (current < TOKEN) {
+                exhausted.mark();
+                return false;
+            }
+            if (balance.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.dropwizard.client.hedging;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+
+/**
+ * Configuration of a client's retry budget, which limits the retries and hedged requests the
+ * client sends to a fraction of its requests, so that they cannot multiply the load on a
+ * struggling service.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code ratio}</td>
+ *         <td>0.1</td>
+ *         <td>The number of retries and hedges allowed per request sent.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code burst}</td>
+ *         <td>10</td>
+ *         <td>
+ *             The number of retries and hedges which are available when the client is created,
+ *             and which may be saved up.
+ *         </td>
+ *     </tr>
+ * </table>
+ */
+public class RetryBudgetConfiguration {
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double ratio = 0.1;
+
+    @Min(0)
+    private int burst = 10;
+
+    @JsonProperty
+    public double getRatio() {
+        return ratio;
+    }
+
+    @JsonProperty
+    public void setRatio(double ratio) {
+        this.ratio = ratio;
+    }
+
+    @JsonProperty
+    public int getBurst() {
+        return burst;
+    }
+
+    @JsonProperty
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+}
@@ -0,0 +1,41 @@
+package io.dropwizard.client.hedging;
+
+import org.apache.http.HttpException;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.execchain.ClientExecChain;
+
+import java.io.IOException;
+
+/**
+ * A {@link ClientExecChain} which pays every request into a {@link RetryBudget}.
+ * <p/>
+ * It sits below Apache's {@code RetryExec}, which calls it again with the same request for every
+ * retry. Only the first attempt pays in, so that retries don't pay for themselves.
+ */
+public class RetryBudgetExec implements ClientExecChain {
+    private static final String DEPOSITED_FOR = RetryBudgetExec.class.getName() + ".depositedFor";
+
+    private final ClientExecChain next;
+    private final RetryBudget budget;
+
+    public RetryBudgetExec(ClientExecChain next, RetryBudget budget) {
+        this.next = next;
+        this.budget = budget;
+    }
+
+    @Override
+    public CloseableHttpResponse execute(HttpRoute route,
+                                         HttpRequestWrapper request,
+                                         HttpClientContext context,
+                                         HttpExecutionAware execAware) throws IOException, HttpException {
+        if (context.getAttribute(DEPOSITED_FOR) != request) {
+            context.setAttribute(DEPOSITED_FOR, request);
+            budget.deposit();
+        }
+        return next.execute(route, request, context, execAware);
+    }
+}
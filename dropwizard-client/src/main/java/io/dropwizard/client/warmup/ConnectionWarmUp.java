@@ -0,0 +1,131 @@
+package io.dropwizard.client.warmup;
+
+import com.google.common.collect.ImmutableList;
+import io.dropwizard.lifecycle.Managed;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.UnsupportedSchemeException;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.pool.ConnPoolControl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Opens connections to a client's routes when the application starts and returns them to the
+ * client's connection pool.
+ */
+public class ConnectionWarmUp implements Managed {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionWarmUp.class);
+
+    private final String name;
+    private final HttpClientConnectionManager connectionManager;
+    private final List<HttpRoute> routes;
+    private final int connectionsPerRoute;
+    private final boolean failOnError;
+    private final int connectTimeout;
+
+    /**
+     * @param name              the name of the client
+     * @param connectionManager the client's connection manager
+     * @param routes            the hosts to connect to
+     * @param configuration     the warm-up configuration
+     * @param connectTimeout    the connect timeout, in milliseconds
+     */
+    public ConnectionWarmUp(String name,
+                            HttpClientConnectionManager connectionManager,
+                            List<String> routes,
+                            ConnectionWarmUpConfiguration configuration,
+                            int connectTimeout) {
+        this.name = name;
+        this.connectionManager = connectionManager;
+        final ImmutableList.Builder<HttpRoute> builder = ImmutableList.builder();
+        for (String route : routes) {
+            builder.add(route(HttpHost.create(route)));
+        }
+        this.routes = builder.build();
+        this.connectionsPerRoute = configuration.getConnectionsPerRoute();
+        this.failOnError = configuration.isFailOnError();
+        this.connectTimeout = connectTimeout;
+    }
+
+    public List<HttpRoute> getRoutes() {
+        return routes;
+    }
+
+    @Override
+    public void start() throws Exception {
+        for (HttpRoute route : routes) {
+            final long start = System.nanoTime();
+            try {
+                warmUp(route);
+                LOGGER.info("Opened connections for {} to {} in {}ms", name,
+                            route.getTargetHost(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } catch (IOException | ExecutionException | TimeoutException e) {
+                if (failOnError) {
+                    throw e;
+                }
+                LOGGER.warn("Unable to open connections for {} to {}", name, route.getTargetHost(), e);
+            }
+        }
+    }
+
+    @Override
+    public void stop() throws Exception {
+    }
+
+    private void warmUp(HttpRoute route) throws IOException, InterruptedException, ExecutionException,
+            TimeoutException {
+        // hold on to every connection until all are open, so that the pool can't hand one out twice
+        final int count = connectionCount(route);
+        final List<HttpClientConnection> connections = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                final HttpClientConnection connection = connectionManager.requestConnection(route, null)
+                                                                         .get(connectTimeout, TimeUnit.MILLISECONDS);
+                connections.add(connection);
+                if (!connection.isOpen()) {
+                    final HttpClientContext context = HttpClientContext.create();
+                    connectionManager.connect(connection, route, connectTimeout, context);
+                    connectionManager.routeComplete(connection, route, context);
+                }
+            }
+        } finally {
+            for (HttpClientConnection connection : connections) {
+                connectionManager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int connectionCount(HttpRoute route) {
+        // leasing more connections than the pool allows per route would block until the lease times out
+        if (connectionManager instanceof ConnPoolControl) {
+            return Math.min(connectionsPerRoute,
+                            ((ConnPoolControl<HttpRoute>) connectionManager).getMaxPerRoute(route));
+        }
+        return connectionsPerRoute;
+    }
+
+    private static HttpRoute route(HttpHost host) {
+        // the pool keys connections by route, so the port must be resolved as it is for the request
+        // routes, by the route planner or the load balancer's endpoints
+        final HttpHost target;
+        try {
+            target = new HttpHost(host.getHostName(), DefaultSchemePortResolver.INSTANCE.resolve(host),
+                                  host.getSchemeName());
+        } catch (UnsupportedSchemeException e) {
+            throw new IllegalArgumentException(e);
+        }
+        return new HttpRoute(target, null, "https".equalsIgnoreCase(host.getSchemeName()));
+    }
+}
@@ -0,0 +1,77 @@
+package io.dropwizard.client.warmup;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * Configuration of a client's connection warm-up, which opens connections to the given routes
+ * when the application starts, so that the first requests don't wait for DNS lookups, TCP connects
+ * and TLS handshakes.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code routes}</td>
+ *         <td>the load balancer's endpoints</td>
+ *         <td>The hosts to connect to, e.g. {@code https://api.example.com}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code connectionsPerRoute}</td>
+ *         <td>2</td>
+ *         <td>The number of connections opened to each route.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code failOnError}</td>
+ *         <td>false</td>
+ *         <td>Whether the application fails to start if a connection can't be opened.</td>
+ *     </tr>
+ * </table>
+ */
+public class ConnectionWarmUpConfiguration {
+    @NotNull
+    private List<String> routes = ImmutableList.of();
+
+    @Min(1)
+    private int connectionsPerRoute = 2;
+
+    private boolean failOnError = false;
+
+    @JsonProperty
+    public List<String> getRoutes() {
+        return routes;
+    }
+
+    @JsonProperty
+    public void setRoutes(List<String> routes) {
+        this.routes = routes;
+    }
+
+    @JsonProperty
+    public int getConnectionsPerRoute() {
+        return connectionsPerRoute;
+    }
+
+    @JsonProperty
+    public void setConnectionsPerRoute(int connectionsPerRoute) {
+        this.connectionsPerRoute = connectionsPerRoute;
+    }
+
+    @JsonProperty
+    public boolean isFailOnError() {
+        return failOnError;
+    }
+
+    @JsonProperty
+    public void setFailOnError(boolean failOnError) {
+        this.failOnError = failOnError;
+    }
+}
@@ -6,6 +6,8 @@ import com.codahale.metrics.httpclient.InstrumentedHttpClientConnectionManager;
 import com.codahale.metrics.httpclient.InstrumentedHttpRequestExecutor;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
+import io.dropwizard.client.breaker.CircuitBreakerConfiguration;
+import io.dropwizard.client.breaker.CircuitBreakerOpenException;
 import io.dropwizard.client.proxy.AuthConfiguration;
 import io.dropwizard.client.proxy.ProxyConfiguration;
 import io.dropwizard.jackson.Jackson;
@@ -24,6 +26,7 @@ import org.apache.http.client.HttpRequestRetryHandler;
 import org.apache.http.client.config.CookieSpecs;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
 import org.apache.http.config.SocketConfig;
@@ -310,6 +313,21 @@ public class HttpClientBuilderTest {
         assertThat(spyHttpClientBuilderField("retryHandler", apacheBuilder)).isSameAs(customHandler);
     }
 
+    @Test
+    public void doesNotRetryRequestsRejectedByAnOpenCircuitBreaker() throws Exception {
+        configuration.setRetries(3);
+        configuration.setCircuitBreaker(new CircuitBreakerConfiguration());
+        assertThat(builder.using(configuration).createClient(apacheBuilder, connectionManager, "test")).isNotNull();
+
+        final HttpRequestRetryHandler retryHandler =
+                (HttpRequestRetryHandler) spyHttpClientBuilderField("retryHandler", apacheBuilder);
+        assertThat(retryHandler.retryRequest(new CircuitBreakerOpenException("example.com:80"), 1,
+                                             HttpClientContext.create()))
+                .isFalse();
+        assertThat(retryHandler.retryRequest(new NoHttpResponseException("nope"), 1, HttpClientContext.create()))
+                .isTrue();
+    }
+
     @Test
     public void usesCredentialsProvider() throws Exception {
         final CredentialsProvider credentialsProvider = new CredentialsProvider() {
@@ -3,6 +3,7 @@ package io.dropwizard.client;
 import com.google.common.io.Resources;
 import io.dropwizard.configuration.ConfigurationFactory;
 import io.dropwizard.jackson.Jackson;
+import io.dropwizard.util.Size;
 import org.junit.Test;
 
 import javax.validation.Validation;
@@ -24,5 +25,17 @@ public class JerseyClientConfigurationTest {
         assertThat(configuration.isGzipEnabled()).isFalse();
         assertThat(configuration.isGzipEnabledForRequests()).isFalse();
         assertThat(configuration.isChunkedEncodingEnabled()).isFalse();
+        assertThat(configuration.getRequestEncoding()).isEqualTo("deflate");
+        assertThat(configuration.getCompressionLevel()).isEqualTo(1);
+        assertThat(configuration.getMinimumRequestEntitySize()).isEqualTo(Size.kilobytes(1));
+    }
+
+    @Test
+    public void requestEncodingMustBeAbleToEncode() throws Exception {
+        final JerseyClientConfiguration configuration = new JerseyClientConfiguration();
+        assertThat(configuration.isRequestEncodingSupported()).isTrue();
+
+        configuration.setRequestEncoding("compress");
+        assertThat(configuration.isRequestEncodingSupported()).isFalse();
     }
 }
@@ -0,0 +1,75 @@
+package io.dropwizard.client;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class SegmentedBufferTest {
+    private final SegmentedBuffer buffer = new SegmentedBuffer();
+
+    @Test
+    public void isEmptyInitially() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        buffer.writeTo(output);
+
+        assertThat(buffer.size()).isZero();
+        assertThat(output.toByteArray()).isEmpty();
+    }
+
+    @Test
+    public void buffersContentAcrossSegments() throws Exception {
+        final byte[] content = new byte[SegmentedBuffer.SEGMENT_SIZE * 3 + 17];
+        new Random(42).nextBytes(content);
+
+        buffer.write(content[0]);
+        buffer.write(content, 1, SegmentedBuffer.SEGMENT_SIZE);
+        buffer.write(content, SegmentedBuffer.SEGMENT_SIZE + 1, content.length - SegmentedBuffer.SEGMENT_SIZE - 1);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        buffer.writeTo(output);
+        assertThat(buffer.size()).isEqualTo(content.length);
+        assertThat(output.toByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    public void canBeWrittenOutRepeatedly() throws Exception {
+        buffer.write(new byte[]{1, 2, 3});
+
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        buffer.writeTo(first);
+        buffer.writeTo(second);
+
+        assertThat(second.toByteArray()).isEqualTo(first.toByteArray()).isEqualTo(new byte[]{1, 2, 3});
+    }
+
+    @Test
+    public void reusesReleasedSegments() throws Exception {
+        buffer.write(new byte[]{1, 2, 3});
+        buffer.release();
+
+        final SegmentedBuffer reused = new SegmentedBuffer();
+        reused.write(new byte[]{4});
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        reused.writeTo(output);
+        assertThat(output.toByteArray()).isEqualTo(new byte[]{4});
+    }
+
+    @Test
+    public void cannotBeUsedOnceReleased() throws Exception {
+        buffer.write(1);
+        buffer.release();
+
+        try {
+            buffer.writeTo(new ByteArrayOutputStream());
+            failBecauseExceptionWasNotThrown(IOException.class);
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package io.dropwizard.client.balancing;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.ImmutableList;
+import io.dropwizard.client.warmup.ConnectionWarmUp;
+import io.dropwizard.client.warmup.ConnectionWarmUpConfiguration;
+import io.dropwizard.util.Duration;
+import org.apache.http.HttpHost;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LoadBalancerTest {
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final Clock clock = mock(Clock.class);
+    private final LoadBalancerConfiguration configuration = new LoadBalancerConfiguration();
+
+    @Before
+    public void setUp() throws Exception {
+        configuration.setEndpoints(ImmutableList.of("http://one:8080", "http://two:8080", "https://three:8443"));
+        configuration.setMaxFailures(2);
+        configuration.setEjectionPeriod(Duration.seconds(10));
+        when(clock.getTick()).thenReturn(0L);
+    }
+
+    @Test
+    public void parsesTheEndpoints() throws Exception {
+        final LoadBalancer loadBalancer = new LoadBalancer(configuration, metricRegistry, "test", clock);
+
+        assertThat(loadBalancer.getEndpoints())
+                .extracting("host")
+                .containsExactly(new HttpHost("one", 8080, "http"),
+                                 new HttpHost("two", 8080, "http"),
+                                 new HttpHost("three", 8443, "https"));
+    }
+
+    @Test
+    public void resolvesTheDefaultPortsOfEndpointsLikeTheWarmUp() throws Exception {
+        configuration.setEndpoints(ImmutableList.of("http://one", "https://three"));
+        final LoadBalancer loadBalancer = new LoadBalancer(configuration, metricRegistry, "test", clock);
+        final ConnectionWarmUp warmUp = new ConnectionWarmUp("test", new PoolingHttpClientConnectionManager(),
+                                                             configuration.getEndpoints(),
+                                                             new ConnectionWarmUpConfiguration(), 1000);
+
+        assertThat(loadBalancer.getEndpoints())
+                .extracting("host")
+                .containsExactly(new HttpHost("one", 80, "http"),
+                                 new HttpHost("three", 443, "https"));
+        assertThat(warmUp.getRoutes())
+                .extracting("targetHost")
+                .containsExactly(loadBalancer.getEndpoints().get(0).getHost(),
+                                 loadBalancer.getEndpoints().get(1).getHost());
+    }
+
+    @Test
+    public void powerOfTwoChoicesAvoidsTheBusiestEndpoint() throws Exception {
+        final LoadBalancer loadBalancer = new LoadBalancer(configuration, metricRegistry, "test", clock);
+        final Endpoint busy = loadBalancer.getEndpoints().get(0);
+        busy.start();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(loadBalancer.select()).isNotSameAs(busy);
+        }
+    }
+
+    @Test
+    public void powerOfTwoChoicesUsesEveryEndpoint() throws Exception {
+        final LoadBalancer loadBalancer = new LoadBalancer(configuration, metricRegistry, "test", clock);
+
+        final Set<Endpoint> selected = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            selected.add(loadBalancer.select());
+        }
+
+        assertThat(selected).containsOnlyElementsOf(loadBalancer.getEndpoints()).hasSize(3);
+    }
+
+    @Test
+    public void leastInFlightSelectsTheIdlestEndpoint() throws Exception {
+        configuration.setStrategy(SelectionStrategy.LEAST_IN_FLIGHT);
+        final LoadBalancer loadBalancer = new LoadBalancer(configuration, metricRegistry, "test", clock);
+        loadBalancer.getEndpoints().get(0).start();
+        loadBalancer.getEndpoints().get(2).start();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(loadBalancer.select()).isSameAs(loadBalancer.getEndpoints().get(1));
+        }
+    }
+
+    @Test
+    public void ejectsEndpointsWhichFailRepeatedly() throws Exception {
+        final LoadBalancer loadBalancer = new LoadBalancer(configuration, metricRegistry, "test", clock);
+        final Endpoint failing = loadBalancer.getEndpoints().get(1);
+
+        loadBalancer.failed(failing, loadBalancer.start(failing));
+        assertThat(failing.isEjected(0)).isFalse();
+        loadBalancer.failed(failing, loadBalancer.start(failing));
+        assertThat(failing.isEjected(0)).isTrue();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(loadBalancer.select()).isNotSameAs(failing);
+        }
+        assertThat(metricRegistry.meter("org.apache.http.client.HttpClient.test.endpoints.two:8080.errors")
+                                 .getCount())
+                .isEqualTo(2);
+        assertThat(metricRegistry.meter("org.apache.http.client.HttpClient.test.endpoints.two:8080.ejections")
+                                 .getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void readmitsEjectedEndpointsAfterTheEjectionPeriod() throws Exception {
+        final LoadBalancer loadBalancer = new LoadBalancer(configuration, metricRegistry, "test", clock);
+        final Endpoint failing = loadBalancer.getEndpoints().get(1);
+        loadBalancer.failed(failing, loadBalancer.start(failing));
+        loadBalancer.failed(failing, loadBalancer.start(failing));
+
+        assertThat(failing.isEjected(Duration.seconds(9).toNanoseconds())).isTrue();
+        assertThat(failing.isEjected(Duration.seconds(10).toNanoseconds())).isFalse();
+    }
+
+    @Test
+    public void successesResetTheFailureCount() throws Exception {
+        final LoadBalancer loadBalancer = new LoadBalancer(configuration, metricRegistry, "test", clock);
+        final Endpoint endpoint = loadBalancer.getEndpoints().get(0);
+
+        loadBalancer.failed(endpoint, loadBalancer.start(endpoint));
+        loadBalancer.succeeded(endpoint, loadBalancer.start(endpoint));
+        loadBalancer.failed(endpoint, loadBalancer.start(endpoint));
+
+        assertThat(endpoint.isEjected(0)).isFalse();
+    }
+
+    @Test
+    public void balancesAcrossAllEndpointsWhenAllAreEjected() throws Exception {
+        final LoadBalancer loadBalancer = new LoadBalancer(configuration, metricRegistry, "test", clock);
+        for (Endpoint endpoint : loadBalancer.getEndpoints()) {
+            loadBalancer.failed(endpoint, loadBalancer.start(endpoint));
+            loadBalancer.failed(endpoint, loadBalancer.start(endpoint));
+        }
+
+        assertThat(loadBalancer.select()).isIn(loadBalancer.getEndpoints());
+    }
+
+    @Test
+    public void recordsLatencyAndInFlightRequests() throws Exception {
+        final LoadBalancer loadBalancer = new LoadBalancer(configuration, metricRegistry, "test", clock);
+        final Endpoint endpoint = loadBalancer.getEndpoints().get(0);
+        final String prefix = "org.apache.http.client.HttpClient.test.endpoints.one:8080";
+
+        final Timer.Context context = loadBalancer.start(endpoint);
+        assertThat(metricRegistry.getGauges().get(prefix + ".in-flight").getValue()).isEqualTo(1);
+
+        loadBalancer.succeeded(endpoint, context);
+        assertThat(metricRegistry.getGauges().get(prefix + ".in-flight").getValue()).isEqualTo(0);
+        assertThat(metricRegistry.timer(prefix + ".requests").getCount()).isEqualTo(1);
+    }
+}
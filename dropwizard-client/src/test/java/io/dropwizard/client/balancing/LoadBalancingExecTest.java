@@ -0,0 +1,94 @@
+package io.dropwizard.client.balancing;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableList;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.dropwizard.client.HttpClientBuilder;
+import io.dropwizard.client.HttpClientConfiguration;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LoadBalancingExecTest {
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private HttpServer healthy;
+    private HttpServer failing;
+
+    @Before
+    public void setUp() throws Exception {
+        healthy = server(200, "healthy");
+        failing = server(503, "failing");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        healthy.stop(0);
+        failing.stop(0);
+    }
+
+    @Test
+    public void sendsRequestsToTheConfiguredEndpointsAndEjectsFailingOnes() throws Exception {
+        final LoadBalancerConfiguration loadBalancer = new LoadBalancerConfiguration();
+        loadBalancer.setEndpoints(ImmutableList.of(uri(healthy), uri(failing)));
+        loadBalancer.setMaxFailures(1);
+        final HttpClientConfiguration configuration = new HttpClientConfiguration();
+        configuration.setLoadBalancer(loadBalancer);
+
+        try (CloseableHttpClient client = new HttpClientBuilder(metricRegistry).using(configuration)
+                                                                                .build("balanced")) {
+            for (int i = 0; i < 20; i++) {
+                get(client);
+            }
+            // once the failing endpoint has been ejected, every request goes to the healthy one
+            for (int i = 0; i < 20; i++) {
+                assertThat(get(client)).isEqualTo("healthy");
+            }
+        }
+
+        final String prefix = "org.apache.http.client.HttpClient.balanced.endpoints.";
+        assertThat(metricRegistry.meter(prefix + "localhost:" + port(failing) + ".ejections").getCount())
+                .isEqualTo(1);
+        assertThat(metricRegistry.meter(prefix + "localhost:" + port(healthy) + ".errors").getCount())
+                .isZero();
+    }
+
+    private static String get(CloseableHttpClient client) throws IOException {
+        try (CloseableHttpResponse response = client.execute(new HttpGet("http://service/ping"))) {
+            return EntityUtils.toString(response.getEntity());
+        }
+    }
+
+    private static HttpServer server(final int status, final String body) throws IOException {
+        final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ping", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                final byte[] bytes = body.getBytes("UTF-8");
+                exchange.sendResponseHeaders(status, bytes.length);
+                exchange.getResponseBody().write(bytes);
+                exchange.close();
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static int port(HttpServer server) {
+        return server.getAddress().getPort();
+    }
+
+    private static String uri(HttpServer server) {
+        return "http://localhost:" + port(server);
+    }
+}
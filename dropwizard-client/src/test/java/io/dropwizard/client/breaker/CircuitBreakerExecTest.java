@@ -0,0 +1,139 @@
+package io.dropwizard.client.breaker;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.health.HealthCheck;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.execchain.ClientExecChain;
+import org.apache.http.message.BasicStatusLine;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CircuitBreakerExecTest {
+    private static final HttpHost FAILING = new HttpHost("failing.example.com", 8080);
+    private static final HttpHost HEALTHY = new HttpHost("healthy.example.com", 8080);
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final Clock clock = mock(Clock.class);
+    private final ClientExecChain next = mock(ClientExecChain.class);
+    private final CloseableHttpResponse ok = response(200);
+    private final CloseableHttpResponse unavailable = response(503);
+    private final CircuitBreakerConfiguration configuration = new CircuitBreakerConfiguration();
+    private CircuitBreakers breakers;
+    private CircuitBreakerExec exec;
+
+    @Before
+    public void setUp() throws Exception {
+        configuration.setMinimumCalls(2);
+        breakers = new CircuitBreakers(configuration, metricRegistry, "test", clock);
+        exec = new CircuitBreakerExec(next, breakers);
+        when(clock.getTick()).thenReturn(0L);
+    }
+
+    @Test
+    public void rejectsRequestsToHostsWhichKeepFailing() throws Exception {
+        when(next.execute(eq(route(FAILING)), any(HttpRequestWrapper.class), any(HttpClientContext.class),
+                          any(HttpExecutionAware.class))).thenReturn(unavailable);
+        execute(FAILING);
+        execute(FAILING);
+
+        try {
+            execute(FAILING);
+            failBecauseExceptionWasNotThrown(CircuitBreakerOpenException.class);
+        } catch (CircuitBreakerOpenException e) {
+            assertThat(e.getHost()).isEqualTo("failing.example.com:8080");
+        }
+        assertThat(metricRegistry.meter(
+                "org.apache.http.client.HttpClient.test.circuit-breakers.failing.example.com:8080.rejected")
+                                 .getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void keepsABreakerPerHost() throws Exception {
+        when(next.execute(eq(route(FAILING)), any(HttpRequestWrapper.class), any(HttpClientContext.class),
+                          any(HttpExecutionAware.class))).thenThrow(new IOException("nope"));
+        when(next.execute(eq(route(HEALTHY)), any(HttpRequestWrapper.class), any(HttpClientContext.class),
+                          any(HttpExecutionAware.class))).thenReturn(ok);
+        for (int i = 0; i < 2; i++) {
+            try {
+                execute(FAILING);
+            } catch (IOException ignored) {
+            }
+        }
+
+        assertThat(execute(HEALTHY)).isSameAs(ok);
+        assertThat(breakers.getTrippedHosts()).containsOnly("failing.example.com:8080");
+        assertThat(metricRegistry.getGauges()
+                                 .get("org.apache.http.client.HttpClient.test.circuit-breakers." +
+                                              "healthy.example.com:8080.state")
+                                 .getValue())
+                .isEqualTo("CLOSED");
+    }
+
+    @Test
+    public void doesNotSendRejectedRequests() throws Exception {
+        when(next.execute(eq(route(FAILING)), any(HttpRequestWrapper.class), any(HttpClientContext.class),
+                          any(HttpExecutionAware.class))).thenReturn(unavailable);
+        execute(FAILING);
+        execute(FAILING);
+        final HttpRequestWrapper rejected = HttpRequestWrapper.wrap(new HttpGet("/"), FAILING);
+
+        try {
+            exec.execute(route(FAILING), rejected, HttpClientContext.create(), null);
+            failBecauseExceptionWasNotThrown(CircuitBreakerOpenException.class);
+        } catch (CircuitBreakerOpenException ignored) {
+        }
+
+        verify(next, never()).execute(any(HttpRoute.class), eq(rejected),
+                                      any(HttpClientContext.class), any(HttpExecutionAware.class));
+    }
+
+    @Test
+    public void isUnhealthyWhileABreakerIsOpen() throws Exception {
+        final CircuitBreakerHealthCheck healthCheck = new CircuitBreakerHealthCheck(breakers);
+        when(next.execute(eq(route(FAILING)), any(HttpRequestWrapper.class), any(HttpClientContext.class),
+                          any(HttpExecutionAware.class))).thenReturn(unavailable);
+        assertThat(healthCheck.execute().isHealthy()).isTrue();
+
+        execute(FAILING);
+        execute(FAILING);
+
+        final HealthCheck.Result result = healthCheck.execute();
+        assertThat(result.isHealthy()).isFalse();
+        assertThat(result.getMessage()).isEqualTo("Circuit breakers open for failing.example.com:8080");
+    }
+
+    private CloseableHttpResponse execute(HttpHost host) throws Exception {
+        return exec.execute(route(host), HttpRequestWrapper.wrap(new HttpGet("/"), host),
+                            HttpClientContext.create(), null);
+    }
+
+    private static HttpRoute route(HttpHost host) {
+        return new HttpRoute(host);
+    }
+
+    private static CloseableHttpResponse response(int status) {
+        final CloseableHttpResponse response = mock(CloseableHttpResponse.class);
+        when(response.getStatusLine()).thenReturn(new BasicStatusLine(HttpVersion.HTTP_1_1, status, ""));
+        return response;
+    }
+}
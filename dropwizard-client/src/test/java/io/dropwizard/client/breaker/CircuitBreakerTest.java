@@ -0,0 +1,112 @@
+package io.dropwizard.client.breaker;
+
+import com.codahale.metrics.Meter;
+import io.dropwizard.util.Duration;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CircuitBreakerTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(2);
+    private static final long OPEN = TimeUnit.SECONDS.toNanos(30);
+
+    private final CircuitBreakerConfiguration configuration = new CircuitBreakerConfiguration();
+    private final Meter opened = new Meter();
+    private final Meter rejected = new Meter();
+    private CircuitBreaker breaker;
+
+    @Before
+    public void setUp() throws Exception {
+        configuration.setWindowSize(10);
+        configuration.setMinimumCalls(4);
+        configuration.setFailureRateThreshold(50);
+        configuration.setSlowCallDuration(Duration.seconds(1));
+        configuration.setSlowCallRateThreshold(75);
+        configuration.setHalfOpenCalls(2);
+        breaker = new CircuitBreaker(configuration, opened, rejected);
+    }
+
+    @Test
+    public void staysClosedBelowTheMinimumNumberOfCalls() throws Exception {
+        record(3, true, FAST);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire(0)).isTrue();
+    }
+
+    @Test
+    public void opensAtTheFailureRateThreshold() throws Exception {
+        record(2, false, FAST);
+        record(1, true, FAST);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        record(1, true, FAST);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(opened.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void opensAtTheSlowCallRateThreshold() throws Exception {
+        record(1, false, FAST);
+        record(3, false, SLOW);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void onlyConsidersTheMostRecentCalls() throws Exception {
+        record(10, false, FAST);
+        record(4, true, FAST);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        record(1, true, FAST);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void rejectsRequestsWhileOpen() throws Exception {
+        record(4, true, FAST);
+
+        assertThat(breaker.tryAcquire(OPEN - 1)).isFalse();
+        assertThat(rejected.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void closesOnceTheProbesSucceed() throws Exception {
+        record(4, true, FAST);
+
+        assertThat(breaker.tryAcquire(OPEN)).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire(OPEN)).isTrue();
+        assertThat(breaker.tryAcquire(OPEN)).isFalse();
+
+        breaker.record(false, FAST, OPEN);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.record(false, FAST, OPEN);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire(OPEN)).isTrue();
+    }
+
+    @Test
+    public void reopensIfAProbeFails() throws Exception {
+        record(4, true, FAST);
+
+        assertThat(breaker.tryAcquire(OPEN)).isTrue();
+        breaker.record(true, FAST, OPEN);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire(OPEN + OPEN - 1)).isFalse();
+        assertThat(breaker.tryAcquire(OPEN + OPEN)).isTrue();
+    }
+
+    private void record(int times, boolean failed, long duration) {
+        for (int i = 0; i < times; i++) {
+            assertThat(breaker.tryAcquire(0)).isTrue();
+            breaker.record(failed, duration, 0);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.dropwizard.client.cache;
+
+import com.codahale.metrics.MetricRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.dropwizard.client.HttpClientBuilder;
+import io.dropwizard.client.HttpClientConfiguration;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InstrumentedCachingExecTest {
+    private static final String PREFIX = "org.apache.http.client.HttpClient.cached.cache.";
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final AtomicInteger responses = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private HttpServer server;
+    private CloseableHttpClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/fresh", new Handler("max-age=60"));
+        server.createContext("/stale", new Handler("max-age=0"));
+        server.start();
+
+        final HttpClientConfiguration configuration = new HttpClientConfiguration();
+        configuration.setCache(new HttpCacheConfiguration());
+        client = new HttpClientBuilder(metricRegistry).using(configuration).build("cached");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void servesFreshResponsesFromTheCache() throws Exception {
+        assertThat(get("/fresh")).isEqualTo("response 1");
+        assertThat(get("/fresh")).isEqualTo("response 1");
+
+        assertThat(responses.get()).isEqualTo(1);
+        assertThat(metricRegistry.meter(PREFIX + "misses").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.meter(PREFIX + "hits").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void revalidatesStaleResponses() throws Exception {
+        assertThat(get("/stale")).isEqualTo("response 1");
+        assertThat(get("/stale")).isEqualTo("response 1");
+
+        assertThat(notModified.get()).isEqualTo(1);
+        assertThat(metricRegistry.meter(PREFIX + "misses").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.meter(PREFIX + "validated").getCount()).isEqualTo(1);
+    }
+
+    private String get(String path) throws IOException {
+        final String uri = "http://localhost:" + server.getAddress().getPort() + path;
+        try (CloseableHttpResponse response = client.execute(new HttpGet(uri))) {
+            return EntityUtils.toString(response.getEntity());
+        }
+    }
+
+    private class Handler implements HttpHandler {
+        private final String cacheControl;
+
+        private Handler(String cacheControl) {
+            this.cacheControl = cacheControl;
+        }
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try {
+                exchange.getResponseHeaders().add("Cache-Control", cacheControl);
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    notModified.incrementAndGet();
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+                final byte[] body = ("response " + responses.incrementAndGet()).getBytes("UTF-8");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+}
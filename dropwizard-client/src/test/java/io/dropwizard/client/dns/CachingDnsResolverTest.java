@@ -0,0 +1,110 @@
+package io.dropwizard.client.dns;
+
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.dropwizard.util.Duration;
+import org.apache.http.conn.DnsResolver;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachingDnsResolverTest {
+    private final DnsResolver underlying = mock(DnsResolver.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+    private final DnsCacheConfiguration configuration = new DnsCacheConfiguration();
+    private InetAddress first;
+    private InetAddress second;
+    private CachingDnsResolver resolver;
+
+    @Before
+    public void setUp() throws Exception {
+        first = InetAddress.getByAddress("example.com", new byte[]{10, 0, 0, 1});
+        second = InetAddress.getByAddress("example.com", new byte[]{10, 0, 0, 2});
+        configuration.setTtl(Duration.minutes(5));
+        configuration.setRefreshInterval(Duration.seconds(30));
+        resolver = new CachingDnsResolver(underlying, configuration, ticker, MoreExecutors.directExecutor());
+    }
+
+    @Test
+    public void cachesResolvedAddresses() throws Exception {
+        when(underlying.resolve("example.com")).thenReturn(new InetAddress[]{first});
+
+        assertThat(resolver.resolve("example.com")).containsExactly(first);
+        assertThat(resolver.resolve("example.com")).containsExactly(first);
+
+        verify(underlying, times(1)).resolve("example.com");
+    }
+
+    @Test
+    public void refreshesAddressesAfterTheRefreshInterval() throws Exception {
+        when(underlying.resolve("example.com")).thenReturn(new InetAddress[]{first}, new InetAddress[]{second});
+        resolver.resolve("example.com");
+
+        nanos.addAndGet(Duration.seconds(31).toNanoseconds());
+
+        // the refresh is triggered by the first lookup after the refresh interval
+        resolver.resolve("example.com");
+        assertThat(resolver.resolve("example.com")).containsExactly(second);
+    }
+
+    @Test
+    public void keepsTheCachedAddressesIfTheRefreshFails() throws Exception {
+        when(underlying.resolve("example.com"))
+                .thenReturn(new InetAddress[]{first})
+                .thenThrow(new UnknownHostException("example.com"));
+        resolver.resolve("example.com");
+
+        nanos.addAndGet(Duration.seconds(31).toNanoseconds());
+
+        assertThat(resolver.resolve("example.com")).containsExactly(first);
+        assertThat(resolver.resolve("example.com")).containsExactly(first);
+    }
+
+    @Test
+    public void dropsAddressesOnceTheirTtlExpires() throws Exception {
+        when(underlying.resolve("example.com"))
+                .thenReturn(new InetAddress[]{first})
+                .thenThrow(new UnknownHostException("example.com"));
+        resolver.resolve("example.com");
+
+        nanos.addAndGet(Duration.minutes(6).toNanoseconds());
+
+        try {
+            resolver.resolve("example.com");
+            failBecauseExceptionWasNotThrown(UnknownHostException.class);
+        } catch (UnknownHostException e) {
+            assertThat(e.getMessage()).isEqualTo("example.com");
+        }
+    }
+
+    @Test
+    public void doesNotCacheUnknownHosts() throws Exception {
+        when(underlying.resolve("example.com"))
+                .thenThrow(new UnknownHostException("example.com"))
+                .thenReturn(new InetAddress[]{first});
+
+        try {
+            resolver.resolve("example.com");
+            failBecauseExceptionWasNotThrown(UnknownHostException.class);
+        } catch (UnknownHostException ignored) {
+        }
+
+        assertThat(resolver.resolve("example.com")).containsExactly(first);
+    }
+}
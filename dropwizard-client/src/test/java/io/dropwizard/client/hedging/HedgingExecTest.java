@@ -0,0 +1,234 @@
+package io.dropwizard.client.hedging;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.client.breaker.CircuitBreakerConfiguration;
+import io.dropwizard.client.breaker.CircuitBreakerExec;
+import io.dropwizard.client.breaker.CircuitBreakers;
+import io.dropwizard.util.Duration;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpVersion;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.concurrent.Cancellable;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.execchain.ClientExecChain;
+import org.apache.http.impl.execchain.RequestAbortedException;
+import org.apache.http.message.BasicStatusLine;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class HedgingExecTest {
+    private static final HttpHost HOST = new HttpHost("example.com");
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final Clock clock = mock(Clock.class);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final FakeExec next = new FakeExec();
+    private final HedgingConfiguration configuration = new HedgingConfiguration();
+    private final RetryBudgetConfiguration budgetConfiguration = new RetryBudgetConfiguration();
+
+    @Before
+    public void setUp() throws Exception {
+        when(clock.getTick()).thenReturn(0L);
+        final StatusLine ok = new BasicStatusLine(HttpVersion.HTTP_1_1, 200, "OK");
+        when(next.primaryResponse.getStatusLine()).thenReturn(ok);
+        when(next.hedgeResponse.getStatusLine()).thenReturn(ok);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void hedgesSlowRequests() throws Exception {
+        final HedgingExec exec = warmedUp();
+        next.slow = true;
+
+        final CloseableHttpResponse response = execute(exec, new HttpGet("/"));
+
+        assertThat(response).isSameAs(next.hedgeResponse);
+        assertThat(next.primaryAborted.getCount()).isZero();
+        assertThat(metricRegistry.meter("org.apache.http.client.HttpClient.test.hedging.hedges").getCount())
+                .isEqualTo(1);
+        assertThat(metricRegistry.meter("org.apache.http.client.HttpClient.test.hedging.wins").getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void doesNotHedgeFastRequests() throws Exception {
+        final HedgingExec exec = warmedUp();
+
+        final CloseableHttpResponse response = execute(exec, new HttpGet("/"));
+
+        assertThat(response).isSameAs(next.primaryResponse);
+        assertThat(metricRegistry.meter("org.apache.http.client.HttpClient.test.hedging.hedges").getCount())
+                .isZero();
+    }
+
+    @Test
+    public void doesNotHedgeRequestsWithEntities() throws Exception {
+        final HedgingExec exec = warmedUp();
+        next.slow = true;
+        next.slowTimeout = 100;
+
+        try {
+            execute(exec, new HttpPost("/"));
+        } catch (RequestAbortedException ignored) {
+        }
+
+        assertThat(next.hedges.get()).isZero();
+    }
+
+    @Test
+    public void doesNotHedgeUnlistedMethods() throws Exception {
+        final HedgingExec exec = warmedUp();
+        next.slow = true;
+        next.slowTimeout = 100;
+
+        try {
+            execute(exec, new HttpGet("/") {
+                @Override
+                public String getMethod() {
+                    return "DELETE";
+                }
+            });
+        } catch (RequestAbortedException ignored) {
+        }
+
+        assertThat(next.hedges.get()).isZero();
+    }
+
+    @Test
+    public void doesNotHedgeBeyondTheBudget() throws Exception {
+        budgetConfiguration.setBurst(0);
+        budgetConfiguration.setRatio(0);
+        final HedgingExec exec = warmedUp();
+        next.slow = true;
+        next.slowTimeout = 100;
+
+        try {
+            execute(exec, new HttpGet("/"));
+        } catch (RequestAbortedException ignored) {
+        }
+
+        assertThat(next.hedges.get()).isZero();
+        assertThat(metricRegistry.meter("org.apache.http.client.HttpClient.test.retry-budget.exhausted").getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void closesTheLosingResponse() throws Exception {
+        final HedgingExec exec = warmedUp();
+        next.slow = true;
+        next.respondWhenAborted = true;
+
+        final CloseableHttpResponse response = execute(exec, new HttpGet("/"));
+
+        assertThat(response).isSameAs(next.hedgeResponse);
+        verify(next.primaryResponse).close();
+    }
+
+    @Test
+    public void doesNotTripCircuitBreakersWithTheLosingAttempts() throws Exception {
+        final CircuitBreakerConfiguration breakerConfiguration = new CircuitBreakerConfiguration();
+        breakerConfiguration.setWindowSize(4);
+        breakerConfiguration.setMinimumCalls(2);
+        final CircuitBreakers breakers = new CircuitBreakers(breakerConfiguration, metricRegistry, "test");
+        final HedgingExec exec = warmedUp(new CircuitBreakerExec(next, breakers));
+        next.slow = true;
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(execute(exec, new HttpGet("/"))).isSameAs(next.hedgeResponse);
+            next.primaryAborted = new CountDownLatch(1);
+        }
+
+        assertThat(breakers.getTrippedHosts()).isEmpty();
+    }
+
+    private HedgingExec warmedUp() throws Exception {
+        return warmedUp(next);
+    }
+
+    private HedgingExec warmedUp(ClientExecChain next) throws Exception {
+        configuration.setMinDelay(Duration.milliseconds(20));
+        final HedgingExec exec = new HedgingExec(next, configuration,
+                new RetryBudget(budgetConfiguration, metricRegistry, "test"),
+                metricRegistry, "test", scheduler, executor, clock);
+        for (int i = 0; i < 100; i++) {
+            execute(exec, new HttpGet("/"));
+        }
+        when(clock.getTick()).thenReturn(TimeUnit.SECONDS.toNanos(2));
+        return exec;
+    }
+
+    private static CloseableHttpResponse execute(HedgingExec exec, HttpRequest request) throws Exception {
+        return exec.execute(new HttpRoute(HOST), HttpRequestWrapper.wrap(request, HOST),
+                            HttpClientContext.create(), null);
+    }
+
+    private static class FakeExec implements ClientExecChain {
+        private final Thread caller = Thread.currentThread();
+        private final CloseableHttpResponse primaryResponse = mock(CloseableHttpResponse.class);
+        private final CloseableHttpResponse hedgeResponse = mock(CloseableHttpResponse.class);
+        private volatile CountDownLatch primaryAborted = new CountDownLatch(1);
+        private final AtomicInteger hedges = new AtomicInteger();
+        private volatile boolean slow;
+        private volatile boolean respondWhenAborted;
+        private volatile long slowTimeout = 5000;
+
+        @Override
+        public CloseableHttpResponse execute(HttpRoute route,
+                                             HttpRequestWrapper request,
+                                             HttpClientContext clientContext,
+                                             HttpExecutionAware execAware) throws RequestAbortedException {
+            if (Thread.currentThread() != caller) {
+                hedges.incrementAndGet();
+                return hedgeResponse;
+            }
+            if (slow) {
+                final CountDownLatch aborted = primaryAborted;
+                if (execAware != null) {
+                    execAware.setCancellable(new Cancellable() {
+                        @Override
+                        public boolean cancel() {
+                            aborted.countDown();
+                            return true;
+                        }
+                    });
+                }
+                try {
+                    aborted.await(slowTimeout, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (!respondWhenAborted) {
+                    throw new RequestAbortedException("Request aborted");
+                }
+            }
+            return primaryResponse;
+        }
+    }
+}
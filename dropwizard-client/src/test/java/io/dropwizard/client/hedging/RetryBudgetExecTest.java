@@ -0,0 +1,53 @@
+package io.dropwizard.client.hedging;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apache.http.HttpHost;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.execchain.ClientExecChain;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class RetryBudgetExecTest {
+    private final HttpRoute route = new HttpRoute(new HttpHost("localhost", 8080));
+    private final HttpClientContext context = HttpClientContext.create();
+    private final RetryBudgetConfiguration configuration = new RetryBudgetConfiguration();
+    private RetryBudget budget;
+    private RetryBudgetExec exec;
+
+    @Before
+    public void setUp() throws Exception {
+        configuration.setBurst(2);
+        configuration.setRatio(1);
+        budget = new RetryBudget(configuration, new MetricRegistry(), "test");
+        budget.tryWithdraw();
+        budget.tryWithdraw();
+        exec = new RetryBudgetExec(mock(ClientExecChain.class), budget);
+    }
+
+    @Test
+    public void paysInOncePerRequest() throws Exception {
+        final HttpRequestWrapper request = HttpRequestWrapper.wrap(new HttpGet("/"));
+
+        // the retries of a request are executed again with the same request and context
+        exec.execute(route, request, context, null);
+        exec.execute(route, request, context, null);
+
+        assertThat(budget.getBalance())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    public void paysInForEveryRequestSharingAContext() throws Exception {
+        exec.execute(route, HttpRequestWrapper.wrap(new HttpGet("/")), context, null);
+        exec.execute(route, HttpRequestWrapper.wrap(new HttpGet("/")), context, null);
+
+        assertThat(budget.getBalance())
+                .isEqualTo(2.0);
+    }
+}
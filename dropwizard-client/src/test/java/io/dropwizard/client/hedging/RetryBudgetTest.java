@@ -0,0 +1,55 @@
+package io.dropwizard.client.hedging;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RetryBudgetTest {
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final RetryBudgetConfiguration configuration = new RetryBudgetConfiguration();
+
+    @Test
+    public void startsWithTheBurst() throws Exception {
+        configuration.setBurst(2);
+        final RetryBudget budget = new RetryBudget(configuration, metricRegistry, "test");
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+        assertThat(metricRegistry.meter("org.apache.http.client.HttpClient.test.retry-budget.exhausted").getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void allowsTheConfiguredRatioOfRetries() throws Exception {
+        configuration.setBurst(0);
+        configuration.setRatio(0.2);
+        final RetryBudget budget = new RetryBudget(configuration, metricRegistry, "test");
+
+        for (int i = 0; i < 4; i++) {
+            budget.deposit();
+        }
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    public void savesUpToTheBurst() throws Exception {
+        configuration.setBurst(1);
+        configuration.setRatio(1);
+        final RetryBudget budget = new RetryBudget(configuration, metricRegistry, "test");
+
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+
+        assertThat(budget.getBalance()).isEqualTo(1.0);
+        assertThat(metricRegistry.getGauges().get("org.apache.http.client.HttpClient.test.retry-budget.balance")
+                                 .getValue())
+                .isEqualTo(1.0);
+    }
+}
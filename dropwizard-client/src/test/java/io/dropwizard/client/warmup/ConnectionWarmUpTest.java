@@ -0,0 +1,126 @@
+package io.dropwizard.client.warmup;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class ConnectionWarmUpTest {
+    private final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    private final ConnectionWarmUpConfiguration configuration = new ConnectionWarmUpConfiguration();
+    private final List<Socket> accepted = new CopyOnWriteArrayList<>();
+    private ServerSocket server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new ServerSocket(0);
+        final Thread acceptor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    while (true) {
+                        accepted.add(server.accept());
+                    }
+                } catch (Exception ignored) {
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        connectionManager.shutdown();
+        server.close();
+        for (Socket socket : accepted) {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void opensConnectionsToEachRoute() throws Exception {
+        configuration.setConnectionsPerRoute(3);
+        connectionManager.setDefaultMaxPerRoute(5);
+        final String uri = "http://localhost:" + server.getLocalPort();
+        final ConnectionWarmUp warmUp = new ConnectionWarmUp("test", connectionManager, ImmutableList.of(uri),
+                                                             configuration, 1000);
+
+        warmUp.start();
+
+        final HttpRoute route = new HttpRoute(HttpHost.create(uri));
+        assertThat(warmUp.getRoutes()).containsExactly(route);
+        assertThat(connectionManager.getStats(route).getAvailable()).isEqualTo(3);
+        assertThat(connectionManager.getStats(route).getLeased()).isZero();
+    }
+
+    @Test
+    public void opensNoMoreConnectionsThanThePoolAllowsPerRoute() throws Exception {
+        configuration.setConnectionsPerRoute(5);
+        connectionManager.setDefaultMaxPerRoute(2);
+        final String uri = "http://localhost:" + server.getLocalPort();
+        final ConnectionWarmUp warmUp = new ConnectionWarmUp("test", connectionManager, ImmutableList.of(uri),
+                                                             configuration, 1000);
+
+        warmUp.start();
+
+        assertThat(connectionManager.getStats(new HttpRoute(HttpHost.create(uri))).getAvailable()).isEqualTo(2);
+    }
+
+    @Test
+    public void usesTheDefaultPortOfTheScheme() throws Exception {
+        final ConnectionWarmUp warmUp = new ConnectionWarmUp("test", connectionManager,
+                                                             ImmutableList.of("https://example.com"),
+                                                             configuration, 1000);
+
+        assertThat(warmUp.getRoutes())
+                .containsExactly(new HttpRoute(new HttpHost("example.com", 443, "https"), null, true));
+    }
+
+    @Test
+    public void ignoresUnreachableRoutesByDefault() throws Exception {
+        final int port = unusedPort();
+        final ConnectionWarmUp warmUp = new ConnectionWarmUp("test", connectionManager,
+                                                             ImmutableList.of("http://localhost:" + port),
+                                                             configuration, 1000);
+
+        warmUp.start();
+
+        assertThat(connectionManager.getTotalStats().getAvailable()).isZero();
+        assertThat(connectionManager.getTotalStats().getLeased()).isZero();
+    }
+
+    @Test
+    public void failsOnUnreachableRoutesIfConfiguredTo() throws Exception {
+        configuration.setFailOnError(true);
+        final ConnectionWarmUp warmUp = new ConnectionWarmUp("test", connectionManager,
+                                                             ImmutableList.of("http://localhost:" + unusedPort()),
+                                                             configuration, 1000);
+
+        try {
+            warmUp.start();
+            failBecauseExceptionWasNotThrown(ConnectException.class);
+        } catch (ConnectException ignored) {
+        }
+    }
+
+    private static int unusedPort() throws Exception {
+        try (ServerSocket socket = new ServerSocket()) {
+            socket.bind(new InetSocketAddress("localhost", 0));
+            return socket.getLocalPort();
+        }
+    }
+}
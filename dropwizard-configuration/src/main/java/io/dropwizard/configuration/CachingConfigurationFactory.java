@@ -0,0 +1,70 @@
+package io.dropwizard.configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
+import javax.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link ConfigurationFactory} which keeps the configuration files it has parsed, so that building
+ * a configuration from the same file again only binds and validates it. This is meant for test
+ * suites which start an application many times over from the same configuration file.
+ * <p/>
+ * Parsed files are shared by all caching factories, keyed by their path and a hash of their
+ * contents, so a file which has changed is parsed again. Overrides are applied to a copy of the
+ * parsed file, and every build binds a new configuration object.
+ *
+ * @param <T> the type of the configuration objects to produce
+ */
+public class CachingConfigurationFactory<T> extends ConfigurationFactory<T> {
+    private static final Cache<String, JsonNode> PARSED = CacheBuilder.newBuilder()
+                                                                      .maximumSize(64)
+                                                                      .build();
+
+    /**
+     * Creates a new caching configuration factory for the given class.
+     *
+     * @param klass          the configuration class
+     * @param validator      the validator to use
+     * @param objectMapper   the Jackson {@link ObjectMapper} to use
+     * @param propertyPrefix the system property name prefix used by overrides
+     */
+    public CachingConfigurationFactory(Class<T> klass,
+                                       Validator validator,
+                                       ObjectMapper objectMapper,
+                                       String propertyPrefix) {
+        super(klass, validator, objectMapper, propertyPrefix);
+    }
+
+    @Override
+    public T build(ConfigurationSourceProvider provider, String path) throws IOException, ConfigurationException {
+        final byte[] content;
+        try (InputStream input = provider.open(checkNotNull(path))) {
+            content = ByteStreams.toByteArray(input);
+        }
+
+        final String key = path + '@' + Hashing.sha1().hashBytes(content);
+        JsonNode node = PARSED.getIfPresent(key);
+        if (node == null) {
+            node = parse(new ByteArrayInputStream(content), path);
+            PARSED.put(key, node);
+        }
+        return build(node.deepCopy(), path);
+    }
+
+    /**
+     * Discards all parsed configuration files.
+     */
+    public static void invalidateAll() {
+        PARSED.invalidateAll();
+    }
+}
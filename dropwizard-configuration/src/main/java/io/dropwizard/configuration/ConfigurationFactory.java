@@ -1,5 +1,6 @@
 package io.dropwizard.configuration;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -28,6 +29,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.regex.Pattern;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -76,27 +78,20 @@ public class ConfigurationFactory<T> {
      * @throws ConfigurationException if there is an error parsing or validating the file
      */
     public T build(ConfigurationSourceProvider provider, String path) throws IOException, ConfigurationException {
+        final Map<String, String> overrides = getOverrides();
         try (InputStream input = provider.open(checkNotNull(path))) {
-            final JsonNode node = mapper.readTree(yamlFactory.createParser(input));
-
-            if (node == null) {
-                throw ConfigurationParsingException
-                        .builder("Configuration at " + path + " must not be empty")
-                        .build(path);
+            if (!overrides.isEmpty()) {
+                return build(parse(input, path), path);
             }
 
-            return build(node, path);
-        } catch (YAMLException e) {
-            ConfigurationParsingException.Builder builder = ConfigurationParsingException
-                    .builder("Malformed YAML")
-                    .setCause(e)
-                    .setDetail(e.getMessage());
-
-            if (e instanceof MarkedYAMLException) {
-                builder.setLocation(((MarkedYAMLException) e).getProblemMark());
+            // there's nothing to override, so the configuration is bound without building a tree first
+            final JsonParser parser = yamlFactory.createParser(input);
+            if (parser.nextToken() == null) {
+                throw emptyConfiguration(path);
             }
-
-            throw builder.build(path);
+            return bind(parser, path);
+        } catch (YAMLException e) {
+            throw malformedYaml(e, path);
         }
     }
 
@@ -128,17 +123,62 @@ public class ConfigurationFactory<T> {
         }
     }
 
-    private T build(JsonNode node, String path) throws IOException, ConfigurationException {
+    /**
+     * Parses a YAML document into a tree.
+     *
+     * @param input the YAML document
+     * @param path  the path of the configuration file, for error messages
+     * @return the document's tree
+     * @throws IOException            if there is an error reading the document
+     * @throws ConfigurationException if the document is empty or malformed
+     */
+    protected JsonNode parse(InputStream input, String path) throws IOException, ConfigurationException {
+        try {
+            final JsonNode node = mapper.readTree(yamlFactory.createParser(input));
+            if (node == null) {
+                throw emptyConfiguration(path);
+            }
+            return node;
+        } catch (YAMLException e) {
+            throw malformedYaml(e, path);
+        }
+    }
+
+    /**
+     * Applies the overrides from system properties to a parsed configuration, then binds and
+     * validates it.
+     *
+     * @param node the parsed configuration, which is modified by the overrides
+     * @param path the path of the configuration file, for error messages
+     * @return a validated configuration object
+     * @throws IOException            if there is an error binding the configuration
+     * @throws ConfigurationException if there is an error binding or validating the configuration
+     */
+    protected T build(JsonNode node, String path) throws IOException, ConfigurationException {
+        for (Map.Entry<String, String> override : getOverrides().entrySet()) {
+            addOverride(node, override.getKey(), override.getValue());
+        }
+        return bind(new TreeTraversingParser(node), path);
+    }
+
+    /**
+     * Returns the configuration overrides set as system properties, by configuration path.
+     */
+    protected Map<String, String> getOverrides() {
+        final Map<String, String> overrides = new TreeMap<>();
         for (Map.Entry<Object, Object> pref : System.getProperties().entrySet()) {
             final String prefName = (String) pref.getKey();
             if (prefName.startsWith(propertyPrefix)) {
                 final String configName = prefName.substring(propertyPrefix.length());
-                addOverride(node, configName, System.getProperty(prefName));
+                overrides.put(configName, System.getProperty(prefName));
             }
         }
+        return overrides;
+    }
 
+    private T bind(JsonParser parser, String path) throws IOException, ConfigurationException {
         try {
-            final T config = mapper.readValue(new TreeTraversingParser(node), klass);
+            final T config = mapper.readValue(parser, klass);
             validate(path, config);
             return config;
         } catch (UnrecognizedPropertyException e) {
@@ -164,6 +204,10 @@ public class ConfigurationFactory<T> {
                     .setCause(e)
                     .build(path);
         } catch (JsonMappingException e) {
+            // binding straight from the document, Jackson wraps syntax errors in nested objects
+            if (e.getCause() instanceof YAMLException) {
+                throw malformedYaml((YAMLException) e.getCause(), path);
+            }
             throw ConfigurationParsingException.builder("Failed to parse configuration")
                     .setDetail(e.getMessage())
                     .setFieldPath(e.getPath())
@@ -173,6 +217,25 @@ public class ConfigurationFactory<T> {
         }
     }
 
+    private static ConfigurationParsingException emptyConfiguration(String path) {
+        return ConfigurationParsingException
+                .builder("Configuration at " + path + " must not be empty")
+                .build(path);
+    }
+
+    private static ConfigurationParsingException malformedYaml(YAMLException e, String path) {
+        final ConfigurationParsingException.Builder builder = ConfigurationParsingException
+                .builder("Malformed YAML")
+                .setCause(e)
+                .setDetail(e.getMessage());
+
+        if (e instanceof MarkedYAMLException) {
+            builder.setLocation(((MarkedYAMLException) e).getProblemMark());
+        }
+
+        return builder.build(path);
+    }
+
     private void addOverride(JsonNode root, String name, String value) {
         JsonNode node = root;
         final Iterable<String> split = Splitter.on('.').trimResults().split(name);
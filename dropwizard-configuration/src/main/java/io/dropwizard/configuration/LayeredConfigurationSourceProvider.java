@@ -0,0 +1,127 @@
+package io.dropwizard.configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.google.common.collect.Lists;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link ConfigurationSourceProvider} which reads a base configuration and lays overlays on top of
+ * it, such as an environment-specific file or a document fetched by a
+ * {@link RemoteConfigurationSourceProvider}.
+ * <p/>
+ * Overlays are applied in the order in which they were added. Mappings are merged key by key, so an
+ * overlay only needs to list the settings it changes; any other value, including a sequence,
+ * replaces the value beneath it.
+ * <p/>
+ * <b>Example:</b>
+ * <pre>
+ * bootstrap.setConfigurationSourceProvider(
+ *         new LayeredConfigurationSourceProvider(new FileConfigurationSourceProvider())
+ *                 .addOptionalOverlay(new FileConfigurationSourceProvider(), "config-production.yml")
+ *                 .addOverlay(new RemoteConfigurationSourceProvider(cacheDirectory, metrics),
+ *                             "https://config.example.com/app.yml"));
+ * </pre>
+ */
+public class LayeredConfigurationSourceProvider implements ConfigurationSourceProvider {
+    private static class Overlay {
+        private final ConfigurationSourceProvider provider;
+        private final String path;
+        private final boolean optional;
+
+        private Overlay(ConfigurationSourceProvider provider, String path, boolean optional) {
+            this.provider = checkNotNull(provider);
+            this.path = checkNotNull(path);
+            this.optional = optional;
+        }
+    }
+
+    private final ConfigurationSourceProvider baseProvider;
+    private final List<Overlay> overlays = Lists.newArrayList();
+    private final ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
+
+    /**
+     * Creates a new layered provider.
+     *
+     * @param baseProvider the provider of the base configuration, whose path is the one given to
+     *                     {@link #open(String)}
+     */
+    public LayeredConfigurationSourceProvider(ConfigurationSourceProvider baseProvider) {
+        this.baseProvider = checkNotNull(baseProvider);
+    }
+
+    /**
+     * Adds an overlay which must exist.
+     *
+     * @param provider the provider of the overlay
+     * @param path     the path of the overlay
+     * @return {@code this}
+     */
+    public LayeredConfigurationSourceProvider addOverlay(ConfigurationSourceProvider provider, String path) {
+        overlays.add(new Overlay(provider, path, false));
+        return this;
+    }
+
+    /**
+     * Adds an overlay which is skipped if it doesn't exist.
+     *
+     * @param provider the provider of the overlay
+     * @param path     the path of the overlay
+     * @return {@code this}
+     */
+    public LayeredConfigurationSourceProvider addOptionalOverlay(ConfigurationSourceProvider provider, String path) {
+        overlays.add(new Overlay(provider, path, true));
+        return this;
+    }
+
+    @Override
+    public InputStream open(String path) throws IOException {
+        JsonNode merged = read(baseProvider, path);
+        for (Overlay overlay : overlays) {
+            final JsonNode node;
+            try {
+                node = read(overlay.provider, overlay.path);
+            } catch (FileNotFoundException e) {
+                if (overlay.optional) {
+                    continue;
+                }
+                throw e;
+            }
+            merged = merge(merged, node);
+        }
+        return new ByteArrayInputStream(merged == null ? new byte[0] : mapper.writeValueAsBytes(merged));
+    }
+
+    private JsonNode read(ConfigurationSourceProvider provider, String path) throws IOException {
+        try (InputStream input = provider.open(path)) {
+            return mapper.readTree(input);
+        }
+    }
+
+    private static JsonNode merge(JsonNode base, JsonNode overlay) {
+        if (overlay == null) {
+            return base;
+        }
+        if (!(base instanceof ObjectNode) || !(overlay instanceof ObjectNode)) {
+            return overlay;
+        }
+
+        final ObjectNode merged = (ObjectNode) base;
+        for (Iterator<Map.Entry<String, JsonNode>> it = overlay.fields(); it.hasNext(); ) {
+            final Map.Entry<String, JsonNode> field = it.next();
+            merged.set(field.getKey(), merge(merged.get(field.getKey()), field.getValue()));
+        }
+        return merged;
+    }
+}
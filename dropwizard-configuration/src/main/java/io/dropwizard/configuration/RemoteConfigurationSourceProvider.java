@@ -0,0 +1,159 @@
+package io.dropwizard.configuration;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link ConfigurationSourceProvider} which fetches the configuration from a {@link URL}, and keeps
+ * the last document it fetched successfully in a cache directory. If the configuration can't be
+ * fetched, e.g. because the server is down or doesn't answer within the timeouts, the cached copy is
+ * used instead, so that the application can still start.
+ * <p/>
+ * A document is only cached if it could be parsed as YAML. The following metrics are recorded:
+ * <ul>
+ *     <li>{@code io.dropwizard.configuration.RemoteConfigurationSourceProvider.fetches}, a timer of
+ *     the fetches</li>
+ *     <li>{@code io.dropwizard.configuration.RemoteConfigurationSourceProvider.failures}, a meter of
+ *     the fetches which failed</li>
+ *     <li>{@code io.dropwizard.configuration.RemoteConfigurationSourceProvider.cached}, a meter of
+ *     the cached copies used instead</li>
+ * </ul>
+ */
+public class RemoteConfigurationSourceProvider implements ConfigurationSourceProvider {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RemoteConfigurationSourceProvider.class);
+
+    private final File cacheDirectory;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final Timer fetches;
+    private final Meter failures;
+    private final Meter cached;
+    private final ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
+
+    /**
+     * Creates a new provider with connect and read timeouts of 5 seconds.
+     *
+     * @param cacheDirectory the directory in which fetched documents are cached
+     * @param metricRegistry the registry of the fetch metrics
+     */
+    public RemoteConfigurationSourceProvider(File cacheDirectory, MetricRegistry metricRegistry) {
+        this(cacheDirectory, metricRegistry, Duration.seconds(5), Duration.seconds(5));
+    }
+
+    /**
+     * Creates a new provider.
+     *
+     * @param cacheDirectory the directory in which fetched documents are cached
+     * @param metricRegistry the registry of the fetch metrics
+     * @param connectTimeout how long to wait for a connection to the server
+     * @param readTimeout    how long to wait for the server's response
+     */
+    public RemoteConfigurationSourceProvider(File cacheDirectory,
+                                             MetricRegistry metricRegistry,
+                                             Duration connectTimeout,
+                                             Duration readTimeout) {
+        this.cacheDirectory = checkNotNull(cacheDirectory);
+        this.connectTimeout = checkNotNull(connectTimeout);
+        this.readTimeout = checkNotNull(readTimeout);
+        this.fetches = metricRegistry.timer(name(getClass(), "fetches"));
+        this.failures = metricRegistry.meter(name(getClass(), "failures"));
+        this.cached = metricRegistry.meter(name(getClass(), "cached"));
+    }
+
+    @Override
+    public InputStream open(String path) throws IOException {
+        final File cacheFile = cacheFile(checkNotNull(path));
+        final byte[] document;
+        try {
+            document = fetch(path);
+        } catch (IOException e) {
+            failures.mark();
+            if (!cacheFile.isFile()) {
+                throw e;
+            }
+            LOGGER.warn("Unable to fetch {}, using the copy cached at {}", path, cacheFile, e);
+            cached.mark();
+            return Files.newInputStream(cacheFile.toPath());
+        }
+
+        try {
+            store(document, cacheFile);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to cache {} at {}", path, cacheFile, e);
+        }
+        return new ByteArrayInputStream(document);
+    }
+
+    private byte[] fetch(String path) throws IOException {
+        final Timer.Context context = fetches.time();
+        try {
+            final URLConnection connection = new URL(path).openConnection();
+            connection.setConnectTimeout((int) connectTimeout.toMilliseconds());
+            connection.setReadTimeout((int) readTimeout.toMilliseconds());
+            if (connection instanceof HttpURLConnection) {
+                final int status = ((HttpURLConnection) connection).getResponseCode();
+                if (status == HttpURLConnection.HTTP_NOT_FOUND) {
+                    throw new FileNotFoundException(path);
+                }
+                if (status != HttpURLConnection.HTTP_OK) {
+                    throw new IOException("Unable to fetch " + path + ": HTTP " + status);
+                }
+            }
+
+            final byte[] document;
+            try (InputStream input = connection.getInputStream()) {
+                document = ByteStreams.toByteArray(input);
+            }
+            // a document which isn't YAML is no better than none, and mustn't replace the cached copy
+            try {
+                mapper.readTree(document);
+            } catch (IOException | RuntimeException e) {
+                throw new IOException("Unable to parse " + path, e);
+            }
+            return document;
+        } finally {
+            context.stop();
+        }
+    }
+
+    // written next to the cached copy and moved over it, so that the copy is always complete
+    private void store(byte[] document, File cacheFile) throws IOException {
+        final Path directory = Files.createDirectories(cacheDirectory.toPath());
+        final Path temp = Files.createTempFile(directory, cacheFile.getName(), ".tmp");
+        try {
+            Files.write(temp, document);
+            Files.move(temp, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private File cacheFile(String path) {
+        return new File(cacheDirectory, Hashing.sha1().hashString(path, StandardCharsets.UTF_8) + ".yml");
+    }
+}
@@ -0,0 +1,103 @@
+package io.dropwizard.configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.configuration.ConfigurationFactoryTest.Example;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class CachingConfigurationFactoryTest {
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final AtomicInteger parses = new AtomicInteger();
+    private final ConfigurationFactory<Example> factory =
+            new CachingConfigurationFactory<Example>(Example.class, validator, Jackson.newObjectMapper(), "dw") {
+                @Override
+                protected JsonNode parse(InputStream input, String path) throws IOException, ConfigurationException {
+                    parses.incrementAndGet();
+                    return super.parse(input, path);
+                }
+            };
+    private String yaml = "name: Coda Hale\nservers:\n  - port: 8080\n";
+    private final ConfigurationSourceProvider provider = new ConfigurationSourceProvider() {
+        @Override
+        public InputStream open(String path) throws IOException {
+            return new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8));
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        CachingConfigurationFactory.invalidateAll();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        System.clearProperty("dw.name");
+    }
+
+    @Test
+    public void parsesTheSameFileOnce() throws Exception {
+        final Example first = factory.build(provider, "example.yml");
+        final Example second = factory.build(provider, "example.yml");
+
+        assertThat(parses.get())
+                .isEqualTo(1);
+        assertThat(second)
+                .isNotSameAs(first);
+        assertThat(second.getName())
+                .isEqualTo(first.getName())
+                .isEqualTo("Coda Hale");
+        assertThat(second.getServers().get(0).getPort())
+                .isEqualTo(8080);
+    }
+
+    @Test
+    public void parsesChangedFilesAgain() throws Exception {
+        factory.build(provider, "example.yml");
+        yaml = "name: Coda Hale Changed\n";
+
+        assertThat(factory.build(provider, "example.yml").getName())
+                .isEqualTo("Coda Hale Changed");
+        assertThat(parses.get())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void appliesOverridesToACopyOfTheParsedFile() throws Exception {
+        System.setProperty("dw.name", "Coda Hale Overridden");
+        assertThat(factory.build(provider, "example.yml").getName())
+                .isEqualTo("Coda Hale Overridden");
+
+        System.clearProperty("dw.name");
+        assertThat(factory.build(provider, "example.yml").getName())
+                .isEqualTo("Coda Hale");
+        assertThat(parses.get())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void validatesEveryBuild() throws Exception {
+        yaml = "name: Boop\n";
+        for (int i = 0; i < 2; i++) {
+            try {
+                factory.build(provider, "invalid.yml");
+                failBecauseExceptionWasNotThrown(ConfigurationValidationException.class);
+            } catch (ConfigurationValidationException e) {
+                assertThat(e.getMessage())
+                        .contains("name must match");
+            }
+        }
+    }
+}
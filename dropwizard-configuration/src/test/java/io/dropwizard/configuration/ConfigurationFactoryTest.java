@@ -17,7 +17,11 @@ import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Pattern;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Locale;
@@ -293,7 +297,32 @@ public class ConfigurationFactoryTest {
             failBecauseExceptionWasNotThrown(ConfigurationParsingException.class);
         } catch (ConfigurationParsingException e) {
             assertThat(e.getMessage())
-                    .containsOnlyOnce(" * Failed to parse configuration; Can not instantiate");
+                    .containsOnlyOnce(" * Failed to parse configuration at line: 2, column: 2; Can not instantiate");
+        }
+    }
+
+    @Test
+    public void reportsMalformedYamlInNestedObjectsWithAndWithoutOverrides() throws Exception {
+        final ConfigurationSourceProvider provider = new ConfigurationSourceProvider() {
+            @Override
+            public InputStream open(String path) throws IOException {
+                return new ByteArrayInputStream(
+                        "name: x\nservers:\n  - port: 8080\n   bad: [".getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        assertMalformedYaml(provider);
+
+        System.setProperty("dw.name", "y");
+        assertMalformedYaml(provider);
+    }
+
+    private void assertMalformedYaml(ConfigurationSourceProvider provider) throws Exception {
+        try {
+            factory.build(provider, "nested.yml");
+            failBecauseExceptionWasNotThrown(ConfigurationParsingException.class);
+        } catch (ConfigurationParsingException e) {
+            assertThat(e.getMessage())
+                    .containsOnlyOnce(" * Malformed YAML at line: 4, column: 4;");
         }
     }
 
@@ -0,0 +1,90 @@
+package io.dropwizard.configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class LayeredConfigurationSourceProviderTest {
+    private final ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
+    private final ConfigurationSourceProvider files = new InMemorySourceProvider(ImmutableMap.of(
+            "base.yml", "name: Coda Hale\nserver:\n  port: 8080\n  hosts: [a, b]\n",
+            "production.yml", "server:\n  port: 80\n  hosts: [c]\n",
+            "remote.yml", "name: Remote\n"));
+
+    @Test
+    public void mergesOverlaysIntoTheBaseConfiguration() throws Exception {
+        final LayeredConfigurationSourceProvider provider = new LayeredConfigurationSourceProvider(files)
+                .addOverlay(files, "production.yml");
+
+        final JsonNode node = mapper.readTree(provider.open("base.yml"));
+
+        assertThat(node.get("name").asText())
+                .isEqualTo("Coda Hale");
+        assertThat(node.get("server").get("port").asInt())
+                .isEqualTo(80);
+        assertThat(node.get("server").get("hosts").size())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void appliesOverlaysInOrder() throws Exception {
+        final LayeredConfigurationSourceProvider provider = new LayeredConfigurationSourceProvider(files)
+                .addOverlay(files, "remote.yml")
+                .addOverlay(new InMemorySourceProvider(ImmutableMap.of("last.yml", "name: Last\n")), "last.yml");
+
+        assertThat(mapper.readTree(provider.open("base.yml")).get("name").asText())
+                .isEqualTo("Last");
+    }
+
+    @Test
+    public void skipsMissingOptionalOverlays() throws Exception {
+        final LayeredConfigurationSourceProvider provider = new LayeredConfigurationSourceProvider(files)
+                .addOptionalOverlay(files, "staging.yml");
+
+        assertThat(mapper.readTree(provider.open("base.yml")).get("server").get("port").asInt())
+                .isEqualTo(8080);
+    }
+
+    @Test
+    public void failsOnMissingOverlays() throws Exception {
+        final LayeredConfigurationSourceProvider provider = new LayeredConfigurationSourceProvider(files)
+                .addOverlay(files, "staging.yml");
+
+        try {
+            provider.open("base.yml");
+            failBecauseExceptionWasNotThrown(FileNotFoundException.class);
+        } catch (FileNotFoundException e) {
+            assertThat(e.getMessage())
+                    .isEqualTo("staging.yml");
+        }
+    }
+
+    private static class InMemorySourceProvider implements ConfigurationSourceProvider {
+        private final Map<String, String> documents;
+
+        private InMemorySourceProvider(Map<String, String> documents) {
+            this.documents = documents;
+        }
+
+        @Override
+        public InputStream open(String path) throws IOException {
+            final String document = documents.get(path);
+            if (document == null) {
+                throw new FileNotFoundException(path);
+            }
+            return new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.dropwizard.configuration;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.io.ByteStreams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.dropwizard.util.Duration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class RemoteConfigurationSourceProviderTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private volatile int status = 200;
+    private volatile String document = "name: Coda Hale\n";
+    private HttpServer server;
+    private String url;
+    private RemoteConfigurationSourceProvider provider;
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/app.yml", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                final byte[] body = document.getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(status, body.length);
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(body);
+                }
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/app.yml";
+        provider = new RemoteConfigurationSourceProvider(folder.getRoot(), metricRegistry,
+                                                         Duration.seconds(1), Duration.seconds(1));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop(0);
+    }
+
+    @Test
+    public void fetchesTheConfiguration() throws Exception {
+        assertThat(read(provider.open(url)))
+                .isEqualTo("name: Coda Hale\n");
+        assertThat(metricRegistry.timer(MetricRegistry.name(RemoteConfigurationSourceProvider.class, "fetches"))
+                                 .getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void fallsBackToTheLastGoodDocument() throws Exception {
+        provider.open(url);
+        status = 503;
+        document = "unavailable";
+
+        assertThat(read(provider.open(url)))
+                .isEqualTo("name: Coda Hale\n");
+        assertThat(metricRegistry.meter(MetricRegistry.name(RemoteConfigurationSourceProvider.class, "failures"))
+                                 .getCount())
+                .isEqualTo(1);
+        assertThat(metricRegistry.meter(MetricRegistry.name(RemoteConfigurationSourceProvider.class, "cached"))
+                                 .getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void doesNotCacheDocumentsWhichAreNotYaml() throws Exception {
+        provider.open(url);
+        document = "name: [unclosed";
+
+        assertThat(read(provider.open(url)))
+                .isEqualTo("name: Coda Hale\n");
+    }
+
+    @Test
+    public void fallsBackWhenTheServerIsDown() throws Exception {
+        provider.open(url);
+        server.stop(0);
+
+        assertThat(read(provider.open(url)))
+                .isEqualTo("name: Coda Hale\n");
+    }
+
+    @Test
+    public void failsWithoutACachedDocument() throws Exception {
+        status = 404;
+
+        try {
+            provider.open(url);
+            failBecauseExceptionWasNotThrown(FileNotFoundException.class);
+        } catch (FileNotFoundException e) {
+            assertThat(e.getMessage())
+                    .isEqualTo(url);
+        }
+    }
+
+    private static String read(InputStream input) throws IOException {
+        try (InputStream in = input) {
+            return new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -3,7 +3,6 @@ package io.dropwizard.cli;
 import io.dropwizard.Configuration;
 import io.dropwizard.configuration.ConfigurationException;
 import io.dropwizard.configuration.ConfigurationFactory;
-import io.dropwizard.configuration.ConfigurationFactoryFactory;
 import io.dropwizard.configuration.ConfigurationSourceProvider;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.util.Generics;
@@ -11,12 +10,10 @@ import io.dropwizard.util.Generics;
 import java.io.IOException;
 
 import javax.validation.Validation;
-import javax.validation.Validator;
 
 import net.sourceforge.argparse4j.inf.Namespace;
 import net.sourceforge.argparse4j.inf.Subparser;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * A command whose first parameter is the location of a YAML configuration file. That file is parsed
@@ -61,12 +58,9 @@ public abstract class ConfiguredCommand<T extends Configuration> extends Command
     @SuppressWarnings("unchecked")
     public void run(Bootstrap<?> wildcardBootstrap, Namespace namespace) throws Exception {
         final Bootstrap<T> bootstrap = (Bootstrap<T>) wildcardBootstrap;
-        configuration = parseConfiguration(bootstrap.getConfigurationFactoryFactory(),
+        configuration = parseConfiguration(createConfigurationFactory(bootstrap),
                                            bootstrap.getConfigurationSourceProvider(),
-                                           bootstrap.getValidatorFactory().getValidator(),
-                                           namespace.getString("file"),
-                                           getConfigurationClass(),
-                                           bootstrap.getObjectMapper());
+                                           namespace.getString("file"));
 
         try {
             if (configuration != null) {
@@ -104,13 +98,22 @@ public abstract class ConfiguredCommand<T extends Configuration> extends Command
                                 Namespace namespace,
                                 T configuration) throws Exception;
 
-    private T parseConfiguration(ConfigurationFactoryFactory<T> configurationFactoryFactory,
+    /**
+     * Creates the factory which parses the configuration file.
+     *
+     * @param bootstrap the bootstrap
+     * @return a configuration factory for the configuration type
+     */
+    protected ConfigurationFactory<T> createConfigurationFactory(Bootstrap<T> bootstrap) {
+        return bootstrap.getConfigurationFactoryFactory().create(getConfigurationClass(),
+                                                                 bootstrap.getValidatorFactory().getValidator(),
+                                                                 bootstrap.getObjectMapper(),
+                                                                 "dw");
+    }
+
+    private T parseConfiguration(ConfigurationFactory<T> configurationFactory,
                                  ConfigurationSourceProvider provider,
-                                 Validator validator,
-                                 String path,
-                                 Class<T> klass,
-                                 ObjectMapper objectMapper) throws IOException, ConfigurationException {
-        final ConfigurationFactory<T> configurationFactory = configurationFactoryFactory.create(klass, validator, objectMapper, "dw");
+                                 String path) throws IOException, ConfigurationException {
         if (path != null) {
             return configurationFactory.build(provider, path);
         }
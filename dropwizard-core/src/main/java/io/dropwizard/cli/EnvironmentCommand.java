@@ -1,11 +1,22 @@
 package io.dropwizard.cli;
 
+import com.google.common.collect.ImmutableList;
 import io.dropwizard.Application;
 import io.dropwizard.Configuration;
+import io.dropwizard.jersey.slo.SloServlet;
+import io.dropwizard.lifecycle.StartupReport;
+import io.dropwizard.metrics.OpenMetricsFactory;
+import io.dropwizard.metrics.OpenMetricsMapping;
+import io.dropwizard.reload.ConfigurationReloader;
+import io.dropwizard.reload.ReloadConfigurationTask;
+import io.dropwizard.servlets.metrics.MetricNameMapping;
+import io.dropwizard.servlets.metrics.OpenMetricsServlet;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
 import net.sourceforge.argparse4j.inf.Namespace;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * A command which executes with a configured {@link Environment}.
  *
@@ -36,11 +47,50 @@ public abstract class EnvironmentCommand<T extends Configuration> extends Config
                                                         bootstrap.getClassLoader());
         configuration.getMetricsFactory().configure(environment.lifecycle(),
                                                     bootstrap.getMetricRegistry());
+        addOpenMetricsServlet(environment, configuration.getMetricsFactory().getOpenMetrics());
+        environment.admin().addServlet("slo", new SloServlet(environment.jersey().getResourceConfig().getSloRegistry(),
+                                                             environment.getObjectMapper()))
+                   .addMapping("/slo");
+        final String path = namespace.getString("file");
+        if (path != null) {
+            // created before anything else is managed, so that it only replaces the configured reporters
+            final ConfigurationReloader<T> reloader =
+                    new ConfigurationReloader<>(createConfigurationFactory(bootstrap),
+                                                bootstrap.getConfigurationSourceProvider(),
+                                                path,
+                                                configuration,
+                                                environment);
+            environment.lifecycle().manage(reloader);
+            environment.lifecycle().addServerLifecycleListener(reloader);
+            environment.admin().addTask(new ReloadConfigurationTask(reloader));
+        }
         bootstrap.run(configuration, environment);
+        final long start = System.nanoTime();
         application.run(configuration, environment);
+        bootstrap.getStartupReport().record("run", application.getClass().getName(),
+                                            System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        final StartupReport startupReport = environment.lifecycle().getStartupReport();
+        startupReport.recordAll(bootstrap.getStartupReport());
+        environment.lifecycle().addLifeCycleListener(new StartupReportListener(startupReport,
+                                                                               environment.metrics()));
         run(environment, namespace, configuration);
     }
 
+    private void addOpenMetricsServlet(Environment environment, OpenMetricsFactory openMetrics) {
+        if (!openMetrics.isEnabled()) {
+            return;
+        }
+        final ImmutableList.Builder<MetricNameMapping> mappings = ImmutableList.builder();
+        for (OpenMetricsMapping mapping : openMetrics.getMappings()) {
+            mappings.add(new MetricNameMapping(mapping.getMatch(), mapping.getName(), mapping.getLabels()));
+        }
+        environment.admin().addServlet("openmetrics", new OpenMetricsServlet(environment.metrics(),
+                                                                            mappings.build(),
+                                                                            openMetrics.getCacheDuration()))
+                   .addMapping(openMetrics.getPath());
+    }
+
     /**
      * Runs the command with the given {@link Environment} and {@link Configuration}.
      *
@@ -0,0 +1,59 @@
+package io.dropwizard.cli;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.StartupReport;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Times the server's start and, once it has started, logs the {@link StartupReport} and registers
+ * a {@code startup.<phase>.<name>} gauge with the duration in milliseconds of each of its steps.
+ */
+class StartupReportListener extends AbstractLifeCycle.AbstractLifeCycleListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupReportListener.class);
+
+    private final StartupReport startupReport;
+    private final MetricRegistry metricRegistry;
+    private long serverStarting;
+
+    StartupReportListener(StartupReport startupReport, MetricRegistry metricRegistry) {
+        this.startupReport = startupReport;
+        this.metricRegistry = metricRegistry;
+    }
+
+    @Override
+    public void lifeCycleStarting(LifeCycle event) {
+        if (event instanceof Server) {
+            serverStarting = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void lifeCycleStarted(LifeCycle event) {
+        if (event instanceof Server) {
+            startupReport.record("start", event.getClass().getName(), System.nanoTime() - serverStarting,
+                                 TimeUnit.NANOSECONDS);
+            for (final StartupReport.Entry entry : startupReport.getEntries()) {
+                final String name = name("startup", entry.getPhase(), entry.getName());
+                if (!metricRegistry.getNames().contains(name)) {
+                    metricRegistry.register(name, new Gauge<Long>() {
+                        @Override
+                        public Long getValue() {
+                            return entry.getDuration(TimeUnit.MILLISECONDS);
+                        }
+                    });
+                }
+            }
+            LOGGER.info("Started after {}ms:{}", ManagementFactory.getRuntimeMXBean().getUptime(), startupReport);
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package io.dropwizard.reload;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import io.dropwizard.Configuration;
+import io.dropwizard.configuration.ConfigurationException;
+import io.dropwizard.configuration.ConfigurationFactory;
+import io.dropwizard.configuration.ConfigurationSourceProvider;
+import io.dropwizard.jetty.BiDiGzipFilter;
+import io.dropwizard.jetty.GzipFilterFactory;
+import io.dropwizard.jetty.MutableServletContextHandler;
+import io.dropwizard.lifecycle.JettyManaged;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.lifecycle.ServerLifecycleListener;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.metrics.MetricsFactory;
+import io.dropwizard.metrics.ScheduledReporterManager;
+import io.dropwizard.server.AbstractServerFactory;
+import io.dropwizard.setup.Environment;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.FilterHolder;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reloads a running application's configuration file and applies the changes to the sections which
+ * can safely change while the application runs:
+ * <ul>
+ *     <li>{@code logging}, which is configured again</li>
+ *     <li>{@code metrics}, whose reporters are replaced, except for {@code metrics.openMetrics}</li>
+ *     <li>{@code server.gzip}, which is applied to the running gzip filter, unless it's enabled or
+ *     disabled, except for {@code compressedMimeTypes} and {@code includedMethods}</li>
+ *     <li>{@code server.minThreads}, {@code server.maxThreads} and {@code server.idleThreadTimeout},
+ *     which are applied to the server's thread pool</li>
+ * </ul>
+ * Changes to any other section are reported, and take effect when the application is restarted.
+ * A configuration file which can't be parsed or isn't valid is rejected as a whole.
+ * <p/>
+ * Reloaded sections replace those of the running configuration object.
+ *
+ * @param <T> the {@link Configuration} subclass which is loaded from the configuration file
+ */
+public class ConfigurationReloader<T extends Configuration> implements Managed, ServerLifecycleListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigurationReloader.class);
+    private static final Set<String> THREAD_POOL_FIELDS = ImmutableSet.of("minThreads", "maxThreads",
+                                                                          "idleThreadTimeout");
+    private static final Set<String> GZIP_RESTART_FIELDS = ImmutableSet.of("compressedMimeTypes",
+                                                                           "includedMethods");
+
+    private final ConfigurationFactory<T> factory;
+    private final ConfigurationSourceProvider provider;
+    private final String path;
+    private final T configuration;
+    private final Environment environment;
+    private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
+    private final List<Managed> reporters;
+    private boolean reportersReplaced;
+    private final ObjectNode applied;
+    private volatile Server server;
+
+    /**
+     * Creates a new reloader. The metrics reporters which are already managed by the environment
+     * are the ones which are replaced when the {@code metrics} section changes, so the reloader
+     * should be created before any other reporters are managed.
+     *
+     * @param factory       the factory which built {@code configuration}
+     * @param provider      the provider of the configuration file
+     * @param path          the path of the configuration file
+     * @param configuration the running configuration
+     * @param environment   the application's environment
+     * @throws IOException if the configuration file can't be read
+     */
+    public ConfigurationReloader(ConfigurationFactory<T> factory,
+                                 ConfigurationSourceProvider provider,
+                                 String path,
+                                 T configuration,
+                                 Environment environment) throws IOException {
+        this.factory = factory;
+        this.provider = provider;
+        this.path = path;
+        this.configuration = configuration;
+        this.environment = environment;
+        this.reporters = Lists.newArrayList();
+        for (LifeCycle managed : environment.lifecycle().getManagedObjects()) {
+            if (managed instanceof JettyManaged &&
+                    ((JettyManaged) managed).getManaged() instanceof ScheduledReporterManager) {
+                reporters.add(((JettyManaged) managed).getManaged());
+            }
+        }
+        this.applied = readTree();
+    }
+
+    /**
+     * Reloads the configuration file and applies the changes to its reloadable sections.
+     *
+     * @return a line for each change, saying whether it was applied
+     * @throws IOException            if the configuration file can't be read
+     * @throws ConfigurationException if the configuration file is invalid
+     */
+    public synchronized List<String> reload() throws IOException, ConfigurationException {
+        final T reloaded = factory.build(provider, path);
+        final ObjectNode tree = readTree();
+        final ImmutableList.Builder<String> changes = ImmutableList.builder();
+        final Set<String> restartRequired = Sets.newTreeSet();
+
+        for (String field : changedFields(applied, tree)) {
+            switch (field) {
+                case "logging":
+                    reloaded.getLoggingFactory().configure(environment.metrics(), environment.getName());
+                    configuration.setLoggingFactory(reloaded.getLoggingFactory());
+                    copyField(tree, applied, field);
+                    changes.add("Reloaded logging");
+                    break;
+                case "metrics":
+                    reloadMetrics(reloaded, tree, changes, restartRequired);
+                    break;
+                case "server":
+                    reloadServer(reloaded, tree, changes, restartRequired);
+                    break;
+                default:
+                    restartRequired.add(field);
+            }
+        }
+
+        if (!restartRequired.isEmpty()) {
+            changes.add("Restart required to apply changes to " + restartRequired);
+        }
+        final List<String> result = changes.build();
+        LOGGER.info("Reloaded {}: {}", path, result.isEmpty() ? "no changes" : result);
+        return result;
+    }
+
+    @Override
+    public void serverStarted(Server server) {
+        this.server = server;
+    }
+
+    @Override
+    public void start() throws Exception {
+        // the reporters are started by the environment
+    }
+
+    @Override
+    public synchronized void stop() throws Exception {
+        // the environment stops the reporters it started
+        if (reportersReplaced) {
+            for (Managed reporter : reporters) {
+                reporter.stop();
+            }
+            reporters.clear();
+        }
+    }
+
+    private void reloadMetrics(T reloaded,
+                               ObjectNode tree,
+                               ImmutableList.Builder<String> changes,
+                               Set<String> restartRequired) {
+        final ObjectNode appliedMetrics = objectField(applied, "metrics");
+        final ObjectNode nextMetrics = objectField(tree, "metrics");
+        final Set<String> fields = changedFields(appliedMetrics, nextMetrics);
+
+        // the OpenMetrics servlet is installed once, when the application starts
+        if (!Sets.difference(fields, ImmutableSet.of("openMetrics")).isEmpty()) {
+            replaceReporters(reloaded.getMetricsFactory());
+            reloaded.getMetricsFactory().setOpenMetrics(configuration.getMetricsFactory().getOpenMetrics());
+            configuration.setMetricsFactory(reloaded.getMetricsFactory());
+            for (String field : fields) {
+                if (!"openMetrics".equals(field)) {
+                    copyField(nextMetrics, appliedMetrics, field);
+                }
+            }
+            changes.add("Reloaded metrics reporters");
+        }
+        if (fields.contains("openMetrics")) {
+            restartRequired.add("metrics.openMetrics");
+        }
+        applied.set("metrics", appliedMetrics);
+    }
+
+    private void reloadServer(T reloaded,
+                              ObjectNode tree,
+                              ImmutableList.Builder<String> changes,
+                              Set<String> restartRequired) {
+        if (!(configuration.getServerFactory() instanceof AbstractServerFactory) ||
+                !(reloaded.getServerFactory() instanceof AbstractServerFactory)) {
+            restartRequired.add("server");
+            return;
+        }
+
+        final AbstractServerFactory running = (AbstractServerFactory) configuration.getServerFactory();
+        final AbstractServerFactory next = (AbstractServerFactory) reloaded.getServerFactory();
+        final ObjectNode appliedServer = objectField(applied, "server");
+        final ObjectNode nextServer = objectField(tree, "server");
+        final Set<String> fields = changedFields(appliedServer, nextServer);
+
+        if (fields.contains("type")) {
+            restartRequired.add("server");
+            return;
+        }
+
+        if (!Sets.intersection(fields, THREAD_POOL_FIELDS).isEmpty() && reloadThreadPool(next)) {
+            running.setMinThreads(next.getMinThreads());
+            running.setMaxThreads(next.getMaxThreads());
+            running.setIdleThreadTimeout(next.getIdleThreadTimeout());
+            for (String field : THREAD_POOL_FIELDS) {
+                copyField(nextServer, appliedServer, field);
+            }
+            changes.add("Reloaded server thread pool");
+        }
+
+        // the filter is only installed when gzip is enabled
+        final boolean gzipToggled = running.getGzipFilterFactory().isEnabled() !=
+                next.getGzipFilterFactory().isEnabled();
+        final boolean gzipReloaded = fields.contains("gzip") && !gzipToggled &&
+                reloadGzip(running, next, appliedServer, nextServer, changes, restartRequired);
+
+        for (String field : changedFields(appliedServer, nextServer)) {
+            if (!gzipReloaded || !"gzip".equals(field)) {
+                restartRequired.add("server." + field);
+            }
+        }
+        applied.set("server", appliedServer);
+    }
+
+    private boolean reloadThreadPool(AbstractServerFactory next) {
+        final Server current = server;
+        final ThreadPool threadPool = current == null ? null : current.getThreadPool();
+        if (!(threadPool instanceof QueuedThreadPool)) {
+            return false;
+        }
+        final QueuedThreadPool pool = (QueuedThreadPool) threadPool;
+        // lowering the maximum below the minimum, or the reverse, is rejected by the pool
+        if (next.getMaxThreads() < pool.getMinThreads()) {
+            pool.setMinThreads(next.getMinThreads());
+            pool.setMaxThreads(next.getMaxThreads());
+        } else {
+            pool.setMaxThreads(next.getMaxThreads());
+            pool.setMinThreads(next.getMinThreads());
+        }
+        pool.setIdleTimeout((int) next.getIdleThreadTimeout().toMilliseconds());
+        return true;
+    }
+
+    // returns whether every change to server.gzip was either applied or reported on its own
+    private boolean reloadGzip(AbstractServerFactory running,
+                            AbstractServerFactory next,
+                            ObjectNode appliedServer,
+                            ObjectNode nextServer,
+                            ImmutableList.Builder<String> changes,
+                            Set<String> restartRequired) {
+        final GzipFilterFactory runningGzip = running.getGzipFilterFactory();
+        final GzipFilterFactory nextGzip = next.getGzipFilterFactory();
+        final ObjectNode appliedFields = objectField(appliedServer, "gzip");
+        final ObjectNode nextFields = objectField(nextServer, "gzip");
+        final Set<String> fields = changedFields(appliedFields, nextFields);
+
+        // Jetty changes its sets of these in place, which requests being filtered mustn't see
+        nextGzip.setCompressedMimeTypes(runningGzip.getCompressedMimeTypes());
+        nextGzip.setIncludedMethods(runningGzip.getIncludedMethods());
+        if (!Sets.difference(fields, GZIP_RESTART_FIELDS).isEmpty()) {
+            if (!reconfigureGzipFilters(nextGzip)) {
+                return false;
+            }
+            running.setGzipFilterFactory(nextGzip);
+            for (String field : fields) {
+                if (!GZIP_RESTART_FIELDS.contains(field)) {
+                    copyField(nextFields, appliedFields, field);
+                }
+            }
+            appliedServer.set("gzip", appliedFields);
+            changes.add("Reloaded server.gzip");
+        }
+        for (String field : Sets.intersection(fields, GZIP_RESTART_FIELDS)) {
+            restartRequired.add("server.gzip." + field);
+        }
+        return true;
+    }
+
+    private boolean reconfigureGzipFilters(GzipFilterFactory gzip) {
+        boolean reloaded = false;
+        for (MutableServletContextHandler context : ImmutableList.of(environment.getApplicationContext(),
+                                                                      environment.getAdminContext())) {
+            final FilterHolder[] holders = context.getServletHandler().getFilters();
+            if (holders == null) {
+                continue;
+            }
+            for (FilterHolder holder : holders) {
+                if (holder.getFilter() instanceof BiDiGzipFilter) {
+                    gzip.configure((BiDiGzipFilter) holder.getFilter());
+                    reloaded = true;
+                }
+            }
+        }
+        return reloaded;
+    }
+
+    private void replaceReporters(MetricsFactory metrics) {
+        for (Managed reporter : reporters) {
+            try {
+                reporter.stop();
+            } catch (Exception e) {
+                LOGGER.warn("Unable to stop {}", reporter, e);
+            }
+        }
+        reporters.clear();
+        reportersReplaced = true;
+
+        final LifecycleEnvironment reporterLifecycle = new LifecycleEnvironment();
+        metrics.configure(reporterLifecycle, environment.metrics());
+        for (LifeCycle managed : reporterLifecycle.getManagedObjects()) {
+            final Managed reporter = ((JettyManaged) managed).getManaged();
+            try {
+                reporter.start();
+                reporters.add(reporter);
+            } catch (Exception e) {
+                LOGGER.warn("Unable to start {}", reporter, e);
+            }
+        }
+    }
+
+    private ObjectNode readTree() throws IOException {
+        try (InputStream input = provider.open(path)) {
+            final JsonNode node = yamlMapper.readTree(input);
+            return node instanceof ObjectNode ? (ObjectNode) node : JsonNodeFactory.instance.objectNode();
+        }
+    }
+
+    private static Set<String> changedFields(ObjectNode before, ObjectNode after) {
+        final Set<String> names = Sets.newTreeSet();
+        for (Iterator<String> it = before.fieldNames(); it.hasNext(); ) {
+            names.add(it.next());
+        }
+        for (Iterator<String> it = after.fieldNames(); it.hasNext(); ) {
+            names.add(it.next());
+        }
+
+        final Set<String> changed = Sets.newTreeSet();
+        for (String name : names) {
+            if (!Objects.equal(before.get(name), after.get(name))) {
+                changed.add(name);
+            }
+        }
+        return changed;
+    }
+
+    private static ObjectNode objectField(ObjectNode node, String field) {
+        final JsonNode value = node.get(field);
+        return value instanceof ObjectNode ? ((ObjectNode) value).deepCopy() : JsonNodeFactory.instance.objectNode();
+    }
+
+    private static void copyField(ObjectNode from, ObjectNode to, String field) {
+        if (from.has(field)) {
+            to.set(field, from.get(field));
+        } else {
+            to.remove(field);
+        }
+    }
+}
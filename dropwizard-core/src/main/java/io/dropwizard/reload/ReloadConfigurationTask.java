@@ -0,0 +1,39 @@
+package io.dropwizard.reload;
+
+import com.google.common.collect.ImmutableMultimap;
+import io.dropwizard.servlets.tasks.Task;
+
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * Reloads the application's configuration file, and applies the changes to its logging, metrics,
+ * gzip and thread pool settings.
+ *
+ * @see ConfigurationReloader
+ */
+public class ReloadConfigurationTask extends Task {
+    private final ConfigurationReloader<?> reloader;
+
+    /**
+     * Creates a new ReloadConfigurationTask.
+     *
+     * @param reloader the reloader of the application's configuration
+     */
+    public ReloadConfigurationTask(ConfigurationReloader<?> reloader) {
+        super("reload-configuration");
+        this.reloader = reloader;
+    }
+
+    @Override
+    public void execute(ImmutableMultimap<String, String> parameters, PrintWriter output) throws Exception {
+        final List<String> changes = reloader.reload();
+        if (changes.isEmpty()) {
+            output.println("No changes");
+        }
+        for (String change : changes) {
+            output.println(change);
+        }
+        output.flush();
+    }
+}
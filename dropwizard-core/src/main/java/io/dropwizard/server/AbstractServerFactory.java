@@ -19,6 +19,7 @@ import io.dropwizard.jersey.filter.AllowedMethodsFilter;
 import io.dropwizard.jersey.jackson.JsonProcessingExceptionMapper;
 import io.dropwizard.jersey.validation.ConstraintViolationExceptionMapper;
 import io.dropwizard.jersey.jackson.JacksonMessageBodyProvider;
+import io.dropwizard.jersey.jackson.ObjectMapperPrimingListener;
 import io.dropwizard.jersey.setup.JerseyEnvironment;
 import io.dropwizard.jetty.GzipFilterFactory;
 import io.dropwizard.jetty.MutableServletContextHandler;
@@ -51,7 +52,9 @@ import javax.validation.Validator;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.EnumSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.regex.Pattern;
@@ -193,6 +196,14 @@ import java.util.regex.Pattern;
  *           The URL pattern relative to {@code applicationContextPath} from which the JAX-RS resources will be served.
  *         </td>
  *     </tr>
+ *     <tr>
+ *         <td>{@code serviceLevelObjectives}</td>
+ *         <td>(none)</td>
+ *         <td>
+ *             The {@link ServiceLevelObjectiveFactory latency objectives} of resource methods, by
+ *             the name of the method, e.g. {@code com.example.ThingResource.getThing}.
+ *         </td>
+ *     </tr>
  * </table>
  *
  * @see DefaultServerFactory
@@ -249,6 +260,10 @@ public abstract class AbstractServerFactory implements ServerFactory {
     @NotEmpty
     private String jerseyRootPath = "/";
 
+    @Valid
+    @NotNull
+    private Map<String, ServiceLevelObjectiveFactory> serviceLevelObjectives = Collections.emptyMap();
+
     @JsonIgnore
     @ValidationMethod(message = "must have a smaller minThreads than maxThreads")
     public boolean isThreadPoolSizedCorrectly() {
@@ -433,6 +448,16 @@ public abstract class AbstractServerFactory implements ServerFactory {
         this.jerseyRootPath = jerseyRootPath;
     }
 
+    @JsonProperty
+    public Map<String, ServiceLevelObjectiveFactory> getServiceLevelObjectives() {
+        return serviceLevelObjectives;
+    }
+
+    @JsonProperty
+    public void setServiceLevelObjectives(Map<String, ServiceLevelObjectiveFactory> serviceLevelObjectives) {
+        this.serviceLevelObjectives = serviceLevelObjectives;
+    }
+
     protected Handler createAdminServlet(Server server,
                                          MutableServletContextHandler handler,
                                          MetricRegistry metrics,
@@ -469,7 +494,7 @@ public abstract class AbstractServerFactory implements ServerFactory {
                 .setInitParameter(AllowedMethodsFilter.ALLOWED_METHODS_PARAM, Joiner.on(',').join(allowedMethods));
         handler.addFilter(ThreadNameFilter.class, "/*", EnumSet.of(DispatcherType.REQUEST));
         if (gzip.isEnabled()) {
-            final FilterHolder holder = new FilterHolder(gzip.build());
+            final FilterHolder holder = new FilterHolder(gzip.build(metricRegistry));
             handler.addFilter(holder, "/*", EnumSet.allOf(DispatcherType.class));
         }
         if (jerseyContainer != null) {
@@ -481,7 +506,14 @@ public abstract class AbstractServerFactory implements ServerFactory {
                 urlPattern += "*";
             }
             jersey.setUrlPattern(urlPattern);
-            jersey.register(new JacksonMessageBodyProvider(objectMapper, validator));
+            for (Map.Entry<String, ServiceLevelObjectiveFactory> objective : serviceLevelObjectives.entrySet()) {
+                jersey.getResourceConfig().getSloRegistry().addObjective(objective.getKey(),
+                                                                         objective.getValue().getLatency(),
+                                                                         objective.getValue().getPercentile());
+            }
+            final JacksonMessageBodyProvider jacksonProvider = new JacksonMessageBodyProvider(objectMapper, validator);
+            jersey.register(jacksonProvider);
+            jersey.register(new ObjectMapperPrimingListener(jacksonProvider));
             if (registerDefaultExceptionMappers == null || registerDefaultExceptionMappers) {
                 jersey.register(new LoggingExceptionMapper<Throwable>() {
                 });
@@ -0,0 +1,60 @@
+package io.dropwizard.server;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.jersey.slo.Slo;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+
+/**
+ * The latency objective of a resource method, which overrides its {@link Slo} annotation.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code latency}</td>
+ *         <td>REQUIRED</td>
+ *         <td>The latency within which a request must be answered to be counted as good.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code percentile}</td>
+ *         <td>99</td>
+ *         <td>The percentage of requests which must be good.</td>
+ *     </tr>
+ * </table>
+ */
+public class ServiceLevelObjectiveFactory {
+    @NotNull
+    private Duration latency;
+
+    @DecimalMin(value = "0", inclusive = false)
+    @DecimalMax(value = "100", inclusive = false)
+    private double percentile = 99;
+
+    @JsonProperty
+    public Duration getLatency() {
+        return latency;
+    }
+
+    @JsonProperty
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    @JsonProperty
+    public double getPercentile() {
+        return percentile;
+    }
+
+    @JsonProperty
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+}
@@ -14,9 +14,12 @@ import io.dropwizard.configuration.ConfigurationSourceProvider;
 import io.dropwizard.configuration.DefaultConfigurationFactoryFactory;
 import io.dropwizard.configuration.FileConfigurationSourceProvider;
 import io.dropwizard.jackson.Jackson;
+import io.dropwizard.lifecycle.StartupReport;
+import io.dropwizard.metrics.ReservoirMetricRegistry;
 
 import java.lang.management.ManagementFactory;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.JvmAttributeGaugeSet;
@@ -44,6 +47,7 @@ public class Bootstrap<T extends Configuration> {
     private final List<Bundle> bundles;
     private final List<ConfiguredBundle<? super T>> configuredBundles;
     private final List<Command> commands;
+    private final StartupReport startupReport;
 
     private ObjectMapper objectMapper;
     private MetricRegistry metricRegistry;
@@ -65,8 +69,9 @@ public class Bootstrap<T extends Configuration> {
         this.bundles = Lists.newArrayList();
         this.configuredBundles = Lists.newArrayList();
         this.commands = Lists.newArrayList();
+        this.startupReport = new StartupReport();
         this.validatorFactory = Validators.newValidatorFactory();
-        this.metricRegistry = new MetricRegistry();
+        this.metricRegistry = new ReservoirMetricRegistry();
         this.configurationSourceProvider = new FileConfigurationSourceProvider();
         this.classLoader = Thread.currentThread().getContextClassLoader();
         this.configurationFactoryFactory = new DefaultConfigurationFactoryFactory<T>();
@@ -134,7 +139,9 @@ public class Bootstrap<T extends Configuration> {
      * @param bundle a {@link Bundle}
      */
     public void addBundle(Bundle bundle) {
+        final long start = System.nanoTime();
         bundle.initialize(this);
+        record("initialize", bundle, start);
         bundles.add(bundle);
     }
 
@@ -144,7 +151,9 @@ public class Bootstrap<T extends Configuration> {
      * @param bundle a {@link ConfiguredBundle}
      */
     public void addBundle(ConfiguredBundle<? super T> bundle) {
+        final long start = System.nanoTime();
         bundle.initialize(this);
+        record("initialize", bundle, start);
         configuredBundles.add(bundle);
     }
 
@@ -193,13 +202,28 @@ public class Bootstrap<T extends Configuration> {
      */
     public void run(T configuration, Environment environment) throws Exception {
         for (Bundle bundle : bundles) {
+            final long start = System.nanoTime();
             bundle.run(environment);
+            record("run", bundle, start);
         }
         for (ConfiguredBundle<? super T> bundle : configuredBundles) {
+            final long start = System.nanoTime();
             bundle.run(configuration, environment);
+            record("run", bundle, start);
         }
     }
 
+    /**
+     * Returns the report in which the time each bundle takes to initialize and run is recorded.
+     */
+    public StartupReport getStartupReport() {
+        return startupReport;
+    }
+
+    private void record(String phase, Object bundle, long start) {
+        startupReport.record(phase, bundle.getClass().getName(), System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * Returns the application's commands.
      */
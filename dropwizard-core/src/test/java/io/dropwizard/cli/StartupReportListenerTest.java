@@ -0,0 +1,30 @@
+package io.dropwizard.cli;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.StartupReport;
+import org.eclipse.jetty.server.Server;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StartupReportListenerTest {
+    private final StartupReport report = new StartupReport();
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final StartupReportListener listener = new StartupReportListener(report, metricRegistry);
+
+    @Test
+    public void registersAGaugePerStepOnceTheServerHasStarted() throws Exception {
+        report.record("initialize", "com.example.Bundle", 12, TimeUnit.MILLISECONDS);
+        final Server server = new Server();
+
+        listener.lifeCycleStarting(server);
+        listener.lifeCycleStarted(server);
+
+        assertThat(metricRegistry.getGauges().get("startup.initialize.com.example.Bundle").getValue())
+                .isEqualTo(12L);
+        assertThat(metricRegistry.getGauges())
+                .containsKey("startup.start.org.eclipse.jetty.server.Server");
+    }
+}
@@ -0,0 +1,169 @@
+package io.dropwizard.reload;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableSet;
+import io.dropwizard.Configuration;
+import io.dropwizard.configuration.ConfigurationException;
+import io.dropwizard.configuration.ConfigurationFactory;
+import io.dropwizard.configuration.ConfigurationSourceProvider;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jetty.BiDiGzipFilter;
+import io.dropwizard.logging.DefaultLoggingFactory;
+import io.dropwizard.server.DefaultServerFactory;
+import io.dropwizard.setup.Environment;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.FilterHolder;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.DispatcherType;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class ConfigurationReloaderTest {
+    private static final String BASE = "logging:\n  appenders: []\n";
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final ConfigurationFactory<Configuration> factory =
+            new ConfigurationFactory<>(Configuration.class, validator, Jackson.newObjectMapper(), "dw");
+    private final Environment environment = new Environment("test", Jackson.newObjectMapper(), validator,
+                                                            new MetricRegistry(), getClass().getClassLoader());
+    private final QueuedThreadPool threadPool = new QueuedThreadPool(1024, 8);
+    private final BiDiGzipFilter gzipFilter = new BiDiGzipFilter();
+    private String yaml = BASE;
+    private final ConfigurationSourceProvider provider = new ConfigurationSourceProvider() {
+        @Override
+        public InputStream open(String path) throws IOException {
+            return new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8));
+        }
+    };
+    private Configuration configuration;
+    private ConfigurationReloader<Configuration> reloader;
+
+    @Before
+    public void setUp() throws Exception {
+        configuration = factory.build(provider, "config.yml");
+        environment.getApplicationContext().addFilter(new FilterHolder(gzipFilter), "/*",
+                                                      EnumSet.allOf(DispatcherType.class));
+        reloader = new ConfigurationReloader<>(factory, provider, "config.yml", configuration, environment);
+        reloader.serverStarted(new Server(threadPool));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        reloader.stop();
+    }
+
+    @Test
+    public void reportsAnUnchangedFile() throws Exception {
+        assertThat(reloader.reload())
+                .isEmpty();
+    }
+
+    @Test
+    public void reloadsLogging() throws Exception {
+        yaml = BASE + "  level: DEBUG\n";
+
+        assertThat(reloader.reload())
+                .containsExactly("Reloaded logging");
+        assertThat(((DefaultLoggingFactory) configuration.getLoggingFactory()).getLevel().toString())
+                .isEqualTo("DEBUG");
+        assertThat(reloader.reload())
+                .isEmpty();
+    }
+
+    @Test
+    public void replacesMetricsReporters() throws Exception {
+        yaml = BASE + "metrics:\n  reporters:\n    - type: console\n      frequency: 1 hour\n";
+
+        assertThat(reloader.reload())
+                .containsExactly("Reloaded metrics reporters");
+        assertThat(configuration.getMetricsFactory().getReporters())
+                .hasSize(1);
+    }
+
+    @Test
+    public void reportsChangesToTheOpenMetricsServlet() throws Exception {
+        yaml = BASE + "metrics:\n  openMetrics:\n    path: /prometheus\n";
+
+        assertThat(reloader.reload())
+                .containsExactly("Restart required to apply changes to [metrics.openMetrics]");
+        assertThat(configuration.getMetricsFactory().getOpenMetrics().getPath())
+                .isEqualTo("/openmetrics");
+    }
+
+    @Test
+    public void resizesTheServerThreadPool() throws Exception {
+        yaml = BASE + "server:\n  maxThreads: 64\n  minThreads: 4\n";
+
+        assertThat(reloader.reload())
+                .containsExactly("Reloaded server thread pool");
+        assertThat(threadPool.getMaxThreads())
+                .isEqualTo(64);
+        assertThat(threadPool.getMinThreads())
+                .isEqualTo(4);
+        assertThat(((DefaultServerFactory) configuration.getServerFactory()).getMaxThreads())
+                .isEqualTo(64);
+    }
+
+    @Test
+    public void reconfiguresTheGzipFilter() throws Exception {
+        yaml = BASE + "server:\n  gzip:\n    minimumEntitySize: 1KiB\n";
+
+        assertThat(reloader.reload())
+                .containsExactly("Reloaded server.gzip");
+        assertThat(gzipFilter.getMinGzipSize())
+                .isEqualTo(1024);
+    }
+
+    @Test
+    public void doesNotChangeTheGzipFiltersSetsWhileItsRunning() throws Exception {
+        final Set<String> mimeTypes = ImmutableSet.copyOf(gzipFilter.getMimeTypes());
+        yaml = BASE + "server:\n  gzip:\n    minimumEntitySize: 1KiB\n    compressedMimeTypes: [text/plain]\n";
+
+        assertThat(reloader.reload())
+                .containsExactly("Reloaded server.gzip",
+                                 "Restart required to apply changes to [server.gzip.compressedMimeTypes]");
+        assertThat(gzipFilter.getMinGzipSize())
+                .isEqualTo(1024);
+        assertThat(gzipFilter.getMimeTypes())
+                .isEqualTo(mimeTypes);
+    }
+
+    @Test
+    public void reportsChangesWhichRequireARestart() throws Exception {
+        yaml = BASE + "server:\n  maxThreads: 64\n  adminMinThreads: 2\n";
+
+        assertThat(reloader.reload())
+                .containsExactly("Reloaded server thread pool",
+                                 "Restart required to apply changes to [server.adminMinThreads]");
+        assertThat(reloader.reload())
+                .containsExactly("Restart required to apply changes to [server.adminMinThreads]");
+    }
+
+    @Test
+    public void rejectsInvalidFiles() throws Exception {
+        yaml = BASE + "  level: DEBUG\nserver:\n  maxThreads: -1\n";
+
+        try {
+            reloader.reload();
+            failBecauseExceptionWasNotThrown(ConfigurationException.class);
+        } catch (ConfigurationException e) {
+            assertThat(threadPool.getMaxThreads())
+                    .isEqualTo(1024);
+            assertThat(((DefaultLoggingFactory) configuration.getLoggingFactory()).getLevel().toString())
+                    .isEqualTo("INFO");
+        }
+    }
+}
@@ -16,6 +16,7 @@ import io.dropwizard.logging.ConsoleAppenderFactory;
 import io.dropwizard.logging.FileAppenderFactory;
 import io.dropwizard.logging.SyslogAppenderFactory;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.util.Duration;
 import org.eclipse.jetty.server.AbstractNetworkConnector;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.NetworkConnector;
@@ -90,6 +91,16 @@ public class DefaultServerFactoryTest {
         assertThat(http.getAdminContextPath()).isEqualTo("/admin");
     }
 
+    @Test
+    public void loadsServiceLevelObjectives() throws Exception {
+        final ServiceLevelObjectiveFactory objective =
+                http.getServiceLevelObjectives().get("com.example.ThingResource.getThing");
+        assertThat(objective.getLatency())
+                .isEqualTo(Duration.milliseconds(200));
+        assertThat(objective.getPercentile())
+                .isEqualTo(99.9);
+    }
+
     @Test
     public void isDiscoverable() throws Exception {
         assertThat(new DiscoverableSubtypeResolver().getDiscoveredSubtypes())
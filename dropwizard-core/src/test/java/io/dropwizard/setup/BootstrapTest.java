@@ -5,6 +5,7 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.UniformReservoir;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dropwizard.Application;
+import io.dropwizard.Bundle;
 import io.dropwizard.Configuration;
 import io.dropwizard.configuration.DefaultConfigurationFactoryFactory;
 import io.dropwizard.configuration.FileConfigurationSourceProvider;
@@ -12,6 +13,7 @@ import io.dropwizard.configuration.FileConfigurationSourceProvider;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.jersey.validation.NonEmptyStringParamUnwrapper;
 import io.dropwizard.jersey.validation.ParamValidatorUnwrapper;
+import io.dropwizard.lifecycle.StartupReport;
 import io.dropwizard.validation.valuehandling.OptionalValidatedValueUnwrapper;
 import org.hibernate.validator.HibernateValidator;
 import org.hibernate.validator.internal.engine.ValidatorFactoryImpl;
@@ -20,8 +22,10 @@ import org.junit.Test;
 
 import javax.validation.Validation;
 import javax.validation.ValidatorFactory;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 public class BootstrapTest {
     private final Application<Configuration> application = new Application<Configuration>() {
@@ -128,4 +132,17 @@ public class BootstrapTest {
         bootstrap.setObjectMapper(minimalObjectMapper);
         assertThat(bootstrap.getObjectMapper()).isSameAs(minimalObjectMapper);
     }
+
+    @Test
+    public void recordsHowLongBundlesTakeToInitializeAndRun() throws Exception {
+        final Bundle bundle = mock(Bundle.class);
+        bootstrap.addBundle(bundle);
+        bootstrap.run(new Configuration(), mock(Environment.class));
+
+        final List<StartupReport.Entry> entries = bootstrap.getStartupReport().getEntries();
+        assertThat(entries).hasSize(2);
+        assertThat(entries.get(0).getPhase()).isEqualTo("initialize");
+        assertThat(entries.get(0).getName()).isEqualTo(bundle.getClass().getName());
+        assertThat(entries.get(1).getPhase()).isEqualTo("run");
+    }
 }
@@ -14,15 +14,22 @@ import java.io.InputStreamReader;
 import java.net.URL;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A subtype resolver which discovers subtypes via
  * {@code META-INF/services/io.dropwizard.jackson.Discoverable}.
+ * <p/>
+ * The subtypes found by resolvers of this class are cached for the lifetime of its class loader, so
+ * that creating more object mappers doesn't scan the class path again.
  */
 public class DiscoverableSubtypeResolver extends StdSubtypeResolver {
     private static final long serialVersionUID = 1L;
     private static final Logger LOGGER = LoggerFactory.getLogger(DiscoverableSubtypeResolver.class);
 
+    private static final ConcurrentMap<Class<?>, ImmutableList<Class<?>>> CACHE = new ConcurrentHashMap<>();
+
     private final ImmutableList<Class<?>> discoveredSubtypes;
 
     public DiscoverableSubtypeResolver() {
@@ -30,14 +37,23 @@ public class DiscoverableSubtypeResolver extends StdSubtypeResolver {
     }
 
     public DiscoverableSubtypeResolver(Class<?> rootKlass) {
-        final ImmutableList.Builder<Class<?>> subtypes = ImmutableList.builder();
-        for (Class<?> klass : discoverServices(rootKlass)) {
-            for (Class<?> subtype : discoverServices(klass)) {
-                subtypes.add(subtype);
-                registerSubtypes(subtype);
+        // subclasses may look elsewhere, so only the subtypes found by this class are shared
+        if (getClass() == DiscoverableSubtypeResolver.class) {
+            ImmutableList<Class<?>> subtypes = CACHE.get(rootKlass);
+            if (subtypes == null) {
+                final ImmutableList<Class<?>> discovered = discoverSubtypes(rootKlass);
+                subtypes = CACHE.putIfAbsent(rootKlass, discovered);
+                if (subtypes == null) {
+                    subtypes = discovered;
+                }
             }
+            this.discoveredSubtypes = subtypes;
+        } else {
+            this.discoveredSubtypes = discoverSubtypes(rootKlass);
+        }
+        for (Class<?> subtype : discoveredSubtypes) {
+            registerSubtypes(subtype);
         }
-        this.discoveredSubtypes = subtypes.build();
     }
 
     public ImmutableList<Class<?>> getDiscoveredSubtypes() {
@@ -48,6 +64,14 @@ public class DiscoverableSubtypeResolver extends StdSubtypeResolver {
         return this.getClass().getClassLoader();
     }
 
+    private ImmutableList<Class<?>> discoverSubtypes(Class<?> rootKlass) {
+        final ImmutableList.Builder<Class<?>> subtypes = ImmutableList.builder();
+        for (Class<?> klass : discoverServices(rootKlass)) {
+            subtypes.addAll(discoverServices(klass));
+        }
+        return subtypes.build();
+    }
+
     protected List<Class<?>> discoverServices(Class<?> klass) {
         final List<Class<?>> serviceClasses = Lists.newArrayList();
         try {
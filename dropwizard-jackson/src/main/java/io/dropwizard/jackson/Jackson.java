@@ -1,16 +1,29 @@
 package io.dropwizard.jackson;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
 import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import com.fasterxml.jackson.datatype.jdk7.Jdk7Module;
 import com.fasterxml.jackson.datatype.joda.JodaModule;
 import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Type;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A utility class for Jackson.
  */
 public class Jackson {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Jackson.class);
+
     private Jackson() { /* singleton */ }
 
     /**
@@ -49,6 +62,117 @@ public class Jackson {
                 .setSubtypeResolver(new DiscoverableSubtypeResolver());
     }
 
+    /**
+     * Builds the serializers and deserializers of the given types ahead of time. {@link ObjectMapper}
+     * builds them on first use, which makes the first reads and writes of each type slow, not least
+     * because {@link AfterburnerModule} generates their accessor classes then.
+     * <p/>
+     * The type arguments, elements and values of the given types are primed as well.
+     *
+     * @param mapper the {@link ObjectMapper} whose serializers and deserializers are built
+     * @param types  the types to prime
+     * @return the number of types whose serializers and deserializers were built
+     * @see #primeSerializers(ObjectMapper, Iterable)
+     * @see #primeDeserializers(ObjectMapper, Iterable)
+     */
+    public static int prime(ObjectMapper mapper, Type... types) {
+        final DefaultSerializerProvider provider = serializerProvider(mapper);
+        int primed = 0;
+        for (JavaType type : expand(mapper, ImmutableList.copyOf(types))) {
+            // both are built whenever possible, even if the other can't be
+            final boolean serializable = primeSerializer(provider, type);
+            final boolean deserializable = primeDeserializer(mapper, type);
+            if (serializable && deserializable) {
+                primed++;
+            }
+        }
+        return primed;
+    }
+
+    /**
+     * Builds the serializers of the given types, their type arguments, elements and values ahead of
+     * time. Types which can't be serialized are logged and skipped.
+     *
+     * @param mapper the {@link ObjectMapper} whose serializers are built
+     * @param types  the types to prime
+     * @return the number of types whose serializers were built
+     */
+    public static int primeSerializers(ObjectMapper mapper, Iterable<? extends Type> types) {
+        final DefaultSerializerProvider provider = serializerProvider(mapper);
+        int primed = 0;
+        for (JavaType type : expand(mapper, types)) {
+            if (primeSerializer(provider, type)) {
+                primed++;
+            }
+        }
+        return primed;
+    }
+
+    /**
+     * Builds the deserializers of the given types, their type arguments, elements and values ahead
+     * of time. Types which can't be deserialized are logged and skipped.
+     *
+     * @param mapper the {@link ObjectMapper} whose deserializers are built
+     * @param types  the types to prime
+     * @return the number of types whose deserializers were built
+     */
+    public static int primeDeserializers(ObjectMapper mapper, Iterable<? extends Type> types) {
+        int primed = 0;
+        for (JavaType type : expand(mapper, types)) {
+            if (primeDeserializer(mapper, type)) {
+                primed++;
+            }
+        }
+        return primed;
+    }
+
+    private static DefaultSerializerProvider serializerProvider(ObjectMapper mapper) {
+        return ((DefaultSerializerProvider) mapper.getSerializerProvider())
+                .createInstance(mapper.getSerializationConfig(), mapper.getSerializerFactory());
+    }
+
+    private static boolean primeSerializer(DefaultSerializerProvider provider, JavaType type) {
+        try {
+            // the same call ObjectWriter makes, which caches the serializer in the mapper
+            provider.findTypedValueSerializer(type, true, null);
+            return true;
+        } catch (JsonMappingException e) {
+            LOGGER.debug("Unable to build a serializer for {}", type, e);
+            return false;
+        }
+    }
+
+    private static boolean primeDeserializer(ObjectMapper mapper, JavaType type) {
+        final AtomicReference<Throwable> cause = new AtomicReference<>();
+        if (mapper.canDeserialize(type, cause)) {
+            return true;
+        }
+        LOGGER.debug("Unable to build a deserializer for {}", type, cause.get());
+        return false;
+    }
+
+    // the given types and the types they contain, without Object and primitives
+    private static Set<JavaType> expand(ObjectMapper mapper, Iterable<? extends Type> types) {
+        final Set<JavaType> expanded = Sets.newLinkedHashSet();
+        for (Type type : types) {
+            expand(mapper.getTypeFactory().constructType(type), expanded);
+        }
+        return expanded;
+    }
+
+    private static void expand(JavaType type, Set<JavaType> expanded) {
+        if (type == null || type.isPrimitive() || type.getRawClass() == Object.class || !expanded.add(type)) {
+            return;
+        }
+        for (int i = 0; i < type.containedTypeCount(); i++) {
+            expand(type.containedType(i), expanded);
+        }
+        if (type.isContainerType()) {
+            expand(type.getKeyType(), expanded);
+            expand(type.getContentType(), expanded);
+        }
+    }
+
     private static ObjectMapper configure(ObjectMapper mapper) {
         mapper.registerModule(new GuavaModule());
         mapper.registerModule(new LogbackModule());
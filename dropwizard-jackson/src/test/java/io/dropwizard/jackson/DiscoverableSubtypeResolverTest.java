@@ -23,4 +23,10 @@ public class DiscoverableSubtypeResolverTest {
         assertThat(mapper.readValue("{\"type\":\"b\"}", ExampleSPI.class))
                 .isInstanceOf(ImplB.class);
     }
+
+    @Test
+    public void sharesDiscoveredSubtypes() throws Exception {
+        assertThat(new DiscoverableSubtypeResolver(ExampleTag.class).getDiscoveredSubtypes())
+                .isSameAs(resolver.getDiscoveredSubtypes());
+    }
 }
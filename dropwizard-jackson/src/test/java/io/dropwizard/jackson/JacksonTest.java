@@ -1,10 +1,16 @@
 package io.dropwizard.jackson;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import com.google.common.collect.ImmutableList;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.lang.reflect.Type;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class JacksonTest
@@ -25,4 +31,50 @@ public class JacksonTest
         assertThat(mapper.getFactory()).isNotNull();
     }
 
+    @Test
+    public void primesTypesAndTheTypesTheyContain() {
+        final ObjectMapper mapper = Jackson.newObjectMapper();
+        final Type type = new TypeReference<List<Primed>>() {}.getType();
+
+        assertThat(Jackson.prime(mapper, type, int.class, Object.class))
+                .isEqualTo(2);
+        assertThat(((DefaultSerializerProvider) mapper.getSerializerProvider()).cachedSerializersCount())
+                .isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    public void skipsTypesWhichCannotBePrimed() {
+        final ObjectMapper mapper = Jackson.newObjectMapper();
+
+        assertThat(Jackson.primeSerializers(mapper, ImmutableList.of(Conflicted.class)))
+                .isEqualTo(1);
+        assertThat(Jackson.primeDeserializers(mapper, ImmutableList.of(Conflicted.class, Primed.class)))
+                .isEqualTo(1);
+        assertThat(Jackson.prime(mapper, Conflicted.class))
+                .isZero();
+    }
+
+    public static class Primed {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Conflicted {
+        public String getValue() {
+            return "value";
+        }
+
+        public void setValue(String value) {
+        }
+
+        public void setValue(Integer value) {
+        }
+    }
 }
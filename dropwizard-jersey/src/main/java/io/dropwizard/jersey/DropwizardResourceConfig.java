@@ -10,7 +10,10 @@ import io.dropwizard.jersey.caching.CacheControlledResponseFeature;
 import io.dropwizard.jersey.guava.OptionalMessageBodyWriter;
 import io.dropwizard.jersey.guava.OptionalParamFeature;
 import io.dropwizard.jersey.params.NonEmptyStringParamFeature;
+import io.dropwizard.jersey.push.PushResourcesFeature;
 import io.dropwizard.jersey.sessions.SessionFactoryProvider;
+import io.dropwizard.jersey.slo.SloApplicationListener;
+import io.dropwizard.jersey.slo.SloRegistry;
 import io.dropwizard.jersey.validation.HibernateValidationFeature;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.ServerProperties;
@@ -38,6 +41,7 @@ public class DropwizardResourceConfig extends ResourceConfig {
     private static final String NEWLINE = String.format("%n");
 
     private String urlPattern = "/*";
+    private final SloRegistry sloRegistry;
 
     public DropwizardResourceConfig(MetricRegistry metricRegistry) {
         this(false, metricRegistry);
@@ -60,8 +64,12 @@ public class DropwizardResourceConfig extends ResourceConfig {
             register(new ComponentLoggingListener(this));
         }
 
+        this.sloRegistry = new SloRegistry(metricRegistry);
+
         register(new InstrumentedResourceMethodApplicationListener(metricRegistry));
+        register(new SloApplicationListener(sloRegistry));
         register(CacheControlledResponseFeature.class);
+        register(PushResourcesFeature.class);
         register(OptionalMessageBodyWriter.class);
         register(OptionalParamFeature.class);
         register(NonEmptyStringParamFeature.class);
@@ -88,6 +96,13 @@ public class DropwizardResourceConfig extends ResourceConfig {
         this.urlPattern = urlPattern;
     }
 
+    /**
+     * Returns the latency objectives of the resource methods.
+     */
+    public SloRegistry getSloRegistry() {
+        return sloRegistry;
+    }
+
     /**
      * Combines types of getClasses() and getSingletons in one Set.
      *
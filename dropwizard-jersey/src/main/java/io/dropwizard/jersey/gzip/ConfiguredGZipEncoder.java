@@ -1,11 +1,10 @@
 package io.dropwizard.jersey.gzip;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.zip.GZIPOutputStream;
 
 import javax.annotation.Priority;
 import javax.ws.rs.Priorities;
-import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.client.ClientRequestContext;
 import javax.ws.rs.client.ClientRequestFilter;
 import javax.ws.rs.core.HttpHeaders;
@@ -13,40 +12,91 @@ import javax.ws.rs.ext.Provider;
 import javax.ws.rs.ext.WriterInterceptor;
 import javax.ws.rs.ext.WriterInterceptorContext;
 
+import com.google.common.base.Optional;
+import io.dropwizard.util.ContentCodec;
+import io.dropwizard.util.ContentCodecs;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
 /**
- * GZIP encoding support. Writer interceptor that encodes the output  if
- * {@link HttpHeaders#CONTENT_ENCODING Content-Encoding header} value equals
- * to {@code gzip} or {@code x-gzip}.
+ * Content encoding support. Writer interceptor that encodes the output if the
+ * {@link HttpHeaders#CONTENT_ENCODING Content-Encoding header} value names a
+ * {@link ContentCodecs registered codec} which can encode entities, such as {@code gzip},
+ * {@code x-gzip} or {@code deflate}.
  *
- * If so configured, it will encode the output even if the  {@code gzip} and {@code x-gzip}
- * {@link HttpHeaders#CONTENT_ENCODING Content-Encoding header} is missing, and insert a value
- * of {@code gzip} for that header.
+ * If so configured, it will encode the output even if the
+ * {@link HttpHeaders#CONTENT_ENCODING Content-Encoding header} is missing, and insert the name
+ * of its codec for that header, unless the entity is known to be smaller than the minimum entity
+ * size. Entities of unknown size, such as objects which are serialized as JSON, are always encoded.
  *
+ * As a client request filter, it also lists every registered codec in the
+ * {@link HttpHeaders#ACCEPT_ENCODING Accept-Encoding header}, unless it is already set.
  */
 @Provider
 @Priority(Priorities.ENTITY_CODER)
 public class ConfiguredGZipEncoder implements WriterInterceptor, ClientRequestFilter {
-    private boolean forceEncoding = false;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final boolean forceEncoding;
+    private final ContentCodec codec;
+    private final int level;
+    private final long minimumEntitySize;
 
     public ConfiguredGZipEncoder(boolean forceEncoding) {
+        this(forceEncoding, ContentCodecs.GZIP, ContentCodecs.DEFAULT_LEVEL, 0);
+    }
+
+    /**
+     * @param forceEncoding     whether to encode request entities without a Content-Encoding header
+     * @param codec             the codec with which to encode those entities
+     * @param level             the compression level, or {@link ContentCodecs#DEFAULT_LEVEL}
+     * @param minimumEntitySize the size, in bytes, below which those entities aren't encoded
+     */
+    public ConfiguredGZipEncoder(boolean forceEncoding, ContentCodec codec, int level, long minimumEntitySize) {
+        checkArgument(codec.canEncode(), "%s can't encode entities", codec.getName());
         this.forceEncoding = forceEncoding;
+        this.codec = codec;
+        this.level = level;
+        this.minimumEntitySize = minimumEntitySize;
     }
 
     @Override
     public void filter(ClientRequestContext context) throws IOException {
-        if (context.hasEntity() && context.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING) == null && this.forceEncoding) {
-            context.getHeaders().add(HttpHeaders.CONTENT_ENCODING, "gzip");
+        if (context.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING) == null) {
+            context.getHeaders().putSingle(HttpHeaders.ACCEPT_ENCODING, ContentCodecs.getAcceptEncoding());
+        }
+        if (context.hasEntity() && context.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING) == null
+                && this.forceEncoding && !isSmall(context.getEntity())) {
+            context.getHeaders().add(HttpHeaders.CONTENT_ENCODING, codec.getName());
         }
     }
 
     @Override
     public final void aroundWriteTo(WriterInterceptorContext context) throws IOException {
-        String contentEncoding = (String) context.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
-        if ((contentEncoding != null) &&
-                (contentEncoding.equals("gzip") || contentEncoding.equals("x-gzip"))) {
-            context.setOutputStream(new GZIPOutputStream(context.getOutputStream()));
+        final Object contentEncoding = context.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        final Optional<ContentCodec> encoder = ContentCodecs.forEncoding((String) contentEncoding);
+        if (encoder.isPresent() && encoder.get().canEncode()) {
+            final int encoderLevel = encoder.get() == codec ? level : ContentCodecs.DEFAULT_LEVEL;
+            context.setOutputStream(encoder.get().encode(context.getOutputStream(), encoderLevel, BUFFER_SIZE));
         }
         context.proceed();
     }
 
+    private boolean isSmall(Object entity) {
+        if (minimumEntitySize <= 0) {
+            return false;
+        }
+        final long size;
+        if (entity instanceof byte[]) {
+            size = ((byte[]) entity).length;
+        } else if (entity instanceof String) {
+            // a lower bound, since a character is encoded as at least one byte
+            size = ((String) entity).length();
+        } else if (entity instanceof File) {
+            size = ((File) entity).length();
+        } else {
+            return false;
+        }
+        return size < minimumEntitySize;
+    }
 }
@@ -1,20 +1,22 @@
 package io.dropwizard.jersey.gzip;
 
 import java.io.IOException;
-import java.util.zip.GZIPInputStream;
 
 import javax.annotation.Priority;
 import javax.ws.rs.Priorities;
-import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.ext.Provider;
 import javax.ws.rs.ext.ReaderInterceptor;
 import javax.ws.rs.ext.ReaderInterceptorContext;
 
+import com.google.common.base.Optional;
+import io.dropwizard.util.ContentCodec;
+import io.dropwizard.util.ContentCodecs;
+
 /**
- * GZIP encoding support. Reader interceptor that decodes the input  if
- * {@link HttpHeaders#CONTENT_ENCODING Content-Encoding header} value equals
- * to {@code gzip} or {@code x-gzip}.
+ * Content encoding support. Reader interceptor that decodes the input if the
+ * {@link HttpHeaders#CONTENT_ENCODING Content-Encoding header} value names a
+ * {@link ContentCodecs registered codec}, such as {@code gzip}, {@code x-gzip} or {@code deflate}.
  *
  * We're using this instead of Jersey's built in {@link org.glassfish.jersey.message.GZipEncoder}
  * because that unconditionally encodes on writing, whereas dropwizard-client
@@ -24,6 +26,7 @@ import javax.ws.rs.ext.ReaderInterceptorContext;
 @Provider
 @Priority(Priorities.ENTITY_CODER)
 public class GZipDecoder implements ReaderInterceptor {
+    private static final int BUFFER_SIZE = 8192;
 
     @Override
     public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException {
@@ -31,10 +34,10 @@ public class GZipDecoder implements ReaderInterceptor {
             context.getHeaders().add(HttpHeaders.ACCEPT_ENCODING, "gzip");
         }
 
-        String contentEncoding = context.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
-        if (contentEncoding != null &&
-                (contentEncoding.equals("gzip") || contentEncoding.equals("x-gzip"))) {
-            context.setInputStream(new GZIPInputStream(context.getInputStream()));
+        final Optional<ContentCodec> decoder =
+                ContentCodecs.forEncoding(context.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        if (decoder.isPresent()) {
+            context.setInputStream(decoder.get().decode(context.getInputStream(), BUFFER_SIZE));
         }
         return context.proceed();
     }
@@ -0,0 +1,159 @@
+package io.dropwizard.jersey.jackson;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+import io.dropwizard.jackson.Jackson;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.Parameter;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.core.MediaType;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An application event listener which builds the serializers of the types returned by resource
+ * methods, and the deserializers of the entities they accept, as soon as Jersey has been
+ * initialized, so that the first requests aren't slowed down by building them.
+ * <p/>
+ * Only the types which the given {@link JacksonMessageBodyProvider} would read or write are primed.
+ *
+ * @see Jackson#primeSerializers
+ * @see Jackson#primeDeserializers
+ */
+public class ObjectMapperPrimingListener implements ApplicationEventListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ObjectMapperPrimingListener.class);
+
+    private final JacksonMessageBodyProvider provider;
+
+    public ObjectMapperPrimingListener(JacksonMessageBodyProvider provider) {
+        this.provider = provider;
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+        if (event.getType() == ApplicationEvent.Type.INITIALIZATION_APP_FINISHED) {
+            prime(event.getResourceModel().getResources());
+        }
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent requestEvent) {
+        return null;
+    }
+
+    /**
+     * Primes the entity types of the given resources and their sub-resources.
+     *
+     * @param resources the resources of an application
+     */
+    public void prime(Iterable<Resource> resources) {
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        final Set<Type> writes = Sets.newLinkedHashSet();
+        final Set<Type> reads = Sets.newLinkedHashSet();
+        final Set<Class<?>> locators = Sets.newHashSet();
+        for (Resource resource : resources) {
+            collect(resource, writes, reads, locators);
+        }
+
+        final int serializers = Jackson.primeSerializers(provider.getObjectMapper(), writes);
+        final int deserializers = Jackson.primeDeserializers(provider.getObjectMapper(), reads);
+        LOGGER.debug("Built {} serializers and {} deserializers in {}ms",
+                     serializers, deserializers, stopwatch.elapsed(TimeUnit.MILLISECONDS));
+    }
+
+    private void collect(Resource resource, Set<Type> writes, Set<Type> reads, Set<Class<?>> locators) {
+        for (ResourceMethod method : resource.getAllMethods()) {
+            final Invocable invocable = method.getInvocable();
+            if (method.getType() == ResourceMethod.JaxrsType.SUB_RESOURCE_LOCATOR) {
+                final Class<?> locator = invocable.getRawResponseType();
+                if (locators.add(locator)) {
+                    final Resource subResource = Resource.from(locator);
+                    if (subResource != null) {
+                        collect(subResource, writes, reads, locators);
+                    }
+                }
+                continue;
+            }
+
+            final Annotation[] annotations = invocable.getHandlingMethod().getDeclaredAnnotations();
+            final Type responseType = unwrap(invocable.getResponseType());
+            if (isWriteable(responseType, annotations, method.getProducedTypes())) {
+                writes.add(responseType);
+            }
+            for (Parameter parameter : invocable.getParameters()) {
+                if (parameter.getSource() == Parameter.Source.ENTITY &&
+                        isReadable(parameter.getRawType(), parameter.getType(), parameter.getAnnotations(),
+                                   method.getConsumedTypes())) {
+                    reads.add(parameter.getType());
+                }
+            }
+        }
+        for (Resource child : resource.getChildResources()) {
+            collect(child, writes, reads, locators);
+        }
+    }
+
+    private boolean isWriteable(Type type, Annotation[] annotations, List<MediaType> mediaTypes) {
+        final Class<?> rawType = rawType(type);
+        if (rawType == null || rawType == void.class || rawType == Void.class) {
+            return false;
+        }
+        for (MediaType mediaType : jsonTypes(mediaTypes)) {
+            if (provider.isWriteable(rawType, type, annotations, mediaType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isReadable(Class<?> rawType, Type type, Annotation[] annotations, List<MediaType> mediaTypes) {
+        for (MediaType mediaType : jsonTypes(mediaTypes)) {
+            if (provider.isReadable(rawType, type, annotations, mediaType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // a method without media types, or with wildcard ones, may well exchange JSON
+    private static List<MediaType> jsonTypes(List<MediaType> mediaTypes) {
+        final ImmutableList.Builder<MediaType> types = ImmutableList.builder();
+        for (MediaType mediaType : mediaTypes) {
+            types.add(mediaType.isWildcardType() || mediaType.isWildcardSubtype() ?
+                              MediaType.APPLICATION_JSON_TYPE : mediaType);
+        }
+        return mediaTypes.isEmpty() ? ImmutableList.of(MediaType.APPLICATION_JSON_TYPE) : types.build();
+    }
+
+    // optional entities are written by OptionalMessageBodyWriter, with the writer of their contents
+    private static Type unwrap(Type type) {
+        if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == Optional.class) {
+            return ((ParameterizedType) type).getActualTypeArguments()[0];
+        }
+        return type;
+    }
+
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return rawType(((ParameterizedType) type).getRawType());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,23 @@
+package io.dropwizard.jersey.push;
+
+/**
+ * Builds the {@code Link} response headers which announce resources to preload.
+ */
+public final class PreloadLinks {
+    /**
+     * The name of the {@code Link} response header.
+     */
+    public static final String LINK = "Link";
+
+    private PreloadLinks() { /* singleton */ }
+
+    /**
+     * Returns the {@code Link} header value which announces the given resource.
+     *
+     * @param path the absolute path of the resource
+     * @return a {@code Link} header value
+     */
+    public static String header(String path) {
+        return '<' + path + ">; rel=preload";
+    }
+}
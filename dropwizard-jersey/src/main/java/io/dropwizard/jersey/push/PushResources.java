@@ -0,0 +1,27 @@
+package io.dropwizard.jersey.push;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An annotation which declares the resources (e.g. stylesheets, scripts or images served by an
+ * {@code AssetServlet}) a client will need after receiving the response produced by the annotated
+ * method.
+ * <p/>
+ * Each resource is announced with a {@code Link: <path>; rel=preload} response header, which
+ * connectors with a declared push strategy use to push the resource along with the response.
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PushResources {
+    /**
+     * The absolute paths of the resources, e.g. {@code /assets/app.css}.
+     *
+     * @return the paths of the resources to push
+     */
+    String[] value();
+}
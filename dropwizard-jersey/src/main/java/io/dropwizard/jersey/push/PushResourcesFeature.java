@@ -0,0 +1,54 @@
+package io.dropwizard.jersey.push;
+
+import com.google.common.collect.ImmutableList;
+import org.glassfish.jersey.server.model.AnnotatedMethod;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Announces the resources declared with {@link PushResources} on resource methods (or their
+ * classes) with {@code Link} response headers.
+ */
+@Provider
+public class PushResourcesFeature implements DynamicFeature {
+    @Override
+    public void configure(final ResourceInfo resourceInfo, final FeatureContext configuration) {
+        final AnnotatedMethod am = new AnnotatedMethod(resourceInfo.getResourceMethod());
+
+        PushResources resources = am.getAnnotation(PushResources.class);
+        if (resources == null) {
+            resources = resourceInfo.getResourceClass().getAnnotation(PushResources.class);
+        }
+        if (resources != null) {
+            configuration.register(new PushResourcesFilter(resources));
+        }
+    }
+
+    private static class PushResourcesFilter implements ContainerResponseFilter {
+        private final List<String> links;
+
+        PushResourcesFilter(PushResources resources) {
+            final ImmutableList.Builder<String> builder = ImmutableList.builder();
+            for (String path : resources.value()) {
+                builder.add(PreloadLinks.header(path));
+            }
+            this.links = builder.build();
+        }
+
+        @Override
+        public void filter(ContainerRequestContext requestContext,
+                           ContainerResponseContext responseContext) throws IOException {
+            for (String link : links) {
+                responseContext.getHeaders().add(PreloadLinks.LINK, link);
+            }
+        }
+    }
+}
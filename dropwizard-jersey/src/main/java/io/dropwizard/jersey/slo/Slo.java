@@ -0,0 +1,38 @@
+package io.dropwizard.jersey.slo;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An annotation which sets a latency objective for the annotated resource method, or for every
+ * resource method of the annotated class. Each request is counted as good if it's answered within
+ * {@link #latency()} without a server error, and as bad otherwise; the objective is met if at least
+ * {@link #percentile()} percent of the requests are good.
+ *
+ * <p>For example, {@code @Slo(latency = "200ms", percentile = 99)} allows one request in a hundred
+ * to take longer than 200 milliseconds or fail.</p>
+ *
+ * @see SloRegistry
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Slo {
+    /**
+     * The latency within which a request must be answered to be counted as good, e.g.
+     * {@code "200ms"} or {@code "1 second"}.
+     *
+     * @return the latency target
+     */
+    String latency();
+
+    /**
+     * The percentage of requests which must be good, greater than 0 and less than 100.
+     *
+     * @return the objective, as a percentage
+     */
+    double percentile() default 99;
+}
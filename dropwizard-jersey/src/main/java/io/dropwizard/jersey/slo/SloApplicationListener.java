@@ -0,0 +1,101 @@
+package io.dropwizard.jersey.slo;
+
+import com.codahale.metrics.Clock;
+import com.google.common.base.Optional;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An application event listener which times the requests to resource methods with objectives and
+ * records them with their {@link SloTracker}s.
+ *
+ * <p>A request is timed from the start of its resource method until its response has been
+ * written. A request which ends with an unmapped exception is counted as a server error.</p>
+ *
+ * <p>If no resource method has an objective, requests aren't listened to at all.</p>
+ */
+public class SloApplicationListener implements ApplicationEventListener {
+    private static class SloRequestEventListener implements RequestEventListener {
+        private final SloRegistry registry;
+        private final Clock clock;
+        private long start = -1;
+
+        private SloRequestEventListener(SloRegistry registry, Clock clock) {
+            this.registry = registry;
+            this.clock = clock;
+        }
+
+        @Override
+        public void onEvent(RequestEvent event) {
+            if (event.getType() == RequestEvent.Type.RESOURCE_METHOD_START) {
+                start = clock.getTick();
+            } else if (event.getType() == RequestEvent.Type.FINISHED && start != -1) {
+                final ResourceMethod method = event.getUriInfo().getMatchedResourceMethod();
+                if (method == null) {
+                    return;
+                }
+                final Optional<SloTracker> tracker =
+                        registry.getTracker(method.getInvocable().getDefinitionMethod());
+                if (tracker.isPresent()) {
+                    final ContainerResponse response = event.getContainerResponse();
+                    tracker.get().update(clock.getTick() - start,
+                                         response == null ? 500 : response.getStatus());
+                }
+            }
+        }
+    }
+
+    private final SloRegistry registry;
+    private final Clock clock;
+    private volatile boolean tracking;
+
+    public SloApplicationListener(SloRegistry registry) {
+        this(registry, Clock.defaultClock());
+    }
+
+    public SloApplicationListener(SloRegistry registry, Clock clock) {
+        this.registry = checkNotNull(registry);
+        this.clock = checkNotNull(clock);
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+        // creates the trackers up front, so that their metrics are there before the first request;
+        // those of sub-resources are created once they're first requested
+        if (event.getType() == ApplicationEvent.Type.INITIALIZATION_APP_FINISHED) {
+            boolean hasSubResources = false;
+            for (Resource resource : event.getResourceModel().getResources()) {
+                hasSubResources |= track(resource);
+                for (Resource child : resource.getChildResources()) {
+                    hasSubResources |= track(child);
+                }
+            }
+            tracking = registry.hasObjectives() || hasSubResources;
+        }
+    }
+
+    // returns whether the resource has sub-resource locators, whose methods can't be looked up yet
+    private boolean track(Resource resource) {
+        boolean hasSubResources = false;
+        for (ResourceMethod method : resource.getAllMethods()) {
+            if (method.getType() == ResourceMethod.JaxrsType.RESOURCE_METHOD) {
+                registry.getTracker(method.getInvocable().getDefinitionMethod());
+            } else if (method.getType() == ResourceMethod.JaxrsType.SUB_RESOURCE_LOCATOR) {
+                hasSubResources = true;
+            }
+        }
+        return hasSubResources;
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent event) {
+        return tracking ? new SloRequestEventListener(registry, clock) : null;
+    }
+}
@@ -0,0 +1,166 @@
+package io.dropwizard.jersey.slo;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import io.dropwizard.util.Duration;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * The latency objectives of an application's resource methods, and their {@link SloTracker}s.
+ *
+ * <p>A resource method's objective is taken from its {@link Slo} annotation, or from its class's.
+ * Objectives can also be added by the method's name, e.g.
+ * {@code com.example.helloworld.resources.HelloWorldResource.sayHello}; those take precedence over
+ * the annotations.</p>
+ *
+ * <p>Overloaded resource methods share their name, and so their tracker; they must have the same
+ * objective.</p>
+ */
+public class SloRegistry {
+    private static class Objective {
+        private final Duration latency;
+        private final double percentile;
+
+        private Objective(Duration latency, double percentile) {
+            this.latency = checkNotNull(latency);
+            this.percentile = percentile;
+        }
+    }
+
+    private static final Comparator<SloTracker> BY_NAME = new Comparator<SloTracker>() {
+        @Override
+        public int compare(SloTracker left, SloTracker right) {
+            return left.getName().compareTo(right.getName());
+        }
+    };
+
+    private final MetricRegistry metrics;
+    private final Clock clock;
+    private final ConcurrentMap<String, Objective> objectives = Maps.newConcurrentMap();
+    private final ConcurrentMap<Method, Optional<SloTracker>> trackers = Maps.newConcurrentMap();
+    private final ConcurrentMap<String, SloTracker> trackersByName = Maps.newConcurrentMap();
+
+    public SloRegistry(MetricRegistry metrics) {
+        this(metrics, Clock.defaultClock());
+    }
+
+    public SloRegistry(MetricRegistry metrics, Clock clock) {
+        this.metrics = checkNotNull(metrics);
+        this.clock = checkNotNull(clock);
+    }
+
+    /**
+     * Sets the objective of a resource method, overriding its {@link Slo} annotation. It must be
+     * added before the method is first looked up, i.e. before Jersey is initialized.
+     *
+     * @param method     the resource method's name, i.e. its class's name followed by its own
+     * @param latency    the latency within which a request must be answered to be counted as good
+     * @param percentile the percentage of requests which must be good
+     */
+    public void addObjective(String method, Duration latency, double percentile) {
+        objectives.put(checkNotNull(method), new Objective(latency, percentile));
+    }
+
+    /**
+     * Returns the tracker of a resource method, creating it on the first call.
+     *
+     * @param method the resource method's definition
+     * @return the tracker, or absent if the method has no objective
+     * @throws IllegalStateException if an overload of the method has a different objective
+     */
+    public Optional<SloTracker> getTracker(Method method) {
+        final Optional<SloTracker> tracker = trackers.get(method);
+        return tracker != null ? tracker : createTracker(method);
+    }
+
+    /**
+     * Returns whether any objective has been added, or any tracker created so far.
+     */
+    public boolean hasObjectives() {
+        return !objectives.isEmpty() || !trackersByName.isEmpty();
+    }
+
+    /**
+     * Returns the trackers created so far, ordered by name.
+     */
+    public List<SloTracker> getTrackers() {
+        final List<SloTracker> all = Lists.newArrayList(trackersByName.values());
+        Collections.sort(all, BY_NAME);
+        return ImmutableList.copyOf(all);
+    }
+
+    /**
+     * Returns the trackers whose objectives are violated, ordered by name.
+     *
+     * @see SloTracker#isViolating()
+     */
+    public List<SloTracker> getViolations() {
+        final ImmutableList.Builder<SloTracker> violations = ImmutableList.builder();
+        for (SloTracker tracker : getTrackers()) {
+            if (tracker.isViolating()) {
+                violations.add(tracker);
+            }
+        }
+        return violations.build();
+    }
+
+    // synchronized so that a name's metrics are only ever registered by one tracker
+    private synchronized Optional<SloTracker> createTracker(Method method) {
+        Optional<SloTracker> tracker = trackers.get(method);
+        if (tracker == null) {
+            tracker = newTracker(method);
+            trackers.put(method, tracker);
+        }
+        return tracker;
+    }
+
+    private Optional<SloTracker> newTracker(Method method) {
+        final String name = name(method.getDeclaringClass(), method.getName());
+        final Optional<Objective> objective = getObjective(name, method);
+        if (!objective.isPresent()) {
+            return Optional.absent();
+        }
+
+        final Duration latency = objective.get().latency;
+        final double percentile = objective.get().percentile;
+        final SloTracker overload = trackersByName.get(name);
+        if (overload != null) {
+            checkState(overload.getLatency().toNanoseconds() == latency.toNanoseconds()
+                               && overload.getPercentile() == percentile,
+                       "The overloads of %s have different objectives", name);
+            return Optional.of(overload);
+        }
+        final SloTracker tracker = new SloTracker(name, latency, percentile, metrics, clock);
+        trackersByName.put(name, tracker);
+        return Optional.of(tracker);
+    }
+
+    private Optional<Objective> getObjective(String name, Method method) {
+        final Objective objective = objectives.get(name);
+        if (objective != null) {
+            return Optional.of(objective);
+        }
+
+        Slo slo = method.getAnnotation(Slo.class);
+        if (slo == null) {
+            slo = method.getDeclaringClass().getAnnotation(Slo.class);
+        }
+        if (slo == null) {
+            return Optional.absent();
+        }
+        return Optional.of(new Objective(Duration.parse(slo.latency()), slo.percentile()));
+    }
+}
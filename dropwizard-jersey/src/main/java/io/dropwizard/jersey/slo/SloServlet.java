@@ -0,0 +1,43 @@
+package io.dropwizard.jersey.slo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.net.MediaType;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A servlet which lists, as JSON, the resource methods whose latency objectives are violated, along
+ * with their counts and burn rates. With {@code ?all=true}, it lists every resource method with an
+ * objective instead.
+ *
+ * @see SloTracker
+ */
+public class SloServlet extends HttpServlet {
+    private static final long serialVersionUID = 3862594313370262521L;
+
+    private final SloRegistry registry;
+    private final ObjectMapper mapper;
+
+    public SloServlet(SloRegistry registry, ObjectMapper mapper) {
+        this.registry = checkNotNull(registry);
+        this.mapper = checkNotNull(mapper);
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.setContentType(MediaType.JSON_UTF_8.toString());
+        resp.setHeader("Cache-Control", "must-revalidate,no-cache,no-store");
+        try (OutputStream output = resp.getOutputStream()) {
+            mapper.writeValue(output, Boolean.parseBoolean(req.getParameter("all")) ?
+                    registry.getTrackers() : registry.getViolations());
+        }
+    }
+}
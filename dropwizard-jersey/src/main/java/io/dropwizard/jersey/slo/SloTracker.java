@@ -0,0 +1,190 @@
+package io.dropwizard.jersey.slo;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import io.dropwizard.util.Duration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Counts the good and bad requests of a resource method against its latency objective, and
+ * computes how fast its error budget is burnt.
+ *
+ * <p>The burn rate over a window is the share of bad requests in that window divided by the share
+ * the objective allows: at a burn rate of 1 the budget is used up exactly as fast as it's granted,
+ * and anything above that violates the objective. Rates are computed over the last 5 minutes, hour
+ * and 6 hours, to the minute.</p>
+ *
+ * <p>The following metrics are registered, prefixed with the resource method's name:</p>
+ * <ul>
+ *     <li>{@code slo.good} and {@code slo.bad}, counters of the good and bad requests</li>
+ *     <li>{@code slo.burnRate.5m}, {@code slo.burnRate.1h} and {@code slo.burnRate.6h}, gauges of
+ *     the burn rates</li>
+ * </ul>
+ *
+ * <p>None of them may be registered already.</p>
+ */
+public class SloTracker {
+    static final ImmutableMap<String, Integer> WINDOWS = ImmutableMap.of("5m", 5, "1h", 60, "6h", 360);
+    private static final int BUCKETS = 360;
+
+    private final String name;
+    private final Duration latency;
+    private final double percentile;
+    private final long latencyNanos;
+    private final double budget;
+    private final Clock clock;
+    private final Counter good;
+    private final Counter bad;
+
+    // one bucket per minute, reused round-robin: the minute each bucket counts, and its counts
+    private final AtomicLongArray minutes = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray goodCounts = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray badCounts = new AtomicLongArray(BUCKETS);
+
+    SloTracker(String name, Duration latency, double percentile, MetricRegistry metrics, Clock clock) {
+        checkArgument(percentile > 0 && percentile < 100,
+                      "The percentile of %s must be greater than 0 and less than 100", name);
+        this.name = checkNotNull(name);
+        this.latency = checkNotNull(latency);
+        this.percentile = percentile;
+        this.latencyNanos = latency.toNanoseconds();
+        this.budget = (100 - percentile) / 100;
+        this.clock = checkNotNull(clock);
+        final String goodName = name(name, "slo", "good");
+        final String badName = name(name, "slo", "bad");
+        // another tracker's counts would be mixed up with this one's, so none of its metrics may exist
+        final List<String> names = Lists.newArrayList(goodName, badName);
+        for (String window : WINDOWS.keySet()) {
+            names.add(name(name, "slo", "burnRate", window));
+        }
+        for (String metric : names) {
+            checkState(!metrics.getNames().contains(metric),
+                       "A metric named %s already exists; is %s tracked twice?", metric, name);
+        }
+        this.good = metrics.register(goodName, new Counter());
+        this.bad = metrics.register(badName, new Counter());
+        for (int i = 0; i < BUCKETS; i++) {
+            minutes.set(i, Long.MIN_VALUE);
+        }
+        for (final String window : WINDOWS.keySet()) {
+            metrics.register(name(name, "slo", "burnRate", window), new Gauge<Double>() {
+                @Override
+                public Double getValue() {
+                    return getBurnRate(window);
+                }
+            });
+        }
+    }
+
+    /**
+     * Records a request.
+     *
+     * @param elapsed the time taken to answer the request, in nanoseconds
+     * @param status  the status code of the response
+     */
+    public void update(long elapsed, int status) {
+        final boolean isGood = elapsed <= latencyNanos && status < 500;
+        (isGood ? good : bad).inc();
+
+        final long minute = currentMinute();
+        final int bucket = (int) (minute % BUCKETS);
+        final long counted = minutes.get(bucket);
+        // whoever moves a stale bucket on clears it; a request counted concurrently by another
+        // thread in that instant may be lost, which the rates can afford and a lock can't
+        if (counted != minute && minutes.compareAndSet(bucket, counted, minute)) {
+            goodCounts.set(bucket, 0);
+            badCounts.set(bucket, 0);
+        }
+        (isGood ? goodCounts : badCounts).incrementAndGet(bucket);
+    }
+
+    /**
+     * Returns the burn rate over the given window.
+     *
+     * @param window one of {@code 5m}, {@code 1h} and {@code 6h}
+     * @return the burn rate, or 0 if there were no requests in the window
+     */
+    public double getBurnRate(String window) {
+        final Integer length = WINDOWS.get(window);
+        checkArgument(length != null, "Unknown window: %s", window);
+
+        final long minute = currentMinute();
+        long goodInWindow = 0;
+        long badInWindow = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (minutes.get(i) > minute - length) {
+                goodInWindow += goodCounts.get(i);
+                badInWindow += badCounts.get(i);
+            }
+        }
+        final long total = goodInWindow + badInWindow;
+        return total == 0 ? 0 : ((double) badInWindow / total) / budget;
+    }
+
+    @JsonProperty
+    public String getName() {
+        return name;
+    }
+
+    @JsonProperty
+    public Duration getLatency() {
+        return latency;
+    }
+
+    @JsonProperty
+    public double getPercentile() {
+        return percentile;
+    }
+
+    @JsonProperty
+    public long getGood() {
+        return good.getCount();
+    }
+
+    @JsonProperty
+    public long getBad() {
+        return bad.getCount();
+    }
+
+    @JsonProperty
+    public Map<String, Double> getBurnRates() {
+        final ImmutableMap.Builder<String, Double> rates = ImmutableMap.builder();
+        for (String window : WINDOWS.keySet()) {
+            rates.put(window, getBurnRate(window));
+        }
+        return rates.build();
+    }
+
+    /**
+     * Returns whether the error budget is burnt faster than it's granted over any of the windows.
+     *
+     * @return {@code true} if the objective is violated
+     */
+    @JsonProperty
+    public boolean isViolating() {
+        for (String window : WINDOWS.keySet()) {
+            if (getBurnRate(window) > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long currentMinute() {
+        return TimeUnit.MILLISECONDS.toMinutes(clock.getTime());
+    }
+}
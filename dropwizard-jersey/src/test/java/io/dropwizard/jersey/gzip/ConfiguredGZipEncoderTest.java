@@ -1,11 +1,17 @@
 package io.dropwizard.jersey.gzip;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
-import java.util.zip.GZIPOutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
 
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.client.ClientRequestContext;
@@ -17,6 +23,8 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.MultivaluedHashMap;
 
+import com.google.common.io.ByteStreams;
+import io.dropwizard.util.ContentCodecs;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -46,7 +54,7 @@ public class ConfiguredGZipEncoderTest {
         headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
         WriterInterceptorContextMock context = new WriterInterceptorContextMock(headers);
         new ConfiguredGZipEncoder(true).aroundWriteTo(context);
-        assertThat(context.getOutputStream(), is(instanceOf(GZIPOutputStream.class)));
+        assertThat(context.isGzipped(), is(true));
         assertThat(context.isProceedCalled(), is(true));
     }
     @Test
@@ -55,7 +63,7 @@ public class ConfiguredGZipEncoderTest {
         headers.add(HttpHeaders.CONTENT_ENCODING, "x-gzip");
         WriterInterceptorContextMock context = new WriterInterceptorContextMock(headers);
         new ConfiguredGZipEncoder(true).aroundWriteTo(context);
-        assertThat(context.getOutputStream(), is(instanceOf(GZIPOutputStream.class)));
+        assertThat(context.isGzipped(), is(true));
         assertThat(context.isProceedCalled(), is(true));
     }
     @Test
@@ -64,7 +72,7 @@ public class ConfiguredGZipEncoderTest {
         headers.add(HttpHeaders.CONTENT_ENCODING, "someOtherEnc");
         WriterInterceptorContextMock context = new WriterInterceptorContextMock(headers);
         new ConfiguredGZipEncoder(true).aroundWriteTo(context);
-        assertThat(context.getOutputStream(), is(not(instanceOf(GZIPOutputStream.class))));
+        assertThat(context.getOutputStream(), is(sameInstance(context.getEntityStream())));
         assertThat(context.isProceedCalled(), is(true));
     }
     @Test
@@ -73,11 +81,59 @@ public class ConfiguredGZipEncoderTest {
         headers.add(HttpHeaders.CONTENT_ENCODING, null);
         WriterInterceptorContextMock context = new WriterInterceptorContextMock(headers);
         new ConfiguredGZipEncoder(true).aroundWriteTo(context);
-        assertThat(context.getOutputStream(), is(not(instanceOf(GZIPOutputStream.class))));
+        assertThat(context.getOutputStream(), is(sameInstance(context.getEntityStream())));
         assertThat(context.isProceedCalled(), is(true));
     }
 
 
+    @Test
+    public void entitiesBelowTheMinimumSizeAreNotEncoded() throws IOException {
+        ClientRequestContext context = mock(ClientRequestContext.class);
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        when(context.getHeaders()).thenReturn(headers);
+        when(context.hasEntity()).thenReturn(true);
+        when(context.getEntity()).thenReturn(new byte[100]);
+
+        new ConfiguredGZipEncoder(true, ContentCodecs.GZIP, ContentCodecs.DEFAULT_LEVEL, 256).filter(context);
+
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING), is(nullValue()));
+    }
+
+    @Test
+    public void entitiesOfUnknownSizeAreEncodedWithTheConfiguredCodec() throws IOException {
+        ClientRequestContext context = mock(ClientRequestContext.class);
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        when(context.getHeaders()).thenReturn(headers);
+        when(context.hasEntity()).thenReturn(true);
+        when(context.getEntity()).thenReturn(new Object());
+
+        new ConfiguredGZipEncoder(true, ContentCodecs.DEFLATE, 1, 256).filter(context);
+
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING).toString(), is("deflate"));
+    }
+
+    @Test
+    public void acceptsEveryRegisteredEncoding() throws IOException {
+        ClientRequestContext context = mock(ClientRequestContext.class);
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        when(context.getHeaders()).thenReturn(headers);
+
+        new ConfiguredGZipEncoder(false).filter(context);
+
+        assertThat(headers.getFirst(HttpHeaders.ACCEPT_ENCODING).toString(), is("gzip, deflate"));
+    }
+
+    @Test
+    public void aroundWriteToDeflate() throws IOException, WebApplicationException {
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        headers.add(HttpHeaders.CONTENT_ENCODING, "deflate");
+        WriterInterceptorContextMock context = new WriterInterceptorContextMock(headers);
+        new ConfiguredGZipEncoder(true).aroundWriteTo(context);
+        assertThat(context.getOutputStream(), is(instanceOf(DeflaterOutputStream.class)));
+        assertThat(context.isGzipped(), is(false));
+        assertThat(context.isProceedCalled(), is(true));
+    }
+
     @Test(expected = NullPointerException.class)
     public void contextMayNotBeNull() throws IOException {
         ClientRequestContext context = null;
@@ -87,12 +143,8 @@ public class ConfiguredGZipEncoderTest {
 
     private class WriterInterceptorContextMock implements WriterInterceptorContext {
         private final MultivaluedMap<String, Object> headers;
-        private OutputStream os = new OutputStream() {
-            @Override
-            public void write(int i) throws IOException {
-                //void
-            }
-        };
+        private final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+        private OutputStream os = entity;
         private boolean proceedCalled = false;
 
         public WriterInterceptorContextMock(MultivaluedMap<String, Object> headers) {
@@ -192,5 +244,19 @@ public class ConfiguredGZipEncoderTest {
         public boolean isProceedCalled() {
             return proceedCalled;
         }
+
+        public OutputStream getEntityStream() {
+            return entity;
+        }
+
+        public boolean isGzipped() throws IOException {
+            os.write("hello".getBytes(StandardCharsets.UTF_8));
+            os.close();
+            try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(entity.toByteArray()))) {
+                return new String(ByteStreams.toByteArray(input), StandardCharsets.UTF_8).equals("hello");
+            } catch (ZipException e) {
+                return false;
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+package io.dropwizard.jersey.jackson;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+import io.dropwizard.jackson.Jackson;
+import org.glassfish.jersey.server.model.Resource;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.validation.Validation;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ObjectMapperPrimingListenerTest {
+    @Path("/primed")
+    public static class PrimedResource {
+        @POST
+        public void create(OkRepresentation representation) {
+        }
+
+        @GET
+        public List<Listed> list() {
+            return ImmutableList.of();
+        }
+
+        @GET
+        @Path("/text")
+        @Produces(MediaType.TEXT_PLAIN)
+        public Texted text() {
+            return new Texted();
+        }
+
+        @GET
+        @Path("/response")
+        public Response response() {
+            return Response.ok().build();
+        }
+
+        @Path("/sub")
+        public SubResource sub() {
+            return new SubResource();
+        }
+    }
+
+    public static class SubResource {
+        @GET
+        public Optional<Found> find() {
+            return Optional.absent();
+        }
+    }
+
+    public static class Listed {
+        public String name;
+    }
+
+    public static class Texted {
+        public String text;
+    }
+
+    public static class Found {
+        public String name;
+    }
+
+    private final Set<Class<?>> serialized = Sets.newConcurrentHashSet();
+    private final Set<Class<?>> deserialized = Sets.newConcurrentHashSet();
+    private ObjectMapperPrimingListener listener;
+
+    @Before
+    public void setUp() throws Exception {
+        final ObjectMapper mapper = Jackson.newObjectMapper();
+        mapper.registerModule(new SimpleModule()
+                                      .setSerializerModifier(new BeanSerializerModifier() {
+                                          @Override
+                                          public JsonSerializer<?> modifySerializer(SerializationConfig config,
+                                                                                    BeanDescription beanDesc,
+                                                                                    JsonSerializer<?> serializer) {
+                                              serialized.add(beanDesc.getBeanClass());
+                                              return serializer;
+                                          }
+                                      })
+                                      .setDeserializerModifier(new BeanDeserializerModifier() {
+                                          @Override
+                                          public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config,
+                                                                                        BeanDescription beanDesc,
+                                                                                        JsonDeserializer<?> deserializer) {
+                                              deserialized.add(beanDesc.getBeanClass());
+                                              return deserializer;
+                                          }
+                                      }));
+        listener = new ObjectMapperPrimingListener(new JacksonMessageBodyProvider(
+                mapper, Validation.buildDefaultValidatorFactory().getValidator()));
+    }
+
+    @Test
+    public void buildsTheDeserializersOfRequestEntities() throws Exception {
+        listener.prime(ImmutableList.of(Resource.from(PrimedResource.class)));
+
+        assertThat(deserialized)
+                .contains(OkRepresentation.class)
+                .doesNotContain(Listed.class, Texted.class, Found.class);
+    }
+
+    @Test
+    public void buildsTheSerializersOfJsonResponseEntities() throws Exception {
+        listener.prime(ImmutableList.of(Resource.from(PrimedResource.class)));
+
+        assertThat(serialized)
+                .contains(Listed.class, Found.class)
+                .doesNotContain(Texted.class, Response.class, SubResource.class);
+    }
+}
@@ -0,0 +1,80 @@
+package io.dropwizard.jersey.push;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.jersey.DropwizardResourceConfig;
+import io.dropwizard.logging.BootstrapLogging;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.test.TestProperties;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PushResourcesFeatureTest extends JerseyTest {
+    static {
+        BootstrapLogging.bootstrap();
+    }
+
+    @Path("/push")
+    @PushResources("/assets/app.js")
+    public static class PushingResource {
+        @GET
+        @Path("/method")
+        @PushResources({"/assets/app.css", "/assets/logo.png"})
+        public String method() {
+            return "method";
+        }
+
+        @GET
+        @Path("/class")
+        public String klass() {
+            return "class";
+        }
+    }
+
+    @Path("/no-push")
+    public static class NonPushingResource {
+        @GET
+        public String get() {
+            return "nothing";
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        forceSet(TestProperties.CONTAINER_PORT, "0");
+        final ResourceConfig rc = DropwizardResourceConfig.forTesting(new MetricRegistry());
+        rc.register(PushingResource.class);
+        rc.register(NonPushingResource.class);
+        return rc;
+    }
+
+    @Test
+    public void methodAnnotationsAddLinkHeaders() throws Exception {
+        final Response response = target("/push/method").request().get();
+
+        assertThat(response.getStringHeaders().get(PreloadLinks.LINK))
+                .containsOnly("</assets/app.css>; rel=preload", "</assets/logo.png>; rel=preload");
+    }
+
+    @Test
+    public void classAnnotationsAddLinkHeaders() throws Exception {
+        final Response response = target("/push/class").request().get();
+
+        assertThat(response.getStringHeaders().get(PreloadLinks.LINK))
+                .containsOnly("</assets/app.js>; rel=preload");
+    }
+
+    @Test
+    public void unannotatedResourcesHaveNoLinkHeaders() throws Exception {
+        final Response response = target("/no-push").request().get();
+
+        assertThat(response.getStringHeaders().get(PreloadLinks.LINK))
+                .isNull();
+    }
+}
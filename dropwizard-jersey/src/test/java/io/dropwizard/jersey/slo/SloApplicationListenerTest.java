@@ -0,0 +1,143 @@
+package io.dropwizard.jersey.slo;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableList;
+import io.dropwizard.jersey.DropwizardResourceConfig;
+import io.dropwizard.logging.BootstrapLogging;
+import io.dropwizard.util.Duration;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceModel;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.test.TestProperties;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SloApplicationListenerTest extends JerseyTest {
+    @Path("/untracked")
+    public static class UntrackedResource {
+        @GET
+        public String get() {
+            return "untracked";
+        }
+    }
+
+    static {
+        BootstrapLogging.bootstrap();
+    }
+
+    // configure() is called by the superclass's constructor, before any field is initialized
+    private MetricRegistry metrics;
+    private SloRegistry registry;
+
+    @Override
+    protected Application configure() {
+        forceSet(TestProperties.CONTAINER_PORT, "0");
+        metrics = new MetricRegistry();
+        final DropwizardResourceConfig config = DropwizardResourceConfig.forTesting(metrics);
+        registry = config.getSloRegistry();
+        registry.addObjective(SloResource.class.getName() + ".configured", Duration.seconds(10), 95);
+        return config.register(SloResource.class);
+    }
+
+    @Test
+    public void tracksTheMethodsWithObjectives() throws Exception {
+        assertThat(registry.getTrackers())
+                .extracting("name")
+                .containsExactly(SloResource.class.getName() + ".configured",
+                                 SloResource.class.getName() + ".failing",
+                                 SloResource.class.getName() + ".fast",
+                                 SloResource.class.getName() + ".slow");
+        assertThat(metrics.getGauges())
+                .containsKey(SloResource.class.getName() + ".fast.slo.burnRate.5m");
+    }
+
+    @Test
+    public void countsFastRequestsAsGood() throws Exception {
+        target("/slo/fast").request().get(String.class);
+
+        final SloTracker tracker = tracker("fast");
+        assertThat(tracker.getGood())
+                .isEqualTo(1);
+        assertThat(tracker.getBad())
+                .isEqualTo(0);
+        assertThat(registry.getViolations())
+                .isEmpty();
+    }
+
+    @Test
+    public void countsSlowRequestsAsBad() throws Exception {
+        target("/slo/slow").request().get(String.class);
+
+        assertThat(tracker("slow").getBad())
+                .isEqualTo(1);
+        assertThat(registry.getViolations())
+                .containsExactly(tracker("slow"));
+    }
+
+    @Test
+    public void countsServerErrorsAsBad() throws Exception {
+        assertThat(target("/slo/failing").request().get().getStatus())
+                .isEqualTo(503);
+
+        assertThat(tracker("failing").getBad())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void usesConfiguredObjectives() throws Exception {
+        target("/slo/configured").request().get(String.class);
+
+        final SloTracker tracker = tracker("configured");
+        assertThat(tracker.getLatency())
+                .isEqualTo(Duration.seconds(10));
+        assertThat(tracker.getPercentile())
+                .isEqualTo(95.0);
+        assertThat(tracker.getGood())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void doesNotListenToRequestsWithoutObjectives() throws Exception {
+        final SloApplicationListener listener = new SloApplicationListener(new SloRegistry(new MetricRegistry()));
+        listener.onEvent(initialized(UntrackedResource.class));
+
+        assertThat(listener.onRequest(mock(RequestEvent.class)))
+                .isNull();
+    }
+
+    @Test
+    public void listensToRequestsWithObjectives() throws Exception {
+        final SloApplicationListener listener = new SloApplicationListener(new SloRegistry(new MetricRegistry()));
+        listener.onEvent(initialized(SloResource.class));
+
+        assertThat(listener.onRequest(mock(RequestEvent.class)))
+                .isNotNull();
+    }
+
+    private static ApplicationEvent initialized(Class<?> resource) {
+        final ResourceModel model = mock(ResourceModel.class);
+        when(model.getResources()).thenReturn(ImmutableList.of(Resource.from(resource)));
+        final ApplicationEvent event = mock(ApplicationEvent.class);
+        when(event.getType()).thenReturn(ApplicationEvent.Type.INITIALIZATION_APP_FINISHED);
+        when(event.getResourceModel()).thenReturn(model);
+        return event;
+    }
+
+    // a request is only recorded once its response has been written, which the client may see first
+    private SloTracker tracker(String method) throws Exception {
+        final SloTracker tracker = registry.getTracker(SloResource.class.getMethod(method)).get();
+        for (int i = 0; i < 500 && tracker.getGood() + tracker.getBad() == 0; i++) {
+            Thread.sleep(10);
+        }
+        return tracker;
+    }
+}
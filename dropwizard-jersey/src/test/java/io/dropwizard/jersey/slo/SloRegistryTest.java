@@ -0,0 +1,77 @@
+package io.dropwizard.jersey.slo;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class SloRegistryTest {
+    @Slo(latency = "1 second")
+    public static class OverloadedResource {
+        public String get() {
+            return "all";
+        }
+
+        public String get(String id) {
+            return id;
+        }
+    }
+
+    public static class ClashingResource {
+        @Slo(latency = "1 second")
+        public String get() {
+            return "all";
+        }
+
+        @Slo(latency = "1 second", percentile = 90)
+        public String get(String id) {
+            return id;
+        }
+    }
+
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final SloRegistry registry = new SloRegistry(metrics);
+
+    @Test
+    public void hasNoObjectivesByDefault() throws Exception {
+        registry.getTracker(SloResource.class.getMethod("untracked"));
+
+        assertThat(registry.hasObjectives())
+                .isFalse();
+    }
+
+    @Test
+    public void hasAddedObjectives() throws Exception {
+        registry.addObjective(SloResource.class.getName() + ".untracked", Duration.seconds(1), 99);
+
+        assertThat(registry.hasObjectives())
+                .isTrue();
+    }
+
+    @Test
+    public void sharesATrackerBetweenOverloads() throws Exception {
+        final SloTracker tracker = registry.getTracker(OverloadedResource.class.getMethod("get")).get();
+
+        assertThat(registry.getTracker(OverloadedResource.class.getMethod("get", String.class)).get())
+                .isSameAs(tracker);
+        assertThat(registry.getTrackers())
+                .containsExactly(tracker);
+        assertThat(registry.hasObjectives())
+                .isTrue();
+    }
+
+    @Test
+    public void rejectsOverloadsWithDifferentObjectives() throws Exception {
+        registry.getTracker(ClashingResource.class.getMethod("get"));
+
+        try {
+            registry.getTracker(ClashingResource.class.getMethod("get", String.class));
+            failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage())
+                    .isEqualTo("The overloads of " + ClashingResource.class.getName() + ".get have different objectives");
+        }
+    }
+}
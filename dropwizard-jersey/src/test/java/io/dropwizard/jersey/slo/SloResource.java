@@ -0,0 +1,42 @@
+package io.dropwizard.jersey.slo;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.WebApplicationException;
+
+@Path("/slo")
+public class SloResource {
+    @GET
+    @Path("fast")
+    @Slo(latency = "1 minute")
+    public String fast() {
+        return "fast";
+    }
+
+    @GET
+    @Path("slow")
+    @Slo(latency = "1ms", percentile = 99.9)
+    public String slow() throws InterruptedException {
+        Thread.sleep(10);
+        return "slow";
+    }
+
+    @GET
+    @Path("failing")
+    @Slo(latency = "1 minute")
+    public String failing() {
+        throw new WebApplicationException(503);
+    }
+
+    @GET
+    @Path("configured")
+    public String configured() {
+        return "configured";
+    }
+
+    @GET
+    @Path("untracked")
+    public String untracked() {
+        return "untracked";
+    }
+}
@@ -0,0 +1,90 @@
+package io.dropwizard.jersey.slo;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.util.Duration;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SloServletTest {
+    public static class Resource {
+        public String fast() {
+            return "fast";
+        }
+
+        public String slow() {
+            return "slow";
+        }
+    }
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final HttpServletRequest request = mock(HttpServletRequest.class);
+    private final HttpServletResponse response = mock(HttpServletResponse.class);
+    private final SloRegistry registry = new SloRegistry(new MetricRegistry());
+    private final SloServlet servlet = new SloServlet(registry, Jackson.newObjectMapper());
+
+    @Before
+    public void setUp() throws Exception {
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                body.write(b);
+            }
+        });
+
+        registry.addObjective(Resource.class.getName() + ".fast", Duration.milliseconds(200), 99);
+        registry.addObjective(Resource.class.getName() + ".slow", Duration.milliseconds(200), 99);
+        registry.getTracker(Resource.class.getMethod("fast")).get().update(TimeUnit.MILLISECONDS.toNanos(1), 200);
+        registry.getTracker(Resource.class.getMethod("slow")).get().update(TimeUnit.SECONDS.toNanos(1), 200);
+    }
+
+    @Test
+    public void listsTheViolations() throws Exception {
+        servlet.doGet(request, response);
+
+        verify(response).setStatus(200);
+        verify(response).setContentType("application/json; charset=utf-8");
+        assertThat(new String(body.toByteArray(), StandardCharsets.UTF_8))
+                .isEqualTo("[{\"name\":\"" + Resource.class.getName() + ".slow\"," +
+                                   "\"latency\":\"200 milliseconds\"," +
+                                   "\"percentile\":99.0," +
+                                   "\"good\":0," +
+                                   "\"bad\":1," +
+                                   "\"burnRates\":{\"5m\":100.0,\"1h\":100.0,\"6h\":100.0}," +
+                                   "\"violating\":true}]");
+    }
+
+    @Test
+    public void listsEveryTrackerIfAsked() throws Exception {
+        when(request.getParameter("all")).thenReturn("true");
+
+        servlet.doGet(request, response);
+
+        assertThat(new String(body.toByteArray(), StandardCharsets.UTF_8))
+                .contains(".fast\"")
+                .contains(".slow\"");
+    }
+}
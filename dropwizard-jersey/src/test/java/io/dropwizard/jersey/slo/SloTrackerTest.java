@@ -0,0 +1,140 @@
+package io.dropwizard.jersey.slo;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.assertj.core.api.Assertions.offset;
+
+public class SloTrackerTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(300);
+
+    private static class ManualClock extends Clock {
+        private long time = TimeUnit.DAYS.toMillis(1);
+
+        @Override
+        public long getTick() {
+            return TimeUnit.MILLISECONDS.toNanos(time);
+        }
+
+        @Override
+        public long getTime() {
+            return time;
+        }
+
+        private void advance(long duration, TimeUnit unit) {
+            time += unit.toMillis(duration);
+        }
+    }
+
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final ManualClock clock = new ManualClock();
+    private final SloTracker tracker =
+            new SloTracker("com.example.Resource.get", Duration.milliseconds(200), 99, metrics, clock);
+
+    @Test
+    public void countsGoodAndBadRequests() throws Exception {
+        tracker.update(FAST, 200);
+        tracker.update(FAST, 404);
+        tracker.update(SLOW, 200);
+        tracker.update(FAST, 503);
+
+        assertThat(tracker.getGood())
+                .isEqualTo(2);
+        assertThat(tracker.getBad())
+                .isEqualTo(2);
+        assertThat(metrics.counter("com.example.Resource.get.slo.bad").getCount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void computesBurnRates() throws Exception {
+        for (int i = 0; i < 98; i++) {
+            tracker.update(FAST, 200);
+        }
+        tracker.update(SLOW, 200);
+        tracker.update(SLOW, 200);
+
+        // 2% bad requests against a budget of 1%
+        assertThat(tracker.getBurnRate("5m"))
+                .isEqualTo(2.0, offset(0.0001));
+        assertThat(tracker.getBurnRates())
+                .containsOnlyKeys("5m", "1h", "6h");
+        assertThat(tracker.isViolating())
+                .isTrue();
+        assertThat(((Gauge<?>) metrics.getGauges().get("com.example.Resource.get.slo.burnRate.6h")).getValue())
+                .isEqualTo(tracker.getBurnRate("6h"));
+    }
+
+    @Test
+    public void forgetsRequestsOutsideOfAWindow() throws Exception {
+        tracker.update(SLOW, 200);
+        clock.advance(10, TimeUnit.MINUTES);
+        tracker.update(FAST, 200);
+
+        assertThat(tracker.getBurnRate("5m"))
+                .isEqualTo(0.0);
+        assertThat(tracker.getBurnRate("1h"))
+                .isEqualTo(50.0, offset(0.0001));
+
+        clock.advance(7, TimeUnit.HOURS);
+
+        assertThat(tracker.getBurnRate("6h"))
+                .isEqualTo(0.0);
+        assertThat(tracker.isViolating())
+                .isFalse();
+    }
+
+    @Test
+    public void reusesBucketsOnceTheyAreStale() throws Exception {
+        tracker.update(SLOW, 200);
+        clock.advance(6, TimeUnit.HOURS);
+        tracker.update(FAST, 200);
+
+        assertThat(tracker.getBurnRate("6h"))
+                .isEqualTo(0.0);
+        assertThat(tracker.getBad())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void rejectsAnImpossiblePercentile() throws Exception {
+        try {
+            new SloTracker("com.example.Resource.put", Duration.milliseconds(200), 100, metrics, clock);
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage())
+                    .contains("com.example.Resource.put");
+        }
+    }
+
+    @Test
+    public void leavesOtherMetricsAlone() throws Exception {
+        final Gauge<Double> other = new Gauge<Double>() {
+            @Override
+            public Double getValue() {
+                return 0.5;
+            }
+        };
+        metrics.register("com.example.Resource.put.slo.burnRate.1h", other);
+
+        try {
+            new SloTracker("com.example.Resource.put", Duration.milliseconds(200), 99, metrics, clock);
+            failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage())
+                    .contains("com.example.Resource.put.slo.burnRate.1h");
+        }
+        assertThat(metrics.getGauges().get("com.example.Resource.put.slo.burnRate.1h"))
+                .isSameAs(other);
+        assertThat(metrics.getNames())
+                .doesNotContain("com.example.Resource.put.slo.good");
+    }
+}
@@ -0,0 +1,167 @@
+package io.dropwizard.jetty;
+
+import com.codahale.metrics.Clock;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.util.Size;
+import io.dropwizard.validation.MinDuration;
+import io.dropwizard.validation.ValidationMethod;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * A factory for {@link AdaptiveCompressionLevel}s, which move the deflate compression level of
+ * responses between two bounds as the system's CPU load changes.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code minimumLevel}</td>
+ *         <td>1</td>
+ *         <td>The compression level used while the CPU load is at or above {@code highCpuLoad}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maximumLevel}</td>
+ *         <td>9</td>
+ *         <td>The compression level used while the CPU load is at or below {@code lowCpuLoad}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code lowCpuLoad}</td>
+ *         <td>0.5</td>
+ *         <td>The CPU load, between 0 and 1, below which responses are compressed the most.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code highCpuLoad}</td>
+ *         <td>0.9</td>
+ *         <td>
+ *             The CPU load, between 0 and 1, above which responses are compressed the least and the
+ *             server is considered under pressure.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maximumEntitySizeUnderPressure}</td>
+ *         <td>1 mebibyte</td>
+ *         <td>
+ *             While the server is under pressure, responses whose Content-Length exceeds this size
+ *             are sent uncompressed.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code sampleInterval}</td>
+ *         <td>1 second</td>
+ *         <td>How often the CPU load is sampled.</td>
+ *     </tr>
+ * </table>
+ */
+public class AdaptiveCompressionFactory {
+    @Min(Deflater.BEST_SPEED)
+    @Max(Deflater.BEST_COMPRESSION)
+    private int minimumLevel = Deflater.BEST_SPEED;
+
+    @Min(Deflater.BEST_SPEED)
+    @Max(Deflater.BEST_COMPRESSION)
+    private int maximumLevel = Deflater.BEST_COMPRESSION;
+
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double lowCpuLoad = 0.5;
+
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double highCpuLoad = 0.9;
+
+    @NotNull
+    private Size maximumEntitySizeUnderPressure = Size.megabytes(1);
+
+    @NotNull
+    @MinDuration(value = 10, unit = TimeUnit.MILLISECONDS)
+    private Duration sampleInterval = Duration.seconds(1);
+
+    @JsonProperty
+    public int getMinimumLevel() {
+        return minimumLevel;
+    }
+
+    @JsonProperty
+    public void setMinimumLevel(int minimumLevel) {
+        this.minimumLevel = minimumLevel;
+    }
+
+    @JsonProperty
+    public int getMaximumLevel() {
+        return maximumLevel;
+    }
+
+    @JsonProperty
+    public void setMaximumLevel(int maximumLevel) {
+        this.maximumLevel = maximumLevel;
+    }
+
+    @JsonProperty
+    public double getLowCpuLoad() {
+        return lowCpuLoad;
+    }
+
+    @JsonProperty
+    public void setLowCpuLoad(double lowCpuLoad) {
+        this.lowCpuLoad = lowCpuLoad;
+    }
+
+    @JsonProperty
+    public double getHighCpuLoad() {
+        return highCpuLoad;
+    }
+
+    @JsonProperty
+    public void setHighCpuLoad(double highCpuLoad) {
+        this.highCpuLoad = highCpuLoad;
+    }
+
+    @JsonProperty
+    public Size getMaximumEntitySizeUnderPressure() {
+        return maximumEntitySizeUnderPressure;
+    }
+
+    @JsonProperty
+    public void setMaximumEntitySizeUnderPressure(Size size) {
+        this.maximumEntitySizeUnderPressure = size;
+    }
+
+    @JsonProperty
+    public Duration getSampleInterval() {
+        return sampleInterval;
+    }
+
+    @JsonProperty
+    public void setSampleInterval(Duration sampleInterval) {
+        this.sampleInterval = sampleInterval;
+    }
+
+    @JsonIgnore
+    @ValidationMethod(message = ".minimumLevel must be less than or equal to maximumLevel")
+    public boolean isLevelRangeValid() {
+        return minimumLevel <= maximumLevel;
+    }
+
+    @JsonIgnore
+    @ValidationMethod(message = ".lowCpuLoad must be less than highCpuLoad")
+    public boolean isCpuLoadRangeValid() {
+        return lowCpuLoad < highCpuLoad;
+    }
+
+    public AdaptiveCompressionLevel build() {
+        return new AdaptiveCompressionLevel(this, AdaptiveCompressionLevel.systemCpuLoad(), Clock.defaultClock());
+    }
+}
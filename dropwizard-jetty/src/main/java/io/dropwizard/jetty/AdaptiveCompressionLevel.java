@@ -0,0 +1,136 @@
+package io.dropwizard.jetty;
+
+import com.codahale.metrics.Clock;
+import com.google.common.base.Optional;
+import com.google.common.base.Supplier;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Picks the deflate compression level for responses from the system's CPU load: the maximum level
+ * while the load is low, the minimum level while it is high, and a level in between otherwise.
+ * <p/>
+ * The load is sampled at most once per sample interval, by whichever request asks for the level
+ * first. If the load can't be determined, the maximum level is used.
+ */
+public class AdaptiveCompressionLevel {
+    private static final String EXTENDED_OS_BEAN = "com.sun.management.OperatingSystemMXBean";
+
+    private final int minimumLevel;
+    private final int maximumLevel;
+    private final double lowCpuLoad;
+    private final double highCpuLoad;
+    private final long maximumEntitySizeUnderPressure;
+    private final long sampleInterval;
+    private final Supplier<Double> cpuLoad;
+    private final Clock clock;
+    private final AtomicLong nextSample = new AtomicLong(Long.MIN_VALUE);
+    private volatile int level;
+    private volatile boolean underPressure;
+
+    AdaptiveCompressionLevel(AdaptiveCompressionFactory factory, Supplier<Double> cpuLoad, Clock clock) {
+        this.minimumLevel = factory.getMinimumLevel();
+        this.maximumLevel = factory.getMaximumLevel();
+        this.lowCpuLoad = factory.getLowCpuLoad();
+        this.highCpuLoad = factory.getHighCpuLoad();
+        this.maximumEntitySizeUnderPressure = factory.getMaximumEntitySizeUnderPressure().toBytes();
+        this.sampleInterval = factory.getSampleInterval().toNanoseconds();
+        this.cpuLoad = cpuLoad;
+        this.clock = clock;
+        this.level = maximumLevel;
+    }
+
+    /**
+     * Returns the compression level for the current CPU load.
+     */
+    public int getLevel() {
+        sample();
+        return level;
+    }
+
+    /**
+     * Returns whether the CPU load is at or above the high watermark.
+     */
+    public boolean isUnderPressure() {
+        sample();
+        return underPressure;
+    }
+
+    /**
+     * Returns whether a response with the given Content-Length should be compressed.
+     *
+     * @param contentLength the length of the response entity, in bytes
+     */
+    public boolean shouldCompress(long contentLength) {
+        return contentLength <= maximumEntitySizeUnderPressure || !isUnderPressure();
+    }
+
+    private void sample() {
+        final long now = clock.getTick();
+        final long next = nextSample.get();
+        if (now - next < 0 && next != Long.MIN_VALUE) {
+            return;
+        }
+        if (!nextSample.compareAndSet(next, now + sampleInterval)) {
+            return;
+        }
+        final Double load = cpuLoad.get();
+        if (load == null || load < 0) {
+            this.level = maximumLevel;
+            this.underPressure = false;
+        } else if (load <= lowCpuLoad) {
+            this.level = maximumLevel;
+            this.underPressure = false;
+        } else if (load >= highCpuLoad) {
+            this.level = minimumLevel;
+            this.underPressure = true;
+        } else {
+            final double pressure = (load - lowCpuLoad) / (highCpuLoad - lowCpuLoad);
+            this.level = maximumLevel - (int) Math.round(pressure * (maximumLevel - minimumLevel));
+            this.underPressure = false;
+        }
+    }
+
+    /**
+     * Returns the system's CPU load between 0 and 1, or a negative value if it isn't available.
+     * The load average per processor is used on JVMs without {@code getSystemCpuLoad()}.
+     */
+    static Supplier<Double> systemCpuLoad() {
+        return systemCpuLoad(ManagementFactory.getOperatingSystemMXBean(), EXTENDED_OS_BEAN);
+    }
+
+    static Supplier<Double> systemCpuLoad(final OperatingSystemMXBean os, String extendedBean) {
+        final Optional<Method> systemCpuLoad = systemCpuLoadMethod(os, extendedBean);
+        return new Supplier<Double>() {
+            @Override
+            public Double get() {
+                if (systemCpuLoad.isPresent()) {
+                    try {
+                        return (Double) systemCpuLoad.get().invoke(os);
+                    } catch (IllegalAccessException | InvocationTargetException e) {
+                        // falls back to the load average
+                    }
+                }
+                final double loadAverage = os.getSystemLoadAverage();
+                return loadAverage < 0 ? loadAverage : Math.min(1.0, loadAverage / os.getAvailableProcessors());
+            }
+        };
+    }
+
+    // looked up reflectively, as the extended bean isn't there on every JVM
+    private static Optional<Method> systemCpuLoadMethod(OperatingSystemMXBean os, String extendedBean) {
+        try {
+            final Class<?> type = Class.forName(extendedBean);
+            if (type.isInstance(os)) {
+                return Optional.of(type.getMethod("getSystemCpuLoad"));
+            }
+        } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+            // falls back to the load average
+        }
+        return Optional.absent();
+    }
+}
@@ -1,8 +1,17 @@
 package io.dropwizard.jetty;
 
+import com.codahale.metrics.Meter;
+import com.google.common.base.Optional;
+import io.dropwizard.util.ContentCodec;
+import io.dropwizard.util.ContentCodecs;
 import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.servlets.IncludableGzipFilter;
+import org.eclipse.jetty.servlets.gzip.AbstractCompressedStream;
+import org.eclipse.jetty.servlets.gzip.CompressedResponseWrapper;
+import org.eclipse.jetty.servlets.gzip.DeflatedOutputStream;
+import org.eclipse.jetty.servlets.gzip.GzipOutputStream;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.FilterChain;
 import javax.servlet.ReadListener;
 import javax.servlet.ServletException;
@@ -11,10 +20,12 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
@@ -22,20 +33,44 @@ import java.util.Enumeration;
 import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.zip.Deflater;
-import java.util.zip.DeflaterInputStream;
-import java.util.zip.GZIPInputStream;
 
 /**
- * An extension of {@link IncludableGzipFilter} which decompresses gzip- and deflate-encoded request
- * entities.
+ * An extension of {@link IncludableGzipFilter} which decompresses request entities in any of the
+ * {@link ContentCodecs registered content codings}, such as gzip and deflate.
+ * <p/>
+ * With an {@link AdaptiveCompressionLevel}, responses are compressed at a level which follows the
+ * CPU load, and large responses aren't compressed at all while the server is under pressure. Only
+ * then are the bytes saved by compression recorded; otherwise responses are left to Jetty.
  */
 public class BiDiGzipFilter extends IncludableGzipFilter {
-    private final ThreadLocal<Deflater> localDeflater = new ThreadLocal<>();
+    // may be replaced while requests are being filtered, so each response reads it once
+    private volatile AdaptiveCompressionLevel adaptiveLevel;
+    private Meter bytesSaved;
+
+    public AdaptiveCompressionLevel getAdaptiveLevel() {
+        return adaptiveLevel;
+    }
+
+    public void setAdaptiveLevel(AdaptiveCompressionLevel adaptiveLevel) {
+        this.adaptiveLevel = adaptiveLevel;
+    }
+
+    public Meter getBytesSaved() {
+        return bytesSaved;
+    }
+
+    public void setBytesSaved(Meter bytesSaved) {
+        this.bytesSaved = bytesSaved;
+    }
 
     public Set<String> getMimeTypes() {
         return _mimeTypes;
     }
 
+    /**
+     * Replaces the compressed MIME types. Jetty's set is changed in place, so this must not be called
+     * while the filter is filtering requests.
+     */
     public void setMimeTypes(Set<String> mimeTypes) {
         _mimeTypes.clear();
         _mimeTypes.addAll(mimeTypes);
@@ -77,6 +112,10 @@ public class BiDiGzipFilter extends IncludableGzipFilter {
         return _methods;
     }
 
+    /**
+     * Replaces the compressed methods. Jetty's set is changed in place, so this must not be called
+     * while the filter is filtering requests.
+     */
     public void setMethods(Set<String> methods) {
         this._methods.clear();
         this._methods.addAll(methods);
@@ -125,39 +164,156 @@ public class BiDiGzipFilter extends IncludableGzipFilter {
     @Override
     public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain) throws IOException, ServletException {
         final HttpServletRequest request = (HttpServletRequest) req;
-        final String encoding = request.getHeader(HttpHeader.CONTENT_ENCODING.asString());
-        if (GZIP.equalsIgnoreCase(encoding)) {
-            super.doFilter(wrapGzippedRequest(removeContentEncodingHeader(request)), res, chain);
-        } else if (DEFLATE.equalsIgnoreCase(encoding)) {
-            super.doFilter(wrapDeflatedRequest(removeContentEncodingHeader(request)), res, chain);
+        final Optional<ContentCodec> codec =
+                ContentCodecs.forEncoding(request.getHeader(HttpHeader.CONTENT_ENCODING.asString()));
+        if (codec.isPresent()) {
+            final WrappedServletRequest wrapped = wrapEncodedRequest(removeContentEncodingHeader(request), codec.get());
+            try {
+                super.doFilter(wrapped, res, chain);
+            } finally {
+                // returns the decoder to its pool, as Jersey never closes request entity streams; an
+                // asynchronous request may still be reading it
+                if (!wrapped.isAsyncStarted()) {
+                    wrapped.getInputStream().close();
+                }
+            }
         } else {
             super.doFilter(req, res, chain);
         }
     }
 
-    private Deflater buildDeflater() {
-        final Deflater deflater = localDeflater.get();
-        if (deflater != null) {
-            return deflater;
+    @Override
+    protected CompressedResponseWrapper createWrappedResponse(HttpServletRequest request,
+                                                              HttpServletResponse response,
+                                                              final String compressionType) {
+        final AdaptiveCompressionLevel level = adaptiveLevel;
+        if (level == null) {
+            return super.createWrappedResponse(request, response, compressionType);
         }
-        return new Deflater(_deflateCompressionLevel, _deflateNoWrap);
+        // GzipFilter's response wrapper doesn't let the level or whether to compress be chosen per response
+        final CompressedResponseWrapper wrappedResponse = new AdaptiveResponseWrapper(request, response,
+                                                                                      compressionType, level);
+        configureWrappedResponse(wrappedResponse);
+        return wrappedResponse;
     }
 
-    private ServletRequest wrapDeflatedRequest(HttpServletRequest request) throws IOException {
-        final Deflater deflater = buildDeflater();
-        final DeflaterInputStream input = new DeflaterInputStream(request.getInputStream(), deflater, _bufferSize) {
+    private class AdaptiveResponseWrapper extends CompressedResponseWrapper {
+        private final String compressionType;
+        private final AdaptiveCompressionLevel adaptiveLevel;
+
+        private AdaptiveResponseWrapper(HttpServletRequest request,
+                                        HttpServletResponse response,
+                                        String compressionType,
+                                        AdaptiveCompressionLevel adaptiveLevel) {
+            super(request, response);
+            this.compressionType = compressionType;
+            this.adaptiveLevel = adaptiveLevel;
+        }
+
+        @Override
+        protected void setContentLength(long length) {
+            if (!adaptiveLevel.shouldCompress(length)) {
+                noCompression();
+            }
+            super.setContentLength(length);
+        }
+
+        // as IncludableGzipFilter's wrapper does, headers set by an included resource are passed on
+        @Override
+        public void setHeader(String name, String value) {
+            if (getRequest().getDispatcherType() == DispatcherType.INCLUDE) {
+                if (!"etag".equalsIgnoreCase(name) && !name.startsWith("content-")) {
+                    final HttpServletResponse response = (HttpServletResponse) getResponse();
+                    response.setHeader("org.eclipse.jetty.server.include." + name, value);
+                }
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            super.addHeader(name, value);
+            final HttpServletResponse response = (HttpServletResponse) getResponse();
+            if (!response.containsHeader(name)) {
+                setHeader(name, value);
+            }
+        }
+
+        @Override
+        protected AbstractCompressedStream newCompressedStream(HttpServletRequest request,
+                                                               HttpServletResponse response) throws IOException {
+            return new AdaptiveCompressedStream(request);
+        }
+
+        // An inner class of the wrapper, as AbstractCompressedStream's constructor may already create the stream.
+        private class AdaptiveCompressedStream extends AbstractCompressedStream {
+            private Deflater allocatedDeflater;
+            private byte[] allocatedBuffer;
+
+            private AdaptiveCompressedStream(HttpServletRequest request) throws IOException {
+                super(compressionType, request, AdaptiveResponseWrapper.this, BiDiGzipFilter.this._vary);
+            }
+
             @Override
-            public void close() throws IOException {
-                deflater.reset();
-                localDeflater.set(deflater);
-                super.close();
+            protected OutputStream createStream() throws IOException {
+                if (compressionType == null) {
+                    return null;
+                }
+
+                final int level = adaptiveLevel.getLevel();
+                allocatedDeflater = _deflater.get();
+                if (allocatedDeflater == null) {
+                    allocatedDeflater = new Deflater(level, _deflateNoWrap);
+                } else {
+                    _deflater.set(null);
+                    allocatedDeflater.reset();
+                    allocatedDeflater.setLevel(level);
+                }
+
+                allocatedBuffer = _buffer.get();
+                if (allocatedBuffer == null) {
+                    allocatedBuffer = new byte[_bufferSize];
+                } else {
+                    _buffer.set(null);
+                }
+
+                switch (compressionType) {
+                    case GZIP:
+                        return new GzipOutputStream(_response.getOutputStream(), allocatedDeflater, allocatedBuffer);
+                    case DEFLATE:
+                        return new DeflatedOutputStream(_response.getOutputStream(), allocatedDeflater,
+                                                        allocatedBuffer);
+                    default:
+                        throw new IllegalStateException(compressionType + " not supported");
+                }
             }
-        };
-        return new WrappedServletRequest(request, input);
+
+            @Override
+            public void finish() throws IOException {
+                super.finish();
+                if (allocatedDeflater != null) {
+                    if (bytesSaved != null && allocatedDeflater.finished()) {
+                        bytesSaved.mark(Math.max(0, allocatedDeflater.getBytesRead() -
+                                allocatedDeflater.getBytesWritten()));
+                    }
+                    if (_deflater.get() == null) {
+                        _deflater.set(allocatedDeflater);
+                    }
+                    allocatedDeflater = null;
+                }
+                if (allocatedBuffer != null) {
+                    if (_buffer.get() == null) {
+                        _buffer.set(allocatedBuffer);
+                    }
+                    allocatedBuffer = null;
+                }
+            }
+        }
     }
 
-    private ServletRequest wrapGzippedRequest(HttpServletRequest request) throws IOException {
-        return new WrappedServletRequest(request, new GZIPInputStream(request.getInputStream(), _bufferSize));
+    private WrappedServletRequest wrapEncodedRequest(HttpServletRequest request, ContentCodec codec) throws IOException {
+        return new WrappedServletRequest(request, codec.decode(request.getInputStream(), _bufferSize));
     }
 
     private HttpServletRequest removeContentEncodingHeader(final HttpServletRequest request) {
@@ -1,9 +1,15 @@
 package io.dropwizard.jetty;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.Sets;
+import io.dropwizard.util.ContentCodecs;
 import io.dropwizard.util.Size;
+import io.dropwizard.util.ZlibPool;
 
+import javax.annotation.Nullable;
+import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
@@ -11,6 +17,7 @@ import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.zip.Deflater;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 public class GzipFilterFactory {
@@ -33,6 +40,10 @@ public class GzipFilterFactory {
     @Max(Deflater.BEST_COMPRESSION)
     private int deflateCompressionLevel = Deflater.DEFAULT_COMPRESSION;
 
+    @Valid
+    @Nullable
+    private AdaptiveCompressionFactory adaptiveCompression;
+
     @JsonProperty
     public boolean isEnabled() {
         return enabled;
@@ -93,6 +104,17 @@ public class GzipFilterFactory {
         this.deflateCompressionLevel = level;
     }
 
+    @JsonProperty
+    @Nullable
+    public AdaptiveCompressionFactory getAdaptiveCompression() {
+        return adaptiveCompression;
+    }
+
+    @JsonProperty
+    public void setAdaptiveCompression(@Nullable AdaptiveCompressionFactory adaptiveCompression) {
+        this.adaptiveCompression = adaptiveCompression;
+    }
+
     @JsonProperty
     public boolean isGzipCompatibleDeflation() {
         return gzipCompatibleDeflation;
@@ -135,6 +157,27 @@ public class GzipFilterFactory {
 
     public BiDiGzipFilter build() {
         final BiDiGzipFilter filter = new BiDiGzipFilter();
+        if (compressedMimeTypes != null) {
+            filter.setMimeTypes(compressedMimeTypes);
+        }
+
+        if (includedMethods != null) {
+            filter.setMethods(includedMethods);
+        }
+
+        configure(filter);
+        return filter;
+    }
+
+    /**
+     * Applies this configuration to a filter, which may already be filtering requests. Settings
+     * which are left unset keep the filter's current values, as do the compressed MIME types and
+     * included methods: Jetty's sets of those are changed in place, so they're only applied by
+     * {@link #build()}.
+     *
+     * @param filter a gzip filter
+     */
+    public void configure(BiDiGzipFilter filter) {
         filter.setMinGzipSize((int) minimumEntitySize.toBytes());
 
         filter.setBufferSize((int) bufferSize.toBytes());
@@ -145,14 +188,6 @@ public class GzipFilterFactory {
             filter.setExcludedAgents(excludedUserAgents);
         }
 
-        if (compressedMimeTypes != null) {
-            filter.setMimeTypes(compressedMimeTypes);
-        }
-
-        if (includedMethods != null) {
-            filter.setMethods(includedMethods);
-        }
-
         if (excludedUserAgentPatterns != null) {
             filter.setExcludedAgentPatterns(excludedUserAgentPatterns);
         }
@@ -163,6 +198,60 @@ public class GzipFilterFactory {
 
         filter.setDeflateNoWrap(gzipCompatibleDeflation);
 
+        filter.setAdaptiveLevel(adaptiveCompression == null ? null : adaptiveCompression.build());
+    }
+
+    /**
+     * Builds the filter and registers its metrics: the compression level in use and the bytes saved
+     * by adaptive compression, which follow the filter's configuration as it's reloaded, and gauges
+     * for the pool of deflaters and inflaters with which request entities are decoded.
+     *
+     * @param metricRegistry the registry for the filter's metrics
+     * @return a {@link BiDiGzipFilter}
+     */
+    public BiDiGzipFilter build(MetricRegistry metricRegistry) {
+        final BiDiGzipFilter filter = build();
+        // adaptive compression may only be configured by a reload, so the meter is always there
+        filter.setBytesSaved(metricRegistry.meter(name(BiDiGzipFilter.class, "bytes-saved")));
+        registerGauge(metricRegistry, name(BiDiGzipFilter.class, "level"), new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                final AdaptiveCompressionLevel adaptiveLevel = filter.getAdaptiveLevel();
+                return adaptiveLevel == null ? filter.getDeflateCompressionLevel() : adaptiveLevel.getLevel();
+            }
+        });
+        final ZlibPool pool = ContentCodecs.getPool();
+        registerGauge(metricRegistry, name(ZlibPool.class, "deflaters", "pooled"), new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return pool.getPooledDeflaters();
+            }
+        });
+        registerGauge(metricRegistry, name(ZlibPool.class, "deflaters", "misses"), new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return pool.getDeflaterMisses();
+            }
+        });
+        registerGauge(metricRegistry, name(ZlibPool.class, "inflaters", "pooled"), new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return pool.getPooledInflaters();
+            }
+        });
+        registerGauge(metricRegistry, name(ZlibPool.class, "inflaters", "misses"), new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return pool.getInflaterMisses();
+            }
+        });
         return filter;
     }
+
+    private static void registerGauge(MetricRegistry metricRegistry, String name, Gauge<?> gauge) {
+        // the pool is shared by every server and client in the process
+        if (!metricRegistry.getGauges().containsKey(name)) {
+            metricRegistry.register(name, gauge);
+        }
+    }
 }
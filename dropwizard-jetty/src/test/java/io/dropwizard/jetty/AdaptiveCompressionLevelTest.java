@@ -0,0 +1,128 @@
+package io.dropwizard.jetty;
+
+import com.codahale.metrics.Clock;
+import com.google.common.base.Supplier;
+import io.dropwizard.util.Duration;
+import io.dropwizard.util.Size;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.OperatingSystemMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveCompressionLevelTest {
+    public interface ExtendedOperatingSystemMXBean extends OperatingSystemMXBean {
+        double getSystemCpuLoad();
+    }
+
+    private final AtomicLong tick = new AtomicLong();
+    private final Clock clock = new Clock() {
+        @Override
+        public long getTick() {
+            return tick.get();
+        }
+    };
+    private final AdaptiveCompressionFactory factory = new AdaptiveCompressionFactory();
+    private double load;
+    private AdaptiveCompressionLevel level;
+
+    @Before
+    public void setUp() throws Exception {
+        factory.setMinimumLevel(1);
+        factory.setMaximumLevel(9);
+        factory.setLowCpuLoad(0.5);
+        factory.setHighCpuLoad(0.9);
+        factory.setMaximumEntitySizeUnderPressure(Size.kilobytes(64));
+        factory.setSampleInterval(Duration.seconds(1));
+        level = new AdaptiveCompressionLevel(factory, new Supplier<Double>() {
+            @Override
+            public Double get() {
+                return load;
+            }
+        }, clock);
+    }
+
+    @Test
+    public void compressesTheMostWhileTheLoadIsLow() throws Exception {
+        load = 0.2;
+
+        assertThat(level.getLevel()).isEqualTo(9);
+        assertThat(level.isUnderPressure()).isFalse();
+    }
+
+    @Test
+    public void compressesTheLeastWhileTheLoadIsHigh() throws Exception {
+        load = 0.95;
+
+        assertThat(level.getLevel()).isEqualTo(1);
+        assertThat(level.isUnderPressure()).isTrue();
+    }
+
+    @Test
+    public void interpolatesBetweenTheWatermarks() throws Exception {
+        load = 0.7;
+
+        assertThat(level.getLevel()).isEqualTo(5);
+        assertThat(level.isUnderPressure()).isFalse();
+    }
+
+    @Test
+    public void compressesTheMostIfTheLoadIsUnknown() throws Exception {
+        load = -1;
+
+        assertThat(level.getLevel()).isEqualTo(9);
+    }
+
+    @Test
+    public void samplesTheLoadOncePerInterval() throws Exception {
+        load = 0.2;
+        assertThat(level.getLevel()).isEqualTo(9);
+
+        load = 0.95;
+        tick.addAndGet(Duration.milliseconds(500).toNanoseconds());
+        assertThat(level.getLevel()).isEqualTo(9);
+
+        tick.addAndGet(Duration.milliseconds(500).toNanoseconds());
+        assertThat(level.getLevel()).isEqualTo(1);
+    }
+
+    @Test
+    public void skipsLargeEntitiesUnderPressure() throws Exception {
+        load = 0.95;
+
+        assertThat(level.shouldCompress(Size.kilobytes(64).toBytes())).isTrue();
+        assertThat(level.shouldCompress(Size.kilobytes(65).toBytes())).isFalse();
+    }
+
+    @Test
+    public void compressesLargeEntitiesWithoutPressure() throws Exception {
+        load = 0.7;
+
+        assertThat(level.shouldCompress(Size.megabytes(10).toBytes())).isTrue();
+    }
+
+    @Test
+    public void readsTheSystemCpuLoadFromTheExtendedBean() throws Exception {
+        final ExtendedOperatingSystemMXBean os = mock(ExtendedOperatingSystemMXBean.class);
+        when(os.getSystemCpuLoad()).thenReturn(0.3);
+
+        assertThat(AdaptiveCompressionLevel.systemCpuLoad(os, ExtendedOperatingSystemMXBean.class.getName()).get())
+                .isEqualTo(0.3);
+    }
+
+    @Test
+    public void fallsBackToTheLoadAverageWithoutTheExtendedBean() throws Exception {
+        final OperatingSystemMXBean os = mock(OperatingSystemMXBean.class);
+        when(os.getSystemLoadAverage()).thenReturn(2.0);
+        when(os.getAvailableProcessors()).thenReturn(4);
+
+        assertThat(AdaptiveCompressionLevel.systemCpuLoad(os, "com.example.MissingOperatingSystemMXBean").get())
+                .isEqualTo(0.5);
+        assertThat(AdaptiveCompressionLevel.systemCpuLoad(os, ExtendedOperatingSystemMXBean.class.getName()).get())
+                .isEqualTo(0.5);
+    }
+}
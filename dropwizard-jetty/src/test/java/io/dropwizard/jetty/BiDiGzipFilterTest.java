@@ -0,0 +1,186 @@
+package io.dropwizard.jetty;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Strings;
+import com.google.common.base.Suppliers;
+import com.google.common.io.ByteStreams;
+import io.dropwizard.util.ContentCodecs;
+import io.dropwizard.util.Size;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.FilterHolder;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.BufferUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BiDiGzipFilterTest {
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final GzipFilterFactory gzip = new GzipFilterFactory();
+    private final Server server = new Server();
+    private final LocalConnector connector = new LocalConnector(server);
+
+    @Before
+    public void setUp() throws Exception {
+        server.addConnector(connector);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void recordsTheBytesSavedByAdaptiveCompression() throws Exception {
+        gzip.setAdaptiveCompression(new AdaptiveCompressionFactory());
+        start(gzip.build(metricRegistry));
+
+        final String response = get("/?size=10000");
+
+        assertThat(response).contains("Content-Encoding: gzip");
+        assertThat(metricRegistry.meter("io.dropwizard.jetty.BiDiGzipFilter.bytes-saved").getCount())
+                .isGreaterThan(9000);
+    }
+
+    @Test
+    public void leavesResponsesToJettyWithoutAdaptiveCompression() throws Exception {
+        start(gzip.build(metricRegistry));
+
+        assertThat(get("/?size=10000")).contains("Content-Encoding: gzip");
+        assertThat(metricRegistry.meter("io.dropwizard.jetty.BiDiGzipFilter.bytes-saved").getCount()).isZero();
+    }
+
+    @Test
+    public void compressesResponsesWhoseLengthIsKnownUpFront() throws Exception {
+        gzip.setMinimumEntitySize(Size.bytes(0));
+        gzip.setAdaptiveCompression(new AdaptiveCompressionFactory());
+        start(gzip.build(metricRegistry));
+
+        final String response = get("/?size=14");
+
+        assertThat(response).contains("Content-Encoding: gzip");
+        assertThat(response.split("Vary: ")).hasSize(2);
+        assertThat(response).doesNotContain("Content-Length: 14");
+    }
+
+    @Test
+    public void reportsTheAdaptiveCompressionLevel() throws Exception {
+        gzip.setAdaptiveCompression(new AdaptiveCompressionFactory());
+        start(gzip.build(metricRegistry));
+
+        assertThat(get("/?size=10000")).contains("Content-Encoding: gzip");
+        assertThat(metricRegistry.getGauges().get("io.dropwizard.jetty.BiDiGzipFilter.level").getValue())
+                .isInstanceOf(Integer.class);
+    }
+
+    @Test
+    public void followsAdaptiveCompressionAddedByAReload() throws Exception {
+        final BiDiGzipFilter filter = gzip.build(metricRegistry);
+        start(filter);
+        final Gauge<?> level = metricRegistry.getGauges().get("io.dropwizard.jetty.BiDiGzipFilter.level");
+        assertThat(level.getValue()).isEqualTo(Deflater.DEFAULT_COMPRESSION);
+
+        final AdaptiveCompressionFactory adaptive = new AdaptiveCompressionFactory();
+        adaptive.setMinimumLevel(3);
+        adaptive.setMaximumLevel(3);
+        final GzipFilterFactory reloaded = new GzipFilterFactory();
+        reloaded.setAdaptiveCompression(adaptive);
+        reloaded.configure(filter);
+
+        assertThat(get("/?size=10000")).contains("Content-Encoding: gzip");
+        assertThat(level.getValue()).isEqualTo(3);
+        assertThat(metricRegistry.meter("io.dropwizard.jetty.BiDiGzipFilter.bytes-saved").getCount())
+                .isGreaterThan(9000);
+    }
+
+    @Test
+    public void doesNotCompressLargeResponsesUnderPressure() throws Exception {
+        final AdaptiveCompressionFactory adaptive = new AdaptiveCompressionFactory();
+        adaptive.setMaximumEntitySizeUnderPressure(Size.kilobytes(4));
+        final BiDiGzipFilter filter = gzip.build(metricRegistry);
+        filter.setAdaptiveLevel(new AdaptiveCompressionLevel(adaptive, Suppliers.ofInstance(1.0),
+                                                             Clock.defaultClock()));
+        start(filter);
+
+        assertThat(get("/?size=2000")).contains("Content-Encoding: gzip");
+        assertThat(get("/?size=10000")).doesNotContain("Content-Encoding");
+    }
+
+    @Test
+    public void returnsTheInflatersOfRequestsToThePool() throws Exception {
+        start(gzip.build(metricRegistry));
+
+        // the servlet reads the entity without closing the stream, as Jersey does
+        assertThat(postGzipped("hello")).endsWith("5");
+        final long misses = ContentCodecs.getPool().getInflaterMisses();
+        assertThat(postGzipped("hello again")).endsWith("11");
+
+        assertThat(ContentCodecs.getPool().getInflaterMisses())
+                .isEqualTo(misses);
+    }
+
+    private void start(BiDiGzipFilter filter) throws Exception {
+        final ServletContextHandler handler = new ServletContextHandler();
+        handler.addFilter(new FilterHolder(filter), "/*", EnumSet.allOf(DispatcherType.class));
+        handler.addServlet(new ServletHolder(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                final byte[] entity = Strings.repeat("a", Integer.parseInt(req.getParameter("size")))
+                                             .getBytes(StandardCharsets.US_ASCII);
+                resp.setContentType("text/plain");
+                resp.setContentLength(entity.length);
+                resp.getOutputStream().write(entity);
+            }
+
+            @Override
+            protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                final byte[] entity = ByteStreams.toByteArray(req.getInputStream());
+                resp.setContentType("text/plain");
+                resp.getWriter().print(entity.length);
+            }
+        }), "/*");
+        server.setHandler(handler);
+        server.start();
+    }
+
+    private String postGzipped(String entity) throws Exception {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+            output.write(entity.getBytes(StandardCharsets.US_ASCII));
+        }
+        final ByteBuffer request = BufferUtil.toBuffer("POST / HTTP/1.1\r\n" +
+                                                               "Host: localhost\r\n" +
+                                                               "Content-Encoding: gzip\r\n" +
+                                                               "Content-Length: " + compressed.size() + "\r\n" +
+                                                               "Connection: close\r\n\r\n");
+        final ByteBuffer body = ByteBuffer.wrap(compressed.toByteArray());
+        final ByteBuffer all = ByteBuffer.allocate(request.remaining() + body.remaining());
+        all.put(request).put(body).flip();
+        return BufferUtil.toString(connector.getResponses(all), StandardCharsets.ISO_8859_1).trim();
+    }
+
+    private String get(String uri) throws Exception {
+        return connector.getResponses("GET " + uri + " HTTP/1.1\r\n" +
+                                              "Host: localhost\r\n" +
+                                              "Accept-Encoding: gzip\r\n" +
+                                              "Connection: close\r\n\r\n");
+    }
+}
@@ -1,5 +1,6 @@
 package io.dropwizard.jetty;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.Resources;
 import io.dropwizard.configuration.ConfigurationFactory;
@@ -60,4 +61,26 @@ public class GzipFilterFactoryTest {
         assertThat(gzip.getVary())
                 .isEqualTo("Accept-Encoding");
     }
+
+    @Test
+    public void hasAnAdaptiveCompressionLevel() throws Exception {
+        assertThat(gzip.getAdaptiveCompression().getMinimumLevel()).isEqualTo(2);
+        assertThat(gzip.getAdaptiveCompression().getMaximumLevel()).isEqualTo(6);
+        assertThat(gzip.getAdaptiveCompression().getLowCpuLoad()).isEqualTo(0.5);
+        assertThat(gzip.getAdaptiveCompression().getHighCpuLoad()).isEqualTo(0.8);
+    }
+
+    @Test
+    public void registersGaugesForTheCodecPool() throws Exception {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        gzip.build(metricRegistry);
+        gzip.build(metricRegistry);
+
+        assertThat(metricRegistry.getGauges().keySet())
+                .containsOnly("io.dropwizard.jetty.BiDiGzipFilter.level",
+                              "io.dropwizard.util.ZlibPool.deflaters.pooled",
+                              "io.dropwizard.util.ZlibPool.deflaters.misses",
+                              "io.dropwizard.util.ZlibPool.inflaters.pooled",
+                              "io.dropwizard.util.ZlibPool.inflaters.misses");
+    }
 }
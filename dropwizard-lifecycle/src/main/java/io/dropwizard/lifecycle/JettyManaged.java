@@ -2,12 +2,15 @@ package io.dropwizard.lifecycle;
 
 import org.eclipse.jetty.util.component.AbstractLifeCycle;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * A wrapper for {@link Managed} instances which ties them to a Jetty {@link
  * org.eclipse.jetty.util.component.LifeCycle}.
  */
 public class JettyManaged extends AbstractLifeCycle implements Managed {
     private final Managed managed;
+    private final StartupReport startupReport;
 
     /**
      * Creates a new JettyManaged wrapping {@code managed}.
@@ -15,7 +18,19 @@ public class JettyManaged extends AbstractLifeCycle implements Managed {
      * @param managed a {@link Managed} instance to be wrapped
      */
     public JettyManaged(Managed managed) {
+        this(managed, null);
+    }
+
+    /**
+     * Creates a new JettyManaged wrapping {@code managed}, which records how long {@code managed}
+     * takes to start.
+     *
+     * @param managed       a {@link Managed} instance to be wrapped
+     * @param startupReport the report in which start times are recorded, or {@code null}
+     */
+    public JettyManaged(Managed managed, StartupReport startupReport) {
         this.managed = managed;
+        this.startupReport = startupReport;
     }
 
     public Managed getManaged() {
@@ -24,7 +39,12 @@ public class JettyManaged extends AbstractLifeCycle implements Managed {
 
     @Override
     protected void doStart() throws Exception {
+        final long start = System.nanoTime();
         managed.start();
+        if (startupReport != null) {
+            startupReport.record("start", managed.getClass().getName(), System.nanoTime() - start,
+                                 TimeUnit.NANOSECONDS);
+        }
     }
 
     @Override
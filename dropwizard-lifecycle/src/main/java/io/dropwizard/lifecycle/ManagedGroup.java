@@ -0,0 +1,225 @@
+package io.dropwizard.lifecycle;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A group of {@link Managed} objects which are started in parallel, each one as soon as the objects
+ * it depends on have started, and stopped one after the other in the reverse order in which they
+ * started.
+ * <p/>
+ * A dependency must be a member of the same group. If any object fails to start, the objects which
+ * have not started yet aren't started, and the group fails with the first failure.
+ */
+public class ManagedGroup extends AbstractLifeCycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ManagedGroup.class);
+
+    private final Map<Managed, Set<Managed>> members = Maps.newLinkedHashMap();
+    private final List<Managed> started = Collections.synchronizedList(Lists.<Managed>newArrayList());
+    private final int parallelism;
+    private final StartupReport startupReport;
+    private volatile boolean failed;
+
+    /**
+     * Creates a new group which starts each of its members on a thread of its own.
+     *
+     * @param startupReport the report in which start times are recorded, or {@code null}
+     */
+    public ManagedGroup(StartupReport startupReport) {
+        this(Integer.MAX_VALUE, startupReport);
+    }
+
+    /**
+     * Creates a new group.
+     *
+     * @param parallelism   the maximum number of objects which are started at the same time
+     * @param startupReport the report in which start times are recorded, or {@code null}
+     */
+    public ManagedGroup(int parallelism, StartupReport startupReport) {
+        checkArgument(parallelism > 0, "parallelism must be positive");
+        this.parallelism = parallelism;
+        this.startupReport = startupReport;
+    }
+
+    /**
+     * Adds an object to the group.
+     *
+     * @param managed      a managed object
+     * @param dependencies the members of the group which must be started before {@code managed}
+     */
+    public synchronized void add(Managed managed, Collection<Managed> dependencies) {
+        checkNotNull(managed);
+        checkArgument(!members.containsKey(managed), "%s is already managed", managed);
+        checkArgument(!dependencies.contains(managed), "%s cannot depend on itself", managed);
+        members.put(managed, ImmutableSet.copyOf(dependencies));
+    }
+
+    public synchronized Map<Managed, Set<Managed>> getMembers() {
+        return Collections.unmodifiableMap(Maps.newLinkedHashMap(members));
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        failed = false;
+        final Map<Managed, Set<Managed>> graph = getMembers();
+        final List<Managed> order = startOrder(graph);
+        if (order.isEmpty()) {
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(parallelism, order.size()),
+                new ThreadFactoryBuilder().setNameFormat("managed-start-%d").setDaemon(true).build());
+        try {
+            // Submitted in dependency order, so a task only ever waits for tasks which are already running.
+            final Map<Managed, Future<?>> starts = Maps.newHashMap();
+            for (Managed managed : order) {
+                final List<Future<?>> dependencies = Lists.newArrayList();
+                for (Managed dependency : graph.get(managed)) {
+                    dependencies.add(starts.get(dependency));
+                }
+                starts.put(managed, executor.submit(new Start(managed, dependencies)));
+            }
+            for (Managed managed : order) {
+                try {
+                    starts.get(managed).get();
+                } catch (ExecutionException e) {
+                    failed = true;
+                    awaitAll(starts.values());
+                    throw rootFailure(e);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        final List<Managed> stopping;
+        synchronized (started) {
+            stopping = Lists.reverse(Lists.newArrayList(started));
+            started.clear();
+        }
+        for (Managed managed : stopping) {
+            try {
+                managed.stop();
+            } catch (Exception e) {
+                LOGGER.warn("Unable to stop {}", managed, e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + getMembers().keySet();
+    }
+
+    private static List<Managed> startOrder(Map<Managed, Set<Managed>> members) {
+        final List<Managed> order = Lists.newArrayListWithCapacity(members.size());
+        final Set<Managed> visiting = Sets.newHashSet();
+        final Set<Managed> visited = Sets.newHashSet();
+        for (Managed managed : members.keySet()) {
+            visit(managed, members, visiting, visited, order);
+        }
+        return order;
+    }
+
+    private static void visit(Managed managed,
+                              Map<Managed, Set<Managed>> members,
+                              Set<Managed> visiting,
+                              Set<Managed> visited,
+                              List<Managed> order) {
+        if (visited.contains(managed)) {
+            return;
+        }
+        if (!visiting.add(managed)) {
+            throw new IllegalStateException("Circular dependency on " + managed);
+        }
+        for (Managed dependency : members.get(managed)) {
+            if (!members.containsKey(dependency)) {
+                throw new IllegalStateException(managed + " depends on " + dependency +
+                                                        ", which is not started in parallel");
+            }
+            visit(dependency, members, visiting, visited, order);
+        }
+        visiting.remove(managed);
+        visited.add(managed);
+        order.add(managed);
+    }
+
+    // lets the objects which are already starting finish, so that they are stopped with the group
+    private static void awaitAll(Collection<Future<?>> starts) throws InterruptedException {
+        for (Future<?> start : starts) {
+            try {
+                start.get();
+            } catch (ExecutionException | CancellationException ignored) {
+                // the first failure is reported, and the rest never started
+            }
+        }
+    }
+
+    private static Exception rootFailure(ExecutionException e) {
+        Throwable cause = e.getCause();
+        while (cause instanceof ExecutionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof Exception) {
+            return (Exception) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return e;
+    }
+
+    private class Start implements Callable<Void> {
+        private final Managed managed;
+        private final List<Future<?>> dependencies;
+
+        private Start(Managed managed, List<Future<?>> dependencies) {
+            this.managed = managed;
+            this.dependencies = dependencies;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            for (Future<?> dependency : dependencies) {
+                dependency.get();
+            }
+            if (failed) {
+                throw new CancellationException("Not starting " + managed + " after a failure");
+            }
+            final long start = System.nanoTime();
+            managed.start();
+            started.add(managed);
+            if (startupReport != null) {
+                startupReport.record("start", managed.getClass().getName(), System.nanoTime() - start,
+                                     TimeUnit.NANOSECONDS);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.dropwizard.lifecycle;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A record of how long each step of an application's startup took, such as initializing and running
+ * a bundle or starting a {@link Managed} object.
+ * <p/>
+ * Steps are listed in the order in which they finished. Steps with the same phase and name are
+ * told apart by a numeric suffix, e.g. {@code com.example.Pool-2}.
+ */
+public class StartupReport {
+    /**
+     * A single timed step.
+     */
+    public static class Entry {
+        private final String phase;
+        private final String name;
+        private final long durationNanos;
+
+        private Entry(String phase, String name, long durationNanos) {
+            this.phase = phase;
+            this.name = name;
+            this.durationNanos = durationNanos;
+        }
+
+        /**
+         * Returns the phase of startup, e.g. {@code initialize}, {@code run} or {@code start}.
+         */
+        public String getPhase() {
+            return phase;
+        }
+
+        /**
+         * Returns the name of the timed object, usually its class name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        public long getDuration(TimeUnit unit) {
+            return unit.convert(durationNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString() {
+            return phase + ' ' + name + ": " + getDuration(TimeUnit.MILLISECONDS) + "ms";
+        }
+    }
+
+    private final List<Entry> entries = Lists.newArrayList();
+    private final Map<String, Integer> occurrences = new HashMap<>();
+
+    /**
+     * Records a step.
+     *
+     * @param phase    the phase of startup
+     * @param name     the name of the timed object
+     * @param duration how long the step took
+     * @param unit     the unit of {@code duration}
+     */
+    public synchronized void record(String phase, String name, long duration, TimeUnit unit) {
+        checkNotNull(phase);
+        checkNotNull(name);
+        final String key = phase + ' ' + name;
+        final Integer previous = occurrences.get(key);
+        final int occurrence = previous == null ? 1 : previous + 1;
+        occurrences.put(key, occurrence);
+        entries.add(new Entry(phase, occurrence == 1 ? name : name + '-' + occurrence, unit.toNanos(duration)));
+    }
+
+    /**
+     * Records every step of another report.
+     *
+     * @param report a startup report
+     */
+    public void recordAll(StartupReport report) {
+        for (Entry entry : report.getEntries()) {
+            record(entry.getPhase(), entry.getName(), entry.durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public synchronized List<Entry> getEntries() {
+        return ImmutableList.copyOf(entries);
+    }
+
+    /**
+     * Returns the report as a table with a line per step, the slowest step marked with an asterisk.
+     */
+    @Override
+    public String toString() {
+        final List<Entry> snapshot = getEntries();
+        int phaseWidth = 0;
+        int nameWidth = 0;
+        long slowest = 0;
+        for (Entry entry : snapshot) {
+            phaseWidth = Math.max(phaseWidth, entry.getPhase().length());
+            nameWidth = Math.max(nameWidth, entry.getName().length());
+            slowest = Math.max(slowest, entry.durationNanos);
+        }
+
+        final StringBuilder report = new StringBuilder();
+        for (Entry entry : snapshot) {
+            final long millis = entry.getDuration(TimeUnit.MILLISECONDS);
+            report.append(String.format("%n    %s  %s  %6dms",
+                                        Strings.padEnd(entry.getPhase(), phaseWidth, ' '),
+                                        Strings.padEnd(entry.getName(), nameWidth, ' '),
+                                        millis));
+            if (entry.durationNanos == slowest && millis > 0) {
+                report.append(" *");
+            }
+        }
+        return report.toString();
+    }
+}
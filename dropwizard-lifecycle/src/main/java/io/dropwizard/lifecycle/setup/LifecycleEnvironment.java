@@ -3,7 +3,9 @@ package io.dropwizard.lifecycle.setup;
 import com.google.common.collect.Lists;
 import io.dropwizard.lifecycle.JettyManaged;
 import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.lifecycle.ManagedGroup;
 import io.dropwizard.lifecycle.ServerLifecycleListener;
+import io.dropwizard.lifecycle.StartupReport;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.util.component.AbstractLifeCycle;
 import org.eclipse.jetty.util.component.ContainerLifeCycle;
@@ -11,6 +13,7 @@ import org.eclipse.jetty.util.component.LifeCycle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -20,16 +23,26 @@ public class LifecycleEnvironment {
 
     private final List<LifeCycle> managedObjects;
     private final List<LifeCycle.Listener> lifecycleListeners;
+    private final StartupReport startupReport;
+    private ManagedGroup parallelManagedObjects;
 
     public LifecycleEnvironment() {
         this.managedObjects = Lists.newArrayList();
         this.lifecycleListeners = Lists.newArrayList();
+        this.startupReport = new StartupReport();
     }
 
     public List<LifeCycle> getManagedObjects() {
         return managedObjects;
     }
 
+    /**
+     * Returns the report in which the time each managed object takes to start is recorded.
+     */
+    public StartupReport getStartupReport() {
+        return startupReport;
+    }
+
     /**
      * Adds the given {@link Managed} instance to the set of objects managed by the server's
      * lifecycle. When the server starts, {@code managed} will be started. When the server stops,
@@ -38,7 +51,25 @@ public class LifecycleEnvironment {
      * @param managed a managed object
      */
     public void manage(Managed managed) {
-        managedObjects.add(new JettyManaged(checkNotNull(managed)));
+        managedObjects.add(new JettyManaged(checkNotNull(managed), startupReport));
+    }
+
+    /**
+     * Adds the given {@link Managed} instance to the set of objects managed by the server's
+     * lifecycle, to be started in parallel with the other objects added by this method as soon as
+     * all of its {@code dependencies} have started. The objects are started at the point in the
+     * server's lifecycle at which this method was first called, and are stopped in the reverse
+     * order in which they started.
+     *
+     * @param managed      a managed object
+     * @param dependencies managed objects, also added by this method, which must be started first
+     */
+    public void manageInParallel(Managed managed, Managed... dependencies) {
+        if (parallelManagedObjects == null) {
+            parallelManagedObjects = new ManagedGroup(startupReport);
+            managedObjects.add(parallelManagedObjects);
+        }
+        parallelManagedObjects.add(checkNotNull(managed), Arrays.asList(dependencies));
     }
 
     /**
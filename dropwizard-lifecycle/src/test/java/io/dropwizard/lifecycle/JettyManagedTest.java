@@ -3,6 +3,7 @@ package io.dropwizard.lifecycle;
 import org.junit.Test;
 import org.mockito.InOrder;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 
@@ -19,4 +20,14 @@ public class JettyManagedTest {
         inOrder.verify(managed).start();
         inOrder.verify(managed).stop();
     }
+
+    @Test
+    public void recordsHowLongItTookToStart() throws Exception {
+        final StartupReport report = new StartupReport();
+        new JettyManaged(managed, report).start();
+
+        assertThat(report.getEntries()).hasSize(1);
+        assertThat(report.getEntries().get(0).getPhase()).isEqualTo("start");
+        assertThat(report.getEntries().get(0).getName()).isEqualTo(managed.getClass().getName());
+    }
 }
@@ -0,0 +1,133 @@
+package io.dropwizard.lifecycle;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ManagedGroupTest {
+    private final StartupReport report = new StartupReport();
+    private final ManagedGroup group = new ManagedGroup(report);
+
+    @Test
+    public void startsIndependentObjectsInParallel() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(2);
+        final AwaitingManaged first = new AwaitingManaged(latch);
+        final AwaitingManaged second = new AwaitingManaged(latch);
+        group.add(first, Collections.<Managed>emptyList());
+        group.add(second, Collections.<Managed>emptyList());
+
+        group.start();
+
+        assertThat(first.started).isTrue();
+        assertThat(second.started).isTrue();
+        assertThat(report.getEntries()).hasSize(2);
+    }
+
+    @Test
+    public void startsDependenciesFirstAndStopsThemLast() throws Exception {
+        final Managed database = mock(Managed.class);
+        final Managed cache = mock(Managed.class);
+        group.add(cache, ImmutableList.of(database));
+        group.add(database, Collections.<Managed>emptyList());
+
+        group.start();
+        group.stop();
+
+        final InOrder inOrder = inOrder(database, cache);
+        inOrder.verify(database).start();
+        inOrder.verify(cache).start();
+        inOrder.verify(cache).stop();
+        inOrder.verify(database).stop();
+    }
+
+    @Test
+    public void failsWithTheFirstFailureAndDoesNotStartDependents() throws Exception {
+        final Managed database = mock(Managed.class);
+        final Managed cache = mock(Managed.class);
+        final Managed other = mock(Managed.class);
+        doThrow(new IllegalStateException("no database")).when(database).start();
+        group.add(database, Collections.<Managed>emptyList());
+        group.add(cache, ImmutableList.of(database));
+        group.add(other, Collections.<Managed>emptyList());
+
+        try {
+            group.start();
+            failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage()).isEqualTo("no database");
+        }
+        group.stop();
+
+        verify(cache, never()).start();
+        verify(database, never()).stop();
+    }
+
+    @Test
+    public void rejectsCircularDependencies() throws Exception {
+        final Managed first = mock(Managed.class);
+        final Managed second = mock(Managed.class);
+        group.add(first, ImmutableList.of(second));
+        group.add(second, ImmutableList.of(first));
+
+        try {
+            group.start();
+            failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage()).startsWith("Circular dependency");
+        }
+
+        verify(first, never()).start();
+        verify(second, never()).start();
+    }
+
+    @Test
+    public void rejectsDependenciesOutsideOfTheGroup() throws Exception {
+        final Managed managed = mock(Managed.class);
+        group.add(managed, ImmutableList.of(mock(Managed.class)));
+
+        try {
+            group.start();
+            failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage()).endsWith("which is not started in parallel");
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsObjectsWhichDependOnThemselves() throws Exception {
+        final Managed managed = mock(Managed.class);
+        group.add(managed, ImmutableList.of(managed));
+    }
+
+    private static class AwaitingManaged implements Managed {
+        private final CountDownLatch latch;
+        private volatile boolean started;
+
+        private AwaitingManaged(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void start() throws Exception {
+            latch.countDown();
+            // only returns if the other object is being started at the same time
+            started = latch.await(5, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void stop() throws Exception {
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.dropwizard.lifecycle;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StartupReportTest {
+    private final StartupReport report = new StartupReport();
+
+    @Test
+    public void recordsStepsInOrder() throws Exception {
+        report.record("initialize", "com.example.Bundle", 12, TimeUnit.MILLISECONDS);
+        report.record("start", "com.example.Pool", 3, TimeUnit.SECONDS);
+
+        assertThat(report.getEntries()).hasSize(2);
+
+        final StartupReport.Entry first = report.getEntries().get(0);
+        assertThat(first.getPhase()).isEqualTo("initialize");
+        assertThat(first.getName()).isEqualTo("com.example.Bundle");
+        assertThat(first.getDuration(TimeUnit.MILLISECONDS)).isEqualTo(12);
+
+        final StartupReport.Entry second = report.getEntries().get(1);
+        assertThat(second.getPhase()).isEqualTo("start");
+        assertThat(second.getDuration(TimeUnit.MILLISECONDS)).isEqualTo(3000);
+    }
+
+    @Test
+    public void tellsRepeatedStepsApart() throws Exception {
+        report.record("start", "com.example.Pool", 1, TimeUnit.MILLISECONDS);
+        report.record("start", "com.example.Pool", 2, TimeUnit.MILLISECONDS);
+        report.record("run", "com.example.Pool", 3, TimeUnit.MILLISECONDS);
+
+        assertThat(report.getEntries().get(0).getName()).isEqualTo("com.example.Pool");
+        assertThat(report.getEntries().get(1).getName()).isEqualTo("com.example.Pool-2");
+        assertThat(report.getEntries().get(2).getName()).isEqualTo("com.example.Pool");
+    }
+
+    @Test
+    public void recordsTheStepsOfAnotherReport() throws Exception {
+        final StartupReport other = new StartupReport();
+        other.record("initialize", "com.example.Bundle", 5, TimeUnit.MILLISECONDS);
+
+        report.record("start", "com.example.Pool", 1, TimeUnit.MILLISECONDS);
+        report.recordAll(other);
+
+        assertThat(report.getEntries()).hasSize(2);
+        assertThat(report.getEntries().get(1).getPhase()).isEqualTo("initialize");
+        assertThat(report.getEntries().get(1).getDuration(TimeUnit.MILLISECONDS)).isEqualTo(5);
+    }
+
+    @Test
+    public void marksTheSlowestStep() throws Exception {
+        report.record("initialize", "com.example.Bundle", 12, TimeUnit.MILLISECONDS);
+        report.record("start", "com.example.Pool", 340, TimeUnit.MILLISECONDS);
+
+        assertThat(report.toString())
+                .contains("initialize  com.example.Bundle      12ms" + System.lineSeparator())
+                .endsWith("start       com.example.Pool       340ms *");
+    }
+}
@@ -1,8 +1,10 @@
 package io.dropwizard.lifecycle.setup;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import io.dropwizard.lifecycle.JettyManaged;
 import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.lifecycle.ManagedGroup;
 import org.eclipse.jetty.util.component.ContainerLifeCycle;
 import org.eclipse.jetty.util.component.LifeCycle;
 import org.junit.Test;
@@ -48,6 +50,36 @@ public class LifecycleEnvironmentTest {
                 .isEqualTo(managed);
     }
 
+    @Test
+    public void managesParallelManagedObjectsAsOneGroup() throws Exception {
+        final Managed database = mock(Managed.class);
+        final Managed cache = mock(Managed.class);
+        environment.manageInParallel(database);
+        environment.manageInParallel(cache, database);
+
+        final ContainerLifeCycle container = new ContainerLifeCycle();
+        environment.attach(container);
+
+        final Object bean = ImmutableList.copyOf(container.getBeans()).get(0);
+        assertThat(bean)
+                .isInstanceOf(ManagedGroup.class);
+        assertThat(((ManagedGroup) bean).getMembers())
+                .containsEntry(database, ImmutableSet.<Managed>of())
+                .containsEntry(cache, ImmutableSet.of(database));
+    }
+
+    @Test
+    public void recordsManagedObjectStartTimes() throws Exception {
+        environment.manage(mock(Managed.class));
+
+        final ContainerLifeCycle container = new ContainerLifeCycle();
+        environment.attach(container);
+        container.start();
+
+        assertThat(environment.getStartupReport().getEntries())
+                .hasSize(1);
+    }
+
     @Test
     public void scheduledExecutorServiceBuildsDaemonThreads() throws ExecutionException, InterruptedException {
         final ScheduledExecutorService executorService = environment.scheduledExecutorService("daemon-%d", true).build();
@@ -0,0 +1,288 @@
+package io.dropwizard.metrics.graphite;
+
+import com.codahale.metrics.graphite.GraphiteSender;
+import com.google.common.collect.Lists;
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link GraphiteSender} which queues data points in a bounded buffer and sends them to another
+ * sender from a background thread, so that a slow or unreachable Graphite server doesn't stall the
+ * reporter.
+ * <p/>
+ * Data points are sent in batches, each of which is flushed to the other sender. When sending
+ * fails, the unsent data points are kept, and sending is retried after a delay which doubles with
+ * every consecutive failure, up to a maximum. When the buffer is full, the oldest data points are
+ * dropped.
+ */
+public class BufferedGraphiteSender implements GraphiteSender {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BufferedGraphiteSender.class);
+
+    private static class DataPoint {
+        private final String name;
+        private final String value;
+        private final long timestamp;
+
+        private DataPoint(String name, String value, long timestamp) {
+            this.name = name;
+            this.value = value;
+            this.timestamp = timestamp;
+        }
+    }
+
+    private final GraphiteSender sender;
+    private final int bufferSize;
+    private final int batchSize;
+    private final long minBackoffNanos;
+    private final long maxBackoffNanos;
+    private final Object lock = new Object();
+    private final Deque<DataPoint> buffer = new ArrayDeque<>();
+
+    // guarded by lock
+    private Thread worker;
+    private boolean flushRequested;
+    private boolean closed;
+    private long nextAttempt;
+    private long backoff;
+    private int failures;
+    private long dropped;
+
+    /**
+     * Creates a new sender.
+     *
+     * @param sender     the sender to send the data points with
+     * @param bufferSize the maximum number of data points to keep
+     * @param batchSize  the number of data points to send before each flush of {@code sender}
+     * @param minBackoff the delay before the first retry after a failure
+     * @param maxBackoff the maximum delay between retries
+     */
+    public BufferedGraphiteSender(GraphiteSender sender,
+                                  int bufferSize,
+                                  int batchSize,
+                                  Duration minBackoff,
+                                  Duration maxBackoff) {
+        checkArgument(bufferSize > 0, "bufferSize must be positive");
+        checkArgument(batchSize > 0, "batchSize must be positive");
+        this.sender = checkNotNull(sender);
+        this.bufferSize = bufferSize;
+        this.batchSize = batchSize;
+        this.minBackoffNanos = minBackoff.toNanoseconds();
+        this.maxBackoffNanos = Math.max(minBackoffNanos, maxBackoff.toNanoseconds());
+        this.nextAttempt = System.nanoTime();
+    }
+
+    /**
+     * Starts the background thread, if it isn't running already.
+     *
+     * @throws IllegalStateException if the sender is closed
+     */
+    @Override
+    public void connect() throws IllegalStateException {
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("The sender is closed");
+            }
+            if (worker == null) {
+                worker = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        sendBuffered();
+                    }
+                }, "graphite-sender");
+                worker.setDaemon(true);
+                worker.start();
+            }
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        synchronized (lock) {
+            return worker != null && !closed;
+        }
+    }
+
+    @Override
+    public void send(String name, String value, long timestamp) {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            if (buffer.size() >= bufferSize) {
+                buffer.pollFirst();
+                dropped++;
+            }
+            buffer.addLast(new DataPoint(name, value, timestamp));
+        }
+    }
+
+    /**
+     * Wakes the background thread up to send the buffered data points, unless it's waiting to
+     * retry after a failure.
+     */
+    @Override
+    public void flush() {
+        synchronized (lock) {
+            flushRequested = true;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Stops the background thread, which makes one last attempt to send the buffered data points,
+     * and closes the other sender.
+     */
+    @Override
+    public void close() throws IOException {
+        final Thread thread;
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            thread = worker;
+            lock.notifyAll();
+        }
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        sender.close();
+    }
+
+    /**
+     * Returns the number of times sending has failed.
+     */
+    @Override
+    public int getFailures() {
+        synchronized (lock) {
+            return failures;
+        }
+    }
+
+    /**
+     * Returns the number of data points which were dropped because the buffer was full.
+     *
+     * @return the number of dropped data points
+     */
+    public long getDropped() {
+        synchronized (lock) {
+            return dropped;
+        }
+    }
+
+    /**
+     * Returns the number of buffered data points.
+     *
+     * @return the number of buffered data points
+     */
+    public int getBuffered() {
+        synchronized (lock) {
+            return buffer.size();
+        }
+    }
+
+    private void sendBuffered() {
+        while (true) {
+            final boolean last;
+            synchronized (lock) {
+                try {
+                    while (!closed && !isDue()) {
+                        final long delay = flushRequested && !buffer.isEmpty() ? nextAttempt - System.nanoTime() : 0;
+                        if (delay > 0) {
+                            lock.wait(Math.max(1, delay / 1000000));
+                        } else {
+                            lock.wait();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                flushRequested = false;
+                last = closed;
+            }
+
+            sendAll();
+            if (last) {
+                return;
+            }
+        }
+    }
+
+    // guarded by lock
+    private boolean isDue() {
+        return flushRequested && !buffer.isEmpty() && System.nanoTime() - nextAttempt >= 0;
+    }
+
+    private void sendAll() {
+        List<DataPoint> batch = takeBatch();
+        try {
+            if (!batch.isEmpty() && !sender.isConnected()) {
+                sender.connect();
+            }
+            while (!batch.isEmpty()) {
+                for (DataPoint point : batch) {
+                    sender.send(point.name, point.value, point.timestamp);
+                }
+                sender.flush();
+                batch = takeBatch();
+            }
+            synchronized (lock) {
+                backoff = 0;
+            }
+        } catch (IOException | RuntimeException e) {
+            closeQuietly();
+            // the failed batch may have been partly sent, but Graphite keeps the last value of a
+            // duplicated data point
+            retryLater(batch, e);
+        }
+    }
+
+    private List<DataPoint> takeBatch() {
+        synchronized (lock) {
+            final List<DataPoint> batch = Lists.newArrayListWithCapacity(Math.min(batchSize, buffer.size()));
+            while (batch.size() < batchSize && !buffer.isEmpty()) {
+                batch.add(buffer.pollFirst());
+            }
+            return batch;
+        }
+    }
+
+    private void retryLater(List<DataPoint> batch, Exception e) {
+        synchronized (lock) {
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                if (buffer.size() >= bufferSize) {
+                    dropped += i + 1;
+                    break;
+                }
+                buffer.addFirst(batch.get(i));
+            }
+            failures++;
+            backoff = backoff == 0 ? minBackoffNanos : Math.min(backoff * 2, maxBackoffNanos);
+            nextAttempt = System.nanoTime() + backoff;
+            flushRequested = true;
+            LOGGER.warn("Unable to send {} data points to Graphite, retrying in {} ms",
+                        buffer.size(), backoff / 1000000, e);
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            sender.close();
+        } catch (IOException e) {
+            LOGGER.debug("Error closing the Graphite sender", e);
+        }
+    }
+}
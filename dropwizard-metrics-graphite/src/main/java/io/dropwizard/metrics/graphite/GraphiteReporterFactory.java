@@ -4,13 +4,20 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.ScheduledReporter;
 import com.codahale.metrics.graphite.Graphite;
 import com.codahale.metrics.graphite.GraphiteReporter;
+import com.codahale.metrics.graphite.GraphiteSender;
+import com.codahale.metrics.graphite.GraphiteUDP;
+import com.codahale.metrics.graphite.PickledGraphite;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.google.common.annotations.VisibleForTesting;
 import io.dropwizard.metrics.BaseReporterFactory;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.ValidationMethod;
 import org.hibernate.validator.constraints.NotEmpty;
 import org.hibernate.validator.constraints.Range;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 /**
@@ -38,10 +45,49 @@ import javax.validation.constraints.NotNull;
  *         <td><i>None</i></td>
  *         <td>The prefix for Metric key names to report to Graphite.</td>
  *     </tr>
+ *     <tr>
+ *         <td>transport</td>
+ *         <td>tcp</td>
+ *         <td>The transport to send data points over. One of {@code tcp} or {@code udp}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>pickle</td>
+ *         <td>false</td>
+ *         <td>Whether to send data points in batches using the pickle protocol. Requires the
+ *         {@code tcp} transport.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>batchSize</td>
+ *         <td>100</td>
+ *         <td>The number of data points in each batch sent using the pickle protocol, or by the
+ *         buffer.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>bufferSize</td>
+ *         <td>0</td>
+ *         <td>If positive, data points are queued in a buffer of this size and sent by a
+ *         background thread, which retries after failures. See
+ *         {@link BufferedGraphiteSender}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>minBackoff</td>
+ *         <td>1 second</td>
+ *         <td>The delay before the first retry after a failure of the buffer.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>maxBackoff</td>
+ *         <td>1 minute</td>
+ *         <td>The maximum delay between retries of the buffer; the delay doubles after each
+ *         consecutive failure.</td>
+ *     </tr>
  * </table>
  */
 @JsonTypeName("graphite")
 public class GraphiteReporterFactory extends BaseReporterFactory {
+    public enum Transport {
+        TCP, UDP
+    }
+
     @NotEmpty
     private String host = "localhost";
 
@@ -51,6 +97,23 @@ public class GraphiteReporterFactory extends BaseReporterFactory {
     @NotNull
     private String prefix = "";
 
+    @NotNull
+    private Transport transport = Transport.TCP;
+
+    private boolean pickle = false;
+
+    @Min(1)
+    private int batchSize = 100;
+
+    @Min(0)
+    private int bufferSize = 0;
+
+    @NotNull
+    private Duration minBackoff = Duration.seconds(1);
+
+    @NotNull
+    private Duration maxBackoff = Duration.minutes(1);
+
     @JsonProperty
     public String getHost() {
         return host;
@@ -81,9 +144,91 @@ public class GraphiteReporterFactory extends BaseReporterFactory {
         this.prefix = prefix;
     }
 
+    @JsonProperty
+    public Transport getTransport() {
+        return transport;
+    }
+
+    @JsonProperty
+    public void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    @JsonProperty
+    public boolean isPickle() {
+        return pickle;
+    }
+
+    @JsonProperty
+    public void setPickle(boolean pickle) {
+        this.pickle = pickle;
+    }
+
+    @JsonProperty
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @JsonProperty
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @JsonProperty
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    @JsonProperty
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    @JsonProperty
+    public Duration getMinBackoff() {
+        return minBackoff;
+    }
+
+    @JsonProperty
+    public void setMinBackoff(Duration minBackoff) {
+        this.minBackoff = minBackoff;
+    }
+
+    @JsonProperty
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    @JsonProperty
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    @JsonIgnore
+    @ValidationMethod(message = ".pickle requires the tcp transport")
+    public boolean isPickleOverTcp() {
+        return !pickle || transport == Transport.TCP;
+    }
+
     @Override
     public ScheduledReporter build(MetricRegistry registry) {
-        return builder(registry).build(new Graphite(host, port));
+        return builder(registry).build(sender());
+    }
+
+    @VisibleForTesting
+    protected GraphiteSender sender() {
+        final GraphiteSender sender;
+        if (transport == Transport.UDP) {
+            sender = new GraphiteUDP(host, port);
+        } else if (pickle) {
+            sender = new PickledGraphite(host, port, batchSize);
+        } else {
+            sender = new Graphite(host, port);
+        }
+        if (bufferSize > 0) {
+            return new BufferedGraphiteSender(sender, bufferSize, batchSize, minBackoff, maxBackoff);
+        }
+        return sender;
     }
 
     @VisibleForTesting
@@ -0,0 +1,152 @@
+package io.dropwizard.metrics.graphite;
+
+import com.codahale.metrics.graphite.GraphiteSender;
+import com.google.common.collect.Lists;
+import io.dropwizard.util.Duration;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BufferedGraphiteSenderTest {
+    private final RecordingSender recording = new RecordingSender();
+    private BufferedGraphiteSender sender =
+            new BufferedGraphiteSender(recording, 5, 2, Duration.milliseconds(10), Duration.milliseconds(40));
+
+    @After
+    public void tearDown() throws Exception {
+        sender.close();
+    }
+
+    @Test
+    public void sendsDataPointsInBatches() throws Exception {
+        sender.connect();
+        sender.send("a", "1", 1);
+        sender.send("b", "2", 1);
+        sender.send("c", "3", 1);
+        recording.expectFlushes(2);
+        sender.flush();
+
+        assertThat(recording.awaitFlushes())
+                .isTrue();
+        assertThat(recording.sent)
+                .containsExactly("a", "b", "c");
+        assertThat(recording.flushes)
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void dropsTheOldestDataPointsWhenTheBufferIsFull() throws Exception {
+        for (int i = 0; i < 7; i++) {
+            sender.send(Integer.toString(i), "1", 1);
+        }
+
+        assertThat(sender.getBuffered())
+                .isEqualTo(5);
+        assertThat(sender.getDropped())
+                .isEqualTo(2);
+
+        sender.connect();
+        recording.expectFlushes(3);
+        sender.flush();
+        assertThat(recording.awaitFlushes())
+                .isTrue();
+        assertThat(recording.sent)
+                .containsExactly("2", "3", "4", "5", "6");
+    }
+
+    @Test
+    public void retriesAfterFailuresWithoutLosingDataPoints() throws Exception {
+        recording.failures = 2;
+        sender.connect();
+        sender.send("a", "1", 1);
+        recording.expectFlushes(1);
+        sender.flush();
+
+        assertThat(recording.awaitFlushes())
+                .isTrue();
+        assertThat(recording.sent)
+                .containsExactly("a");
+        assertThat(sender.getFailures())
+                .isEqualTo(2);
+        assertThat(recording.closes)
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void triesToSendTheBufferedDataPointsWhenClosed() throws Exception {
+        sender = new BufferedGraphiteSender(recording, 5, 2, Duration.minutes(1), Duration.minutes(1));
+        recording.failures = 1;
+        sender.connect();
+        sender.send("a", "1", 1);
+        sender.flush();
+        while (sender.getFailures() == 0) {
+            Thread.sleep(1);
+        }
+
+        sender.close();
+
+        assertThat(recording.sent)
+                .containsExactly("a");
+        assertThat(sender.isConnected())
+                .isFalse();
+    }
+
+    private static class RecordingSender implements GraphiteSender {
+        private final List<String> sent = Lists.newCopyOnWriteArrayList();
+        private volatile int failures;
+        private volatile int flushes;
+        private volatile int closes;
+        private volatile boolean connected;
+        private volatile CountDownLatch flushed = new CountDownLatch(0);
+
+        private void expectFlushes(int count) {
+            flushed = new CountDownLatch(count);
+        }
+
+        private boolean awaitFlushes() throws InterruptedException {
+            return flushed.await(5, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void connect() throws IllegalStateException, IOException {
+            if (failures > 0) {
+                failures--;
+                throw new IOException("Connection refused");
+            }
+            connected = true;
+        }
+
+        @Override
+        public void send(String name, String value, long timestamp) throws IOException {
+            sent.add(name);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushes++;
+            flushed.countDown();
+        }
+
+        @Override
+        public boolean isConnected() {
+            return connected;
+        }
+
+        @Override
+        public int getFailures() {
+            return 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closes++;
+            connected = false;
+        }
+    }
+}
@@ -3,16 +3,23 @@ package io.dropwizard.metrics.graphite;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.graphite.Graphite;
 import com.codahale.metrics.graphite.GraphiteReporter;
+import com.codahale.metrics.graphite.GraphiteSender;
+import com.codahale.metrics.graphite.GraphiteUDP;
+import com.codahale.metrics.graphite.PickledGraphite;
 import io.dropwizard.jackson.DiscoverableSubtypeResolver;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
+import javax.validation.Validation;
+import javax.validation.Validator;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 public class GraphiteReporterFactoryTest {
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
     @Test
     public void isDiscoverable() throws Exception {
@@ -30,15 +37,53 @@ public class GraphiteReporterFactoryTest {
             }
         }.build(new MetricRegistry());
 
-        final ArgumentCaptor<Graphite> argument = ArgumentCaptor.forClass(Graphite.class);
+        final ArgumentCaptor<GraphiteSender> argument = ArgumentCaptor.forClass(GraphiteSender.class);
         verify(builderSpy).build(argument.capture());
 
-        final Graphite graphite = argument.getValue();
+        final Graphite graphite = (Graphite) argument.getValue();
         assertThat(getField(graphite, "hostname")).isEqualTo("localhost");
         assertThat(getField(graphite, "port")).isEqualTo(8080);
         assertThat(getField(graphite, "address")).isNull();
     }
 
+    @Test
+    public void buildsAPickledSender() throws Exception {
+        final GraphiteReporterFactory factory = new GraphiteReporterFactory();
+        factory.setPickle(true);
+
+        assertThat(factory.sender())
+                .isInstanceOf(PickledGraphite.class);
+    }
+
+    @Test
+    public void buildsAUdpSender() throws Exception {
+        final GraphiteReporterFactory factory = new GraphiteReporterFactory();
+        factory.setTransport(GraphiteReporterFactory.Transport.UDP);
+
+        assertThat(factory.sender())
+                .isInstanceOf(GraphiteUDP.class);
+    }
+
+    @Test
+    public void buildsABufferedSender() throws Exception {
+        final GraphiteReporterFactory factory = new GraphiteReporterFactory();
+        factory.setBufferSize(1000);
+
+        assertThat(factory.sender())
+                .isInstanceOf(BufferedGraphiteSender.class);
+    }
+
+    @Test
+    public void picklesOnlyOverTcp() throws Exception {
+        final GraphiteReporterFactory factory = new GraphiteReporterFactory();
+        factory.setPickle(true);
+        factory.setTransport(GraphiteReporterFactory.Transport.UDP);
+
+        assertThat(validator.validate(factory))
+                .extracting("message")
+                .containsOnly(".pickle requires the tcp transport");
+    }
+
     private static Object getField(Graphite graphite, String name) {
         try {
             return FieldUtils.getDeclaredField(Graphite.class, name, true).get(graphite);
@@ -63,6 +63,15 @@ import java.util.regex.Pattern;
  *         <td>The frequency to report metrics. Overrides the {@link
  *         MetricsFactory#getFrequency() default}.</td>
  *     </tr>
+ *     <tr>
+ *         <td>reportingMode</td>
+ *         <td>full</td>
+ *         <td>Whether to report every metric by itself ({@code full}), every metric from a snapshot
+ *         shared with the other reporters of the same frequency ({@code shared}), only the metrics
+ *         which changed ({@code changes}), or only those which changed, with counters and meters
+ *         reporting the events since the previous report ({@code deltas}). See
+ *         {@link ReportingMode}.</td>
+ *     </tr>
  * </table>
  */
 public abstract class BaseReporterFactory implements ReporterFactory {
@@ -91,6 +100,9 @@ public abstract class BaseReporterFactory implements ReporterFactory {
 
     private boolean useRegexFilters = false;
 
+    @NotNull
+    private ReportingMode reportingMode = ReportingMode.FULL;
+
     public TimeUnit getDurationUnit() {
         return durationUnit;
     }
@@ -150,6 +162,16 @@ public abstract class BaseReporterFactory implements ReporterFactory {
         this.useRegexFilters = useRegexFilters;
     }
 
+    @JsonProperty
+    public ReportingMode getReportingMode() {
+        return reportingMode;
+    }
+
+    @JsonProperty
+    public void setReportingMode(ReportingMode reportingMode) {
+        this.reportingMode = reportingMode;
+    }
+
     /**
      * Gets a {@link MetricFilter} that specifically includes and excludes configured metrics.
      * <p/>
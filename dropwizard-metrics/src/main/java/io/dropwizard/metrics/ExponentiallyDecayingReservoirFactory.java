@@ -0,0 +1,67 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Reservoir;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+
+/**
+ * A factory for {@link ExponentiallyDecayingReservoir} instances, which are the default reservoirs
+ * of histograms and timers.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>size</td>
+ *         <td>1028</td>
+ *         <td>The number of samples to keep.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>alpha</td>
+ *         <td>0.015</td>
+ *         <td>The exponential decay factor; the higher this is, the more biased the reservoir will
+ *         be towards newer values.</td>
+ *     </tr>
+ * </table>
+ */
+@JsonTypeName("exponentiallyDecaying")
+public class ExponentiallyDecayingReservoirFactory implements ReservoirFactory {
+    @Min(1)
+    private int size = 1028;
+
+    @DecimalMin(value = "0", inclusive = false)
+    private double alpha = 0.015;
+
+    @JsonProperty
+    public int getSize() {
+        return size;
+    }
+
+    @JsonProperty
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    @JsonProperty
+    public double getAlpha() {
+        return alpha;
+    }
+
+    @JsonProperty
+    public void setAlpha(double alpha) {
+        this.alpha = alpha;
+    }
+
+    @Override
+    public Reservoir build() {
+        return new ExponentiallyDecayingReservoir(size, alpha);
+    }
+}
@@ -3,6 +3,7 @@ package io.dropwizard.metrics;
 import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
 import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
 import io.dropwizard.util.Duration;
 import org.slf4j.Logger;
@@ -10,6 +11,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import java.util.Map;
 
 /**
  * A factory for configuring the metrics sub-system for the environment.
@@ -34,6 +36,17 @@ import javax.validation.constraints.NotNull;
  *         <td>No reporters.</td>
  *         <td>A list of {@link ReporterFactory reporters} to report metrics.</td>
  *     </tr>
+ *     <tr>
+ *         <td>reservoir</td>
+ *         <td>Exponentially decaying reservoirs.</td>
+ *         <td>The {@link ReservoirFactory reservoir} of the histograms and timers created through
+ *         a {@link ReservoirMetricRegistry}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>openMetrics</td>
+ *         <td>Enabled at {@code /openmetrics}.</td>
+ *         <td>The {@link OpenMetricsFactory OpenMetrics servlet} of the admin connector.</td>
+ *     </tr>
  * </table>
  */
 public class MetricsFactory {
@@ -47,6 +60,13 @@ public class MetricsFactory {
     @NotNull
     private ImmutableList<ReporterFactory> reporters = ImmutableList.of();
 
+    @Valid
+    private ReservoirFactory reservoir;
+
+    @Valid
+    @NotNull
+    private OpenMetricsFactory openMetrics = new OpenMetricsFactory();
+
     @JsonProperty
     public ImmutableList<ReporterFactory> getReporters() {
         return reporters;
@@ -67,6 +87,26 @@ public class MetricsFactory {
         this.frequency = frequency;
     }
 
+    @JsonProperty
+    public ReservoirFactory getReservoir() {
+        return reservoir;
+    }
+
+    @JsonProperty
+    public void setReservoir(ReservoirFactory reservoir) {
+        this.reservoir = reservoir;
+    }
+
+    @JsonProperty
+    public OpenMetricsFactory getOpenMetrics() {
+        return openMetrics;
+    }
+
+    @JsonProperty
+    public void setOpenMetrics(OpenMetricsFactory openMetrics) {
+        this.openMetrics = openMetrics;
+    }
+
     /**
      * Configures the given lifecycle with the {@link com.codahale.metrics.ScheduledReporter
      * reporters} configured for the given registry.
@@ -75,20 +115,46 @@ public class MetricsFactory {
      * frequency} for reporting metrics begins when the lifecycle {@link
      * io.dropwizard.lifecycle.Managed#start() starts}, and stops when the lifecycle
      * {@link io.dropwizard.lifecycle.Managed#stop() stops}.
+     * <p />
+     * Reporters which don't use the {@link ReportingMode#FULL full} reporting mode share one
+     * {@link SharedSnapshotReporter} per frequency.
+     * <p />
+     * If the registry is a {@link ReservoirMetricRegistry}, the histograms and timers it creates
+     * from then on use the configured {@link #getReservoir() reservoir}.
      *
      * @param environment the lifecycle to manage the reporters.
      * @param registry the metric registry to report metrics from.
      */
     public void configure(LifecycleEnvironment environment, MetricRegistry registry) {
+        if (registry instanceof ReservoirMetricRegistry) {
+            ((ReservoirMetricRegistry) registry).setReservoirFactory(reservoir);
+        } else if (reservoir != null) {
+            LOGGER.warn("{} doesn't support configurable reservoirs, the default reservoirs will be used.",
+                        registry.getClass().getName());
+        }
+
+        final Map<Duration, SharedSnapshotReporter> sharedReporters = Maps.newLinkedHashMap();
         for (ReporterFactory reporter : reporters) {
             try {
-                final ScheduledReporterManager manager =
-                        new ScheduledReporterManager(reporter.build(registry),
-                                                     reporter.getFrequency().or(getFrequency()));
-                environment.manage(manager);
+                final Duration frequency = reporter.getFrequency().or(getFrequency());
+                final ReportingMode mode = reporter instanceof BaseReporterFactory ?
+                        ((BaseReporterFactory) reporter).getReportingMode() : ReportingMode.FULL;
+                if (mode == ReportingMode.FULL) {
+                    environment.manage(new ScheduledReporterManager(reporter.build(registry), frequency));
+                } else {
+                    SharedSnapshotReporter shared = sharedReporters.get(frequency);
+                    if (shared == null) {
+                        shared = new SharedSnapshotReporter(registry);
+                        sharedReporters.put(frequency, shared);
+                    }
+                    shared.addReporter(reporter.build(registry), ((BaseReporterFactory) reporter).getFilter(), mode);
+                }
             } catch (Exception e) {
                 LOGGER.warn("Failed to create reporter, metrics may not be properly reported.", e);
             }
         }
+        for (Map.Entry<Duration, SharedSnapshotReporter> shared : sharedReporters.entrySet()) {
+            environment.manage(new ScheduledReporterManager(shared.getValue(), shared.getKey()));
+        }
     }
 }
@@ -0,0 +1,97 @@
+package io.dropwizard.metrics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+import io.dropwizard.util.Duration;
+import org.hibernate.validator.constraints.NotEmpty;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+/**
+ * The configuration of the admin servlet which renders the metrics in the OpenMetrics text format,
+ * for scraping by Prometheus and compatible collectors.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>enabled</td>
+ *         <td>true</td>
+ *         <td>Whether or not the servlet is installed.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>path</td>
+ *         <td>/openmetrics</td>
+ *         <td>The path of the servlet on the admin connector.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>cacheDuration</td>
+ *         <td>1 second</td>
+ *         <td>How long the snapshots of histograms and timers are reused for.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>mappings</td>
+ *         <td>(none)</td>
+ *         <td>A list of {@link OpenMetricsMapping mappings} of metric names onto labeled series. The
+ *         first one which matches a metric name is used.</td>
+ *     </tr>
+ * </table>
+ */
+public class OpenMetricsFactory {
+    private boolean enabled = true;
+
+    @NotEmpty
+    private String path = "/openmetrics";
+
+    @NotNull
+    private Duration cacheDuration = Duration.seconds(1);
+
+    @Valid
+    @NotNull
+    private ImmutableList<OpenMetricsMapping> mappings = ImmutableList.of();
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public String getPath() {
+        return path;
+    }
+
+    @JsonProperty
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    @JsonProperty
+    public Duration getCacheDuration() {
+        return cacheDuration;
+    }
+
+    @JsonProperty
+    public void setCacheDuration(Duration cacheDuration) {
+        this.cacheDuration = cacheDuration;
+    }
+
+    @JsonProperty
+    public ImmutableList<OpenMetricsMapping> getMappings() {
+        return mappings;
+    }
+
+    @JsonProperty
+    public void setMappings(ImmutableList<OpenMetricsMapping> mappings) {
+        this.mappings = mappings;
+    }
+}
@@ -0,0 +1,78 @@
+package io.dropwizard.metrics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableMap;
+import org.hibernate.validator.constraints.NotEmpty;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * The configuration of a mapping of dotted metric names onto labeled OpenMetrics series.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>match</td>
+ *         <td>REQUIRED</td>
+ *         <td>The pattern of the metric names to map, in which {@code *} stands for anything but a
+ *         dot.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>name</td>
+ *         <td>REQUIRED</td>
+ *         <td>The name of the series. <code>${n}</code> is replaced by the text matched by the n-th
+ *         {@code *}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>labels</td>
+ *         <td>(none)</td>
+ *         <td>The labels of the series. <code>${n}</code> in a value is replaced by the text
+ *         matched by the n-th {@code *}.</td>
+ *     </tr>
+ * </table>
+ */
+public class OpenMetricsMapping {
+    @NotEmpty
+    private String match;
+
+    @NotEmpty
+    private String name;
+
+    @NotNull
+    private ImmutableMap<String, String> labels = ImmutableMap.of();
+
+    @JsonProperty
+    public String getMatch() {
+        return match;
+    }
+
+    @JsonProperty
+    public void setMatch(String match) {
+        this.match = match;
+    }
+
+    @JsonProperty
+    public String getName() {
+        return name;
+    }
+
+    @JsonProperty
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @JsonProperty
+    public ImmutableMap<String, String> getLabels() {
+        return labels;
+    }
+
+    @JsonProperty
+    public void setLabels(ImmutableMap<String, String> labels) {
+        this.labels = labels;
+    }
+}
@@ -0,0 +1,34 @@
+package io.dropwizard.metrics;
+
+/**
+ * How a {@link BaseReporterFactory reporter} reports metrics.
+ * <p/>
+ * In every mode but {@link #FULL}, the reporters of a {@link MetricsFactory} with the same frequency
+ * report from one shared snapshot of the registry per period, so that gauges are read, and the
+ * snapshots of histograms and timers are taken, once for all of them.
+ *
+ * @see SharedSnapshotReporter
+ */
+public enum ReportingMode {
+    /**
+     * Every metric is reported each period, by the reporter's own schedule.
+     */
+    FULL,
+
+    /**
+     * Every metric is reported each period, from the shared snapshot.
+     */
+    SHARED,
+
+    /**
+     * Only gauges whose values changed, and counters, meters, histograms and timers whose counts
+     * changed, since the previous period are reported, from the shared snapshot.
+     */
+    CHANGES,
+
+    /**
+     * Like {@link #CHANGES}, but counters and meters report the number of events since the
+     * previous period rather than since they were created.
+     */
+    DELTAS
+}
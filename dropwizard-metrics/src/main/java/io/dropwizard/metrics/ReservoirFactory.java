@@ -0,0 +1,32 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Reservoir;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.dropwizard.jackson.Discoverable;
+
+/**
+ * A service provider interface for creating the {@link Reservoir reservoirs} of histograms and
+ * timers.
+ * <p/>
+ * To create your own, e.g. one backed by HdrHistogram, just:
+ * <ol>
+ *     <li>Create a class which implements {@link ReservoirFactory}.</li>
+ *     <li>Annotate it with {@code @JsonTypeName} and give it a unique type name.</li>
+ *     <li>Add a {@code META-INF/services/io.dropwizard.metrics.ReservoirFactory}
+ *     file with your implementation's full class name to the class path.</li>
+ * </ol>
+ *
+ * @see ExponentiallyDecayingReservoirFactory
+ * @see SlidingTimeWindowReservoirFactory
+ * @see SlidingWindowReservoirFactory
+ * @see UniformReservoirFactory
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+public interface ReservoirFactory extends Discoverable {
+    /**
+     * Builds a new {@link Reservoir}. Each histogram or timer gets its own reservoir.
+     *
+     * @return a new reservoir
+     */
+    Reservoir build();
+}
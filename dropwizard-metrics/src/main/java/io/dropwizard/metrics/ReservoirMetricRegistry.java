@@ -0,0 +1,62 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+/**
+ * A {@link MetricRegistry} whose {@link #histogram(String)} and {@link #timer(String)} methods
+ * create metrics with the reservoirs built by a {@link ReservoirFactory}, rather than with
+ * exponentially decaying reservoirs.
+ * <p/>
+ * Libraries which instrument Jetty, Jersey or HttpClient create their timers through these methods,
+ * so they use the configured reservoir too. Metrics which already exist keep their reservoirs.
+ */
+public class ReservoirMetricRegistry extends MetricRegistry {
+    private volatile ReservoirFactory reservoirFactory;
+
+    /**
+     * Returns the factory of the reservoirs of new histograms and timers.
+     *
+     * @return the reservoir factory, or {@code null} if the defaults are used
+     */
+    public ReservoirFactory getReservoirFactory() {
+        return reservoirFactory;
+    }
+
+    /**
+     * Sets the factory of the reservoirs of new histograms and timers.
+     *
+     * @param reservoirFactory the reservoir factory, or {@code null} to use the defaults
+     */
+    public void setReservoirFactory(ReservoirFactory reservoirFactory) {
+        this.reservoirFactory = reservoirFactory;
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        final ReservoirFactory factory = reservoirFactory;
+        if (factory != null && !getMetrics().containsKey(name)) {
+            try {
+                return register(name, new Histogram(factory.build()));
+            } catch (IllegalArgumentException ignored) {
+                // registered concurrently, fall through to return it
+            }
+        }
+        return super.histogram(name);
+    }
+
+    @Override
+    public Timer timer(String name) {
+        final ReservoirFactory factory = reservoirFactory;
+        if (factory != null && !getMetrics().containsKey(name)) {
+            try {
+                return register(name, new Timer(factory.build()));
+            } catch (IllegalArgumentException ignored) {
+                // registered concurrently, fall through to return it
+            }
+        }
+        return super.timer(name);
+    }
+}
@@ -0,0 +1,368 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metered;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.ScheduledReporter;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.UniformSnapshot;
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link ScheduledReporter} which takes one snapshot of a registry each period and hands it to
+ * several other reporters, which aren't started themselves. Gauges are read, and the snapshots of
+ * histograms and timers are taken, once per period no matter how many reporters there are.
+ * <p/>
+ * Each reporter is given the metrics which match its filter, and depending on its
+ * {@link ReportingMode}, only those which changed since the previous period, or the number of
+ * events counted by counters and meters since the previous period.
+ */
+public class SharedSnapshotReporter extends ScheduledReporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedSnapshotReporter.class);
+
+    private static final Snapshot EMPTY_SNAPSHOT = new UniformSnapshot(new long[0]);
+
+    // frozen histograms and timers never update their reservoirs
+    private static final Reservoir FROZEN_RESERVOIR = new Reservoir() {
+        @Override
+        public int size() {
+            return 0;
+        }
+
+        @Override
+        public void update(long value) {
+        }
+
+        @Override
+        public Snapshot getSnapshot() {
+            return EMPTY_SNAPSHOT;
+        }
+    };
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a new reporter of the given registry.
+     *
+     * @param registry the registry to take snapshots of
+     */
+    public SharedSnapshotReporter(MetricRegistry registry) {
+        super(registry, "shared-snapshot-reporter", MetricFilter.ALL, TimeUnit.SECONDS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds a reporter which is given the shared snapshots.
+     *
+     * @param reporter the reporter, which mustn't be started
+     * @param filter   the filter of the metrics to give the reporter
+     * @param mode     how the reporter reports metrics
+     */
+    public void addReporter(ScheduledReporter reporter, MetricFilter filter, ReportingMode mode) {
+        checkArgument(mode != ReportingMode.FULL, "Reporters in full mode report by themselves");
+        subscribers.add(new Subscriber(checkNotNull(reporter), checkNotNull(filter), mode));
+    }
+
+    /**
+     * Returns the reporters which are given the shared snapshots.
+     *
+     * @return the reporters
+     */
+    public List<ScheduledReporter> getReporters() {
+        final ImmutableList.Builder<ScheduledReporter> reporters = ImmutableList.builder();
+        for (Subscriber subscriber : subscribers) {
+            reporters.add(subscriber.reporter);
+        }
+        return reporters.build();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.reporter.stop();
+        }
+    }
+
+    @Override
+    public void report(SortedMap<String, Gauge> gauges,
+                       SortedMap<String, Counter> counters,
+                       SortedMap<String, Histogram> histograms,
+                       SortedMap<String, Meter> meters,
+                       SortedMap<String, Timer> timers) {
+        final SortedMap<String, Gauge> frozenGauges = Maps.newTreeMap();
+        for (Map.Entry<String, Gauge> gauge : gauges.entrySet()) {
+            if (isReported(gauge.getKey(), gauge.getValue())) {
+                frozenGauges.put(gauge.getKey(), new FrozenGauge(gauge.getValue().getValue()));
+            }
+        }
+        final SortedMap<String, Counter> frozenCounters = Maps.newTreeMap();
+        for (Map.Entry<String, Counter> counter : counters.entrySet()) {
+            if (isReported(counter.getKey(), counter.getValue())) {
+                frozenCounters.put(counter.getKey(), counter(counter.getValue().getCount()));
+            }
+        }
+        final SortedMap<String, Histogram> frozenHistograms = Maps.newTreeMap();
+        for (Map.Entry<String, Histogram> histogram : histograms.entrySet()) {
+            if (isReported(histogram.getKey(), histogram.getValue())) {
+                frozenHistograms.put(histogram.getKey(), new FrozenHistogram(histogram.getValue()));
+            }
+        }
+        final SortedMap<String, Meter> frozenMeters = Maps.newTreeMap();
+        for (Map.Entry<String, Meter> meter : meters.entrySet()) {
+            if (isReported(meter.getKey(), meter.getValue())) {
+                frozenMeters.put(meter.getKey(), new FrozenMeter(meter.getValue(), meter.getValue().getCount()));
+            }
+        }
+        final SortedMap<String, Timer> frozenTimers = Maps.newTreeMap();
+        for (Map.Entry<String, Timer> timer : timers.entrySet()) {
+            if (isReported(timer.getKey(), timer.getValue())) {
+                frozenTimers.put(timer.getKey(), new FrozenTimer(timer.getValue()));
+            }
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.report(frozenGauges, frozenCounters, frozenHistograms, frozenMeters, frozenTimers);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Unable to report metrics with {}", subscriber.reporter, e);
+            }
+        }
+    }
+
+    private boolean isReported(String name, Metric metric) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.filter.matches(name, metric)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Counter counter(long count) {
+        final Counter counter = new Counter();
+        counter.inc(count);
+        return counter;
+    }
+
+    private static class Subscriber {
+        private final ScheduledReporter reporter;
+        private final MetricFilter filter;
+        private final ReportingMode mode;
+        // the value of each gauge, and the count of every other metric, when it was last reported
+        private Map<String, Object> reported = Maps.newHashMap();
+
+        private Subscriber(ScheduledReporter reporter, MetricFilter filter, ReportingMode mode) {
+            this.reporter = reporter;
+            this.filter = filter;
+            this.mode = mode;
+        }
+
+        private synchronized void report(SortedMap<String, Gauge> gauges,
+                                         SortedMap<String, Counter> counters,
+                                         SortedMap<String, Histogram> histograms,
+                                         SortedMap<String, Meter> meters,
+                                         SortedMap<String, Timer> timers) {
+            final Map<String, Object> current = Maps.newHashMap();
+            final SortedMap<String, Gauge> reportedGauges = Maps.newTreeMap();
+            for (Map.Entry<String, Gauge> gauge : gauges.entrySet()) {
+                if (isChanged(gauge.getKey(), gauge.getValue(), gauge.getValue().getValue(), current)) {
+                    reportedGauges.put(gauge.getKey(), gauge.getValue());
+                }
+            }
+            final SortedMap<String, Counter> reportedCounters = Maps.newTreeMap();
+            for (Map.Entry<String, Counter> counter : counters.entrySet()) {
+                final long previous = previousCount(counter.getKey());
+                if (isChanged(counter.getKey(), counter.getValue(), counter.getValue().getCount(), current)) {
+                    reportedCounters.put(counter.getKey(), mode == ReportingMode.DELTAS ?
+                            counter(counter.getValue().getCount() - previous) : counter.getValue());
+                }
+            }
+            final SortedMap<String, Histogram> reportedHistograms = Maps.newTreeMap();
+            for (Map.Entry<String, Histogram> histogram : histograms.entrySet()) {
+                if (isChanged(histogram.getKey(), histogram.getValue(), histogram.getValue().getCount(), current)) {
+                    reportedHistograms.put(histogram.getKey(), histogram.getValue());
+                }
+            }
+            final SortedMap<String, Meter> reportedMeters = Maps.newTreeMap();
+            for (Map.Entry<String, Meter> meter : meters.entrySet()) {
+                final long previous = previousCount(meter.getKey());
+                if (isChanged(meter.getKey(), meter.getValue(), meter.getValue().getCount(), current)) {
+                    reportedMeters.put(meter.getKey(), mode == ReportingMode.DELTAS ?
+                            new FrozenMeter(meter.getValue(), meter.getValue().getCount() - previous) :
+                            meter.getValue());
+                }
+            }
+            final SortedMap<String, Timer> reportedTimers = Maps.newTreeMap();
+            for (Map.Entry<String, Timer> timer : timers.entrySet()) {
+                if (isChanged(timer.getKey(), timer.getValue(), timer.getValue().getCount(), current)) {
+                    reportedTimers.put(timer.getKey(), timer.getValue());
+                }
+            }
+            reported = current;
+
+            if (mode == ReportingMode.SHARED || !reportedGauges.isEmpty() || !reportedCounters.isEmpty() ||
+                    !reportedHistograms.isEmpty() || !reportedMeters.isEmpty() || !reportedTimers.isEmpty()) {
+                reporter.report(reportedGauges, reportedCounters, reportedHistograms, reportedMeters,
+                                reportedTimers);
+            }
+        }
+
+        private boolean isChanged(String name, Metric metric, Object value, Map<String, Object> current) {
+            if (!filter.matches(name, metric)) {
+                return false;
+            }
+            current.put(name, value);
+            return mode == ReportingMode.SHARED || !reported.containsKey(name) ||
+                    !Objects.equal(reported.get(name), value);
+        }
+
+        private long previousCount(String name) {
+            final Object count = reported.get(name);
+            return count instanceof Long ? (Long) count : 0;
+        }
+    }
+
+    private static class FrozenGauge implements Gauge<Object> {
+        private final Object value;
+
+        private FrozenGauge(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+    }
+
+    private static class FrozenHistogram extends Histogram {
+        private final long count;
+        private final Snapshot snapshot;
+
+        private FrozenHistogram(Histogram histogram) {
+            super(FROZEN_RESERVOIR);
+            this.count = histogram.getCount();
+            this.snapshot = histogram.getSnapshot();
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public Snapshot getSnapshot() {
+            return snapshot;
+        }
+    }
+
+    private static class FrozenMeter extends Meter {
+        private final long count;
+        private final double meanRate;
+        private final double oneMinuteRate;
+        private final double fiveMinuteRate;
+        private final double fifteenMinuteRate;
+
+        private FrozenMeter(Metered meter, long count) {
+            this.count = count;
+            this.meanRate = meter.getMeanRate();
+            this.oneMinuteRate = meter.getOneMinuteRate();
+            this.fiveMinuteRate = meter.getFiveMinuteRate();
+            this.fifteenMinuteRate = meter.getFifteenMinuteRate();
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public double getMeanRate() {
+            return meanRate;
+        }
+
+        @Override
+        public double getOneMinuteRate() {
+            return oneMinuteRate;
+        }
+
+        @Override
+        public double getFiveMinuteRate() {
+            return fiveMinuteRate;
+        }
+
+        @Override
+        public double getFifteenMinuteRate() {
+            return fifteenMinuteRate;
+        }
+    }
+
+    private static class FrozenTimer extends Timer {
+        private final long count;
+        private final Snapshot snapshot;
+        private final double meanRate;
+        private final double oneMinuteRate;
+        private final double fiveMinuteRate;
+        private final double fifteenMinuteRate;
+
+        private FrozenTimer(Timer timer) {
+            super(FROZEN_RESERVOIR);
+            this.count = timer.getCount();
+            this.snapshot = timer.getSnapshot();
+            this.meanRate = timer.getMeanRate();
+            this.oneMinuteRate = timer.getOneMinuteRate();
+            this.fiveMinuteRate = timer.getFiveMinuteRate();
+            this.fifteenMinuteRate = timer.getFifteenMinuteRate();
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public Snapshot getSnapshot() {
+            return snapshot;
+        }
+
+        @Override
+        public double getMeanRate() {
+            return meanRate;
+        }
+
+        @Override
+        public double getOneMinuteRate() {
+            return oneMinuteRate;
+        }
+
+        @Override
+        public double getFiveMinuteRate() {
+            return fiveMinuteRate;
+        }
+
+        @Override
+        public double getFifteenMinuteRate() {
+            return fifteenMinuteRate;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.SlidingTimeWindowReservoir;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A factory for {@link SlidingTimeWindowReservoir} instances, which keep every measurement made
+ * within a window of time. Their percentiles are exact, and updating them doesn't take a lock, but
+ * they keep a sample for each measurement, so they can use a lot of memory for frequent events and
+ * long windows.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>window</td>
+ *         <td>1 minute</td>
+ *         <td>How long measurements are kept for.</td>
+ *     </tr>
+ * </table>
+ */
+@JsonTypeName("slidingTimeWindow")
+public class SlidingTimeWindowReservoirFactory implements ReservoirFactory {
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration window = Duration.minutes(1);
+
+    @JsonProperty
+    public Duration getWindow() {
+        return window;
+    }
+
+    @JsonProperty
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    public Reservoir build() {
+        return new SlidingTimeWindowReservoir(window.getQuantity(), window.getUnit());
+    }
+}
@@ -0,0 +1,46 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.SlidingWindowReservoir;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+import javax.validation.constraints.Min;
+
+/**
+ * A factory for {@link SlidingWindowReservoir} instances, which keep the most recent measurements.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>size</td>
+ *         <td>1028</td>
+ *         <td>The number of measurements to keep.</td>
+ *     </tr>
+ * </table>
+ */
+@JsonTypeName("slidingWindow")
+public class SlidingWindowReservoirFactory implements ReservoirFactory {
+    @Min(1)
+    private int size = 1028;
+
+    @JsonProperty
+    public int getSize() {
+        return size;
+    }
+
+    @JsonProperty
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    @Override
+    public Reservoir build() {
+        return new SlidingWindowReservoir(size);
+    }
+}
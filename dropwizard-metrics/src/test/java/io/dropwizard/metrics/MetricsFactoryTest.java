@@ -1,9 +1,12 @@
 package io.dropwizard.metrics;
 
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
 import com.google.common.io.Resources;
 import io.dropwizard.configuration.ConfigurationFactory;
 import io.dropwizard.jackson.Jackson;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
 import io.dropwizard.logging.BootstrapLogging;
 import io.dropwizard.util.Duration;
 import org.junit.Before;
@@ -30,7 +33,8 @@ public class MetricsFactoryTest {
     public void setUp() throws Exception {
         objectMapper.getSubtypeResolver().registerSubtypes(ConsoleReporterFactory.class,
                                                            CsvReporterFactory.class,
-                                                           Slf4jReporterFactory.class);
+                                                           Slf4jReporterFactory.class,
+                                                           SlidingTimeWindowReservoirFactory.class);
 
         this.config = factory.build(new File(Resources.getResource("yaml/metrics.yml").toURI()));
     }
@@ -47,4 +51,56 @@ public class MetricsFactoryTest {
         csvReporter.setFile(new File("metrics"));
         assertThat(config.getReporters()).hasSize(3);
     }
+
+    @Test
+    public void hasReportingModes() throws Exception {
+        assertThat(((BaseReporterFactory) config.getReporters().get(0)).getReportingMode())
+                .isEqualTo(ReportingMode.FULL);
+        assertThat(((BaseReporterFactory) config.getReporters().get(2)).getReportingMode())
+                .isEqualTo(ReportingMode.DELTAS);
+    }
+
+    @Test
+    public void sharesSnapshotsBetweenReportersOfTheSameFrequency() throws Exception {
+        final Slf4jReporterFactory changes = new Slf4jReporterFactory();
+        changes.setReportingMode(ReportingMode.CHANGES);
+        final Slf4jReporterFactory deltas = new Slf4jReporterFactory();
+        deltas.setReportingMode(ReportingMode.DELTAS);
+        final MetricsFactory metrics = new MetricsFactory();
+        metrics.setReporters(ImmutableList.<ReporterFactory>of(changes, deltas, new Slf4jReporterFactory()));
+        final LifecycleEnvironment lifecycle = new LifecycleEnvironment();
+
+        metrics.configure(lifecycle, new MetricRegistry());
+
+        assertThat(lifecycle.getManagedObjects())
+                .hasSize(2);
+    }
+
+    @Test
+    public void enablesOpenMetricsByDefault() throws Exception {
+        assertThat(config.getOpenMetrics().isEnabled())
+                .isTrue();
+        assertThat(config.getOpenMetrics().getPath())
+                .isEqualTo("/openmetrics");
+    }
+
+    @Test
+    public void usesTheDefaultReservoirs() throws Exception {
+        assertThat(config.getReservoir())
+                .isNull();
+    }
+
+    @Test
+    public void hasAConfigurableReservoir() throws Exception {
+        final MetricsFactory metrics = factory.build(new File(Resources.getResource("yaml/reservoir.yml").toURI()));
+        assertThat(metrics.getReservoir())
+                .isInstanceOf(SlidingTimeWindowReservoirFactory.class);
+        assertThat(((SlidingTimeWindowReservoirFactory) metrics.getReservoir()).getWindow())
+                .isEqualTo(Duration.seconds(30));
+
+        final ReservoirMetricRegistry registry = new ReservoirMetricRegistry();
+        metrics.configure(new LifecycleEnvironment(), registry);
+        assertThat(registry.getReservoirFactory())
+                .isSameAs(metrics.getReservoir());
+    }
 }
@@ -0,0 +1,17 @@
+package io.dropwizard.metrics;
+
+import io.dropwizard.jackson.DiscoverableSubtypeResolver;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReservoirFactoryTest {
+    @Test
+    public void isDiscoverable() throws Exception {
+        assertThat(new DiscoverableSubtypeResolver().getDiscoveredSubtypes())
+                .contains(ExponentiallyDecayingReservoirFactory.class,
+                          SlidingTimeWindowReservoirFactory.class,
+                          SlidingWindowReservoirFactory.class,
+                          UniformReservoirFactory.class);
+    }
+}
@@ -0,0 +1,72 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Timer;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class ReservoirMetricRegistryTest {
+    private final ReservoirMetricRegistry registry = new ReservoirMetricRegistry();
+    private final SlidingWindowReservoirFactory reservoir = new SlidingWindowReservoirFactory();
+
+    @Test
+    public void usesTheDefaultReservoirsWithoutAFactory() throws Exception {
+        final Timer timer = registry.timer("timer");
+        for (int i = 0; i < 2000; i++) {
+            timer.update(i, TimeUnit.NANOSECONDS);
+        }
+
+        assertThat(timer.getSnapshot().size())
+                .isEqualTo(1028);
+    }
+
+    @Test
+    public void buildsTimersWithTheConfiguredReservoir() throws Exception {
+        reservoir.setSize(10);
+        registry.setReservoirFactory(reservoir);
+
+        final Timer timer = registry.timer("timer");
+        for (int i = 0; i < 100; i++) {
+            timer.update(i, TimeUnit.NANOSECONDS);
+        }
+
+        assertThat(timer.getSnapshot().getValues())
+                .containsExactly(90, 91, 92, 93, 94, 95, 96, 97, 98, 99);
+        assertThat(registry.timer("timer"))
+                .isSameAs(timer);
+    }
+
+    @Test
+    public void buildsHistogramsWithTheConfiguredReservoir() throws Exception {
+        reservoir.setSize(2);
+        registry.setReservoirFactory(reservoir);
+
+        final Histogram histogram = registry.histogram("histogram");
+        histogram.update(1);
+        histogram.update(2);
+        histogram.update(3);
+
+        assertThat(histogram.getSnapshot().getValues())
+                .containsExactly(2, 3);
+        assertThat(registry.histogram("histogram"))
+                .isSameAs(histogram);
+    }
+
+    @Test
+    public void rejectsMetricsOfAnotherType() throws Exception {
+        registry.setReservoirFactory(reservoir);
+        registry.meter("meter");
+
+        try {
+            registry.timer("meter");
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage())
+                    .contains("meter is already used for a different type of metric");
+        }
+    }
+}
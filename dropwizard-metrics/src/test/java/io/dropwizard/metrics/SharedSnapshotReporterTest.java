@@ -0,0 +1,228 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.UniformReservoir;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SharedSnapshotReporterTest {
+    private final MetricRegistry registry = new MetricRegistry();
+    private final SharedSnapshotReporter reporter = new SharedSnapshotReporter(registry);
+    private final RecordingReporter first = new RecordingReporter(registry);
+    private final RecordingReporter second = new RecordingReporter(registry);
+    private int gaugeValue = 1;
+
+    @After
+    public void tearDown() throws Exception {
+        reporter.stop();
+    }
+
+    @Test
+    public void takesOneSnapshotForAllReporters() throws Exception {
+        final AtomicInteger snapshots = new AtomicInteger();
+        registry.register("histogram", new Histogram(new UniformReservoir()) {
+            @Override
+            public Snapshot getSnapshot() {
+                snapshots.incrementAndGet();
+                return super.getSnapshot();
+            }
+        });
+        reporter.addReporter(first, MetricFilter.ALL, ReportingMode.SHARED);
+        reporter.addReporter(second, MetricFilter.ALL, ReportingMode.SHARED);
+
+        reporter.report();
+
+        assertThat(snapshots.get())
+                .isEqualTo(1);
+        assertThat(first.histograms)
+                .containsOnlyKeys("histogram");
+        assertThat(second.histograms.get("histogram").getSnapshot())
+                .isSameAs(first.histograms.get("histogram").getSnapshot());
+    }
+
+    @Test
+    public void appliesTheFilterOfEachReporter() throws Exception {
+        registry.counter("a");
+        registry.counter("b");
+        reporter.addReporter(first, only("a"), ReportingMode.SHARED);
+        reporter.addReporter(second, only("b"), ReportingMode.SHARED);
+
+        reporter.report();
+
+        assertThat(first.counters)
+                .containsOnlyKeys("a");
+        assertThat(second.counters)
+                .containsOnlyKeys("b");
+    }
+
+    @Test
+    public void reportsEveryMetricInSharedMode() throws Exception {
+        registry.counter("counter").inc();
+        reporter.addReporter(first, MetricFilter.ALL, ReportingMode.SHARED);
+
+        reporter.report();
+        reporter.report();
+
+        assertThat(first.reports)
+                .isEqualTo(2);
+        assertThat(first.counters.get("counter").getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void reportsOnlyChangedMetricsInChangesMode() throws Exception {
+        registerGauge();
+        final Counter counter = registry.counter("counter");
+        final Timer timer = registry.timer("timer");
+        counter.inc(2);
+        timer.update(1, TimeUnit.SECONDS);
+        reporter.addReporter(first, MetricFilter.ALL, ReportingMode.CHANGES);
+
+        reporter.report();
+        assertThat(first.gauges)
+                .containsOnlyKeys("gauge");
+        assertThat(first.counters)
+                .containsOnlyKeys("counter");
+        assertThat(first.timers)
+                .containsOnlyKeys("timer");
+
+        gaugeValue = 2;
+        reporter.report();
+        assertThat(first.gauges)
+                .containsOnlyKeys("gauge");
+        assertThat(first.counters)
+                .isEmpty();
+        assertThat(first.timers)
+                .isEmpty();
+
+        counter.inc();
+        reporter.report();
+        assertThat(first.gauges)
+                .isEmpty();
+        assertThat(first.counters.get("counter").getCount())
+                .isEqualTo(3);
+    }
+
+    @Test
+    public void skipsReportsWithoutChanges() throws Exception {
+        registry.counter("counter").inc();
+        reporter.addReporter(first, MetricFilter.ALL, ReportingMode.CHANGES);
+
+        reporter.report();
+        reporter.report();
+
+        assertThat(first.reports)
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void reportsDeltasOfCountersAndMetersInDeltasMode() throws Exception {
+        final Counter counter = registry.counter("counter");
+        final Meter meter = registry.meter("meter");
+        counter.inc(5);
+        meter.mark(3);
+        reporter.addReporter(first, MetricFilter.ALL, ReportingMode.DELTAS);
+        reporter.addReporter(second, MetricFilter.ALL, ReportingMode.SHARED);
+
+        reporter.report();
+        assertThat(first.counters.get("counter").getCount())
+                .isEqualTo(5);
+        assertThat(first.meters.get("meter").getCount())
+                .isEqualTo(3);
+
+        counter.inc(2);
+        meter.mark();
+        reporter.report();
+        assertThat(first.counters.get("counter").getCount())
+                .isEqualTo(2);
+        assertThat(first.meters.get("meter").getCount())
+                .isEqualTo(1);
+        assertThat(first.meters.get("meter").getMeanRate())
+                .isEqualTo(second.meters.get("meter").getMeanRate());
+        assertThat(second.counters.get("counter").getCount())
+                .isEqualTo(7);
+        assertThat(second.meters.get("meter").getCount())
+                .isEqualTo(4);
+    }
+
+    @Test
+    public void keepsReportingWhenAReporterFails() throws Exception {
+        registry.counter("counter");
+        reporter.addReporter(new RecordingReporter(registry) {
+            @Override
+            public void report(SortedMap<String, Gauge> gauges,
+                               SortedMap<String, Counter> counters,
+                               SortedMap<String, Histogram> histograms,
+                               SortedMap<String, Meter> meters,
+                               SortedMap<String, Timer> timers) {
+                throw new IllegalStateException("Boom");
+            }
+        }, MetricFilter.ALL, ReportingMode.SHARED);
+        reporter.addReporter(first, MetricFilter.ALL, ReportingMode.SHARED);
+
+        reporter.report();
+
+        assertThat(first.reports)
+                .isEqualTo(1);
+    }
+
+    private void registerGauge() {
+        registry.register("gauge", new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return gaugeValue;
+            }
+        });
+    }
+
+    private static MetricFilter only(final String name) {
+        return new MetricFilter() {
+            @Override
+            public boolean matches(String metricName, Metric metric) {
+                return name.equals(metricName);
+            }
+        };
+    }
+
+    private static class RecordingReporter extends ScheduledReporter {
+        private int reports;
+        private SortedMap<String, Gauge> gauges;
+        private SortedMap<String, Counter> counters;
+        private SortedMap<String, Histogram> histograms;
+        private SortedMap<String, Meter> meters;
+        private SortedMap<String, Timer> timers;
+
+        private RecordingReporter(MetricRegistry registry) {
+            super(registry, "recording-reporter", MetricFilter.ALL, TimeUnit.SECONDS, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void report(SortedMap<String, Gauge> gauges,
+                           SortedMap<String, Counter> counters,
+                           SortedMap<String, Histogram> histograms,
+                           SortedMap<String, Meter> meters,
+                           SortedMap<String, Timer> timers) {
+            this.reports++;
+            this.gauges = gauges;
+            this.counters = counters;
+            this.histograms = histograms;
+            this.meters = meters;
+            this.timers = timers;
+        }
+    }
+}
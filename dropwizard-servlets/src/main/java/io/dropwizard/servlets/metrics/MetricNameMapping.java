@@ -0,0 +1,119 @@
+package io.dropwizard.servlets.metrics;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Maps dotted metric names onto labeled series, e.g.
+ * {@code org.eclipse.jetty.server.HttpConnectionFactory.8080.connections} onto
+ * {@code http_connections{port="8080"}}.
+ * <p/>
+ * A mapping matches a metric name against a pattern in which {@code *} stands for any part of a
+ * segment of the name, i.e. anything but a dot. The series name and the label values may refer to
+ * the text matched by the n-th {@code *} as <code>${n}</code>.
+ */
+public class MetricNameMapping {
+    private static final Pattern REFERENCE = Pattern.compile("\\$\\{(\\d+)\\}");
+
+    private final Pattern pattern;
+    private final String name;
+    private final ImmutableSortedMap<String, String> labels;
+
+    /**
+     * Creates a new mapping.
+     *
+     * @param match  the pattern of the metric names to map
+     * @param name   the name of the series
+     * @param labels the labels of the series
+     * @throws IllegalArgumentException if the name or a label value refers to a wildcard which
+     *                                  isn't in the pattern
+     */
+    public MetricNameMapping(String match, String name, Map<String, String> labels) {
+        this.pattern = compile(checkNotNull(match));
+        this.name = checkReferences(checkNotNull(name), pattern);
+        for (String value : labels.values()) {
+            checkReferences(value, pattern);
+        }
+        this.labels = ImmutableSortedMap.copyOf(labels);
+    }
+
+    /**
+     * Creates a new mapping without labels.
+     *
+     * @param match the pattern of the metric names to map
+     * @param name  the name of the series
+     */
+    public MetricNameMapping(String match, String name) {
+        this(match, name, ImmutableMap.<String, String>of());
+    }
+
+    /**
+     * Returns the series name of the metric which the given matcher matched.
+     */
+    String name(Matcher matcher) {
+        return expand(name, matcher);
+    }
+
+    /**
+     * Returns the labels of the metric which the given matcher matched.
+     */
+    ImmutableSortedMap<String, String> labels(Matcher matcher) {
+        final ImmutableSortedMap.Builder<String, String> builder = ImmutableSortedMap.naturalOrder();
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            builder.put(label.getKey(), expand(label.getValue(), matcher));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a matcher of the given metric name, which {@link Matcher#matches() matches} if this
+     * mapping applies to it.
+     */
+    Matcher matcher(String metricName) {
+        return pattern.matcher(metricName);
+    }
+
+    private static Pattern compile(String match) {
+        final StringBuilder regex = new StringBuilder();
+        int start = 0;
+        for (int wildcard = match.indexOf('*'); wildcard >= 0; wildcard = match.indexOf('*', start)) {
+            if (wildcard > start) {
+                regex.append(Pattern.quote(match.substring(start, wildcard)));
+            }
+            regex.append("([^.]*)");
+            start = wildcard + 1;
+        }
+        if (start < match.length()) {
+            regex.append(Pattern.quote(match.substring(start)));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static String checkReferences(String template, Pattern pattern) {
+        final Matcher references = REFERENCE.matcher(template);
+        while (references.find()) {
+            final int group = Integer.parseInt(references.group(1));
+            checkArgument(group >= 1 && group <= pattern.matcher("").groupCount(),
+                          "%s refers to a wildcard which isn't in the pattern", template);
+        }
+        return template;
+    }
+
+    private static String expand(String template, Matcher matcher) {
+        final Matcher references = REFERENCE.matcher(template);
+        final StringBuffer expanded = new StringBuffer();
+        while (references.find()) {
+            references.appendReplacement(expanded,
+                                         Matcher.quoteReplacement(matcher.group(Integer.parseInt(references.group(1)))));
+        }
+        references.appendTail(expanded);
+        return expanded.toString();
+    }
+}
@@ -0,0 +1,349 @@
+package io.dropwizard.servlets.metrics;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Sampling;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import io.dropwizard.util.Duration;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A servlet which renders a {@link MetricRegistry} in the OpenMetrics text format, or in the
+ * Prometheus text format if the client doesn't accept OpenMetrics.
+ * <ul>
+ *     <li>Gauges with numeric or boolean values, and counters, are rendered as gauges.</li>
+ *     <li>Meters are rendered as counters of their events.</li>
+ *     <li>Histograms and timers are rendered as summaries, with timer values in seconds.</li>
+ * </ul>
+ * Metric names are mapped onto series by the first {@link MetricNameMapping} which matches them;
+ * any other name is used as it is, with the characters which aren't allowed in series names
+ * replaced by underscores. Series with the same name are rendered together; if their metrics are of
+ * different kinds, only the series of the first kind are rendered, and if several metrics map onto
+ * the same series name and labels (e.g. {@code a.b} and {@code a_b}), only the first of them, in
+ * the order of their names, is rendered.
+ * <p/>
+ * The snapshots of histograms and timers are cached for a configurable duration, so that frequent
+ * scrapes don't repeatedly sort their samples, and the series of metric names are cached until
+ * their metrics are removed. The output is written as it is rendered.
+ */
+public class OpenMetricsServlet extends HttpServlet {
+    private static final long serialVersionUID = -2462446931582437402L;
+
+    static final String OPENMETRICS_CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = { 0.5, 0.75, 0.95, 0.98, 0.99, 0.999 };
+    private static final double SECONDS_PER_NANOSECOND = 1.0 / TimeUnit.SECONDS.toNanos(1);
+
+    private enum Type {
+        GAUGE("gauge"), COUNTER("counter"), SUMMARY("summary");
+
+        private final String name;
+
+        Type(String name) {
+            this.name = name;
+        }
+    }
+
+    private static class Series {
+        private final String name;
+        private final String labels;
+
+        private Series(String name, String labels) {
+            this.name = name;
+            this.labels = labels;
+        }
+    }
+
+    private static class Sample {
+        private final String metricName;
+        private final Series series;
+        private final Metric metric;
+
+        private Sample(String metricName, Series series, Metric metric) {
+            this.metricName = metricName;
+            this.series = series;
+            this.metric = metric;
+        }
+    }
+
+    private static class CachedSnapshots {
+        private final long tick;
+        private final Map<String, Snapshot> snapshots;
+
+        private CachedSnapshots(long tick, Map<String, Snapshot> snapshots) {
+            this.tick = tick;
+            this.snapshots = snapshots;
+        }
+    }
+
+    private final MetricRegistry registry;
+    private final ImmutableList<MetricNameMapping> mappings;
+    private final long cacheNanos;
+    private final Clock clock;
+    private final ConcurrentMap<String, Series> series = Maps.newConcurrentMap();
+    private final Object snapshotLock = new Object();
+    private volatile CachedSnapshots cachedSnapshots;
+
+    /**
+     * Creates a new servlet.
+     *
+     * @param registry      the registry to render
+     * @param mappings      the mappings of metric names onto series
+     * @param cacheDuration how long snapshots of histograms and timers are cached for
+     */
+    public OpenMetricsServlet(MetricRegistry registry, List<MetricNameMapping> mappings, Duration cacheDuration) {
+        this(registry, mappings, cacheDuration, Clock.defaultClock());
+    }
+
+    OpenMetricsServlet(MetricRegistry registry, List<MetricNameMapping> mappings, Duration cacheDuration,
+                       Clock clock) {
+        this.registry = checkNotNull(registry);
+        this.mappings = ImmutableList.copyOf(mappings);
+        this.cacheNanos = cacheDuration.toNanoseconds();
+        this.clock = checkNotNull(clock);
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        final String accept = req.getHeader("Accept");
+        final boolean openMetrics = accept != null && accept.contains("application/openmetrics-text");
+        final Map<String, Snapshot> snapshots = snapshots();
+
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.setContentType(openMetrics ? OPENMETRICS_CONTENT_TYPE : PROMETHEUS_CONTENT_TYPE);
+        resp.setHeader("Cache-Control", "must-revalidate,no-cache,no-store");
+        try (Writer output = new BufferedWriter(new OutputStreamWriter(resp.getOutputStream(),
+                                                                       StandardCharsets.UTF_8))) {
+            for (Map.Entry<String, List<Sample>> family : families().entrySet()) {
+                writeFamily(output, family.getKey(), family.getValue(), snapshots, openMetrics);
+            }
+            if (openMetrics) {
+                output.write("# EOF\n");
+            }
+        }
+    }
+
+    private SortedMap<String, List<Sample>> families() {
+        final SortedMap<String, List<Sample>> families = Maps.newTreeMap();
+        final SortedMap<String, Metric> metrics = ImmutableSortedMap.copyOf(registry.getMetrics());
+        // forgets the series of removed metrics, so that the cache doesn't outgrow the registry
+        series.keySet().retainAll(metrics.keySet());
+        for (Map.Entry<String, Metric> metric : metrics.entrySet()) {
+            final Series s = series(metric.getKey());
+            List<Sample> family = families.get(s.name);
+            if (family == null) {
+                family = Lists.newArrayList();
+                families.put(s.name, family);
+            }
+            family.add(new Sample(metric.getKey(), s, metric.getValue()));
+        }
+        return families;
+    }
+
+    private void writeFamily(Writer output,
+                             String name,
+                             List<Sample> family,
+                             Map<String, Snapshot> snapshots,
+                             boolean openMetrics) throws IOException {
+        final Type type = type(family.get(0).metric);
+        output.append("# TYPE ").append(name);
+        if (type == Type.COUNTER && !openMetrics) {
+            output.append("_total");
+        }
+        output.append(' ').append(type.name).append('\n');
+
+        // a series can only be rendered once
+        final Set<String> rendered = Sets.newHashSet();
+        for (Sample sample : family) {
+            final Metric metric = sample.metric;
+            final String labels = sample.series.labels;
+            if (type(metric) != type || !rendered.add(labels)) {
+                continue;
+            }
+            if (metric instanceof Gauge) {
+                final Object value = ((Gauge<?>) metric).getValue();
+                if (value instanceof Number) {
+                    writeSample(output, name, labels, ((Number) value).doubleValue());
+                } else if (value instanceof Boolean) {
+                    writeSample(output, name, labels, (Boolean) value ? 1 : 0);
+                }
+            } else if (metric instanceof Counter) {
+                writeSample(output, name, labels, ((Counter) metric).getCount());
+            } else if (metric instanceof Meter) {
+                writeSample(output, name + "_total", labels, ((Meter) metric).getCount());
+            } else if (metric instanceof Timer) {
+                writeSummary(output, name, labels, snapshot(sample, snapshots), ((Timer) metric).getCount(),
+                             SECONDS_PER_NANOSECOND);
+            } else if (metric instanceof Histogram) {
+                writeSummary(output, name, labels, snapshot(sample, snapshots), ((Histogram) metric).getCount(), 1);
+            }
+        }
+    }
+
+    private static void writeSummary(Writer output,
+                                     String name,
+                                     String labels,
+                                     Snapshot snapshot,
+                                     long count,
+                                     double factor) throws IOException {
+        for (double quantile : QUANTILES) {
+            output.append(name).append('{').append(labels);
+            if (!labels.isEmpty()) {
+                output.append(',');
+            }
+            output.append("quantile=\"").append(Double.toString(quantile)).append("\"} ");
+            writeValue(output, snapshot.getValue(quantile) * factor);
+            output.append('\n');
+        }
+        writeSample(output, name + "_count", labels, count);
+    }
+
+    private static void writeSample(Writer output, String name, String labels, double value) throws IOException {
+        output.append(name);
+        if (!labels.isEmpty()) {
+            output.append('{').append(labels).append('}');
+        }
+        output.append(' ');
+        writeValue(output, value);
+        output.append('\n');
+    }
+
+    private static void writeSample(Writer output, String name, String labels, long value) throws IOException {
+        output.append(name);
+        if (!labels.isEmpty()) {
+            output.append('{').append(labels).append('}');
+        }
+        output.append(' ').append(Long.toString(value)).append('\n');
+    }
+
+    private static void writeValue(Writer output, double value) throws IOException {
+        if (Double.isNaN(value)) {
+            output.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            output.append(value > 0 ? "+Inf" : "-Inf");
+        } else {
+            output.append(Double.toString(value));
+        }
+    }
+
+    private static Type type(Metric metric) {
+        if (metric instanceof Meter) {
+            return Type.COUNTER;
+        }
+        if (metric instanceof Sampling) {
+            return Type.SUMMARY;
+        }
+        return Type.GAUGE;
+    }
+
+    // metrics registered since the snapshots were cached are sampled as they're rendered
+    private static Snapshot snapshot(Sample sample, Map<String, Snapshot> snapshots) {
+        final Snapshot snapshot = snapshots.get(sample.metricName);
+        return snapshot == null ? ((Sampling) sample.metric).getSnapshot() : snapshot;
+    }
+
+    private Map<String, Snapshot> snapshots() {
+        CachedSnapshots cached = cachedSnapshots;
+        if (cached == null || clock.getTick() - cached.tick >= cacheNanos) {
+            synchronized (snapshotLock) {
+                cached = cachedSnapshots;
+                final long tick = clock.getTick();
+                if (cached == null || tick - cached.tick >= cacheNanos) {
+                    final ImmutableMap.Builder<String, Snapshot> snapshots = ImmutableMap.builder();
+                    for (Map.Entry<String, Metric> metric : registry.getMetrics().entrySet()) {
+                        if (metric.getValue() instanceof Sampling) {
+                            snapshots.put(metric.getKey(), ((Sampling) metric.getValue()).getSnapshot());
+                        }
+                    }
+                    cached = new CachedSnapshots(tick, snapshots.build());
+                    cachedSnapshots = cached;
+                }
+            }
+        }
+        return cached.snapshots;
+    }
+
+    private Series series(String metricName) {
+        Series s = series.get(metricName);
+        if (s == null) {
+            s = map(metricName);
+            series.put(metricName, s);
+        }
+        return s;
+    }
+
+    private Series map(String metricName) {
+        for (MetricNameMapping mapping : mappings) {
+            final Matcher matcher = mapping.matcher(metricName);
+            if (matcher.matches()) {
+                return new Series(sanitize(mapping.name(matcher), true), labels(mapping.labels(matcher)));
+            }
+        }
+        return new Series(sanitize(metricName, true), "");
+    }
+
+    private static String labels(Map<String, String> labels) {
+        final StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append(sanitize(label.getKey(), false)).append("=\"");
+            for (char c : label.getValue().toCharArray()) {
+                if (c == '\\' || c == '"') {
+                    builder.append('\\').append(c);
+                } else if (c == '\n') {
+                    builder.append("\\n");
+                } else {
+                    builder.append(c);
+                }
+            }
+            builder.append('"');
+        }
+        return builder.toString();
+    }
+
+    private static String sanitize(String name, boolean allowColons) {
+        final StringBuilder builder = new StringBuilder(name.length() + 1);
+        if (name.isEmpty() || (name.charAt(0) >= '0' && name.charAt(0) <= '9')) {
+            builder.append('_');
+        }
+        for (char c : name.toCharArray()) {
+            final boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') ||
+                    c == '_' || (allowColons && c == ':');
+            builder.append(valid ? c : '_');
+        }
+        return builder.toString();
+    }
+}
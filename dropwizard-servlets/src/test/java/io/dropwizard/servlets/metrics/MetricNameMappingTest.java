@@ -0,0 +1,50 @@
+package io.dropwizard.servlets.metrics;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.regex.Matcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class MetricNameMappingTest {
+    private final MetricNameMapping mapping = new MetricNameMapping(
+            "org.eclipse.jetty.server.HttpConnectionFactory.*.connections", "http_connections",
+            ImmutableMap.of("port", "${1}"));
+
+    @Test
+    public void mapsMatchingNames() throws Exception {
+        final Matcher matcher = mapping.matcher("org.eclipse.jetty.server.HttpConnectionFactory.8080.connections");
+
+        assertThat(matcher.matches())
+                .isTrue();
+        assertThat(mapping.name(matcher))
+                .isEqualTo("http_connections");
+        assertThat(mapping.labels(matcher))
+                .containsEntry("port", "8080");
+    }
+
+    @Test
+    public void wildcardsDoNotMatchDots() throws Exception {
+        assertThat(mapping.matcher("org.eclipse.jetty.server.HttpConnectionFactory.a.b.connections").matches())
+                .isFalse();
+    }
+
+    @Test
+    public void treatsOtherCharactersLiterally() throws Exception {
+        assertThat(new MetricNameMapping("a.b", "ab").matcher("aXb").matches())
+                .isFalse();
+    }
+
+    @Test
+    public void rejectsReferencesToMissingWildcards() throws Exception {
+        try {
+            new MetricNameMapping("a.*", "a", ImmutableMap.of("b", "${2}"));
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage())
+                    .isEqualTo("${2} refers to a wildcard which isn't in the pattern");
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package io.dropwizard.servlets.metrics;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.dropwizard.util.Duration;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OpenMetricsServletTest {
+    private final MetricRegistry registry = new MetricRegistry();
+    private final Clock clock = mock(Clock.class);
+    private final HttpServletRequest request = mock(HttpServletRequest.class);
+    private final HttpServletResponse response = mock(HttpServletResponse.class);
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final OpenMetricsServlet servlet = new OpenMetricsServlet(
+            registry,
+            ImmutableList.of(new MetricNameMapping("io.dropwizard.jetty.*.*xx-responses", "http_responses",
+                                                   ImmutableMap.of("handler", "${1}", "status", "${2}xx")),
+                             new MetricNameMapping("com.example.*.requests", "requests",
+                                                   ImmutableMap.of("resource", "${1}"))),
+            Duration.seconds(10),
+            clock);
+
+    @Before
+    public void setUp() throws Exception {
+        when(request.getMethod()).thenReturn("GET");
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                output.write(b);
+            }
+        });
+    }
+
+    @Test
+    public void rendersTheOpenMetricsFormat() throws Exception {
+        when(request.getHeader("Accept")).thenReturn("application/openmetrics-text; version=1.0.0");
+        registry.meter("io.dropwizard.jetty.Handler.2xx-responses").mark(3);
+        registry.meter("io.dropwizard.jetty.Handler.5xx-responses").mark();
+        registry.counter("jobs.active").inc(2);
+        registry.register("jvm.ready", new Gauge<Boolean>() {
+            @Override
+            public Boolean getValue() {
+                return true;
+            }
+        });
+        registry.register("jvm.name", new Gauge<String>() {
+            @Override
+            public String getValue() {
+                return "HotSpot";
+            }
+        });
+
+        servlet.service(request, response);
+
+        verify(response).setContentType(OpenMetricsServlet.OPENMETRICS_CONTENT_TYPE);
+        assertThat(rendered())
+                .isEqualTo("# TYPE http_responses counter\n" +
+                           "http_responses_total{handler=\"Handler\",status=\"2xx\"} 3\n" +
+                           "http_responses_total{handler=\"Handler\",status=\"5xx\"} 1\n" +
+                           "# TYPE jobs_active gauge\n" +
+                           "jobs_active 2\n" +
+                           "# TYPE jvm_name gauge\n" +
+                           "# TYPE jvm_ready gauge\n" +
+                           "jvm_ready 1\n" +
+                           "# EOF\n");
+    }
+
+    @Test
+    public void rendersThePrometheusFormatByDefault() throws Exception {
+        registry.meter("io.dropwizard.jetty.Handler.2xx-responses").mark(3);
+
+        servlet.service(request, response);
+
+        verify(response).setContentType(OpenMetricsServlet.PROMETHEUS_CONTENT_TYPE);
+        assertThat(rendered())
+                .isEqualTo("# TYPE http_responses_total counter\n" +
+                           "http_responses_total{handler=\"Handler\",status=\"2xx\"} 3\n");
+    }
+
+    @Test
+    public void rendersTimersAsSummariesInSeconds() throws Exception {
+        registry.timer("com.example.Things.requests").update(250, TimeUnit.MILLISECONDS);
+
+        servlet.service(request, response);
+
+        assertThat(rendered())
+                .isEqualTo("# TYPE requests summary\n" +
+                           "requests{resource=\"Things\",quantile=\"0.5\"} 0.25\n" +
+                           "requests{resource=\"Things\",quantile=\"0.75\"} 0.25\n" +
+                           "requests{resource=\"Things\",quantile=\"0.95\"} 0.25\n" +
+                           "requests{resource=\"Things\",quantile=\"0.98\"} 0.25\n" +
+                           "requests{resource=\"Things\",quantile=\"0.99\"} 0.25\n" +
+                           "requests{resource=\"Things\",quantile=\"0.999\"} 0.25\n" +
+                           "requests_count{resource=\"Things\"} 1\n");
+    }
+
+    @Test
+    public void sanitizesNamesAndEscapesLabelValues() throws Exception {
+        final OpenMetricsServlet quoting = new OpenMetricsServlet(
+                registry,
+                ImmutableList.of(new MetricNameMapping("quoted.*", "quoted", ImmutableMap.of("value", "\"${1}\""))),
+                Duration.seconds(10));
+        registry.counter("2xx.responses-total").inc();
+        registry.counter("quoted.a\\b").inc();
+
+        quoting.service(request, response);
+
+        assertThat(rendered())
+                .isEqualTo("# TYPE _2xx_responses_total gauge\n" +
+                           "_2xx_responses_total 1\n" +
+                           "# TYPE quoted gauge\n" +
+                           "quoted{value=\"\\\"a\\\\b\\\"\"} 1\n");
+    }
+
+    @Test
+    public void rendersOnlyTheFirstKindOfMetricInAFamily() throws Exception {
+        registry.meter("com.example.A.requests").mark();
+        registry.counter("com.example.B.requests").inc();
+
+        servlet.service(request, response);
+
+        assertThat(rendered())
+                .isEqualTo("# TYPE requests_total counter\n" +
+                           "requests_total{resource=\"A\"} 1\n");
+    }
+
+    @Test
+    public void rendersOnlyTheFirstMetricOfASeries() throws Exception {
+        registry.counter("jobs.active").inc(1);
+        registry.counter("jobs_active").inc(2);
+        registry.meter("a.requests").mark();
+        registry.meter("b.requests").mark(2);
+        final OpenMetricsServlet unlabelled = new OpenMetricsServlet(
+                registry,
+                ImmutableList.of(new MetricNameMapping("*.requests", "requests")),
+                Duration.seconds(10));
+
+        unlabelled.service(request, response);
+
+        assertThat(rendered())
+                .isEqualTo("# TYPE jobs_active gauge\n" +
+                           "jobs_active 1\n" +
+                           "# TYPE requests_total counter\n" +
+                           "requests_total 1\n");
+    }
+
+    @Test
+    public void cachesSnapshotsOfHistograms() throws Exception {
+        final Histogram histogram = registry.histogram("sizes");
+        histogram.update(1);
+        servlet.service(request, response);
+
+        histogram.update(1000);
+        when(clock.getTick()).thenReturn(TimeUnit.SECONDS.toNanos(5));
+        output.reset();
+        servlet.service(request, response);
+        assertThat(rendered())
+                .contains("sizes{quantile=\"0.999\"} 1.0\n")
+                .contains("sizes_count 2\n");
+
+        when(clock.getTick()).thenReturn(TimeUnit.SECONDS.toNanos(10));
+        output.reset();
+        servlet.service(request, response);
+        assertThat(rendered())
+                .contains("sizes{quantile=\"0.999\"} 1000.0\n");
+    }
+
+    @Test
+    public void samplesMetricsRegisteredSinceTheSnapshotsWereCached() throws Exception {
+        servlet.service(request, response);
+        final Timer timer = registry.timer("latency");
+        timer.update(1, TimeUnit.SECONDS);
+
+        output.reset();
+        servlet.service(request, response);
+
+        assertThat(rendered())
+                .contains("latency{quantile=\"0.5\"} 1.0\n");
+    }
+
+    private String rendered() {
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,77 @@
+package io.dropwizard.spdy;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
+import org.eclipse.jetty.spdy.api.Stream;
+import org.eclipse.jetty.spdy.server.http.PushStrategy;
+import org.eclipse.jetty.util.Fields;
+
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link PushStrategy} which pushes the resources announced by a response's
+ * {@code Link: <path>; rel=preload} headers. Links marked {@code nopush} and links to other
+ * origins are not pushed.
+ */
+public class DeclaredPushStrategy implements PushStrategy {
+    private static final String LINK = "link";
+    private static final Pattern LINK_VALUE = Pattern.compile("^\\s*<([^>]*)>(.*)$");
+    private static final Splitter LINKS = Splitter.on(',').omitEmptyStrings().trimResults();
+    private static final Splitter PARAMETERS = Splitter.on(';').omitEmptyStrings().trimResults();
+    private static final Splitter ATTRIBUTE = Splitter.on('=').limit(2).trimResults();
+    private static final Splitter RELATIONS = Splitter.on(CharMatcher.WHITESPACE).omitEmptyStrings();
+
+    private final int maxAssociatedResources;
+
+    public DeclaredPushStrategy(int maxAssociatedResources) {
+        this.maxAssociatedResources = maxAssociatedResources;
+    }
+
+    @Override
+    public Set<String> apply(Stream stream, Fields requestHeaders, Fields responseHeaders) {
+        final Fields.Field links = responseHeaders.get(LINK);
+        if (links == null) {
+            return ImmutableSet.of();
+        }
+        final ImmutableSet.Builder<String> resources = ImmutableSet.builder();
+        int count = 0;
+        for (String header : links.getValues()) {
+            for (String link : LINKS.split(header)) {
+                final Matcher matcher = LINK_VALUE.matcher(link);
+                if (matcher.matches() && isPushable(matcher.group(1).trim(), matcher.group(2))) {
+                    if (count++ >= maxAssociatedResources) {
+                        return resources.build();
+                    }
+                    resources.add(matcher.group(1).trim());
+                }
+            }
+        }
+        return resources.build();
+    }
+
+    private static boolean isPushable(String path, String parameters) {
+        if (!path.startsWith("/") || path.startsWith("//")) {
+            return false;
+        }
+        boolean preload = false;
+        for (String parameter : PARAMETERS.split(parameters)) {
+            final List<String> attribute = ATTRIBUTE.splitToList(parameter);
+            final String name = attribute.get(0);
+            if (name.equalsIgnoreCase("nopush")) {
+                return false;
+            }
+            if (name.equalsIgnoreCase("rel") && attribute.size() == 2) {
+                for (String relation : RELATIONS.split(CharMatcher.is('"').trimFrom(attribute.get(1)))) {
+                    if (relation.equalsIgnoreCase("preload")) {
+                        preload = true;
+                    }
+                }
+            }
+        }
+        return preload;
+    }
+}
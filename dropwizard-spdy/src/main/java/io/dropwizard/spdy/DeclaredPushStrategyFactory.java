@@ -0,0 +1,51 @@
+package io.dropwizard.spdy;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import org.eclipse.jetty.spdy.server.http.PushStrategy;
+
+import javax.validation.constraints.Min;
+
+/**
+ * A SPDY push strategy which pushes the resources a response declares with
+ * {@code Link: <path>; rel=preload} headers, e.g. those of resource methods annotated with
+ * {@code @PushResources} or of views returning
+ * {@code getPushResources()}.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxAssociatedResources}</td>
+ *         <td>32</td>
+ *         <td>The maximum number of resources to push with a single response.</td>
+ *     </tr>
+ * </table>
+ *
+ * @see PushStrategyFactory
+ * @see DeclaredPushStrategy
+ */
+@JsonTypeName("declared")
+public class DeclaredPushStrategyFactory implements PushStrategyFactory {
+    @Min(1)
+    private int maxAssociatedResources = 32;
+
+    @JsonProperty
+    public int getMaxAssociatedResources() {
+        return maxAssociatedResources;
+    }
+
+    @JsonProperty
+    public void setMaxAssociatedResources(int maxAssociatedResources) {
+        this.maxAssociatedResources = maxAssociatedResources;
+    }
+
+    @Override
+    public PushStrategy build() {
+        return new DeclaredPushStrategy(maxAssociatedResources);
+    }
+}
@@ -0,0 +1,58 @@
+package io.dropwizard.spdy;
+
+import io.dropwizard.jackson.DiscoverableSubtypeResolver;
+import org.eclipse.jetty.spdy.api.Stream;
+import org.eclipse.jetty.spdy.server.http.PushStrategy;
+import org.eclipse.jetty.util.Fields;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class DeclaredPushStrategyFactoryTest {
+    private final DeclaredPushStrategyFactory factory = new DeclaredPushStrategyFactory();
+    private final Stream stream = mock(Stream.class);
+    private final Fields requestHeaders = new Fields();
+    private final Fields responseHeaders = new Fields();
+
+    @Test
+    public void pushesResourcesAnnouncedForPreloading() throws Exception {
+        responseHeaders.add("link", "</assets/app.css>; rel=preload");
+        responseHeaders.add("link", "</assets/app.js>; rel=\"preload\", </assets/logo.png>; as=image; rel=preload");
+
+        assertThat(factory.build().apply(stream, requestHeaders, responseHeaders))
+                .containsOnly("/assets/app.css", "/assets/app.js", "/assets/logo.png");
+    }
+
+    @Test
+    public void doesNotPushOtherLinks() throws Exception {
+        responseHeaders.add("link", "</next>; rel=next, </assets/app.css>; rel=preload; nopush, " +
+                "<//cdn.example.com/app.js>; rel=preload, <http://example.com/app.js>; rel=preload");
+
+        assertThat(factory.build().apply(stream, requestHeaders, responseHeaders))
+                .isEmpty();
+    }
+
+    @Test
+    public void pushesNothingWithoutLinks() throws Exception {
+        assertThat(factory.build().apply(stream, requestHeaders, responseHeaders))
+                .isEmpty();
+    }
+
+    @Test
+    public void limitsTheNumberOfPushedResources() throws Exception {
+        factory.setMaxAssociatedResources(1);
+        responseHeaders.add("link", "</assets/app.css>; rel=preload, </assets/app.js>; rel=preload");
+
+        final PushStrategy strategy = factory.build();
+
+        assertThat(strategy.apply(stream, requestHeaders, responseHeaders))
+                .containsOnly("/assets/app.css");
+    }
+
+    @Test
+    public void isDiscoverable() throws Exception {
+        assertThat(new DiscoverableSubtypeResolver().getDiscoveredSubtypes())
+                .contains(DeclaredPushStrategyFactory.class);
+    }
+}
@@ -9,6 +9,7 @@ import com.google.common.collect.Lists;
 import io.dropwizard.Application;
 import io.dropwizard.Configuration;
 import io.dropwizard.cli.ServerCommand;
+import io.dropwizard.configuration.CachingConfigurationFactory;
 import io.dropwizard.configuration.ConfigurationFactory;
 import io.dropwizard.configuration.ConfigurationFactoryFactory;
 import io.dropwizard.lifecycle.Managed;
@@ -150,15 +151,15 @@ public class DropwizardTestSupport<C extends Configuration> {
                     }
                 }
             };
-            if (customPropertyPrefix.isPresent()) {
-                bootstrap.setConfigurationFactoryFactory(new ConfigurationFactoryFactory<C>() {
-                    @Override
-                    public ConfigurationFactory<C> create(Class<C> klass, Validator validator,
-                                                          ObjectMapper objectMapper, String propertyPrefix) {
-                        return new ConfigurationFactory<>(klass, validator, objectMapper, customPropertyPrefix.get());
-                    }
-                });
-            }
+            // test suites start applications from the same files over and over, so parse each one once
+            bootstrap.setConfigurationFactoryFactory(new ConfigurationFactoryFactory<C>() {
+                @Override
+                public ConfigurationFactory<C> create(Class<C> klass, Validator validator,
+                                                      ObjectMapper objectMapper, String propertyPrefix) {
+                    return new CachingConfigurationFactory<>(klass, validator, objectMapper,
+                                                             customPropertyPrefix.or(propertyPrefix));
+                }
+            });
 
             application.initialize(bootstrap);
             final ServerCommand<C> command = new ServerCommand<>(application);
@@ -0,0 +1,56 @@
+package io.dropwizard.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Set;
+
+/**
+ * An HTTP content coding, such as {@code gzip} or {@code deflate}, which can decode and possibly
+ * encode entities.
+ * <p/>
+ * Codecs beyond the built-in ones are found with a {@link java.util.ServiceLoader}, by listing
+ * them in {@code META-INF/services/io.dropwizard.util.ContentCodec}.
+ *
+ * @see ContentCodecs
+ */
+public interface ContentCodec {
+    /**
+     * Returns the name of the content coding, as used in the {@code Content-Encoding} and
+     * {@code Accept-Encoding} headers.
+     */
+    String getName();
+
+    /**
+     * Returns other names under which the content coding is known, e.g. {@code x-gzip}.
+     */
+    Set<String> getAliases();
+
+    /**
+     * Returns whether the codec can encode entities, or only decode them.
+     */
+    boolean canEncode();
+
+    /**
+     * Returns a stream which encodes everything written to it onto the given stream.
+     *
+     * @param output     the stream for the encoded entity
+     * @param level      the compression level, or {@link ContentCodecs#DEFAULT_LEVEL} for the
+     *                   codec's default
+     * @param bufferSize the size of the codec's buffer
+     * @return an encoding stream, which must be closed to finish the entity
+     * @throws IOException                   if the stream can't be created
+     * @throws UnsupportedOperationException if the codec can't encode entities
+     */
+    OutputStream encode(OutputStream output, int level, int bufferSize) throws IOException;
+
+    /**
+     * Returns a stream which decodes the given stream.
+     *
+     * @param input      the encoded entity
+     * @param bufferSize the size of the codec's buffer
+     * @return a decoding stream
+     * @throws IOException if the stream can't be created, e.g. because the entity is malformed
+     */
+    InputStream decode(InputStream input, int bufferSize) throws IOException;
+}
@@ -0,0 +1,225 @@
+package io.dropwizard.util;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The registry of {@link ContentCodec}s: the built-in {@code gzip} and {@code deflate} codecs, and
+ * any codec registered with a {@link ServiceLoader}.
+ */
+public class ContentCodecs {
+    /**
+     * The compression level which selects a codec's default level.
+     */
+    public static final int DEFAULT_LEVEL = -1;
+
+    /**
+     * The {@code gzip} content coding, also known as {@code x-gzip}.
+     */
+    public static final ContentCodec GZIP = new GzipCodec();
+
+    /**
+     * The {@code deflate} content coding. Both zlib-wrapped and raw deflate streams are decoded,
+     * since many clients send the latter.
+     */
+    public static final ContentCodec DEFLATE = new DeflateCodec();
+
+    // a deflater holds on to a few hundred KiB of native memory, so only keep a few per processor
+    private static final ZlibPool POOL = new ZlibPool(4 * Runtime.getRuntime().availableProcessors());
+
+    private static final Map<String, ContentCodec> CODECS = load();
+
+    private ContentCodecs() { /* singleton */ }
+
+    /**
+     * Returns the codec for the given content coding.
+     *
+     * @param encoding the value of a {@code Content-Encoding} header
+     * @return the codec for {@code encoding}, if there is one
+     */
+    public static Optional<ContentCodec> forEncoding(@Nullable String encoding) {
+        if (encoding == null) {
+            return Optional.absent();
+        }
+        return Optional.fromNullable(CODECS.get(encoding.trim().toLowerCase(Locale.ENGLISH)));
+    }
+
+    /**
+     * Returns every registered codec.
+     */
+    public static Collection<ContentCodec> getCodecs() {
+        return ImmutableSet.copyOf(CODECS.values());
+    }
+
+    /**
+     * Returns the pool of deflaters and inflaters used by the built-in codecs.
+     */
+    public static ZlibPool getPool() {
+        return POOL;
+    }
+
+    /**
+     * Returns an {@code Accept-Encoding} header value which lists every registered codec.
+     */
+    public static String getAcceptEncoding() {
+        final Set<String> names = new LinkedHashSet<>();
+        for (ContentCodec codec : CODECS.values()) {
+            names.add(codec.getName());
+        }
+        return Joiner.on(", ").join(names);
+    }
+
+    private static Map<String, ContentCodec> load() {
+        final Map<String, ContentCodec> codecs = new LinkedHashMap<>();
+        register(codecs, GZIP);
+        register(codecs, DEFLATE);
+        for (ContentCodec codec : ServiceLoader.load(ContentCodec.class)) {
+            register(codecs, codec);
+        }
+        return ImmutableMap.copyOf(codecs);
+    }
+
+    private static void register(Map<String, ContentCodec> codecs, ContentCodec codec) {
+        // the first codec registered for a name wins, so the built-in codecs can't be replaced
+        for (String name : ImmutableSet.<String>builder().add(codec.getName()).addAll(codec.getAliases()).build()) {
+            final String key = name.toLowerCase(Locale.ENGLISH);
+            if (!codecs.containsKey(key)) {
+                codecs.put(key, codec);
+            }
+        }
+    }
+
+    private static class GzipCodec implements ContentCodec {
+        @Override
+        public String getName() {
+            return "gzip";
+        }
+
+        @Override
+        public Set<String> getAliases() {
+            return ImmutableSet.of("x-gzip");
+        }
+
+        @Override
+        public boolean canEncode() {
+            return true;
+        }
+
+        @Override
+        public OutputStream encode(OutputStream output, int level, int bufferSize) throws IOException {
+            return new PooledGzipOutputStream(output, POOL, level, bufferSize);
+        }
+
+        @Override
+        public InputStream decode(InputStream input, int bufferSize) throws IOException {
+            return new PooledGzipInputStream(input, POOL, bufferSize);
+        }
+    }
+
+    private static class DeflateCodec implements ContentCodec {
+        @Override
+        public String getName() {
+            return "deflate";
+        }
+
+        @Override
+        public Set<String> getAliases() {
+            return ImmutableSet.of();
+        }
+
+        @Override
+        public boolean canEncode() {
+            return true;
+        }
+
+        @Override
+        public OutputStream encode(OutputStream output, int level, int bufferSize) throws IOException {
+            final Deflater deflater = POOL.acquireDeflater(level, false);
+            return new DeflaterOutputStream(output, deflater, bufferSize) {
+                private boolean closed;
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    // the deflater may already be in use by another stream
+                    if (closed) {
+                        throw new IOException("Stream closed");
+                    }
+                    super.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    if (!closed) {
+                        try {
+                            super.close();
+                        } finally {
+                            closed = true;
+                            POOL.release(deflater, false);
+                        }
+                    }
+                }
+            };
+        }
+
+        @Override
+        public InputStream decode(InputStream input, int bufferSize) throws IOException {
+            final PushbackInputStream pushback = new PushbackInputStream(input, 2);
+            final boolean nowrap = !isZlibWrapped(pushback);
+            final Inflater inflater = POOL.acquireInflater(nowrap);
+            return new InflaterInputStream(pushback, inflater, bufferSize) {
+                private boolean closed;
+
+                @Override
+                public void close() throws IOException {
+                    if (!closed) {
+                        try {
+                            super.close();
+                        } finally {
+                            closed = true;
+                            POOL.release(inflater, nowrap);
+                        }
+                    }
+                }
+            };
+        }
+
+        private static boolean isZlibWrapped(PushbackInputStream input) throws IOException {
+            final byte[] header = new byte[2];
+            int read = 0;
+            while (read < header.length) {
+                final int n = input.read(header, read, header.length - read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+            input.unread(header, 0, read);
+            if (read < header.length) {
+                return true;
+            }
+            // a zlib header declares the deflate method and is a multiple of 31 (RFC 1950)
+            final int cmf = header[0] & 0xFF;
+            final int flg = header[1] & 0xFF;
+            return (cmf & 0x0F) == Deflater.DEFLATED && ((cmf << 8) | flg) % 31 == 0;
+        }
+    }
+}
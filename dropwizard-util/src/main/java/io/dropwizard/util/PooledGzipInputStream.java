@@ -0,0 +1,229 @@
+package io.dropwizard.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * An input stream which decodes gzip data, as specified by
+ * <a href="https://tools.ietf.org/html/rfc1952">RFC 1952</a>, with an inflater borrowed from a
+ * {@link ZlibPool} and returned to it when the stream is closed.
+ * <p/>
+ * Like {@link java.util.zip.GZIPInputStream}, it decodes concatenated gzip members as one stream.
+ */
+class PooledGzipInputStream extends InputStream {
+    private static final int ID1 = 0x1f;
+    private static final int ID2 = 0x8b;
+    private static final int CM_DEFLATE = 8;
+
+    // the flags of a member header
+    private static final int FHCRC = 0x02;
+    private static final int FEXTRA = 0x04;
+    private static final int FNAME = 0x08;
+    private static final int FCOMMENT = 0x10;
+    private static final int RESERVED = 0xe0;
+
+    // MTIME, XFL and OS
+    private static final int FIXED_FIELDS = 6;
+
+    private final InputStream in;
+    private final ZlibPool pool;
+    private final Inflater inflater;
+    private final byte[] buffer;
+    private final CRC32 headerCrc = new CRC32();
+    private final CRC32 dataCrc = new CRC32();
+    private final byte[] single = new byte[1];
+
+    // the buffered input which the inflater hasn't been given yet
+    private int position;
+    private int limit;
+    private boolean finished;
+    private boolean closed;
+
+    PooledGzipInputStream(InputStream input, ZlibPool pool, int bufferSize) throws IOException {
+        this.in = input;
+        this.pool = pool;
+        this.inflater = pool.acquireInflater(true);
+        this.buffer = new byte[bufferSize];
+        try {
+            readHeader();
+        } catch (IOException e) {
+            closed = true;
+            pool.release(inflater, true);
+            throw e;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        while (!finished) {
+            final int n = inflate(b, off, len);
+            if (n > 0) {
+                dataCrc.update(b, off, n);
+                return n;
+            }
+            if (inflater.finished()) {
+                // the inflater may have been given part of the trailer, or of the next member
+                position = limit - inflater.getRemaining();
+                readTrailer();
+                finished = !startNextMember();
+            } else if (inflater.needsInput()) {
+                if (!fill()) {
+                    throw new EOFException("Unexpected end of gzip stream");
+                }
+                inflater.setInput(buffer, position, limit - position);
+                position = limit;
+            } else {
+                // raw deflate data never needs a dictionary
+                throw new ZipException("Corrupt gzip data");
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        return finished ? 0 : 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            finished = true;
+            try {
+                in.close();
+            } finally {
+                pool.release(inflater, true);
+            }
+        }
+    }
+
+    private int inflate(byte[] b, int off, int len) throws ZipException {
+        try {
+            return inflater.inflate(b, off, len);
+        } catch (DataFormatException e) {
+            throw new ZipException(e.getMessage() == null ? "Corrupt gzip data" : e.getMessage());
+        }
+    }
+
+    private void readHeader() throws IOException {
+        headerCrc.reset();
+        if (readHeaderByte() != ID1 || readHeaderByte() != ID2) {
+            throw new ZipException("Not in GZIP format");
+        }
+        if (readHeaderByte() != CM_DEFLATE) {
+            throw new ZipException("Unsupported compression method");
+        }
+        final int flags = readHeaderByte();
+        if ((flags & RESERVED) != 0) {
+            throw new ZipException("Reserved GZIP flags are set");
+        }
+        skipHeaderBytes(FIXED_FIELDS);
+        if ((flags & FEXTRA) != 0) {
+            final int extraLength = readHeaderByte() | (readHeaderByte() << 8);
+            skipHeaderBytes(extraLength);
+        }
+        if ((flags & FNAME) != 0) {
+            skipHeaderString();
+        }
+        if ((flags & FCOMMENT) != 0) {
+            skipHeaderString();
+        }
+        if ((flags & FHCRC) != 0) {
+            // the two least significant bytes of the CRC-32 of the header so far
+            final int expected = (int) (headerCrc.getValue() & 0xffff);
+            if ((readByte() | (readByte() << 8)) != expected) {
+                throw new ZipException("Corrupt GZIP header");
+            }
+        }
+        dataCrc.reset();
+    }
+
+    private void readTrailer() throws IOException {
+        final long crc32 = readUnsignedInt();
+        final long inputSize = readUnsignedInt();
+        // ISIZE is the size of the uncompressed data modulo 2^32
+        if (crc32 != dataCrc.getValue() || inputSize != (inflater.getBytesWritten() & 0xffffffffL)) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+    }
+
+    private boolean startNextMember() throws IOException {
+        if (!fill()) {
+            return false;
+        }
+        inflater.reset();
+        readHeader();
+        return true;
+    }
+
+    private long readUnsignedInt() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            value |= (long) readByte() << shift;
+        }
+        return value;
+    }
+
+    private void skipHeaderString() throws IOException {
+        while (readHeaderByte() != 0) {
+            // skip the zero-terminated ISO 8859-1 string
+        }
+    }
+
+    private void skipHeaderBytes(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            readHeaderByte();
+        }
+    }
+
+    private int readHeaderByte() throws IOException {
+        final int b = readByte();
+        headerCrc.update(b);
+        return b;
+    }
+
+    private int readByte() throws IOException {
+        if (!fill()) {
+            throw new EOFException("Unexpected end of gzip stream");
+        }
+        return buffer[position++] & 0xff;
+    }
+
+    // makes sure there's buffered input, returning false at the end of the underlying stream
+    private boolean fill() throws IOException {
+        while (position == limit) {
+            final int n = in.read(buffer, 0, buffer.length);
+            if (n == -1) {
+                return false;
+            }
+            position = 0;
+            limit = n;
+        }
+        return true;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.dropwizard.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * A {@link java.util.zip.GZIPOutputStream} whose deflater is borrowed from a {@link ZlibPool} and
+ * returned to it when the stream is closed.
+ */
+class PooledGzipOutputStream extends DeflaterOutputStream {
+    private static final byte[] HEADER = {
+            (byte) 0x1f, (byte) 0x8b, // magic number
+            8,                        // compression method
+            0,                        // flags
+            0, 0, 0, 0,               // modification time
+            0,                        // extra flags
+            (byte) 0xff               // operating system: unknown
+    };
+
+    private final ZlibPool pool;
+    private final CRC32 crc = new CRC32();
+    private boolean closed;
+
+    PooledGzipOutputStream(OutputStream output, ZlibPool pool, int level, int bufferSize) throws IOException {
+        super(output, pool.acquireDeflater(level, true), bufferSize);
+        this.pool = pool;
+        try {
+            output.write(HEADER);
+        } catch (IOException e) {
+            pool.release(def, true);
+            closed = true;
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        super.write(b, off, len);
+        crc.update(b, off, len);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        ensureOpen();
+        if (!def.finished()) {
+            super.finish();
+            final byte[] trailer = new byte[8];
+            writeInt((int) crc.getValue(), trailer, 0);
+            writeInt(def.getTotalIn(), trailer, 4);
+            out.write(trailer);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            try {
+                super.close();
+            } finally {
+                closed = true;
+                pool.release(def, true);
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        // the deflater may already be in use by another stream
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private static void writeInt(int i, byte[] buf, int offset) {
+        buf[offset] = (byte) (i & 0xff);
+        buf[offset + 1] = (byte) ((i >> 8) & 0xff);
+        buf[offset + 2] = (byte) ((i >> 16) & 0xff);
+        buf[offset + 3] = (byte) ((i >> 24) & 0xff);
+    }
+}
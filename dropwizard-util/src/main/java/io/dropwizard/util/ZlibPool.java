@@ -0,0 +1,189 @@
+package io.dropwizard.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A bounded pool of {@link Deflater}s and {@link Inflater}s, which are reset and reused instead of
+ * allocating (and eventually finalizing) a native zlib stream per entity.
+ * <p/>
+ * Instances which don't fit into the pool when they are released are ended right away.
+ */
+public class ZlibPool {
+    private final Pool<Deflater> deflaters;
+    private final Pool<Deflater> nowrapDeflaters;
+    private final Pool<Inflater> inflaters;
+    private final Pool<Inflater> nowrapInflaters;
+
+    /**
+     * @param capacity the maximum number of idle instances of each kind
+     */
+    public ZlibPool(int capacity) {
+        this.deflaters = new DeflaterPool(capacity, false);
+        this.nowrapDeflaters = new DeflaterPool(capacity, true);
+        this.inflaters = new InflaterPool(capacity, false);
+        this.nowrapInflaters = new InflaterPool(capacity, true);
+    }
+
+    /**
+     * Returns a deflater from the pool, or a new one if the pool is empty.
+     *
+     * @param level  the compression level
+     * @param nowrap whether the deflater writes raw deflate data, without a zlib header and checksum
+     * @return a deflater, which must be {@link #release(Deflater, boolean) released} once done with
+     */
+    public Deflater acquireDeflater(int level, boolean nowrap) {
+        final Deflater deflater = deflaters(nowrap).acquire();
+        deflater.setLevel(level);
+        return deflater;
+    }
+
+    /**
+     * Resets the given deflater and returns it to the pool. It must not be used afterwards.
+     */
+    public void release(Deflater deflater, boolean nowrap) {
+        deflaters(nowrap).release(deflater);
+    }
+
+    /**
+     * Returns an inflater from the pool, or a new one if the pool is empty.
+     *
+     * @param nowrap whether the inflater reads raw deflate data, without a zlib header and checksum
+     * @return an inflater, which must be {@link #release(Inflater, boolean) released} once done with
+     */
+    public Inflater acquireInflater(boolean nowrap) {
+        return inflaters(nowrap).acquire();
+    }
+
+    /**
+     * Resets the given inflater and returns it to the pool. It must not be used afterwards.
+     */
+    public void release(Inflater inflater, boolean nowrap) {
+        inflaters(nowrap).release(inflater);
+    }
+
+    /**
+     * Returns the number of idle deflaters in the pool.
+     */
+    public int getPooledDeflaters() {
+        return deflaters.pooled.get() + nowrapDeflaters.pooled.get();
+    }
+
+    /**
+     * Returns the number of deflaters which were allocated because the pool was empty.
+     */
+    public long getDeflaterMisses() {
+        return deflaters.misses.get() + nowrapDeflaters.misses.get();
+    }
+
+    /**
+     * Returns the number of idle inflaters in the pool.
+     */
+    public int getPooledInflaters() {
+        return inflaters.pooled.get() + nowrapInflaters.pooled.get();
+    }
+
+    /**
+     * Returns the number of inflaters which were allocated because the pool was empty.
+     */
+    public long getInflaterMisses() {
+        return inflaters.misses.get() + nowrapInflaters.misses.get();
+    }
+
+    private Pool<Deflater> deflaters(boolean nowrap) {
+        return nowrap ? nowrapDeflaters : deflaters;
+    }
+
+    private Pool<Inflater> inflaters(boolean nowrap) {
+        return nowrap ? nowrapInflaters : inflaters;
+    }
+
+    private abstract static class Pool<T> {
+        private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pooled = new AtomicInteger();
+        private final AtomicLong misses = new AtomicLong();
+        private final int capacity;
+
+        private Pool(int capacity) {
+            this.capacity = capacity;
+        }
+
+        protected abstract T create();
+
+        protected abstract void reset(T instance);
+
+        protected abstract void end(T instance);
+
+        T acquire() {
+            final T instance = idle.poll();
+            if (instance == null) {
+                misses.incrementAndGet();
+                return create();
+            }
+            pooled.decrementAndGet();
+            return instance;
+        }
+
+        void release(T instance) {
+            if (pooled.incrementAndGet() <= capacity) {
+                reset(instance);
+                idle.offer(instance);
+            } else {
+                pooled.decrementAndGet();
+                end(instance);
+            }
+        }
+    }
+
+    private static class DeflaterPool extends Pool<Deflater> {
+        private final boolean nowrap;
+
+        private DeflaterPool(int capacity, boolean nowrap) {
+            super(capacity);
+            this.nowrap = nowrap;
+        }
+
+        @Override
+        protected Deflater create() {
+            return new Deflater(Deflater.DEFAULT_COMPRESSION, nowrap);
+        }
+
+        @Override
+        protected void reset(Deflater deflater) {
+            deflater.reset();
+        }
+
+        @Override
+        protected void end(Deflater deflater) {
+            deflater.end();
+        }
+    }
+
+    private static class InflaterPool extends Pool<Inflater> {
+        private final boolean nowrap;
+
+        private InflaterPool(int capacity, boolean nowrap) {
+            super(capacity);
+            this.nowrap = nowrap;
+        }
+
+        @Override
+        protected Inflater create() {
+            return new Inflater(nowrap);
+        }
+
+        @Override
+        protected void reset(Inflater inflater) {
+            inflater.reset();
+        }
+
+        @Override
+        protected void end(Inflater inflater) {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package io.dropwizard.util;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class ContentCodecsTest {
+    private static final byte[] CONTENT = Strings.repeat("Hello, world! ", 1000).getBytes(Charsets.UTF_8);
+
+    @Test
+    public void findsCodecsByNameAndAlias() throws Exception {
+        assertThat(ContentCodecs.forEncoding("gzip").get()).isSameAs(ContentCodecs.GZIP);
+        assertThat(ContentCodecs.forEncoding("x-gzip").get()).isSameAs(ContentCodecs.GZIP);
+        assertThat(ContentCodecs.forEncoding(" Deflate ").get()).isSameAs(ContentCodecs.DEFLATE);
+    }
+
+    @Test
+    public void hasNoCodecForUnknownEncodings() throws Exception {
+        assertThat(ContentCodecs.forEncoding("identity").isPresent()).isFalse();
+        assertThat(ContentCodecs.forEncoding(null).isPresent()).isFalse();
+    }
+
+    @Test
+    public void acceptsEveryRegisteredEncoding() throws Exception {
+        assertThat(ContentCodecs.getAcceptEncoding()).isEqualTo("gzip, deflate");
+    }
+
+    @Test
+    public void roundTripsGzip() throws Exception {
+        assertThat(decode(ContentCodecs.GZIP, encode(ContentCodecs.GZIP, ContentCodecs.DEFAULT_LEVEL)))
+                .isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void roundTripsDeflate() throws Exception {
+        assertThat(decode(ContentCodecs.DEFLATE, encode(ContentCodecs.DEFLATE, ContentCodecs.DEFAULT_LEVEL)))
+                .isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void usesTheCompressionLevel() throws Exception {
+        assertThat(encode(ContentCodecs.GZIP, Deflater.NO_COMPRESSION).length)
+                .isGreaterThan(CONTENT.length);
+        assertThat(encode(ContentCodecs.GZIP, Deflater.BEST_SPEED).length)
+                .isLessThan(CONTENT.length / 10);
+    }
+
+    @Test
+    public void decodesRawDeflateStreams() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (OutputStream deflater = new DeflaterOutputStream(output, new Deflater(Deflater.DEFAULT_COMPRESSION, true))) {
+            deflater.write(CONTENT);
+        }
+
+        assertThat(decode(ContentCodecs.DEFLATE, output.toByteArray()))
+                .isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void writesStandardGzipStreams() throws Exception {
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(encode(ContentCodecs.GZIP, 1)))) {
+            assertThat(ByteStreams.toByteArray(input)).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    public void readsGzipStreamsWithOptionalHeaderFields() throws Exception {
+        final byte[] member = gzip(CONTENT);
+        // set FNAME and insert a file name after the fixed 10 byte header
+        final ByteArrayOutputStream named = new ByteArrayOutputStream();
+        named.write(member, 0, 3);
+        named.write(member[3] | 8);
+        named.write(member, 4, 6);
+        named.write("hello.txt\0".getBytes(Charsets.US_ASCII));
+        named.write(member, 10, member.length - 10);
+
+        assertThat(decode(ContentCodecs.GZIP, named.toByteArray())).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void checksGzipHeaderCrcs() throws Exception {
+        final byte[] member = gzip(CONTENT);
+        // set FHCRC, FEXTRA and FCOMMENT, and insert the fields after the fixed 10 byte header
+        final ByteArrayOutputStream header = new ByteArrayOutputStream();
+        header.write(member, 0, 3);
+        header.write(member[3] | 0x02 | 0x04 | 0x10);
+        header.write(member, 4, 6);
+        header.write(new byte[]{3, 0, 'a', 'b', 'c'});
+        header.write("a comment\0".getBytes(Charsets.US_ASCII));
+        final CRC32 crc = new CRC32();
+        crc.update(header.toByteArray());
+
+        final ByteArrayOutputStream checked = new ByteArrayOutputStream();
+        checked.write(header.toByteArray());
+        checked.write((int) crc.getValue());
+        checked.write((int) crc.getValue() >> 8);
+        checked.write(member, 10, member.length - 10);
+        assertThat(decode(ContentCodecs.GZIP, checked.toByteArray())).isEqualTo(CONTENT);
+
+        final ByteArrayOutputStream corrupt = new ByteArrayOutputStream();
+        corrupt.write(header.toByteArray());
+        corrupt.write((int) crc.getValue() + 1);
+        corrupt.write((int) crc.getValue() >> 8);
+        corrupt.write(member, 10, member.length - 10);
+        try {
+            decode(ContentCodecs.GZIP, corrupt.toByteArray());
+            failBecauseExceptionWasNotThrown(ZipException.class);
+        } catch (ZipException e) {
+            assertThat(e.getMessage()).isEqualTo("Corrupt GZIP header");
+        }
+    }
+
+    @Test
+    public void readsConcatenatedGzipMembers() throws Exception {
+        final ByteArrayOutputStream concatenated = new ByteArrayOutputStream();
+        concatenated.write(gzip(CONTENT));
+        concatenated.write(gzip("Goodbye!".getBytes(Charsets.UTF_8)));
+
+        assertThat(new String(decode(ContentCodecs.GZIP, concatenated.toByteArray()), Charsets.UTF_8))
+                .isEqualTo(new String(CONTENT, Charsets.UTF_8) + "Goodbye!");
+    }
+
+    @Test
+    public void rejectsCorruptGzipTrailers() throws Exception {
+        final byte[] member = gzip(CONTENT);
+        member[member.length - 5]++;
+
+        try {
+            decode(ContentCodecs.GZIP, member);
+            failBecauseExceptionWasNotThrown(ZipException.class);
+        } catch (ZipException e) {
+            assertThat(e.getMessage()).isEqualTo("Corrupt GZIP trailer");
+        }
+    }
+
+    @Test
+    public void rejectsStreamsWhichArentGzipped() throws Exception {
+        try {
+            decode(ContentCodecs.GZIP, CONTENT);
+            failBecauseExceptionWasNotThrown(ZipException.class);
+        } catch (ZipException e) {
+            assertThat(e.getMessage()).isEqualTo("Not in GZIP format");
+        }
+    }
+
+    @Test
+    public void cannotBeWrittenToOnceClosed() throws Exception {
+        final OutputStream output = ContentCodecs.GZIP.encode(new ByteArrayOutputStream(), 1, 512);
+        output.close();
+
+        try {
+            output.write(CONTENT);
+            failBecauseExceptionWasNotThrown(IOException.class);
+        } catch (IOException e) {
+            assertThat(e.getMessage()).isEqualTo("Stream closed");
+        }
+    }
+
+    @Test
+    public void returnsInflatersToThePool() throws Exception {
+        final ZlibPool pool = ContentCodecs.getPool();
+        decode(ContentCodecs.GZIP, gzip(CONTENT));
+        final long misses = pool.getInflaterMisses();
+
+        decode(ContentCodecs.GZIP, gzip(CONTENT));
+
+        assertThat(pool.getInflaterMisses()).isEqualTo(misses);
+    }
+
+    private static byte[] gzip(byte[] content) throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(content);
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] encode(ContentCodec codec, int level) throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (OutputStream encoder = codec.encode(output, level, 512)) {
+            encoder.write(CONTENT);
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] decode(ContentCodec codec, byte[] content) throws Exception {
+        try (InputStream decoder = codec.decode(new ByteArrayInputStream(content), 512)) {
+            return ByteStreams.toByteArray(decoder);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.dropwizard.util;
+
+import org.junit.Test;
+
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ZlibPoolTest {
+    private final ZlibPool pool = new ZlibPool(2);
+
+    @Test
+    public void reusesReleasedDeflaters() throws Exception {
+        final Deflater deflater = pool.acquireDeflater(Deflater.BEST_SPEED, true);
+        pool.release(deflater, true);
+
+        assertThat(pool.getPooledDeflaters()).isEqualTo(1);
+        assertThat(pool.acquireDeflater(Deflater.BEST_COMPRESSION, true)).isSameAs(deflater);
+        assertThat(pool.getPooledDeflaters()).isZero();
+        assertThat(pool.getDeflaterMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void keepsRawAndWrappedInstancesApart() throws Exception {
+        final Inflater inflater = pool.acquireInflater(true);
+        pool.release(inflater, true);
+
+        assertThat(pool.acquireInflater(false)).isNotSameAs(inflater);
+        assertThat(pool.getInflaterMisses()).isEqualTo(2);
+        assertThat(pool.getPooledInflaters()).isEqualTo(1);
+    }
+
+    @Test
+    public void resetsReleasedInstances() throws Exception {
+        final Inflater inflater = pool.acquireInflater(false);
+        inflater.setInput(new byte[]{1, 2, 3});
+        pool.release(inflater, false);
+
+        assertThat(pool.acquireInflater(false).getRemaining()).isZero();
+    }
+
+    @Test
+    public void isBounded() throws Exception {
+        final Deflater first = pool.acquireDeflater(Deflater.DEFAULT_COMPRESSION, false);
+        final Deflater second = pool.acquireDeflater(Deflater.DEFAULT_COMPRESSION, false);
+        final Deflater third = pool.acquireDeflater(Deflater.DEFAULT_COMPRESSION, false);
+        pool.release(first, false);
+        pool.release(second, false);
+        pool.release(third, false);
+
+        assertThat(pool.getPooledDeflaters()).isEqualTo(2);
+    }
+}
@@ -1,22 +1,27 @@
 package io.dropwizard.views.freemarker;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.base.Charsets;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Ints;
+import freemarker.cache.MruCacheStorage;
 import freemarker.template.Configuration;
 import freemarker.template.DefaultObjectWrapperBuilder;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
 import freemarker.template.Version;
+import io.dropwizard.views.CachingViewRenderer;
+import io.dropwizard.views.TemplateCacheConfiguration;
 import io.dropwizard.views.View;
 import io.dropwizard.views.ViewRenderer;
+import io.dropwizard.views.ViewWriter;
 
 import javax.ws.rs.WebApplicationException;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.nio.charset.Charset;
 import java.util.Locale;
 import java.util.Map;
@@ -24,20 +29,29 @@ import java.util.Map;
 /**
  * A {@link ViewRenderer} which renders Freemarker ({@code .ftl}) templates.
  */
-public class FreemarkerViewRenderer implements ViewRenderer {
+public class FreemarkerViewRenderer implements CachingViewRenderer {
 
     private static final Version FREEMARKER_VERSION = Configuration.getVersion();
     private final TemplateLoader loader;
-    
-    private static class TemplateLoader extends CacheLoader<Class<?>, Configuration> {
+
+    private static class TemplateLoader extends CacheLoader<ClassLoader, Configuration> {
         private Map<String, String> baseConfig = ImmutableMap.of();
+        private TemplateCacheConfiguration cacheConfig = new TemplateCacheConfiguration();
+        private MetricRegistry metricRegistry = new MetricRegistry();
+
         @Override
-        public Configuration load(Class<?> key) throws Exception {
+        public Configuration load(ClassLoader key) throws Exception {
             final Configuration configuration = new Configuration(FREEMARKER_VERSION);
             configuration.setObjectWrapper(new DefaultObjectWrapperBuilder(FREEMARKER_VERSION).build());
             configuration.loadBuiltInEncodingMap();
             configuration.setDefaultEncoding(Charsets.UTF_8.name());
-            configuration.setClassForTemplateLoading(key, "/");
+            configuration.setClassLoaderForTemplateLoading(key, "");
+            configuration.setCacheStorage(new InstrumentedCacheStorage(
+                    new MruCacheStorage(Ints.saturatedCast(cacheConfig.getMaximumSize()), 0),
+                    metricRegistry, FreemarkerViewRenderer.class));
+            configuration.setTemplateUpdateDelay(cacheConfig.isReload() ?
+                    Math.max(1, Ints.saturatedCast(cacheConfig.getCheckInterval().toSeconds())) :
+                    Integer.MAX_VALUE);
             for (Map.Entry<String, String> entry : baseConfig.entrySet()) {
                 configuration.setSetting(entry.getKey(), entry.getValue());
             }
@@ -47,13 +61,19 @@ public class FreemarkerViewRenderer implements ViewRenderer {
         void setBaseConfig(Map<String, String> baseConfig) {
             this.baseConfig = baseConfig;
         }
+
+        void setCacheConfig(TemplateCacheConfiguration cacheConfig, MetricRegistry metricRegistry) {
+            this.cacheConfig = cacheConfig;
+            this.metricRegistry = metricRegistry;
+        }
     }
 
-    private final LoadingCache<Class<?>, Configuration> configurationCache;
+    private final LoadingCache<ClassLoader, Configuration> configurationCache;
 
     public FreemarkerViewRenderer() {
         this.loader = new TemplateLoader();
         this.configurationCache = CacheBuilder.newBuilder()
+                                              .weakKeys()
                                               .concurrencyLevel(128)
                                               .build(loader);
     }
@@ -68,10 +88,12 @@ public class FreemarkerViewRenderer implements ViewRenderer {
                        Locale locale,
                        OutputStream output) throws IOException {
         try {
-            final Configuration configuration = configurationCache.getUnchecked(view.getClass());
+            final Configuration configuration = configurationCache.getUnchecked(view.getClass().getClassLoader());
             final Charset charset = view.getCharset().or(Charset.forName(configuration.getEncoding(locale)));
             final Template template = configuration.getTemplate(view.getTemplateName(), locale, charset.name());
-            template.process(view, new OutputStreamWriter(output, template.getEncoding()));
+            try (ViewWriter writer = ViewWriter.open(output, Charset.forName(template.getEncoding()))) {
+                template.process(view, writer);
+            }
         } catch (TemplateException e) {
             throw new WebApplicationException(e);
         }
@@ -79,6 +101,26 @@ public class FreemarkerViewRenderer implements ViewRenderer {
 
     public void configure(Map<String, String> baseConfig) {
         this.loader.setBaseConfig(baseConfig);
+        configurationCache.invalidateAll();
+    }
+
+    @Override
+    public void configureCache(TemplateCacheConfiguration configuration, MetricRegistry metricRegistry) {
+        this.loader.setCacheConfig(configuration, metricRegistry);
+        configurationCache.invalidateAll();
+    }
+
+    /**
+     * Compiles the given template for the default locale, with the encoding {@link #render} would
+     * use for a view without a charset. Templates are cached by locale and encoding, so the compiled
+     * template is only used for requests in the default locale.
+     */
+    @Override
+    public void precompile(ClassLoader classLoader, String templateName) throws IOException {
+        final Configuration configuration = configurationCache.getUnchecked(classLoader);
+        final Locale locale = Locale.getDefault();
+        final Charset charset = Charset.forName(configuration.getEncoding(locale));
+        configuration.getTemplate(templateName, locale, charset.name());
     }
 
     @Override
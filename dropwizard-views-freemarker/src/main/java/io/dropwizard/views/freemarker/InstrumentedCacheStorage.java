@@ -0,0 +1,63 @@
+package io.dropwizard.views.freemarker;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import freemarker.cache.CacheStorage;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A {@link CacheStorage} decorator which records cache hits, misses and the time it takes FreeMarker
+ * to load and compile a missing template.
+ * <p/>
+ * FreeMarker looks a template up, loads and parses it on a miss, then stores it, all on the calling
+ * thread, so the compile time is the time between a miss and the following store.
+ */
+class InstrumentedCacheStorage implements CacheStorage {
+    private final CacheStorage underlying;
+    private final Meter hits;
+    private final Meter misses;
+    private final Timer compiles;
+    private final ThreadLocal<Timer.Context> compiling = new ThreadLocal<>();
+
+    InstrumentedCacheStorage(CacheStorage underlying, MetricRegistry metricRegistry, Class<?> klass) {
+        this.underlying = underlying;
+        this.hits = metricRegistry.meter(name(klass, "cache-hits"));
+        this.misses = metricRegistry.meter(name(klass, "cache-misses"));
+        this.compiles = metricRegistry.timer(name(klass, "compiles"));
+    }
+
+    @Override
+    public Object get(Object key) {
+        final Object value = underlying.get(key);
+        if (value == null) {
+            misses.mark();
+            compiling.set(compiles.time());
+        } else {
+            hits.mark();
+            compiling.remove();
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        final Timer.Context context = compiling.get();
+        if (context != null) {
+            context.stop();
+            compiling.remove();
+        }
+        underlying.put(key, value);
+    }
+
+    @Override
+    public void remove(Object key) {
+        underlying.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        underlying.clear();
+    }
+}
@@ -2,7 +2,9 @@ package io.dropwizard.views.freemarker;
 
 import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import io.dropwizard.logging.BootstrapLogging;
+import io.dropwizard.views.TemplateCacheConfiguration;
 import io.dropwizard.views.ViewMessageBodyWriter;
 import io.dropwizard.views.ViewRenderer;
 import org.glassfish.jersey.server.ResourceConfig;
@@ -15,7 +17,11 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Application;
 import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 
@@ -86,4 +92,58 @@ public class FreemarkerViewRendererTest extends JerseyTest {
                 .isEqualTo("<html><head><title>Missing Template</title></head><body><h1>Missing Template</h1><p>Template \"/woo-oo-ahh.txt.ftl\" not found.</p></body></html>");
         }
     }
+
+    @Test
+    public void cachesCompiledTemplates() throws Exception {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final FreemarkerViewRenderer renderer = new FreemarkerViewRenderer();
+        renderer.configureCache(new TemplateCacheConfiguration(), metricRegistry);
+
+        renderer.render(new AbsoluteView("one"), Locale.getDefault(), new ByteArrayOutputStream());
+        renderer.render(new AbsoluteView("two"), Locale.getDefault(), new ByteArrayOutputStream());
+
+        assertThat(metricRegistry.meter(name(FreemarkerViewRenderer.class, "cache-misses")).getCount())
+                .isEqualTo(1);
+        assertThat(metricRegistry.meter(name(FreemarkerViewRenderer.class, "cache-hits")).getCount())
+                .isEqualTo(1);
+        assertThat(metricRegistry.timer(name(FreemarkerViewRenderer.class, "compiles")).getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void precompilesTemplates() throws Exception {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final FreemarkerViewRenderer renderer = new FreemarkerViewRenderer();
+        renderer.configureCache(new TemplateCacheConfiguration(), metricRegistry);
+
+        renderer.precompile(getClass().getClassLoader(), "/example.ftl");
+        renderer.render(new AbsoluteView("one"), Locale.getDefault(), new ByteArrayOutputStream());
+
+        assertThat(metricRegistry.meter(name(FreemarkerViewRenderer.class, "cache-hits")).getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void precompilesTemplatesWithTheEncodingUsedToRenderThem() throws Exception {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final FreemarkerViewRenderer renderer = new FreemarkerViewRenderer();
+        renderer.configure(ImmutableMap.of("default_encoding", "utf-8"));
+        renderer.configureCache(new TemplateCacheConfiguration(), metricRegistry);
+
+        renderer.precompile(getClass().getClassLoader(), "/example.ftl");
+        renderer.render(new AbsoluteView("one"), Locale.getDefault(), new ByteArrayOutputStream());
+
+        assertThat(metricRegistry.meter(name(FreemarkerViewRenderer.class, "cache-hits")).getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void failsToPrecompileMissingTemplates() throws Exception {
+        final FreemarkerViewRenderer renderer = new FreemarkerViewRenderer();
+        try {
+            renderer.precompile(getClass().getClassLoader(), "/woo-oo-ahh.txt.ftl");
+            failBecauseExceptionWasNotThrown(IOException.class);
+        } catch (IOException ignored) {
+        }
+    }
 }
@@ -0,0 +1,124 @@
+package io.dropwizard.views.mustache;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+import com.github.mustachejava.MustacheException;
+import com.github.mustachejava.MustacheResolver;
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import io.dropwizard.views.ViewBundle;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Compiles every Mustache template below a resource directory at build time, so that broken
+ * templates fail the build, and lists them in the {@link ViewBundle#TEMPLATE_INDEX template index}
+ * so that {@link ViewBundle} compiles them all when the application starts.
+ * <p/>
+ * Run it in the {@code process-classes} phase, e.g. with the {@code exec-maven-plugin}:
+ * <pre>
+ * java io.dropwizard.views.mustache.MustacheTemplateCompiler src/main/resources target/classes
+ * </pre>
+ */
+public class MustacheTemplateCompiler {
+    private static final String SUFFIX = ".mustache";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: MustacheTemplateCompiler <template directory> <output directory>");
+            System.exit(1);
+        }
+        final MustacheTemplateCompiler compiler = new MustacheTemplateCompiler(Paths.get(args[0]));
+        if (!compiler.compileInto(Paths.get(args[1]), System.err)) {
+            System.exit(1);
+        }
+    }
+
+    private final Path root;
+
+    public MustacheTemplateCompiler(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Compiles all templates and, if they all compile, writes them to the template index in the
+     * given output directory, replacing any existing index.
+     *
+     * @param outputDirectory the directory in which the template index is written
+     * @param errors          the stream to which compilation errors are reported
+     * @return {@code true} if every template compiled
+     * @throws IOException if the templates cannot be read or the index cannot be written
+     */
+    public boolean compileInto(Path outputDirectory, PrintStream errors) throws IOException {
+        final List<String> templateNames = findTemplates();
+        boolean compiled = true;
+        for (String templateName : templateNames) {
+            try {
+                new DefaultMustacheFactory(new DirectoryResolver()).compile(templateName);
+            } catch (MustacheException e) {
+                errors.println("Unable to compile " + templateName + ": " + e.getMessage());
+                compiled = false;
+            }
+        }
+        if (compiled) {
+            writeIndex(outputDirectory.resolve(ViewBundle.TEMPLATE_INDEX), templateNames);
+        }
+        return compiled;
+    }
+
+    /**
+     * Returns the absolute names of all templates below the template directory.
+     */
+    public List<String> findTemplates() throws IOException {
+        final Set<String> templateNames = new TreeSet<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (file.getFileName().toString().endsWith(SUFFIX)) {
+                    templateNames.add(templateName(root.relativize(file)));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return ImmutableList.copyOf(templateNames);
+    }
+
+    private static String templateName(Path relativePath) {
+        final StringBuilder name = new StringBuilder();
+        for (Path element : relativePath) {
+            name.append('/').append(element.toString());
+        }
+        return name.toString();
+    }
+
+    // replaces any index left by a previous build, which may list templates deleted since
+    private static void writeIndex(Path index, List<String> templateNames) throws IOException {
+        Files.createDirectories(index.getParent());
+        Files.write(index, templateNames, Charsets.UTF_8);
+    }
+
+    private class DirectoryResolver implements MustacheResolver {
+        @Override
+        public Reader getReader(String resourceName) {
+            final Path template = root.resolve(PerClassLoaderMustacheResolver.resourceName(resourceName));
+            if (!Files.isRegularFile(template)) {
+                return null;
+            }
+            try {
+                return Files.newBufferedReader(template, Charsets.UTF_8);
+            } catch (IOException e) {
+                throw new MustacheException("Unable to read " + resourceName, e);
+            }
+        }
+    }
+}
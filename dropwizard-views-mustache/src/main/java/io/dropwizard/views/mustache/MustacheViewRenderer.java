@@ -1,41 +1,47 @@
 package io.dropwizard.views.mustache;
 
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
 import com.github.mustachejava.MustacheException;
-import com.github.mustachejava.MustacheFactory;
 import com.google.common.base.Charsets;
+import com.google.common.base.Objects;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.dropwizard.views.CachingViewRenderer;
+import io.dropwizard.views.TemplateCacheConfiguration;
 import io.dropwizard.views.View;
 import io.dropwizard.views.ViewRenderer;
+import io.dropwizard.views.ViewWriter;
 
-import javax.ws.rs.WebApplicationException;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
+import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
 
 /**
  * A {@link ViewRenderer} which renders Mustache ({@code .mustache}) templates.
  */
-public class MustacheViewRenderer implements ViewRenderer {
-    private final LoadingCache<Class<? extends View>, MustacheFactory> factories;
+public class MustacheViewRenderer implements CachingViewRenderer {
+    private volatile LoadingCache<TemplateKey, CompiledTemplate> templates;
+    private volatile Meter hits;
+    private volatile Meter misses;
 
     public MustacheViewRenderer() {
-        this.factories = CacheBuilder.newBuilder()
-                                     .build(new CacheLoader<Class<? extends View>, MustacheFactory>() {
-                                         @Override
-                                         public MustacheFactory load(Class<? extends View> key) throws Exception {
-                                             return new DefaultMustacheFactory(new PerClassMustacheResolver(key));
-                                         }
-                                     });
+        configureCache(new TemplateCacheConfiguration(), new MetricRegistry());
     }
 
     @Override
@@ -46,10 +52,9 @@ public class MustacheViewRenderer implements ViewRenderer {
     @Override
     public void render(View view, Locale locale, OutputStream output) throws IOException {
         try {
-            final Mustache template = factories.get(view.getClass())
-                                               .compile(view.getTemplateName());
+            final Mustache template = getTemplate(view.getClass().getClassLoader(), view.getTemplateName());
             final Charset charset = view.getCharset().or(Charsets.UTF_8);
-            try (OutputStreamWriter writer = new OutputStreamWriter(output, charset)) {
+            try (ViewWriter writer = ViewWriter.open(output, charset)) {
                 template.execute(writer, view);
             }
         } catch (ExecutionException | UncheckedExecutionException | MustacheException ignored) {
@@ -62,8 +67,122 @@ public class MustacheViewRenderer implements ViewRenderer {
 
     }
 
+    @Override
+    public void configureCache(TemplateCacheConfiguration configuration, MetricRegistry metricRegistry) {
+        final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                                                                 .maximumSize(configuration.getMaximumSize());
+        if (configuration.isReload()) {
+            builder.refreshAfterWrite(configuration.getCheckInterval().toMilliseconds(), TimeUnit.MILLISECONDS);
+        }
+        this.hits = metricRegistry.meter(name(MustacheViewRenderer.class, "cache-hits"));
+        this.misses = metricRegistry.meter(name(MustacheViewRenderer.class, "cache-misses"));
+        this.templates = builder.build(new TemplateCompiler(metricRegistry.timer(name(MustacheViewRenderer.class,
+                                                                                      "compiles"))));
+    }
+
+    @Override
+    public void precompile(ClassLoader classLoader, String templateName) throws IOException {
+        try {
+            getTemplate(classLoader, templateName);
+        } catch (ExecutionException | UncheckedExecutionException | MustacheException e) {
+            throw new IOException("Unable to compile template " + templateName, e);
+        }
+    }
+
     @Override
     public String getSuffix() {
         return ".mustache";
     }
+
+    private Mustache getTemplate(ClassLoader classLoader, String templateName) throws ExecutionException {
+        final TemplateKey key = new TemplateKey(classLoader, templateName);
+        final LoadingCache<TemplateKey, CompiledTemplate> cache = templates;
+        CompiledTemplate template = cache.getIfPresent(key);
+        if (template == null) {
+            misses.mark();
+            template = cache.get(key);
+        } else {
+            hits.mark();
+        }
+        return template.mustache;
+    }
+
+    private static class TemplateKey {
+        private final ClassLoader classLoader;
+        private final String templateName;
+
+        private TemplateKey(ClassLoader classLoader, String templateName) {
+            this.classLoader = classLoader;
+            this.templateName = templateName;
+        }
+
+        private URL getResource() {
+            return classLoader.getResource(PerClassLoaderMustacheResolver.resourceName(templateName));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final TemplateKey that = (TemplateKey) obj;
+            return classLoader == that.classLoader && templateName.equals(that.templateName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(System.identityHashCode(classLoader), templateName);
+        }
+    }
+
+    private static class CompiledTemplate {
+        private final Mustache mustache;
+        private final long lastModified;
+
+        private CompiledTemplate(Mustache mustache, long lastModified) {
+            this.mustache = mustache;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private static class TemplateCompiler extends CacheLoader<TemplateKey, CompiledTemplate> {
+        private final Timer compiles;
+
+        private TemplateCompiler(Timer compiles) {
+            this.compiles = compiles;
+        }
+
+        @Override
+        public CompiledTemplate load(TemplateKey key) throws Exception {
+            final long lastModified = lastModified(key);
+            final Timer.Context context = compiles.time();
+            try {
+                // A fresh factory per template keeps partials from being cached beyond the template's lifetime.
+                final DefaultMustacheFactory factory =
+                        new DefaultMustacheFactory(new PerClassLoaderMustacheResolver(key.classLoader));
+                return new CompiledTemplate(factory.compile(key.templateName), lastModified);
+            } finally {
+                context.stop();
+            }
+        }
+
+        @Override
+        public ListenableFuture<CompiledTemplate> reload(TemplateKey key, CompiledTemplate oldValue) throws Exception {
+            if (lastModified(key) == oldValue.lastModified) {
+                return Futures.immediateFuture(oldValue);
+            }
+            return Futures.immediateFuture(load(key));
+        }
+
+        private static long lastModified(TemplateKey key) throws IOException {
+            final URL resource = key.getResource();
+            if (resource == null) {
+                return 0;
+            }
+            return resource.openConnection().getLastModified();
+        }
+    }
 }
@@ -2,7 +2,6 @@ package io.dropwizard.views.mustache;
 
 import com.github.mustachejava.MustacheResolver;
 import com.google.common.base.Charsets;
-import io.dropwizard.views.View;
 
 import java.io.BufferedReader;
 import java.io.InputStream;
@@ -11,21 +10,25 @@ import java.io.Reader;
 
 /**
  * @{link MustacheResolver} implementation that resolves mustache
- * files from the classpath relatively from a provided class.
+ * files from the classpath of a provided class loader.
  */
-class PerClassMustacheResolver implements MustacheResolver {
-    private final Class<? extends View> klass;
+class PerClassLoaderMustacheResolver implements MustacheResolver {
+    private final ClassLoader classLoader;
 
-    PerClassMustacheResolver(Class<? extends View> klass) {
-        this.klass = klass;
+    PerClassLoaderMustacheResolver(ClassLoader classLoader) {
+        this.classLoader = classLoader;
     }
 
     @Override
     public Reader getReader(String resourceName) {
-        final InputStream is = klass.getResourceAsStream(resourceName);
+        final InputStream is = classLoader.getResourceAsStream(resourceName(resourceName));
         if (is == null) {
             return null;
         }
         return new BufferedReader(new InputStreamReader(is, Charsets.UTF_8));
     }
+
+    static String resourceName(String templateName) {
+        return templateName.startsWith("/") ? templateName.substring(1) : templateName;
+    }
 }
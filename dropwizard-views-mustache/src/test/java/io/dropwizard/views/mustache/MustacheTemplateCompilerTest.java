@@ -0,0 +1,88 @@
+package io.dropwizard.views.mustache;
+
+import com.google.common.base.Charsets;
+import io.dropwizard.views.ViewBundle;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MustacheTemplateCompilerTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+    private Path templates;
+    private Path output;
+
+    @Before
+    public void setUp() throws Exception {
+        templates = folder.newFolder("templates").toPath();
+        output = folder.newFolder("classes").toPath();
+        write("/example.mustache", "Woop woop. {{name}}");
+        write("/com/example/views/person.mustache", "Hello, {{> partial.mustache}}!");
+        write("/com/example/views/partial.mustache", "{{person.name}}");
+        write("/com/example/views/person.ftl", "not a mustache template");
+    }
+
+    @Test
+    public void findsAllTemplates() throws Exception {
+        assertThat(new MustacheTemplateCompiler(templates).findTemplates())
+                .containsExactly("/com/example/views/partial.mustache",
+                                 "/com/example/views/person.mustache",
+                                 "/example.mustache");
+    }
+
+    @Test
+    public void writesTheTemplateIndex() throws Exception {
+        assertThat(new MustacheTemplateCompiler(templates).compileInto(output, new PrintStream(errors)))
+                .isTrue();
+
+        assertThat(Files.readAllLines(output.resolve(ViewBundle.TEMPLATE_INDEX), Charsets.UTF_8))
+                .containsExactly("/com/example/views/partial.mustache",
+                                 "/com/example/views/person.mustache",
+                                 "/example.mustache");
+    }
+
+    @Test
+    public void dropsDeletedTemplatesFromTheIndex() throws Exception {
+        final MustacheTemplateCompiler compiler = new MustacheTemplateCompiler(templates);
+        assertThat(compiler.compileInto(output, new PrintStream(errors)))
+                .isTrue();
+
+        Files.delete(templates.resolve("example.mustache"));
+        assertThat(compiler.compileInto(output, new PrintStream(errors)))
+                .isTrue();
+
+        assertThat(Files.readAllLines(output.resolve(ViewBundle.TEMPLATE_INDEX), Charsets.UTF_8))
+                .containsExactly("/com/example/views/partial.mustache",
+                                 "/com/example/views/person.mustache");
+    }
+
+    @Test
+    public void failsOnBrokenTemplates() throws Exception {
+        write("/broken.mustache", "{{#people}}unclosed");
+
+        assertThat(new MustacheTemplateCompiler(templates).compileInto(output, new PrintStream(errors)))
+                .isFalse();
+
+        assertThat(new String(errors.toByteArray(), Charsets.UTF_8))
+                .contains("/broken.mustache");
+        assertThat(Files.exists(output.resolve(ViewBundle.TEMPLATE_INDEX)))
+                .isFalse();
+    }
+
+    private void write(String templateName, String content) throws IOException {
+        final Path template = templates.resolve(templateName.substring(1));
+        Files.createDirectories(template.getParent());
+        Files.write(template, content.getBytes(Charsets.UTF_8));
+    }
+}
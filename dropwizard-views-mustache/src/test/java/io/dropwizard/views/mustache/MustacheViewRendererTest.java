@@ -3,6 +3,7 @@ package io.dropwizard.views.mustache;
 import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.ImmutableList;
 import io.dropwizard.logging.BootstrapLogging;
+import io.dropwizard.views.TemplateCacheConfiguration;
 import io.dropwizard.views.ViewMessageBodyWriter;
 import io.dropwizard.views.ViewRenderer;
 import org.glassfish.jersey.server.ResourceConfig;
@@ -16,7 +17,11 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Application;
 import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 
@@ -84,4 +89,44 @@ public class MustacheViewRendererTest extends JerseyTest {
                     .isEqualTo("<html><head><title>Missing Template</title></head><body><h1>Missing Template</h1><p>Template \"/woo-oo-ahh.txt.mustache\" not found.</p></body></html>");
         }
     }
+
+    @Test
+    public void cachesCompiledTemplates() throws Exception {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final MustacheViewRenderer renderer = new MustacheViewRenderer();
+        renderer.configureCache(new TemplateCacheConfiguration(), metricRegistry);
+
+        renderer.render(new AbsoluteView("one"), Locale.getDefault(), new ByteArrayOutputStream());
+        renderer.render(new AbsoluteView("two"), Locale.getDefault(), new ByteArrayOutputStream());
+
+        assertThat(metricRegistry.meter(name(MustacheViewRenderer.class, "cache-misses")).getCount())
+                .isEqualTo(1);
+        assertThat(metricRegistry.meter(name(MustacheViewRenderer.class, "cache-hits")).getCount())
+                .isEqualTo(1);
+        assertThat(metricRegistry.timer(name(MustacheViewRenderer.class, "compiles")).getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void precompilesTemplates() throws Exception {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final MustacheViewRenderer renderer = new MustacheViewRenderer();
+        renderer.configureCache(new TemplateCacheConfiguration(), metricRegistry);
+
+        renderer.precompile(getClass().getClassLoader(), "/example.mustache");
+        renderer.render(new AbsoluteView("one"), Locale.getDefault(), new ByteArrayOutputStream());
+
+        assertThat(metricRegistry.meter(name(MustacheViewRenderer.class, "cache-hits")).getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void failsToPrecompileMissingTemplates() throws Exception {
+        final MustacheViewRenderer renderer = new MustacheViewRenderer();
+        try {
+            renderer.precompile(getClass().getClassLoader(), "/woo-oo-ahh.txt.mustache");
+            failBecauseExceptionWasNotThrown(IOException.class);
+        } catch (IOException ignored) {
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package io.dropwizard.views;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.io.IOException;
+
+/**
+ * A {@link ViewRenderer} which keeps a cache of compiled templates.
+ */
+public interface CachingViewRenderer extends ViewRenderer {
+    /**
+     * Configures the renderer's template cache, discarding any templates compiled so far.
+     *
+     * @param configuration  the template cache configuration
+     * @param metricRegistry the registry in which the renderer's cache metrics are registered
+     */
+    void configureCache(TemplateCacheConfiguration configuration, MetricRegistry metricRegistry);
+
+    /**
+     * Compiles the given template and adds it to the cache.
+     *
+     * @param classLoader  the class loader from which the template is loaded
+     * @param templateName the absolute name of the template resource
+     * @throws IOException if the template cannot be found or compiled
+     */
+    void precompile(ClassLoader classLoader, String templateName) throws IOException;
+}
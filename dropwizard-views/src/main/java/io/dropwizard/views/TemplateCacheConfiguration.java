@@ -0,0 +1,106 @@
+package io.dropwizard.views;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Configures how {@link CachingViewRenderer}s cache their compiled templates.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code reload}</td>
+ *         <td>false</td>
+ *         <td>
+ *             If true, cached templates are checked for modification every {@code checkInterval} and
+ *             recompiled when they have changed. Useful in development; leave it off in production.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code checkInterval}</td>
+ *         <td>5 seconds</td>
+ *         <td>How often a cached template is checked for modification when {@code reload} is enabled.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maximumSize}</td>
+ *         <td>1000</td>
+ *         <td>The maximum number of compiled templates each renderer keeps.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code precompile}</td>
+ *         <td>(none)</td>
+ *         <td>
+ *             Absolute classpath names of templates (e.g. {@code /com/example/views/person.ftl}) which
+ *             are compiled when the application starts. A template which fails to compile fails the
+ *             startup.
+ *         </td>
+ *     </tr>
+ * </table>
+ */
+public class TemplateCacheConfiguration {
+    private boolean reload = false;
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration checkInterval = Duration.seconds(5);
+
+    @Min(1)
+    private long maximumSize = 1000;
+
+    @NotNull
+    private List<String> precompile = ImmutableList.of();
+
+    @JsonProperty
+    public boolean isReload() {
+        return reload;
+    }
+
+    @JsonProperty
+    public void setReload(boolean reload) {
+        this.reload = reload;
+    }
+
+    @JsonProperty
+    public Duration getCheckInterval() {
+        return checkInterval;
+    }
+
+    @JsonProperty
+    public void setCheckInterval(Duration checkInterval) {
+        this.checkInterval = checkNotNull(checkInterval);
+    }
+
+    @JsonProperty
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    @JsonProperty
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    @JsonProperty
+    public List<String> getPrecompile() {
+        return precompile;
+    }
+
+    @JsonProperty
+    public void setPrecompile(List<String> precompile) {
+        this.precompile = ImmutableList.copyOf(precompile);
+    }
+}
@@ -2,8 +2,10 @@ package io.dropwizard.views;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
 
 import java.nio.charset.Charset;
+import java.util.List;
 
 /**
  * A Dropwizard view class.
@@ -52,6 +54,18 @@ public abstract class View {
         return Optional.fromNullable(charset);
     }
 
+    /**
+     * Returns the absolute paths of the resources (stylesheets, scripts, images) the rendered page
+     * needs. They are announced with {@code Link: <path>; rel=preload} headers, so that connectors
+     * with a declared push strategy can push them along with the page.
+     *
+     * @return the paths of the resources to push
+     */
+    @JsonIgnore
+    public List<String> getPushResources() {
+        return ImmutableList.of();
+    }
+
     private String resolveName(String templateName) {
         if (templateName.startsWith("/")) {
             return templateName;
@@ -1,16 +1,22 @@
 package io.dropwizard.views;
 
+import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Resources;
 import io.dropwizard.Bundle;
 import io.dropwizard.Configuration;
 import io.dropwizard.ConfiguredBundle;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
 
+import java.io.IOException;
+import java.net.URL;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.Set;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 
@@ -87,10 +93,32 @@ import static com.google.common.base.MoreObjects.firstNonNull;
  *
  * <p>In this template, {@code {{person.name}}} calls {@code getPerson().getName()}.</p>
  *
+ * <p>Renderers which implement {@link CachingViewRenderer} cache their compiled templates as described by
+ * {@link #getTemplateCacheConfiguration(Configuration)}. Override it to turn on template reloading in
+ * development or to precompile templates at startup:</p>
+ *
+ * <pre><code>
+ * new ViewBundle&lt;MyConfiguration&gt;() {
+ *     \@Override
+ *     public TemplateCacheConfiguration getTemplateCacheConfiguration(MyConfiguration configuration) {
+ *         return configuration.getTemplateCache();
+ *     }
+ * }
+ * </code></pre>
+ *
+ * <p>Templates listed in {@value #TEMPLATE_INDEX} resources on the class path, such as those written by a
+ * build-time template compiler, are precompiled as well.</p>
+ *
  * @see <a href="http://mustache.github.io/mustache.5.html">Mustache Manual</a>
  */
 public class ViewBundle<T extends Configuration> implements ConfiguredBundle<T>, ViewConfigurable<T> {
+    /**
+     * The class path resource listing templates to precompile, one absolute template name per line.
+     */
+    public static final String TEMPLATE_INDEX = "META-INF/dropwizard/view-templates";
+
     private final Iterable<ViewRenderer> viewRenderers;
+    private ClassLoader classLoader = ViewBundle.class.getClassLoader();
 
     public ViewBundle() {
         this(ServiceLoader.load(ViewRenderer.class));
@@ -104,6 +132,16 @@ public class ViewBundle<T extends Configuration> implements ConfiguredBundle<T>,
         return ImmutableMap.of();
     }
 
+    /**
+     * Returns how the {@link CachingViewRenderer}s should cache compiled templates.
+     *
+     * @param configuration the application's configuration
+     * @return the template cache configuration
+     */
+    public TemplateCacheConfiguration getTemplateCacheConfiguration(T configuration) {
+        return new TemplateCacheConfiguration();
+    }
+
     @Override
     public void run(T configuration, Environment environment) throws Exception {
         Map<String, Map<String, String>> options = getViewConfiguration(configuration);
@@ -111,11 +149,50 @@ public class ViewBundle<T extends Configuration> implements ConfiguredBundle<T>,
             Map<String, String> viewOptions = options.get(viewRenderer.getSuffix());
             viewRenderer.configure(firstNonNull(viewOptions, Collections.<String, String>emptyMap()));
         }
+
+        final TemplateCacheConfiguration cacheConfiguration = getTemplateCacheConfiguration(configuration);
+        final Set<String> precompiled = ImmutableSet.<String>builder()
+                                                    .addAll(cacheConfiguration.getPrecompile())
+                                                    .addAll(readTemplateIndex())
+                                                    .build();
+        for (ViewRenderer viewRenderer : viewRenderers) {
+            if (viewRenderer instanceof CachingViewRenderer) {
+                configureCache((CachingViewRenderer) viewRenderer, cacheConfiguration, precompiled, environment);
+            }
+        }
         environment.jersey().register(new ViewMessageBodyWriter(environment.metrics(), viewRenderers));
     }
 
+    private void configureCache(CachingViewRenderer viewRenderer,
+                                TemplateCacheConfiguration cacheConfiguration,
+                                Set<String> precompiled,
+                                Environment environment) throws IOException {
+        viewRenderer.configureCache(cacheConfiguration, environment.metrics());
+        for (String templateName : precompiled) {
+            if (templateName.endsWith(viewRenderer.getSuffix())) {
+                viewRenderer.precompile(classLoader, templateName);
+            }
+        }
+    }
+
+    private Set<String> readTemplateIndex() throws IOException {
+        final ImmutableSet.Builder<String> templateNames = ImmutableSet.builder();
+        final Enumeration<URL> indexes = classLoader.getResources(TEMPLATE_INDEX);
+        while (indexes.hasMoreElements()) {
+            for (String line : Resources.readLines(indexes.nextElement(), Charsets.UTF_8)) {
+                final String templateName = line.trim();
+                if (!templateName.isEmpty() && !templateName.startsWith("#")) {
+                    templateNames.add(templateName);
+                }
+            }
+        }
+        return templateNames.build();
+    }
+
     @Override
     public void initialize(Bootstrap<?> bootstrap) {
-        // nothing doing
+        if (bootstrap.getClassLoader() != null) {
+            this.classLoader = bootstrap.getClassLoader();
+        }
     }
 }
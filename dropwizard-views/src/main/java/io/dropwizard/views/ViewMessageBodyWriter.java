@@ -2,6 +2,7 @@ package io.dropwizard.views;
 
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
+import io.dropwizard.jersey.push.PreloadLinks;
 
 import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
@@ -17,6 +18,8 @@ import java.text.MessageFormat;
 import java.util.List;
 import java.util.Locale;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static com.codahale.metrics.MetricRegistry.name;
 
@@ -35,6 +38,8 @@ public class ViewMessageBodyWriter implements MessageBodyWriter<View> {
 
     private final Iterable<ViewRenderer> renderers;
     private final MetricRegistry metricRegistry;
+    private final ConcurrentMap<Class<?>, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ViewRenderer> resolvedRenderers = new ConcurrentHashMap<>();
 
     @Deprecated
     public ViewMessageBodyWriter(MetricRegistry metricRegistry) {
@@ -68,15 +73,12 @@ public class ViewMessageBodyWriter implements MessageBodyWriter<View> {
                         MediaType mediaType,
                         MultivaluedMap<String, Object> httpHeaders,
                         OutputStream entityStream) throws IOException {
-        final Timer.Context context = metricRegistry.timer(name(t.getClass(), "rendering")).time();
+        for (String path : t.getPushResources()) {
+            httpHeaders.add(PreloadLinks.LINK, PreloadLinks.header(path));
+        }
+        final Timer.Context context = timer(t.getClass()).time();
         try {
-            for (ViewRenderer renderer : renderers) {
-                if (renderer.isRenderable(t)) {
-                    renderer.render(t, detectLocale(headers), entityStream);
-                    return;
-                }
-            }
-            throw new ViewRenderException("Unable to find a renderer for " + t.getTemplateName());
+            findRenderer(t).render(t, detectLocale(headers), entityStream);
         } catch (FileNotFoundException e) {
             final String msg = MessageFormat.format(MISSING_TEMPLATE_MSG, t.getTemplateName());
             throw new WebApplicationException(Response.serverError()
@@ -88,6 +90,33 @@ public class ViewMessageBodyWriter implements MessageBodyWriter<View> {
         }
     }
 
+    private Timer timer(Class<?> viewClass) {
+        final Timer timer = timers.get(viewClass);
+        if (timer != null) {
+            return timer;
+        }
+        final Timer registered = metricRegistry.timer(name(viewClass, "rendering"));
+        final Timer existing = timers.putIfAbsent(viewClass, registered);
+        return existing == null ? registered : existing;
+    }
+
+    /**
+     * Returns the renderer for the given view, resolving it once per template name.
+     */
+    private ViewRenderer findRenderer(View view) throws ViewRenderException {
+        final ViewRenderer resolved = resolvedRenderers.get(view.getTemplateName());
+        if (resolved != null) {
+            return resolved;
+        }
+        for (ViewRenderer renderer : renderers) {
+            if (renderer.isRenderable(view)) {
+                final ViewRenderer existing = resolvedRenderers.putIfAbsent(view.getTemplateName(), renderer);
+                return existing == null ? renderer : existing;
+            }
+        }
+        throw new ViewRenderException("Unable to find a renderer for " + view.getTemplateName());
+    }
+
     private Locale detectLocale(HttpHeaders headers) {
         final List<Locale> languages = headers.getAcceptableLanguages();
         for (Locale locale : languages) {
@@ -0,0 +1,165 @@
+package io.dropwizard.views;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link Writer} which encodes characters onto an {@link OutputStream}, like
+ * {@link java.io.OutputStreamWriter}, but whose buffers and {@link CharsetEncoder}s are reused by
+ * every view rendered on the same thread.
+ * <p/>
+ * Closing a view writer flushes it and returns it to the pool; the underlying stream is left open.
+ */
+public final class ViewWriter extends Writer {
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final ThreadLocal<ViewWriter> WRITERS = new ThreadLocal<ViewWriter>() {
+        @Override
+        protected ViewWriter initialValue() {
+            return new ViewWriter();
+        }
+    };
+
+    /**
+     * Returns a writer which encodes characters with the given character set onto the given stream.
+     *
+     * @param output  the output stream
+     * @param charset the character set
+     * @return a writer, which must be closed once the view has been rendered
+     */
+    public static ViewWriter open(OutputStream output, Charset charset) {
+        final ViewWriter pooled = WRITERS.get();
+        // a view rendered while rendering another view gets a writer of its own
+        final ViewWriter writer = pooled.output == null ? pooled : new ViewWriter();
+        writer.output = output;
+        writer.encoder = writer.encoder(charset);
+        return writer;
+    }
+
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private final Map<Charset, CharsetEncoder> encoders = new HashMap<>();
+    private CharsetEncoder encoder;
+    private OutputStream output;
+
+    private ViewWriter() {
+    }
+
+    private CharsetEncoder encoder(Charset charset) {
+        CharsetEncoder charsetEncoder = encoders.get(charset);
+        if (charsetEncoder == null) {
+            charsetEncoder = charset.newEncoder()
+                                    .onMalformedInput(CodingErrorAction.REPLACE)
+                                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            encoders.put(charset, charsetEncoder);
+        }
+        return charsetEncoder;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        ensureOpen();
+        if (!chars.hasRemaining()) {
+            encode(false);
+        }
+        chars.put((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+            final int n = Math.min(remaining, chars.remaining());
+            chars.put(cbuf, offset, n);
+            offset += n;
+            remaining -= n;
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        ensureOpen();
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+            final int n = Math.min(remaining, chars.remaining());
+            chars.put(str, offset, offset + n);
+            offset += n;
+            remaining -= n;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        encode(false);
+        drain();
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (output == null) {
+            return;
+        }
+        try {
+            encode(true);
+            while (encoder.flush(bytes).isOverflow()) {
+                drain();
+            }
+            drain();
+        } finally {
+            chars.clear();
+            bytes.clear();
+            encoder.reset();
+            encoder = null;
+            output = null;
+        }
+    }
+
+    private void encode(boolean endOfInput) throws IOException {
+        chars.flip();
+        while (true) {
+            final CoderResult result = encoder.encode(chars, bytes, endOfInput);
+            if (result.isUnderflow()) {
+                break;
+            }
+            if (result.isOverflow()) {
+                drain();
+            } else {
+                result.throwException();
+            }
+        }
+        chars.compact();
+    }
+
+    private void drain() throws IOException {
+        if (bytes.position() > 0) {
+            output.write(bytes.array(), bytes.arrayOffset(), bytes.position());
+            bytes.clear();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (output == null) {
+            throw new IOException("Writer closed");
+        }
+    }
+}
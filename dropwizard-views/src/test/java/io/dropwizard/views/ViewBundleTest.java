@@ -1,5 +1,6 @@
 package io.dropwizard.views;
 
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -26,13 +27,16 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class ViewBundleTest {
     private final JerseyEnvironment jerseyEnvironment = mock(JerseyEnvironment.class);
     private final Environment environment = mock(Environment.class);
+    private final MetricRegistry metricRegistry = new MetricRegistry();
     private static class MyConfiguration extends Configuration {
         @NotNull
         private Map<String, Map<String, String>> viewRendererConfiguration = Collections.emptyMap();
@@ -55,6 +59,37 @@ public class ViewBundleTest {
     @Before
     public void setUp() throws Exception {
         when(environment.jersey()).thenReturn(jerseyEnvironment);
+        when(environment.metrics()).thenReturn(metricRegistry);
+    }
+
+    @Test
+    public void configuresTheTemplateCacheOfCachingViewRenderers() throws Exception {
+        final CachingViewRenderer renderer = mock(CachingViewRenderer.class);
+        when(renderer.getSuffix()).thenReturn(".ftl");
+
+        final TemplateCacheConfiguration cacheConfiguration = new TemplateCacheConfiguration();
+        cacheConfiguration.setPrecompile(ImmutableList.of("/views/one.ftl", "/views/two.mustache"));
+
+        new ViewBundle<Configuration>(ImmutableList.<ViewRenderer>of(renderer)) {
+            @Override
+            public TemplateCacheConfiguration getTemplateCacheConfiguration(Configuration configuration) {
+                return cacheConfiguration;
+            }
+        }.run(null, environment);
+
+        verify(renderer).configureCache(cacheConfiguration, metricRegistry);
+        verify(renderer).precompile(any(ClassLoader.class), eq("/views/one.ftl"));
+        verify(renderer, never()).precompile(any(ClassLoader.class), eq("/views/two.mustache"));
+    }
+
+    @Test
+    public void precompilesTemplatesListedInTheTemplateIndex() throws Exception {
+        final CachingViewRenderer renderer = mock(CachingViewRenderer.class);
+        when(renderer.getSuffix()).thenReturn(".ftl");
+
+        new ViewBundle<Configuration>(ImmutableList.<ViewRenderer>of(renderer)).run(null, environment);
+
+        verify(renderer).precompile(any(ClassLoader.class), eq("/views/indexed.ftl"));
     }
 
     @Test
@@ -0,0 +1,84 @@
+package io.dropwizard.views;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Strings;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class ViewWriterTest {
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Test
+    public void encodesCharactersWithTheGivenCharset() throws Exception {
+        try (ViewWriter writer = ViewWriter.open(output, Charsets.UTF_8)) {
+            writer.write("Grüße, ");
+            writer.write('€');
+        }
+
+        assertThat(new String(output.toByteArray(), Charsets.UTF_8))
+                .isEqualTo("Grüße, €");
+    }
+
+    @Test
+    public void writesContentLargerThanItsBuffers() throws Exception {
+        final String content = Strings.repeat("ünïcödé ", 10000);
+        try (ViewWriter writer = ViewWriter.open(output, Charsets.UTF_8)) {
+            writer.write(content);
+        }
+
+        assertThat(new String(output.toByteArray(), Charsets.UTF_8))
+                .isEqualTo(content);
+    }
+
+    @Test
+    public void replacesUnmappableCharacters() throws Exception {
+        try (ViewWriter writer = ViewWriter.open(output, Charsets.US_ASCII)) {
+            writer.write("Grüße");
+        }
+
+        assertThat(new String(output.toByteArray(), Charsets.US_ASCII))
+                .isEqualTo("Gr??e");
+    }
+
+    @Test
+    public void isReusedOnceClosed() throws Exception {
+        final ViewWriter first = ViewWriter.open(output, Charsets.UTF_8);
+        first.close();
+
+        try (ViewWriter second = ViewWriter.open(output, Charsets.ISO_8859_1)) {
+            assertThat(second).isSameAs(first);
+        }
+    }
+
+    @Test
+    public void isNotSharedBetweenNestedViews() throws Exception {
+        final ByteArrayOutputStream nested = new ByteArrayOutputStream();
+        try (ViewWriter outer = ViewWriter.open(output, Charsets.UTF_8)) {
+            outer.write("outer");
+            try (ViewWriter inner = ViewWriter.open(nested, Charsets.UTF_8)) {
+                assertThat(inner).isNotSameAs(outer);
+                inner.write("inner");
+            }
+        }
+
+        assertThat(new String(output.toByteArray(), Charsets.UTF_8)).isEqualTo("outer");
+        assertThat(new String(nested.toByteArray(), Charsets.UTF_8)).isEqualTo("inner");
+    }
+
+    @Test
+    public void cannotBeWrittenToOnceClosed() throws Exception {
+        final ViewWriter writer = ViewWriter.open(output, Charsets.UTF_8);
+        writer.close();
+
+        try {
+            writer.write("nope");
+            failBecauseExceptionWasNotThrown(IOException.class);
+        } catch (IOException ignored) {
+        }
+    }
+}